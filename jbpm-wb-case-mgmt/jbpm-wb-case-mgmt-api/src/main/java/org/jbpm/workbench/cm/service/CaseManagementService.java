@@ -104,10 +104,14 @@ public interface CaseManagementService {
 
     List<CaseMilestoneSummary> getCaseMilestones(String containerId,
                                                  String caseId,
-                                                 CaseMilestoneSearchRequest request);
+                                                 CaseMilestoneSearchRequest request,
+                                                 Integer page,
+                                                 Integer pageSize);
 
     List<CaseStageSummary> getCaseStages(String containerId,
-                                         String caseId);
+                                         String caseId,
+                                         Integer page,
+                                         Integer pageSize);
 
     Actions getCaseActions(String templateId,
                            String container,
@@ -153,5 +157,7 @@ public interface CaseManagementService {
                             String adHocName,
                             Map<String, Object> data);
 
-    List<ProcessDefinitionSummary> getProcessDefinitions(String containerId);
+    List<ProcessDefinitionSummary> getProcessDefinitions(String containerId,
+                                                         Integer page,
+                                                         Integer pageSize);
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.kie.server.controller.api.model.events.ServerInstanceConnected;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the case and process definitions read from KIE Server per server template and container, as they only change
+ * when containers are deployed. Entries are evicted by the controller events of their server template and, for
+ * deployments the controller does not report, after <code>org.jbpm.workbench.cm.definitions.cache.ttl</code>
+ * milliseconds. At most <code>org.jbpm.workbench.cm.definitions.cache.size</code> entries are kept, the least
+ * recently used ones are dropped first.
+ */
+@ApplicationScoped
+public class CaseDefinitionCache {
+
+    public static final String CACHE_SIZE = "org.jbpm.workbench.cm.definitions.cache.size";
+    public static final String CACHE_TTL = "org.jbpm.workbench.cm.definitions.cache.ttl";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseDefinitionCache.class);
+
+    private final int maxEntries = Integer.getInteger(CACHE_SIZE,
+                                                      200);
+    private final long timeToLive = Long.getLong(CACHE_TTL,
+                                                 60000);
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<String, CacheEntry>(16,
+                                                                                          0.75f,
+                                                                                          true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public boolean isEnabled() {
+        return timeToLive > 0;
+    }
+
+    /**
+     * Returns a copy of the definitions cached under the given name, invoking the loader when there is no valid entry.
+     * Only the list is copied, the definitions themselves are shared by all the callers and must not be modified.
+     * @param serverTemplateId server template the definitions were read from, <code>null</code> for the default one
+     * @param containerId container the definitions belong to, <code>null</code> for definitions of all containers
+     * @param name identifies the request within the container, including its paging
+     */
+    public <T> List<T> get(final String serverTemplateId,
+                           final String containerId,
+                           final String name,
+                           final Supplier<List<T>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        final String key = serverTemplateId + "|" + containerId + "|" + name;
+        synchronized (entries) {
+            final CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    return new ArrayList<>((List<T>) entry.definitions);
+                }
+                entries.remove(key);
+            }
+        }
+
+        final long currentGeneration = generation.get();
+        final List<T> definitions = loader.get();
+        synchronized (entries) {
+            // definitions loaded before an invalidation might already be outdated
+            if (currentGeneration == generation.get()) {
+                entries.put(key,
+                            new CacheEntry(serverTemplateId,
+                                           new ArrayList<>(definitions),
+                                           System.currentTimeMillis() + timeToLive));
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Evicts the definitions of the server template, along with the ones read from the default server template as it
+     * might be the same one.
+     */
+    public void invalidateServerTemplate(final String serverTemplateId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> entry.serverTemplateId == null || Objects.equals(entry.serverTemplateId,
+                                                                                                serverTemplateId));
+        }
+        LOGGER.debug("Case definition cache invalidated for server template {}",
+                     serverTemplateId);
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    void onServerTemplateUpdated(@Observes ServerTemplateUpdated serverTemplateUpdated) {
+        invalidateServerTemplate(serverTemplateUpdated.getServerTemplate().getId());
+    }
+
+    void onServerTemplateDeleted(@Observes ServerTemplateDeleted serverTemplateDeleted) {
+        invalidateServerTemplate(serverTemplateDeleted.getServerTemplateId());
+    }
+
+    void onServerInstanceConnected(@Observes ServerInstanceConnected serverInstanceConnected) {
+        invalidateServerTemplate(serverInstanceConnected.getServerInstance().getServerTemplateId());
+    }
+
+    private static class CacheEntry {
+
+        private final String serverTemplateId;
+        private final List<?> definitions;
+        private final long expiresAt;
+
+        private CacheEntry(final String serverTemplateId,
+                           final List<?> definitions,
+                           final long expiresAt) {
+            this.serverTemplateId = serverTemplateId;
+            this.definitions = definitions;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
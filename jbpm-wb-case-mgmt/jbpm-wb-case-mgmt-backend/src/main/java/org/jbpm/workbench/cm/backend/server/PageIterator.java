@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a paged KIE Server result, requesting the next page only once the current one has been consumed and
+ * stopping at the first page that is not full.
+ */
+public class PageIterator<T> implements Iterator<T> {
+
+    private final BiFunction<Integer, Integer, List<T>> pageSupplier;
+
+    private final int pageSize;
+
+    private int page = 0;
+
+    private Iterator<T> current;
+
+    private boolean lastPage = false;
+
+    public PageIterator(final BiFunction<Integer, Integer, List<T>> pageSupplier,
+                        final int pageSize) {
+        this.pageSupplier = pageSupplier;
+        this.pageSize = pageSize;
+    }
+
+    public static <T> Stream<T> stream(final BiFunction<Integer, Integer, List<T>> pageSupplier,
+                                       final int pageSize) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PageIterator<>(pageSupplier,
+                                                                                           pageSize),
+                                                                        Spliterator.ORDERED),
+                                    false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while ((current == null || !current.hasNext()) && !lastPage) {
+            final List<T> results = pageSupplier.apply(page++,
+                                                       pageSize);
+            lastPage = results == null || results.size() < pageSize;
+            current = results == null ? null : results.iterator();
+        }
+        return current != null && current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
@@ -16,9 +16,14 @@
 
 package org.jbpm.workbench.cm.backend.server;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -34,6 +39,8 @@ import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
 import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
+import org.jbpm.workbench.ks.utils.KieServerClientProvider;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.model.cases.CaseComment;
 import org.kie.server.api.model.cases.CaseDefinition;
 import org.kie.server.api.model.cases.CaseFile;
@@ -41,9 +48,15 @@ import org.kie.server.api.model.cases.CaseInstance;
 import org.kie.server.api.model.cases.CaseMilestone;
 import org.kie.server.api.model.cases.CaseStage;
 import org.kie.server.api.model.definition.ProcessDefinition;
+import org.kie.server.api.model.definition.QueryDefinition;
+import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.instance.NodeInstance;
+import org.kie.server.api.util.QueryFilterSpecBuilder;
 import org.kie.server.client.CaseServicesClient;
+import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
@@ -56,15 +69,46 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
 
     public static final int PAGE_SIZE_UNLIMITED = Integer.MAX_VALUE;
     public static final String CASE_OWNER_ROLE = "owner";
+    public static final String SORT_BY_CASE_INSTANCE_ID = "CorrelationKey";
+    public static final String SORT_BY_CASE_INSTANCE_START_TIME = "Start";
+    public static final String TASK_OWNERS_QUERY = "jbpmCaseTaskOwners";
+    public static final String SORT_BY_PROCESS_NAME = "ProcessName";
+    protected static final int TASK_OWNERS_BATCH_SIZE = 500;
+    protected static final int NODES_PAGE_SIZE = 100;
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteCaseManagementServiceImpl.class);
 
     @Inject
-    private CaseServicesClient client;
+    private KieServerClientProvider clientProvider;
 
     @Inject
-    private UserTaskServicesClient userTaskServicesClient;
+    private CaseDefinitionCache definitionCache;
+
+    private final Set<String> taskOwnersQueryTemplates = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Requests are routed by server template and container, so they are balanced across the KIE Server instances of
+     * the template. Operations that do not carry a server template go to the default one of the application.
+     */
+    protected <T> T getClient(final String serverTemplateId,
+                              final String containerId,
+                              final Class<T> clientType) {
+        return clientProvider.getClient(serverTemplateId,
+                                        containerId,
+                                        clientType);
+    }
 
     @Override
     public List<CaseDefinitionSummary> getCaseDefinitions() {
+        return definitionCache.get(null,
+                                   null,
+                                   "caseDefinitions",
+                                   this::loadCaseDefinitions);
+    }
+
+    protected List<CaseDefinitionSummary> loadCaseDefinitions() {
+        final CaseServicesClient client = getClient(null,
+                                                    null,
+                                                    CaseServicesClient.class);
         final List<CaseDefinition> caseDefinitions = client.getCaseDefinitions(0,
                                                                                PAGE_SIZE_UNLIMITED,
                                                                                CaseServicesClient.SORT_BY_CASE_DEFINITION_NAME,
@@ -76,30 +120,38 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     public CaseDefinitionSummary getCaseDefinition(final String serverTemplateId,
                                                    final String containerId,
                                                    final String caseDefinitionId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         return ofNullable(client.getCaseDefinition(containerId,
                                                    caseDefinitionId)).map(new CaseDefinitionMapper()).orElse(null);
     }
 
+    /**
+     * Returns the requested page of case instances, leaving paging and sorting to the KIE Server so that only the
+     * visible page is ever loaded and mapped.
+     */
     @Override
     public List<CaseInstanceSummary> getCaseInstances(final CaseInstanceSearchRequest request) {
+        final CaseServicesClient client = getClient(null,
+                                                    null,
+                                                    CaseServicesClient.class);
         final List<CaseInstance> caseInstances = client.getCaseInstances(singletonList(request.getStatus().getName()),
-                                                                         0,
-                                                                         PAGE_SIZE_UNLIMITED);
-        final Comparator<CaseInstanceSummary> comparator = getCaseInstanceSummaryComparator(request);
-        return caseInstances.stream().map(new CaseInstanceMapper()).sorted(comparator).collect(toList());
+                                                                         ofNullable(request.getPage()).orElse(0),
+                                                                         ofNullable(request.getPageSize()).orElse(PAGE_SIZE_UNLIMITED),
+                                                                         getCaseInstanceSortColumn(request),
+                                                                         ofNullable(request.getSortByAsc()).orElse(true));
+        return caseInstances.stream().map(new CaseInstanceMapper()).collect(toList());
     }
 
-    protected Comparator<CaseInstanceSummary> getCaseInstanceSummaryComparator(final CaseInstanceSearchRequest request) {
-        Comparator<CaseInstanceSummary> comparator;
+    protected String getCaseInstanceSortColumn(final CaseInstanceSearchRequest request) {
         switch (ofNullable(request.getSortBy()).orElse(CaseInstanceSortBy.CASE_ID)) {
             case START_TIME:
-                comparator = comparing(CaseInstanceSummary::getStartedAt);
-                break;
+                return SORT_BY_CASE_INSTANCE_START_TIME;
             case CASE_ID:
             default:
-                comparator = comparing(CaseInstanceSummary::getCaseId);
+                return SORT_BY_CASE_INSTANCE_ID;
         }
-        return request.getSortByAsc() ? comparator : comparator.reversed();
     }
 
     @Override
@@ -108,6 +160,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                     final String caseDefinitionId,
                                     final String owner,
                                     final List<CaseRoleAssignmentSummary> roleAssignments) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         final CaseFile.Builder builder = CaseFile.builder();
         builder.addUserAssignments(CASE_OWNER_ROLE,
                                    owner);
@@ -126,6 +181,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     public void cancelCaseInstance(final String serverTemplateId,
                                    final String containerId,
                                    final String caseId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.cancelCaseInstance(containerId,
                                   caseId);
     }
@@ -134,6 +192,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     public void closeCaseInstance(final String containerId,
                                   final String caseId,
                                   final String comment) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.closeCaseInstance(containerId,
                                  caseId,
                                  comment);
@@ -144,6 +205,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     public CaseInstanceSummary getCaseInstance(final String serverTemplateId,
                                                final String containerId,
                                                final String caseId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         return ofNullable(client.getCaseInstance(containerId,
                                                  caseId,
                                                  false,
@@ -160,6 +224,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                  final String caseId,
                                  final String roleName,
                                  final String user) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.assignUserToRole(containerId,
                                 caseId,
                                 roleName,
@@ -172,6 +239,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                   final String caseId,
                                   final String roleName,
                                   final String group) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.assignGroupToRole(containerId,
                                  caseId,
                                  roleName,
@@ -184,6 +254,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                    final String caseId,
                                    final String roleName,
                                    final String user) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.removeUserFromRole(containerId,
                                   caseId,
                                   roleName,
@@ -196,6 +269,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                     final String caseId,
                                     final String roleName,
                                     final String group) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.removeGroupFromRole(containerId,
                                    caseId,
                                    roleName,
@@ -208,6 +284,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                                 final String caseId,
                                                 final Integer page,
                                                 final Integer pageSize) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         final List<CaseComment> caseComments = client.getComments(containerId,
                                                                   caseId,
                                                                   page,
@@ -221,6 +300,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                            final String caseId,
                            final String author,
                            final String text) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.addComment(containerId,
                           caseId,
                           author,
@@ -234,6 +316,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                               final String commentId,
                               final String author,
                               final String text) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.updateComment(containerId,
                              caseId,
                              commentId,
@@ -246,6 +331,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                               final String containerId,
                               final String caseId,
                               final String commentId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.removeComment(containerId,
                              caseId,
                              commentId);
@@ -254,12 +342,17 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     @Override
     public List<CaseMilestoneSummary> getCaseMilestones(final String containerId,
                                                         final String caseId,
-                                                        final CaseMilestoneSearchRequest request) {
+                                                        final CaseMilestoneSearchRequest request,
+                                                        final Integer page,
+                                                        final Integer pageSize) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         final List<CaseMilestone> caseMilestones = client.getMilestones(containerId,
                                                                         caseId,
                                                                         false,
-                                                                        0,
-                                                                        PAGE_SIZE_UNLIMITED);
+                                                                        page,
+                                                                        pageSize);
         final Comparator<CaseMilestoneSummary> comparator = getCaseMilestoneSummaryComparator(request);
         return caseMilestones.stream().map(new CaseMilestoneMapper()).sorted(comparator).collect(toList());
     }
@@ -271,96 +364,215 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
 
     @Override
     public List<CaseStageSummary> getCaseStages(final String containerId,
-                                                final String caseId) {
+                                                final String caseId,
+                                                final Integer page,
+                                                final Integer pageSize) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         final List<CaseStage> stages = client.getStages(containerId,
                                                         caseId,
                                                         false,
-                                                        0,
-                                                        PAGE_SIZE_UNLIMITED);
+                                                        page,
+                                                        pageSize);
 
         return stages.stream().map(new CaseStageMapper()).collect(toList());
     }
 
+    /**
+     * Fetches the ad hoc fragments, the case instance with its stages, the active and completed nodes and their task
+     * owners one after the other on the request thread, as the KIE Server clients take the user credentials from it.
+     */
     @Override
     public Actions getCaseActions(String serverTemplateId,
                                   String container,
                                   String caseId,
                                   String userId) {
+        final List<CaseActionSummary> adHocFragments = getAdHocFragments(serverTemplateId,
+                                                                         container,
+                                                                         caseId);
+        final CaseInstanceSummary caseInstance = getCaseInstance(serverTemplateId,
+                                                                 container,
+                                                                 caseId);
+        final List<NodeInstance> activeNodes = getCaseActiveNodes(serverTemplateId,
+                                                                  container,
+                                                                  caseId);
+        final List<NodeInstance> completedNodes = getCaseCompletedNodes(serverTemplateId,
+                                                                        container,
+                                                                        caseId);
+        final List<NodeInstance> nodes = new ArrayList<>(activeNodes);
+        nodes.addAll(completedNodes);
+        final Map<Long, String> owners = getTaskOwners(serverTemplateId,
+                                                       nodes);
+
+        final List<CaseActionSummary> inProgressActions = getActions(activeNodes,
+                                                                     owners,
+                                                                     CaseActionStatus.IN_PROGRESS);
+        final List<CaseActionSummary> completedActions = getActions(completedNodes,
+                                                                    owners,
+                                                                    CaseActionStatus.COMPLETED);
+        final List<CaseActionSummary> adHocActions = getAdHocActions(adHocFragments,
+                                                                     caseInstance);
+
+        final Set<String> startedNames = new HashSet<>();
+        final Set<String> inProgressHumanTasks = new HashSet<>();
+        inProgressActions.forEach(action -> {
+            startedNames.add(action.getName());
+            inProgressHumanTasks.add(getActionKey(action));
+        });
+        completedActions.forEach(action -> startedNames.add(action.getName()));
+
         final Actions actions = new Actions();
-        final List<CaseActionSummary> adHocActions = getAdHocActions(serverTemplateId,
-                                                                     container,
-                                                                     caseId);
-        final List<CaseActionSummary> inProgressActions = getInProgressActions(container,
-                                                                               caseId);
-        final List<CaseActionSummary> completedActions = getCompletedActions(container,
-                                                                             caseId);
         actions.setInProgressAction(inProgressActions);
         actions.setCompleteActions(completedActions);
         actions.setAvailableActions(
                 adHocActions.stream()
-                        .filter(action -> {
-                            if (new MilestoneNodePredicate().negate().test(action.getType())) {
-                                return true;
-                            }
-                            if (findMilestone(inProgressActions,
-                                              action.getName())) {
-                                return false;
-                            }
-                            if (findMilestone(completedActions,
-                                              action.getName())) {
-                                return false;
-                            }
-                            return true;
-                        })
-                        .filter(action -> new InProgressHumanTaskPredicate().negate().test(action,
-                                                                                           inProgressActions))
+                        .filter(action -> new MilestoneNodePredicate().negate().test(action.getType()) || !startedNames.contains(action.getName()))
+                        .filter(action -> !new HumanTaskNodePredicate().test(action.getType()) || !inProgressHumanTasks.contains(getActionKey(action)))
                         .collect(toList()));
         return actions;
     }
 
-    protected boolean findMilestone(final List<CaseActionSummary> actions,
-                                    final String name) {
-        return actions.stream().filter(action -> name.equals(action.getName())).findAny().isPresent();
+    protected String getActionKey(final CaseActionSummary action) {
+        return action.getType() + ":" + action.getName();
     }
 
-    public List<CaseActionSummary> getInProgressActions(String containerId,
+    public List<CaseActionSummary> getInProgressActions(String serverTemplateId,
+                                                        String containerId,
                                                         String caseId) {
-        List<NodeInstance> activeNodes = client.getActiveNodes(containerId,
-                                                               caseId,
-                                                               0,
-                                                               PAGE_SIZE_UNLIMITED);
-        return activeNodes.stream()
+        final List<NodeInstance> activeNodes = getCaseActiveNodes(serverTemplateId,
+                                                                  containerId,
+                                                                  caseId);
+        return getActions(activeNodes,
+                          getTaskOwners(serverTemplateId,
+                                        activeNodes),
+                          CaseActionStatus.IN_PROGRESS);
+    }
+
+    public List<NodeInstance> getCaseActiveNodes(String serverTemplateId,
+                                                 String containerId,
+                                                 String caseId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
+        return PageIterator.stream((page, pageSize) -> client.getActiveNodes(containerId,
+                                                                             caseId,
+                                                                             page,
+                                                                             pageSize),
+                                   NODES_PAGE_SIZE).collect(toList());
+    }
+
+    public List<NodeInstance> getCaseCompletedNodes(String serverTemplateId,
+                                                    String containerId,
+                                                    String caseId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
+        return PageIterator.stream((page, pageSize) -> client.getCompletedNodes(containerId,
+                                                                                caseId,
+                                                                                page,
+                                                                                pageSize),
+                                   NODES_PAGE_SIZE).collect(toList());
+    }
+
+    public List<CaseActionSummary> getCompletedActions(String serverTemplateId,
+                                                       String containerId,
+                                                       String caseId) {
+        final List<NodeInstance> completedNodes = getCaseCompletedNodes(serverTemplateId,
+                                                                        containerId,
+                                                                        caseId);
+        return getActions(completedNodes,
+                          getTaskOwners(serverTemplateId,
+                                        completedNodes),
+                          CaseActionStatus.COMPLETED);
+    }
+
+    protected List<CaseActionSummary> getActions(final List<NodeInstance> nodes,
+                                                 final Map<Long, String> taskOwners,
+                                                 final CaseActionStatus status) {
+        return nodes.stream()
                 .map(s -> new CaseActionNodeInstanceMapper(
                         (new HumanTaskNodePredicate().test(s.getNodeType()) ?
-                                userTaskServicesClient.findTaskByWorkItemId(s.getWorkItemId()).getActualOwner() :
+                                taskOwners.get(s.getWorkItemId()) :
                                 ""),
-                        CaseActionStatus.IN_PROGRESS).apply(s))
+                        status).apply(s))
                 .collect(toList());
     }
 
-    public List<NodeInstance> getCaseCompletedNodes(String containerId,
-                                                    String caseId) {
-        return client.getCompletedNodes(containerId,
-                                        caseId,
-                                        0,
-                                        PAGE_SIZE_UNLIMITED);
+    /**
+     * Looks up the actual owners of the human task nodes with a query by work item ids instead of reading every task,
+     * so listing the actions of a case takes the same number of calls regardless of how many tasks it has.
+     */
+    protected Map<Long, String> getTaskOwners(final String serverTemplateId,
+                                              final List<NodeInstance> nodes) {
+        final List<Long> workItemIds = nodes.stream()
+                .filter(n -> new HumanTaskNodePredicate().test(n.getNodeType()) && n.getWorkItemId() != null)
+                .map(NodeInstance::getWorkItemId)
+                .distinct()
+                .collect(toList());
+        final Map<Long, String> owners = new HashMap<>();
+        if (workItemIds.isEmpty()) {
+            return owners;
+        }
+
+        final QueryServicesClient queryServicesClient = getClient(serverTemplateId,
+                                                                  null,
+                                                                  QueryServicesClient.class);
+        try {
+            registerTaskOwnersQuery(serverTemplateId,
+                                    queryServicesClient);
+            for (int from = 0; from < workItemIds.size(); from += TASK_OWNERS_BATCH_SIZE) {
+                final List<Long> batch = workItemIds.subList(from,
+                                                             Math.min(from + TASK_OWNERS_BATCH_SIZE,
+                                                                      workItemIds.size()));
+                final QueryFilterSpec filterSpec = new QueryFilterSpecBuilder().in("workItemId",
+                                                                                   new ArrayList<>(batch)).get();
+                final List<List> rows = queryServicesClient.query(TASK_OWNERS_QUERY,
+                                                                  QueryServicesClient.QUERY_MAP_RAW,
+                                                                  filterSpec,
+                                                                  0,
+                                                                  batch.size(),
+                                                                  List.class);
+                for (List row : rows) {
+                    if (row.get(0) != null) {
+                        owners.put(((Number) row.get(0)).longValue(),
+                                   (String) row.get(1));
+                    }
+                }
+            }
+        } catch (KieServicesException e) {
+            LOGGER.warn("Unable to query the owners of the tasks, reading them one by one: {}",
+                        e.getMessage());
+            final UserTaskServicesClient userTaskServicesClient = getClient(serverTemplateId,
+                                                                            null,
+                                                                            UserTaskServicesClient.class);
+            workItemIds.forEach(workItemId -> owners.put(workItemId,
+                                                         userTaskServicesClient.findTaskByWorkItemId(workItemId).getActualOwner()));
+        }
+        return owners;
     }
 
-    public List<CaseActionSummary> getCompletedActions(String containerId,
-                                                       String caseId) {
-        List<NodeInstance> activeNodes = getCaseCompletedNodes(containerId,
-                                                               caseId);
-        return activeNodes.stream()
-                .map(s -> new CaseActionNodeInstanceMapper(
-                        (new HumanTaskNodePredicate().test(s.getNodeType()) ?
-                                userTaskServicesClient.findTaskByWorkItemId(s.getWorkItemId()).getActualOwner() :
-                                ""),
-                        CaseActionStatus.COMPLETED).apply(s))
-                .collect(toList());
+    protected void registerTaskOwnersQuery(final String serverTemplateId,
+                                           final QueryServicesClient queryServicesClient) {
+        final String templateKey = ofNullable(serverTemplateId).orElse("");
+        if (taskOwnersQueryTemplates.contains(templateKey)) {
+            return;
+        }
+        queryServicesClient.replaceQuery(QueryDefinition.builder()
+                                                 .name(TASK_OWNERS_QUERY)
+                                                 .source("${org.kie.server.persistence.ds}")
+                                                 .expression("select t.workItemId, t.actualOwner from AuditTaskImpl t")
+                                                 .target("CUSTOM")
+                                                 .build());
+        taskOwnersQueryTemplates.add(templateKey);
     }
 
-    public List<CaseActionSummary> getAdHocFragments(String containerId,
+    public List<CaseActionSummary> getAdHocFragments(String serverTemplateId,
+                                                     String containerId,
                                                      String caseId) {
+        final CaseServicesClient client = getClient(serverTemplateId,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         return client.getAdHocFragments(containerId,
                                         caseId)
                 .stream()
@@ -371,19 +583,20 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
     public List<CaseActionSummary> getAdHocActions(String serverTemplateId,
                                                    String containerId,
                                                    String caseId) {
-        List<CaseActionSummary> adHocActions = getAdHocFragments(containerId,
-                                                                 caseId);
-        CaseInstanceSummary caseInstanceSummary = getCaseInstance(serverTemplateId,
-                                                                  containerId,
-                                                                  caseId);
+        return getAdHocActions(getAdHocFragments(serverTemplateId,
+                                                 containerId,
+                                                 caseId),
+                               getCaseInstance(serverTemplateId,
+                                               containerId,
+                                               caseId));
+    }
+
+    protected List<CaseActionSummary> getAdHocActions(final List<CaseActionSummary> adHocFragments,
+                                                      final CaseInstanceSummary caseInstanceSummary) {
+        final List<CaseActionSummary> adHocActions = new ArrayList<>(adHocFragments);
         caseInstanceSummary.getStages().stream()
                 .filter(s -> s.getStatus().equals(CaseStageStatus.ACTIVE.getStatus()))
-                .forEach(ah -> {
-                    if (ah.getAdHocActions().size() > 0) {
-                        adHocActions.addAll(ah.getAdHocActions());
-                    }
-                    return;
-                });
+                .forEach(ah -> adHocActions.addAll(ah.getAdHocActions()));
         return adHocActions;
     }
 
@@ -394,6 +607,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                    String actors,
                                    String groups,
                                    Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.addDynamicUserTask(containerId,
                                   caseId,
                                   name,
@@ -411,6 +627,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                           String actors,
                                           String groups,
                                           Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.addDynamicUserTaskToStage(containerId,
                                          caseId,
                                          stageId,
@@ -425,6 +644,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                      String caseId,
                                      String processId,
                                      Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.addDynamicSubProcess(containerId,
                                     caseId,
                                     processId,
@@ -436,6 +658,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                             String stageId,
                                             String processId,
                                             Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.addDynamicSubProcessToStage(containerId,
                                            caseId,
                                            stageId,
@@ -449,6 +674,9 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                           String stageId,
                                           String adHocName,
                                           Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.triggerAdHocFragmentInStage(containerId,
                                            caseId,
                                            stageId,
@@ -461,17 +689,42 @@ public class RemoteCaseManagementServiceImpl implements CaseManagementService {
                                    String caseId,
                                    String adHocName,
                                    Map<String, Object> data) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         client.triggerAdHocFragment(containerId,
                                     caseId,
                                     adHocName,
                                     data);
     }
 
+    /**
+     * Process definitions only change when the container is deployed, so pages already read are served from the
+     * {@link CaseDefinitionCache}.
+     */
     @Override
-    public List<ProcessDefinitionSummary> getProcessDefinitions(String containerId) {
+    public List<ProcessDefinitionSummary> getProcessDefinitions(final String containerId,
+                                                                final Integer page,
+                                                                final Integer pageSize) {
+        return definitionCache.get(null,
+                                   containerId,
+                                   "processDefinitions|" + page + "|" + pageSize,
+                                   () -> loadProcessDefinitions(containerId,
+                                                                page,
+                                                                pageSize));
+    }
+
+    protected List<ProcessDefinitionSummary> loadProcessDefinitions(final String containerId,
+                                                                    final Integer page,
+                                                                    final Integer pageSize) {
+        final CaseServicesClient client = getClient(null,
+                                                    containerId,
+                                                    CaseServicesClient.class);
         final List<ProcessDefinition> processDefinitions = client.findProcessesByContainerId(containerId,
-                                                                                             0,
-                                                                                             PAGE_SIZE_UNLIMITED);
+                                                                                             page,
+                                                                                             pageSize,
+                                                                                             SORT_BY_PROCESS_NAME,
+                                                                                             true);
         return processDefinitions.stream().map(new ProcessDefinitionMapper()).collect(toList());
     }
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaseDefinitionCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private static final String CONTAINER_ID = "containerId";
+
+    @Mock
+    Supplier<List<String>> loader;
+
+    CaseDefinitionCache cache;
+
+    @Before
+    public void setup() {
+        cache = new CaseDefinitionCache();
+        when(loader.get()).thenReturn(Arrays.asList("definition1",
+                                                    "definition2"));
+    }
+
+    @Test
+    public void testDefinitionsAreCached() {
+        final List<String> first = get(SERVER_TEMPLATE_ID,
+                                       "definitions");
+        final List<String> second = get(SERVER_TEMPLATE_ID,
+                                        "definitions");
+
+        verify(loader,
+               times(1)).get();
+        assertEquals(first,
+                     second);
+        assertEquals(1,
+                     cache.getSize());
+    }
+
+    @Test
+    public void testCachedDefinitionsAreCopied() {
+        get(SERVER_TEMPLATE_ID,
+            "definitions");
+        get(SERVER_TEMPLATE_ID,
+            "definitions").clear();
+
+        assertEquals(2,
+                     get(SERVER_TEMPLATE_ID,
+                         "definitions").size());
+    }
+
+    @Test
+    public void testDifferentRequestsAreNotShared() {
+        get(SERVER_TEMPLATE_ID,
+            "page0");
+        get(SERVER_TEMPLATE_ID,
+            "page1");
+        get(null,
+            "page0");
+
+        verify(loader,
+               times(3)).get();
+        assertEquals(3,
+                     cache.getSize());
+    }
+
+    @Test
+    public void testServerTemplateUpdatedInvalidation() {
+        get(SERVER_TEMPLATE_ID,
+            "definitions");
+        get(null,
+            "definitions");
+        get("otherServerTemplateId",
+            "definitions");
+
+        cache.onServerTemplateUpdated(new ServerTemplateUpdated(new ServerTemplate(SERVER_TEMPLATE_ID,
+                                                                                   SERVER_TEMPLATE_ID)));
+
+        assertEquals(1,
+                     cache.getSize());
+        get(SERVER_TEMPLATE_ID,
+            "definitions");
+        get(null,
+            "definitions");
+        verify(loader,
+               times(5)).get();
+    }
+
+    @Test
+    public void testServerTemplateDeletedInvalidation() {
+        get(SERVER_TEMPLATE_ID,
+            "definitions");
+
+        cache.onServerTemplateDeleted(new ServerTemplateDeleted(SERVER_TEMPLATE_ID));
+
+        assertEquals(0,
+                     cache.getSize());
+    }
+
+    @Test
+    public void testDefinitionsLoadedBeforeInvalidationAreNotCached() {
+        when(loader.get()).thenAnswer(invocation -> {
+            cache.invalidateServerTemplate(SERVER_TEMPLATE_ID);
+            return Arrays.asList("definition1");
+        });
+
+        assertEquals(1,
+                     get(SERVER_TEMPLATE_ID,
+                         "definitions").size());
+        assertEquals(0,
+                     cache.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDefinitionsDropped() {
+        final int cacheSize = Integer.getInteger(CaseDefinitionCache.CACHE_SIZE,
+                                                 200);
+        for (int i = 0; i < cacheSize; i++) {
+            get(SERVER_TEMPLATE_ID,
+                "page" + i);
+        }
+        get(SERVER_TEMPLATE_ID,
+            "page0");
+        get(SERVER_TEMPLATE_ID,
+            "page" + cacheSize);
+
+        assertEquals(cacheSize,
+                     cache.getSize());
+        verify(loader,
+               times(cacheSize + 1)).get();
+
+        get(SERVER_TEMPLATE_ID,
+            "page0");
+        verify(loader,
+               times(cacheSize + 1)).get();
+        get(SERVER_TEMPLATE_ID,
+            "page1");
+        verify(loader,
+               times(cacheSize + 2)).get();
+    }
+
+    private List<String> get(final String serverTemplateId,
+                             final String name) {
+        return cache.get(serverTemplateId,
+                         CONTAINER_ID,
+                         name,
+                         loader);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.cm.backend.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PageIteratorTest {
+
+    @Test
+    public void testPagesAreRequestedLazily() {
+        final List<Integer> requestedPages = new ArrayList<>();
+        final Iterator<String> iterator = new PageIterator<>((page, pageSize) -> {
+            requestedPages.add(page);
+            return page == 0 ? Arrays.asList("a",
+                                             "b") : Arrays.asList("c");
+        },
+                                                             2);
+
+        assertEquals("a",
+                     iterator.next());
+        assertEquals("b",
+                     iterator.next());
+        assertEquals(Arrays.asList(0),
+                     requestedPages);
+
+        assertEquals("c",
+                     iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(Arrays.asList(0,
+                                   1),
+                     requestedPages);
+    }
+
+    @Test
+    public void testStreamStopsAtEmptyPage() {
+        final List<Integer> requestedPages = new ArrayList<>();
+        final List<String> results = PageIterator.<String>stream((page, pageSize) -> {
+                                                                     requestedPages.add(page);
+                                                                     return page == 0 ? Arrays.asList("a",
+                                                                                                      "b") : emptyList();
+                                                                 },
+                                                                 2).collect(toList());
+
+        assertEquals(Arrays.asList("a",
+                                   "b"),
+                     results);
+        assertEquals(Arrays.asList(0,
+                                   1),
+                     requestedPages);
+    }
+}
@@ -30,13 +30,21 @@ import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
 import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStageStatus;
+import org.jbpm.workbench.ks.utils.KieServerClientProvider;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.model.cases.*;
+import org.kie.server.api.model.definition.QueryDefinition;
+import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.instance.NodeInstance;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.CaseServicesClient;
+import org.kie.server.client.QueryServicesClient;
 import org.kie.server.client.UserTaskServicesClient;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -84,10 +92,32 @@ public class RemoteCaseManagementServiceImplTest {
     @Mock
     private UserTaskServicesClient userTaskServicesClient;
 
+    @Mock
+    private QueryServicesClient queryServicesClient;
+
+    @Mock
+    private KieServerClientProvider clientProvider;
+
+    @Spy
+    private CaseDefinitionCache definitionCache = new CaseDefinitionCache();
+
     @Spy
     @InjectMocks
     private RemoteCaseManagementServiceImpl testedService;
 
+    @Before
+    public void setUp() {
+        when(clientProvider.getClient(any(),
+                                      any(),
+                                      eq(CaseServicesClient.class))).thenReturn(clientMock);
+        when(clientProvider.getClient(any(),
+                                      any(),
+                                      eq(UserTaskServicesClient.class))).thenReturn(userTaskServicesClient);
+        when(clientProvider.getClient(any(),
+                                      any(),
+                                      eq(QueryServicesClient.class))).thenReturn(queryServicesClient);
+    }
+
     @Test
     public void testGetCaseDefinitions_singleCaseDefinition() {
         final CaseDefinition definition = createTestDefinition();
@@ -105,6 +135,36 @@ public class RemoteCaseManagementServiceImplTest {
                              definitions.get(0));
     }
 
+    @Test
+    public void testGetCaseDefinitionsCachedUntilServerTemplateUpdated() {
+        when(clientMock.getCaseDefinitions(anyInt(),
+                                           anyInt(),
+                                           eq(CaseServicesClient.SORT_BY_CASE_DEFINITION_NAME),
+                                           eq(true)))
+                .thenReturn(singletonList(createTestDefinition()));
+
+        testedService.getCaseDefinitions();
+        final List<CaseDefinitionSummary> definitions = testedService.getCaseDefinitions();
+
+        assertEquals(1,
+                     definitions.size());
+        verify(clientMock,
+               times(1)).getCaseDefinitions(anyInt(),
+                                            anyInt(),
+                                            anyString(),
+                                            anyBoolean());
+
+        definitionCache.onServerTemplateUpdated(new ServerTemplateUpdated(new ServerTemplate(serverTemplateId,
+                                                                                             serverTemplateId)));
+        testedService.getCaseDefinitions();
+
+        verify(clientMock,
+               times(2)).getCaseDefinitions(anyInt(),
+                                            anyInt(),
+                                            anyString(),
+                                            anyBoolean());
+    }
+
     @Test
     public void testGetCaseDefinitions_emptyList() {
         when(clientMock.getCaseDefinitions(anyInt(),
@@ -148,7 +208,9 @@ public class RemoteCaseManagementServiceImplTest {
         final CaseInstance instance = createTestInstance(caseId);
         when(clientMock.getCaseInstances(eq(singletonList(request.getStatus().getName())),
                                          anyInt(),
-                                         anyInt())).thenReturn(singletonList(instance));
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean())).thenReturn(singletonList(instance));
 
         final List<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
         assertNotNull(instances);
@@ -163,7 +225,9 @@ public class RemoteCaseManagementServiceImplTest {
         final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest();
         when(clientMock.getCaseInstances(eq(singletonList(request.getStatus().getName())),
                                          anyInt(),
-                                         anyInt())).thenReturn(emptyList());
+                                         anyInt(),
+                                         anyString(),
+                                         anyBoolean())).thenReturn(emptyList());
 
         final List<CaseInstanceSummary> instances = testedService.getCaseInstances(request);
         assertNotNull(instances);
@@ -171,54 +235,30 @@ public class RemoteCaseManagementServiceImplTest {
     }
 
     @Test
-    public void getCaseInstances_sortCaseInstanceList() {
-        CaseInstance c1 = createTestInstance("id1");
-        c1.setStartedAt(new Date(10000));
-
-        CaseInstance c2 = createTestInstance("id2");
-        c2.setStartedAt(new Date(10));
-
-        when(clientMock.getCaseInstances(anyList(),
-                                         anyInt(),
-                                         anyInt())).thenReturn(Arrays.asList(c1,
-                                                                             c2));
-
-        CaseInstanceSearchRequest defaultSortRequest = new CaseInstanceSearchRequest(); //Default sort is by CASE_ID
-        List<CaseInstanceSummary> sortedInstances = testedService.getCaseInstances(defaultSortRequest);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
-
-        CaseInstanceSearchRequest sortByIdRequest = new CaseInstanceSearchRequest();
-        sortByIdRequest.setSortBy(CaseInstanceSortBy.CASE_ID);
-        sortByIdRequest.setSortByAsc(true);
-        sortedInstances = testedService.getCaseInstances(sortByIdRequest);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
-        sortByIdRequest.setSortByAsc(false);
-        sortedInstances = testedService.getCaseInstances(sortByIdRequest);
-        assertEquals("id2",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id1",
-                     sortedInstances.get(1).getCaseId());
-
-        CaseInstanceSearchRequest sortByStarted = new CaseInstanceSearchRequest();
+    public void getCaseInstances_pagingAndSortingPushedDown() {
+        final CaseInstanceSearchRequest defaultRequest = new CaseInstanceSearchRequest(); //Default sort is by CASE_ID
+        testedService.getCaseInstances(defaultRequest);
+        verify(clientMock).getCaseInstances(singletonList(defaultRequest.getStatus().getName()),
+                                            0,
+                                            defaultRequest.getPageSize(),
+                                            SORT_BY_CASE_INSTANCE_ID,
+                                            true);
+
+        final CaseInstanceSearchRequest sortByStarted = new CaseInstanceSearchRequest();
         sortByStarted.setSortBy(CaseInstanceSortBy.START_TIME);
-        sortByStarted.setSortByAsc(true);
-        sortedInstances = testedService.getCaseInstances(sortByStarted);
-        assertEquals("id2",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id1",
-                     sortedInstances.get(1).getCaseId());
         sortByStarted.setSortByAsc(false);
-        sortedInstances = testedService.getCaseInstances(sortByStarted);
-        assertEquals("id1",
-                     sortedInstances.get(0).getCaseId());
-        assertEquals("id2",
-                     sortedInstances.get(1).getCaseId());
+        sortByStarted.setPage(3);
+        sortByStarted.setPageSize(25);
+        testedService.getCaseInstances(sortByStarted);
+        verify(clientMock).getCaseInstances(singletonList(sortByStarted.getStatus().getName()),
+                                            3,
+                                            25,
+                                            SORT_BY_CASE_INSTANCE_START_TIME,
+                                            false);
+        verify(clientMock,
+               never()).getCaseInstances(anyList(),
+                                         anyInt(),
+                                         anyInt());
     }
 
     @Test
@@ -265,6 +305,48 @@ public class RemoteCaseManagementServiceImplTest {
                                              null);
     }
 
+    @Test
+    public void testClientRoutedByServerTemplateAndContainer() {
+        testedService.cancelCaseInstance(serverTemplateId,
+                                         containerId,
+                                         caseId);
+        testedService.closeCaseInstance(containerId,
+                                        caseId,
+                                        null);
+        testedService.getCaseDefinitions();
+
+        verify(clientProvider).getClient(serverTemplateId,
+                                         containerId,
+                                         CaseServicesClient.class);
+        verify(clientProvider).getClient(null,
+                                         containerId,
+                                         CaseServicesClient.class);
+        verify(clientProvider).getClient(null,
+                                         null,
+                                         CaseServicesClient.class);
+    }
+
+    @Test
+    public void testTaskOwnersQueryRegisteredPerServerTemplate() {
+        final List<NodeInstance> nodes = singletonList(NodeInstance.builder()
+                                                               .nodeType(NODE_TYPE_HUMAN_TASK)
+                                                               .workItemId(1L)
+                                                               .build());
+
+        testedService.getTaskOwners(serverTemplateId,
+                                    nodes);
+        testedService.getTaskOwners(serverTemplateId,
+                                    nodes);
+        testedService.getTaskOwners("otherServerTemplateId",
+                                    nodes);
+
+        verify(queryServicesClient,
+               times(2)).replaceQuery(any(QueryDefinition.class));
+        verify(clientProvider).getClient("otherServerTemplateId",
+                                         null,
+                                         QueryServicesClient.class);
+    }
+
     @Test
     public void getCaseInstance_whenClientReturnsInstance() {
         final CaseInstance ci = createTestInstance(caseId);
@@ -463,7 +545,9 @@ public class RemoteCaseManagementServiceImplTest {
         CaseMilestoneSearchRequest defaultSortRequest = new CaseMilestoneSearchRequest(); //Default sort is by MILESTONE_NAME
         List<CaseMilestoneSummary> sortedMilestones = testedService.getCaseMilestones("containerId",
                                                                                       "caseId",
-                                                                                      defaultSortRequest);
+                                                                                      defaultSortRequest,
+                                                                                      0,
+                                                                                      10);
         assertEquals("id1",
                      sortedMilestones.get(0).getIdentifier());
         assertEquals("id2",
@@ -475,7 +559,9 @@ public class RemoteCaseManagementServiceImplTest {
         sortByNameAscRequest.setSortByAsc(true);
         sortedMilestones = testedService.getCaseMilestones("containerId",
                                                            "caseId",
-                                                           sortByNameAscRequest);
+                                                           sortByNameAscRequest,
+                                                           0,
+                                                           10);
         assertEquals("id1",
                      sortedMilestones.get(0).getIdentifier());
         assertEquals("id2",
@@ -487,7 +573,9 @@ public class RemoteCaseManagementServiceImplTest {
         sortByNameDescRequest.setSortByAsc(false);
         sortedMilestones = testedService.getCaseMilestones("containerId",
                                                            "caseId",
-                                                           sortByNameDescRequest);
+                                                           sortByNameDescRequest,
+                                                           0,
+                                                           10);
         assertEquals("id2",
                      sortedMilestones.get(0).getIdentifier());
         assertEquals("id1",
@@ -514,7 +602,14 @@ public class RemoteCaseManagementServiceImplTest {
                                   any())).thenReturn(caseStages);
 
         final List<CaseStageSummary> stages = testedService.getCaseStages("containerId",
-                                                                          "caseId");
+                                                                          "caseId",
+                                                                          1,
+                                                                          10);
+        verify(clientMock).getStages("containerId",
+                                     "caseId",
+                                     false,
+                                     1,
+                                     10);
         assertNotNull(stages);
         assertEquals(2,
                      stages.size());
@@ -522,6 +617,74 @@ public class RemoteCaseManagementServiceImplTest {
                          stages);
     }
 
+    @Test
+    public void testGetProcessDefinitionsPaged() {
+        testedService.getProcessDefinitions(containerId,
+                                            2,
+                                            50);
+
+        verify(clientMock).findProcessesByContainerId(containerId,
+                                                      2,
+                                                      50,
+                                                      SORT_BY_PROCESS_NAME,
+                                                      true);
+    }
+
+    @Test
+    public void testGetProcessDefinitionsCachedPerContainerAndPage() {
+        testedService.getProcessDefinitions(containerId,
+                                            0,
+                                            50);
+        testedService.getProcessDefinitions(containerId,
+                                            0,
+                                            50);
+        testedService.getProcessDefinitions(containerId,
+                                            1,
+                                            50);
+        testedService.getProcessDefinitions("otherContainerId",
+                                            0,
+                                            50);
+
+        verify(clientMock,
+               times(3)).findProcessesByContainerId(anyString(),
+                                                    anyInt(),
+                                                    anyInt(),
+                                                    anyString(),
+                                                    anyBoolean());
+    }
+
+    @Test
+    public void getCaseCompletedNodesFetchesPagesLazilyTest() {
+        final List<NodeInstance> firstPage = new ArrayList<>();
+        for (long i = 0; i < NODES_PAGE_SIZE; i++) {
+            firstPage.add(createTestNodeInstance("node" + i,
+                                                 "Service Task",
+                                                 i));
+        }
+        when(clientMock.getCompletedNodes(containerId,
+                                          caseId,
+                                          0,
+                                          NODES_PAGE_SIZE)).thenReturn(firstPage);
+        when(clientMock.getCompletedNodes(containerId,
+                                          caseId,
+                                          1,
+                                          NODES_PAGE_SIZE)).thenReturn(singletonList(createTestNodeInstance("last",
+                                                                                                            "Service Task",
+                                                                                                            1000L)));
+
+        final List<NodeInstance> nodes = testedService.getCaseCompletedNodes(serverTemplateId,
+                                                                             containerId,
+                                                                             caseId);
+
+        assertEquals(NODES_PAGE_SIZE + 1,
+                     nodes.size());
+        verify(clientMock,
+               times(2)).getCompletedNodes(eq(containerId),
+                                           eq(caseId),
+                                           anyInt(),
+                                           eq(NODES_PAGE_SIZE));
+    }
+
     private CaseDefinition createTestDefinition() {
         CaseDefinition definition = CaseDefinition.builder()
                 .id(caseDefinitionId)
@@ -689,13 +852,12 @@ public class RemoteCaseManagementServiceImplTest {
                                           anyInt())).thenReturn(Arrays.asList(node5,
                                                                               node6));
 
-        TaskInstance t1 = TaskInstance.builder()
-                .actualOwner("Koe")
-                .build();
-
-        when(userTaskServicesClient.findTaskByWorkItemId(node1.getWorkItemId())).thenReturn(t1);
-        when(userTaskServicesClient.findTaskByWorkItemId(node3.getWorkItemId())).thenReturn(t1);
-        when(userTaskServicesClient.findTaskByWorkItemId(node5.getWorkItemId())).thenReturn(t1);
+        mockTaskOwners(Arrays.asList(node1.getWorkItemId(),
+                                     "Koe"),
+                       Arrays.asList(node3.getWorkItemId(),
+                                     "Koe"),
+                       Arrays.asList(node5.getWorkItemId(),
+                                     "Koe"));
 
         Actions actions = testedService.getCaseActions(serverTemplateId,
                                                        containerId,
@@ -743,15 +905,154 @@ public class RemoteCaseManagementServiceImplTest {
                                              eq(caseId),
                                              eq(0),
                                              anyInt());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node1.getWorkItemId());
-        verify(userTaskServicesClient,
-               never()).findTaskByWorkItemId(node2.getWorkItemId());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node3.getWorkItemId());
-        verify(userTaskServicesClient,
-               never()).findTaskByWorkItemId(node4.getWorkItemId());
-        verify(userTaskServicesClient).findTaskByWorkItemId(node5.getWorkItemId());
-        verify(userTaskServicesClient,
-               never()).findTaskByWorkItemId(node6.getWorkItemId());
+        assertEquals("Koe",
+                     actions.getInProgressAction().get(0).getActualOwner());
+        assertEquals("Koe",
+                     actions.getCompleteActions().get(0).getActualOwner());
+        final ArgumentCaptor<QueryFilterSpec> filterSpecCaptor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq(TASK_OWNERS_QUERY),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          filterSpecCaptor.capture(),
+                                          eq(0),
+                                          eq(3),
+                                          eq(List.class));
+        assertEquals(Arrays.asList(node1.getWorkItemId(),
+                                   node3.getWorkItemId(),
+                                   node5.getWorkItemId()),
+                     filterSpecCaptor.getValue().getParameters()[0].getValue());
+        verifyZeroInteractions(userTaskServicesClient);
+    }
+
+    @Test
+    public void getCaseActionsRegistersTaskOwnersQueryOnceTest() {
+        final CaseInstance ci = createTestInstance(caseId);
+        ci.setStages(emptyList());
+        when(clientMock.getCaseInstance(anyString(),
+                                        anyString(),
+                                        anyBoolean(),
+                                        anyBoolean(),
+                                        anyBoolean(),
+                                        anyBoolean())).thenReturn(ci);
+        when(clientMock.getActiveNodes(eq(containerId),
+                                       eq(caseId),
+                                       anyInt(),
+                                       anyInt())).thenReturn(singletonList(createTestNodeInstance("active1",
+                                                                                                  NODE_TYPE_HUMAN_TASK,
+                                                                                                  1L)));
+        mockTaskOwners(Arrays.asList(1L,
+                                     "owner"));
+
+        testedService.getCaseActions(serverTemplateId,
+                                     containerId,
+                                     caseId,
+                                     userId);
+        testedService.getCaseActions(serverTemplateId,
+                                     containerId,
+                                     caseId,
+                                     userId);
+
+        final ArgumentCaptor<QueryDefinition> captor = ArgumentCaptor.forClass(QueryDefinition.class);
+        verify(queryServicesClient).replaceQuery(captor.capture());
+        assertEquals(TASK_OWNERS_QUERY,
+                     captor.getValue().getName());
+        verify(queryServicesClient,
+               times(2)).query(eq(TASK_OWNERS_QUERY),
+                               anyString(),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               anyInt(),
+                               eq(List.class));
+    }
+
+    @Test
+    public void getCaseActionsUsesRequestThreadCredentialsTest() {
+        // like the Keycloak and JAAS credentials providers, clients are only available on the thread of the request
+        final ThreadLocal<Boolean> request = new ThreadLocal<>();
+        request.set(true);
+        when(clientProvider.getClient(any(),
+                                      any(),
+                                      any())).thenAnswer(invocation -> {
+            if (request.get() == null) {
+                throw new IllegalStateException("No request bound to " + Thread.currentThread().getName());
+            }
+            final Object clientType = invocation.getArguments()[2];
+            if (clientType == CaseServicesClient.class) {
+                return clientMock;
+            }
+            return clientType == UserTaskServicesClient.class ? userTaskServicesClient : queryServicesClient;
+        });
+        final CaseInstance ci = createTestInstance(caseId);
+        ci.setStages(emptyList());
+        when(clientMock.getCaseInstance(anyString(),
+                                        anyString(),
+                                        anyBoolean(),
+                                        anyBoolean(),
+                                        anyBoolean(),
+                                        anyBoolean())).thenReturn(ci);
+        when(clientMock.getActiveNodes(eq(containerId),
+                                       eq(caseId),
+                                       anyInt(),
+                                       anyInt())).thenReturn(singletonList(createTestNodeInstance("Milestone 1",
+                                                                                                  NODE_TYPE_MILESTONE,
+                                                                                                  1L)));
+        when(clientMock.getAdHocFragments(containerId,
+                                          caseId)).thenReturn(Arrays.asList(createTestCaseAdHocFragment("Milestone 1",
+                                                                                                        NODE_TYPE_MILESTONE),
+                                                                            createTestCaseAdHocFragment("Milestone 2",
+                                                                                                        NODE_TYPE_MILESTONE)));
+
+        final Actions actions = testedService.getCaseActions(serverTemplateId,
+                                                             containerId,
+                                                             caseId,
+                                                             userId);
+
+        assertEquals(1,
+                     actions.getInProgressAction().size());
+        assertEquals(1,
+                     actions.getAvailableActions().size());
+        assertEquals("Milestone 2",
+                     actions.getAvailableActions().get(0).getName());
+    }
+
+    @Test(expected = KieServicesException.class)
+    public void getCaseActionsPropagatesFetchFailureTest() {
+        when(clientMock.getAdHocFragments(containerId,
+                                          caseId)).thenThrow(new KieServicesException("Case not found"));
+
+        testedService.getCaseActions(serverTemplateId,
+                                     containerId,
+                                     caseId,
+                                     userId);
+    }
+
+    @Test
+    public void getInProgressActionsFallsBackToTaskLookupTest() {
+        final NodeInstance node = createTestNodeInstance("active1",
+                                                         NODE_TYPE_HUMAN_TASK,
+                                                         1L);
+        when(clientMock.getActiveNodes(eq(containerId),
+                                       eq(caseId),
+                                       anyInt(),
+                                       anyInt())).thenReturn(singletonList(node));
+        doThrow(new KieServicesException("Forbidden")).when(queryServicesClient).replaceQuery(any(QueryDefinition.class));
+        when(userTaskServicesClient.findTaskByWorkItemId(1L)).thenReturn(TaskInstance.builder().actualOwner("owner").build());
+
+        final List<CaseActionSummary> actions = testedService.getInProgressActions(serverTemplateId,
+                                                                                   containerId,
+                                                                                   caseId);
+
+        assertEquals("owner",
+                     actions.get(0).getActualOwner());
+        verify(userTaskServicesClient).findTaskByWorkItemId(1L);
+    }
+
+    private void mockTaskOwners(final List... rows) {
+        when(queryServicesClient.query(eq(TASK_OWNERS_QUERY),
+                                       eq(QueryServicesClient.QUERY_MAP_RAW),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       eq(List.class))).thenReturn(Arrays.asList(rows));
     }
 
     @Test
@@ -766,18 +1067,16 @@ public class RemoteCaseManagementServiceImplTest {
         NodeInstance node2 = createTestNodeInstance("active2",
                                                     "Service Task",
                                                     node2WorkItemId);
-        TaskInstance t1 = TaskInstance.builder()
-                .actualOwner(taskActualOwner)
-                .build();
-
         when(clientMock.getActiveNodes(eq(containerId),
                                        eq(caseId),
                                        anyInt(),
                                        anyInt())).thenReturn(Arrays.asList(node1,
                                                                            node2));
-        when(userTaskServicesClient.findTaskByWorkItemId(node1WorkItemId)).thenReturn(t1);
+        mockTaskOwners(Arrays.asList(node1WorkItemId,
+                                     taskActualOwner));
 
-        List<CaseActionSummary> actionsSummaries = testedService.getInProgressActions(containerId,
+        List<CaseActionSummary> actionsSummaries = testedService.getInProgressActions(serverTemplateId,
+                                                                                      containerId,
                                                                                       caseId);
 
         assertEquals(2,
@@ -794,9 +1093,16 @@ public class RemoteCaseManagementServiceImplTest {
                                      actionsSummaries.get(0));
         assertCaseActionNodeInstance(node2,
                                      actionsSummaries.get(1));
-        verify(userTaskServicesClient).findTaskByWorkItemId(node1WorkItemId);
-        verify(userTaskServicesClient,
-               never()).findTaskByWorkItemId(node2WorkItemId);
+        final ArgumentCaptor<QueryFilterSpec> filterSpecCaptor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq(TASK_OWNERS_QUERY),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          filterSpecCaptor.capture(),
+                                          eq(0),
+                                          eq(1),
+                                          eq(List.class));
+        assertEquals(singletonList(node1WorkItemId),
+                     filterSpecCaptor.getValue().getParameters()[0].getValue());
+        verifyZeroInteractions(userTaskServicesClient);
     }
 
     @Test
@@ -866,19 +1172,20 @@ public class RemoteCaseManagementServiceImplTest {
         final NodeInstance nodeInstance = createTestNodeInstance("completedNode",
                                                                  NODE_TYPE_HUMAN_TASK,
                                                                  1L);
-        final TaskInstance taskInstance = TaskInstance.builder().actualOwner("owner").build();
         when(clientMock.getCompletedNodes(containerId,
                                           caseId,
                                           0,
                                           PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(nodeInstance));
-        when(userTaskServicesClient.findTaskByWorkItemId(nodeInstance.getWorkItemId())).thenReturn(taskInstance);
+        mockTaskOwners(Arrays.asList(nodeInstance.getWorkItemId(),
+                                     "owner"));
 
-        final List<CaseActionSummary> result = testedService.getCompletedActions(containerId,
+        final List<CaseActionSummary> result = testedService.getCompletedActions(serverTemplateId,
+                                                                                 containerId,
                                                                                  caseId);
         SoftAssertions.assertSoftly(softly -> {
             softly.assertThat(result.get(0).getName()).isEqualTo(nodeInstance.getName());
             softly.assertThat(result.get(0).getType()).isEqualTo(nodeInstance.getNodeType());
-            softly.assertThat(result.get(0).getActualOwner()).isEqualTo(taskInstance.getActualOwner());
+            softly.assertThat(result.get(0).getActualOwner()).isEqualTo("owner");
             softly.assertThat(result.get(0).getActionStatus()).isEqualTo(CaseActionStatus.COMPLETED);
         });
     }
@@ -893,10 +1200,12 @@ public class RemoteCaseManagementServiceImplTest {
                                           0,
                                           PAGE_SIZE_UNLIMITED)).thenReturn(singletonList(nodeInstance));
 
-        final List<CaseActionSummary> result = testedService.getCompletedActions(containerId,
+        final List<CaseActionSummary> result = testedService.getCompletedActions(serverTemplateId,
+                                                                                 containerId,
                                                                                  caseId);
 
         verifyZeroInteractions(userTaskServicesClient);
+        verifyZeroInteractions(queryServicesClient);
 
         SoftAssertions.assertSoftly(softly -> {
             softly.assertThat(result.get(0).getName()).isEqualTo(nodeInstance.getName());
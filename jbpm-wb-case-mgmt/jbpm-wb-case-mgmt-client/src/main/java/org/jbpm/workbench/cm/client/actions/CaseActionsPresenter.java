@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
@@ -54,8 +55,12 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
 
     public static final String SCREEN_ID = "Case Actions";
 
+    public static final int PROCESS_DEFINITIONS_PAGE_SIZE = 100;
+
     private final Map<String, ProcessDefinitionSummary> processDefinitionSummaryMap = new HashMap<>();
 
+    private boolean processDefinitionsRequested = false;
+
     @Inject
     private User identity;
 
@@ -76,15 +81,38 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
         view.removeAllTasks();
         newActionView.clearAllStages();
         newActionView.clearAllProcessDefinitions();
+        processDefinitionSummaryMap.clear();
+        processDefinitionsRequested = false;
     }
 
     @Override
     protected void loadCaseInstance(final CaseInstanceSummary cis) {
         view.updateListHeaders();
         setCaseStagesList(cis.getStages());
-        processDefinitionSummaryMap.clear();
+        refreshData(true);
+    }
+
+    /**
+     * Process definitions are only needed to add a dynamic sub process, so they are fetched page by page the first
+     * time that dialog opens instead of with every case instance.
+     */
+    protected void loadProcessDefinitions() {
+        if (processDefinitionsRequested) {
+            return;
+        }
+        processDefinitionsRequested = true;
+        loadProcessDefinitions(containerId,
+                               0);
+    }
+
+    private void loadProcessDefinitions(final String containerId,
+                                        final int page) {
         caseService.call(
                 (List<ProcessDefinitionSummary> processDefinitionSummaries) -> {
+                    if (!processDefinitionsRequested || !Objects.equals(containerId,
+                                                                        this.containerId)) {
+                        return;
+                    }
                     final List<String> processDefinitionNames = new ArrayList<>();
                     for (ProcessDefinitionSummary processDefinitionSummary : processDefinitionSummaries) {
                         processDefinitionNames.add(processDefinitionSummary.getName());
@@ -93,9 +121,14 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
                     }
                     Collections.sort(processDefinitionNames);
                     newActionView.setProcessDefinitions(processDefinitionNames);
+                    if (processDefinitionSummaries.size() == PROCESS_DEFINITIONS_PAGE_SIZE) {
+                        loadProcessDefinitions(containerId,
+                                               page + 1);
+                    }
                 }
-        ).getProcessDefinitions(containerId);
-        refreshData(true);
+        ).getProcessDefinitions(containerId,
+                                page,
+                                PROCESS_DEFINITIONS_PAGE_SIZE);
     }
 
     void setCaseStagesList(final List<CaseStageSummary> caseStagesList) {
@@ -118,6 +151,7 @@ public class CaseActionsPresenter extends AbstractCaseInstancePresenter<CaseActi
                 break;
             }
             case DYNAMIC_SUBPROCESS_TASK: {
+                loadProcessDefinitions();
                 newActionView.show(caseActionType,
                                    () -> addDynamicSubprocessTaskAction(
                                            newActionView.getProcessDefinitionName(),
@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.cm.client.list;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,14 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
 
     public static final String SCREEN_ID = "Case List";
 
+    public static final int PAGE_SIZE = 10;
+
+    private final List<CaseInstanceSummary> visibleCaseInstances = new ArrayList<>();
+
+    private int currentPage = 0;
+
+    private int requestGeneration = 0;
+
     private Caller<CaseManagementService> caseService;
 
     @Inject
@@ -76,9 +85,36 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
     }
 
     protected void refreshData() {
+        requestGeneration++;
+        currentPage = 0;
+        visibleCaseInstances.clear();
+        loadCaseInstances(0);
+    }
+
+    protected void loadMoreCaseInstances() {
+        loadCaseInstances(currentPage + 1);
+    }
+
+    private void loadCaseInstances(final int page) {
+        final int generation = requestGeneration;
+        // the view's request is data bound and any change to it starts a new search, so page on a copy
+        final CaseInstanceSearchRequest search = view.getCaseInstanceSearchRequest();
+        final CaseInstanceSearchRequest request = new CaseInstanceSearchRequest();
+        request.setStatus(search.getStatus());
+        request.setSortBy(search.getSortBy());
+        request.setSortByAsc(search.getSortByAsc());
+        request.setPage(page);
+        request.setPageSize(PAGE_SIZE);
         caseService.call((List<CaseInstanceSummary> cases) -> {
-            view.setCaseInstanceList(cases);
-        }).getCaseInstances(view.getCaseInstanceSearchRequest());
+            // a new search was started while this page was loading
+            if (generation != requestGeneration) {
+                return;
+            }
+            currentPage = page;
+            visibleCaseInstances.addAll(cases);
+            view.setCaseInstanceList(new ArrayList<>(visibleCaseInstances));
+            view.setLoadMoreVisible(cases.size() == PAGE_SIZE);
+        }).getCaseInstances(request);
     }
 
     protected void selectCaseInstance(final CaseInstanceSummary cis) {
@@ -128,5 +164,7 @@ public class CaseInstanceListPresenter extends AbstractPresenter<CaseInstanceLis
         void setCaseInstanceList(List<CaseInstanceSummary> caseInstanceList);
 
         CaseInstanceSearchRequest getCaseInstanceSearchRequest();
+
+        void setLoadMoreVisible(boolean visible);
     }
 }
\ No newline at end of file
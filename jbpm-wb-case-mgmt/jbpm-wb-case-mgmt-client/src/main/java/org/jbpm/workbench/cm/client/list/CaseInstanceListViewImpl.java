@@ -20,13 +20,17 @@ import java.util.List;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
+import org.jboss.errai.common.client.dom.Button;
 import org.jboss.errai.common.client.dom.Div;
 import org.jboss.errai.common.client.dom.HTMLElement;
+import org.jboss.errai.common.client.dom.MouseEvent;
 import org.jboss.errai.databinding.client.api.DataBinder;
 import org.jboss.errai.databinding.client.components.ListComponent;
 import org.jboss.errai.ui.shared.api.annotations.AutoBound;
 import org.jboss.errai.ui.shared.api.annotations.Bound;
 import org.jboss.errai.ui.shared.api.annotations.DataField;
+import org.jboss.errai.ui.shared.api.annotations.EventHandler;
+import org.jboss.errai.ui.shared.api.annotations.ForEvent;
 import org.jboss.errai.ui.shared.api.annotations.Templated;
 import org.jbpm.workbench.cm.client.util.AbstractView;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
@@ -51,6 +55,15 @@ public class CaseInstanceListViewImpl extends AbstractView<CaseInstanceListPrese
     @DataField("list-view")
     private Div viewContainer;
 
+    @Inject
+    @DataField("load-more")
+    private Div loadMoreContainer;
+
+    @Inject
+    @DataField("load-more-cases")
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    private Button loadMoreCases;
+
     @Inject
     @AutoBound
     private DataBinder<List<CaseInstanceSummary>> caseInstanceList;
@@ -84,6 +97,22 @@ public class CaseInstanceListViewImpl extends AbstractView<CaseInstanceListPrese
         }
     }
 
+    @Override
+    public void setLoadMoreVisible(final boolean visible) {
+        if (visible) {
+            removeCSSClass(loadMoreContainer,
+                           "hidden");
+        } else {
+            addCSSClass(loadMoreContainer,
+                        "hidden");
+        }
+    }
+
+    @EventHandler("load-more-cases")
+    public void loadMoreCases(final @ForEvent("click") MouseEvent event) {
+        presenter.loadMoreCaseInstances();
+    }
+
     @Override
     public HTMLElement getElement() {
         return viewContainer;
@@ -16,9 +16,13 @@
 
 package org.jbpm.workbench.cm.client.milestones;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import javax.enterprise.context.Dependent;
 
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenter;
 import org.jbpm.workbench.cm.model.CaseInstanceSummary;
 import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
@@ -28,6 +32,7 @@ import org.uberfire.client.annotations.WorkbenchScreen;
 
 import org.uberfire.client.mvp.UberElement;
 
+import static java.util.Comparator.comparing;
 import static org.jbpm.workbench.cm.client.resources.i18n.Constants.*;
 
 @Dependent
@@ -36,6 +41,18 @@ public class CaseMilestoneListPresenter extends AbstractCaseInstancePresenter<Ca
 
     public static final String SCREEN_ID = "Case Milestone List";
 
+    public static final int PAGE_SIZE = 20;
+
+    private final List<CaseMilestoneSummary> visibleMilestones = new ArrayList<>();
+
+    private int currentPage = 0;
+
+    private int requestGeneration = 0;
+
+    private boolean lastPageLoaded = false;
+
+    private boolean loading = false;
+
     @WorkbenchPartTitle
     public String getTitle() {
         return translationService.format(MILESTONES);
@@ -43,6 +60,7 @@ public class CaseMilestoneListPresenter extends AbstractCaseInstancePresenter<Ca
 
     @Override
     protected void clearCaseInstance() {
+        visibleMilestones.clear();
         view.removeAllMilestones();
     }
 
@@ -56,11 +74,69 @@ public class CaseMilestoneListPresenter extends AbstractCaseInstancePresenter<Ca
     }
 
     protected void refreshData(String caseId) {
-        caseService.call((List<CaseMilestoneSummary> milestones) -> {
-            view.setCaseMilestoneList(milestones);
-        }).getCaseMilestones(containerId,
-                             caseId,
-                             view.getCaseMilestoneSearchRequest());
+        requestGeneration++;
+        currentPage = 0;
+        lastPageLoaded = false;
+        loading = false;
+        visibleMilestones.clear();
+        loadMilestones(caseId,
+                       0);
+    }
+
+    protected void loadMoreMilestones() {
+        if (loading || lastPageLoaded) {
+            return;
+        }
+        loadMilestones(caseId,
+                       currentPage + 1);
+    }
+
+    private void loadMilestones(final String caseId,
+                                final int page) {
+        loading = true;
+        final int generation = requestGeneration;
+        final CaseMilestoneSearchRequest request = view.getCaseMilestoneSearchRequest();
+        // the request is data bound, so remember the sort this page was asked for
+        final Boolean sortByAsc = request.getSortByAsc();
+        caseService.call(
+                (List<CaseMilestoneSummary> milestones) -> {
+                    if (isStale(caseId,
+                                generation,
+                                sortByAsc)) {
+                        return;
+                    }
+                    loading = false;
+                    currentPage = page;
+                    lastPageLoaded = milestones.size() < PAGE_SIZE;
+                    visibleMilestones.addAll(milestones);
+                    // pages are only sorted by the server one at a time, so keep the whole list in the requested order
+                    final Comparator<CaseMilestoneSummary> comparatorByName = comparing(CaseMilestoneSummary::getName);
+                    visibleMilestones.sort(comparing(CaseMilestoneSummary::getStatus).thenComparing(sortByAsc ? comparatorByName : comparatorByName.reversed()));
+                    view.setCaseMilestoneList(new ArrayList<>(visibleMilestones));
+                },
+                (Message message, Throwable t) -> {
+                    if (!isStale(caseId,
+                                 generation,
+                                 sortByAsc)) {
+                        loading = false;
+                    }
+                    return true;
+                }
+        ).getCaseMilestones(containerId,
+                            caseId,
+                            request,
+                            page,
+                            PAGE_SIZE);
+    }
+
+    private boolean isStale(final String caseId,
+                            final int generation,
+                            final Boolean sortByAsc) {
+        return generation != requestGeneration
+                || !Objects.equals(caseId,
+                                   this.caseId)
+                || !Objects.equals(sortByAsc,
+                                   view.getCaseMilestoneSearchRequest().getSortByAsc());
     }
 
     public interface CaseMilestoneListView extends UberElement<CaseMilestoneListPresenter> {
@@ -22,13 +22,15 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.jboss.errai.common.client.dom.Div;
-
+import org.jboss.errai.common.client.dom.Event;
 import org.jboss.errai.common.client.dom.HTMLElement;
 import org.jboss.errai.databinding.client.api.DataBinder;
 import org.jboss.errai.databinding.client.components.ListComponent;
 import org.jboss.errai.ui.shared.api.annotations.AutoBound;
 import org.jboss.errai.ui.shared.api.annotations.Bound;
 import org.jboss.errai.ui.shared.api.annotations.DataField;
+import org.jboss.errai.ui.shared.api.annotations.EventHandler;
+import org.jboss.errai.ui.shared.api.annotations.ForEvent;
 import org.jboss.errai.ui.shared.api.annotations.Templated;
 import org.jbpm.workbench.cm.client.util.AbstractView;
 import org.jbpm.workbench.cm.model.CaseMilestoneSummary;
@@ -40,6 +42,8 @@ import static org.jboss.errai.common.client.dom.DOMUtil.*;
 @Templated
 public class CaseMilestoneListViewImpl extends AbstractView<CaseMilestoneListPresenter> implements CaseMilestoneListPresenter.CaseMilestoneListView {
 
+    static final int LOAD_MORE_SCROLL_THRESHOLD = 20;
+
     @Inject
     @DataField("search-actions")
     private CaseMilestoneListSearchViewImpl actions;
@@ -48,6 +52,10 @@ public class CaseMilestoneListViewImpl extends AbstractView<CaseMilestoneListPre
     @DataField("milestones")
     private Div milestonesContainer;
 
+    @Inject
+    @DataField("milestone-scrollbox")
+    private Div scrollbox;
+
     @Inject
     @DataField("empty-list-item")
     private Div emptyContainer;
@@ -80,6 +88,13 @@ public class CaseMilestoneListViewImpl extends AbstractView<CaseMilestoneListPre
         }
     }
 
+    @EventHandler("milestone-scrollbox")
+    public void onScroll(final @ForEvent("scroll") Event event) {
+        if (scrollbox.getScrollTop() + scrollbox.getClientHeight() >= scrollbox.getScrollHeight() - LOAD_MORE_SCROLL_THRESHOLD) {
+            presenter.loadMoreMilestones();
+        }
+    }
+
     @Override
     public void removeAllMilestones() {
         caseMilestoneList.setModel(new ArrayList<>());
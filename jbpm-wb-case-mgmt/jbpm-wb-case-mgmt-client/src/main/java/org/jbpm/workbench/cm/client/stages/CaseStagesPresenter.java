@@ -15,7 +15,9 @@
  */
 package org.jbpm.workbench.cm.client.stages;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import javax.enterprise.context.Dependent;
 
 import org.jbpm.workbench.cm.client.resources.i18n.Constants;
@@ -33,6 +35,10 @@ public class CaseStagesPresenter extends AbstractCaseInstancePresenter<CaseStage
 
     public static final String SCREEN_ID = "Case Stages Screen";
 
+    public static final int PAGE_SIZE = 20;
+
+    private final List<CaseStageSummary> loadedStages = new ArrayList<>();
+
     @WorkbenchPartTitle
     public String getTitle() {
         return translationService.format(Constants.CASE_STAGES);
@@ -40,16 +46,37 @@ public class CaseStagesPresenter extends AbstractCaseInstancePresenter<CaseStage
 
     @Override
     protected void clearCaseInstance() {
+        loadedStages.clear();
         view.removeAllStages();
     }
 
     @Override
     protected void loadCaseInstance(final CaseInstanceSummary cis) {
+        loadStages(caseId,
+                   0);
+    }
+
+    /**
+     * Shows the stages as soon as the first page arrives and keeps appending the following pages.
+     */
+    private void loadStages(final String caseId,
+                            final int page) {
         caseService.call((List<CaseStageSummary> stages) -> {
-            view.setCaseStagesList(stages);
+            if (!Objects.equals(caseId,
+                                this.caseId)) {
+                return;
+            }
+            loadedStages.addAll(stages);
+            view.setCaseStagesList(new ArrayList<>(loadedStages));
             setStages();
+            if (stages.size() == PAGE_SIZE) {
+                loadStages(caseId,
+                           page + 1);
+            }
         }).getCaseStages(containerId,
-                         caseId);
+                         caseId,
+                         page,
+                         PAGE_SIZE);
     }
 
     void setStages() {
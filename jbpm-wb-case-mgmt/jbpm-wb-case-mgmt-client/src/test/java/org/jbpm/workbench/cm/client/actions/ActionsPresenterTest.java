@@ -108,15 +108,34 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
 
     @Test
     public void clearAndLoadCaseInstanceTest() {
-        when(caseManagementService.getProcessDefinitions(containerId)).thenReturn(singletonList(ProcessDefinitionSummary.builder()
-                                                                                                                        .id("processId")
-                                                                                                                        .name("SubProcess_1")
-                                                                                                                        .build()));
         setupCaseInstance(cis,
                           serverTemplateId);
 
         verifyCaseInstanceCleared();
         verifyCaseInstanceLoaded();
+        verify(caseManagementService,
+               never()).getProcessDefinitions(anyString(),
+                                              anyInt(),
+                                              anyInt());
+    }
+
+    @Test
+    public void loadProcessDefinitionsOnDynamicSubProcessTest() {
+        when(caseManagementService.getProcessDefinitions(containerId,
+                                                         0,
+                                                         CaseActionsPresenter.PROCESS_DEFINITIONS_PAGE_SIZE)).thenReturn(singletonList(ProcessDefinitionSummary.builder()
+                                                                                                                                                 .id("processId")
+                                                                                                                                                 .name("SubProcess_1")
+                                                                                                                                                 .build()));
+        setupCaseInstance(cis,
+                          serverTemplateId);
+
+        presenter.setNewDynamicAction(DYNAMIC_SUBPROCESS_TASK);
+        presenter.setNewDynamicAction(DYNAMIC_SUBPROCESS_TASK);
+
+        verifySubProcessesLoaded();
+        assertEquals("processId",
+                     presenter.getProcessDefinitionSummaryMap().get("SubProcess_1").getId());
     }
 
     private void verifyCaseInstanceCleared() {
@@ -136,12 +155,13 @@ public class ActionsPresenterTest extends AbstractCaseInstancePresenterTest {
                      captor.getValue().size());
         assertEquals(ACTIVE.getStatus(),
                      ((CaseStageSummary)captor.getValue().get(0)).getStatus());
-        verifySubProcessesLoaded();
         verifyActionsLoaded();
     }
 
     private void verifySubProcessesLoaded() {
-        verify(caseManagementService).getProcessDefinitions(containerId);
+        verify(caseManagementService).getProcessDefinitions(containerId,
+                                                             0,
+                                                             CaseActionsPresenter.PROCESS_DEFINITIONS_PAGE_SIZE);
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(newActionViewMock).setProcessDefinitions(captor.capture());
         assertEquals(1,
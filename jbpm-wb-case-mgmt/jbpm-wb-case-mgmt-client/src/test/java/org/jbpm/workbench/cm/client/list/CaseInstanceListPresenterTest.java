@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.cm.client.list;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -111,11 +112,76 @@ public class CaseInstanceListPresenterTest {
     public void testRefreshData() {
         presenter.refreshData();
 
-        verify(caseManagementService).getCaseInstances(view.getCaseInstanceSearchRequest());
+        final ArgumentCaptor<CaseInstanceSearchRequest> requestCaptor = ArgumentCaptor.forClass(CaseInstanceSearchRequest.class);
+        verify(caseManagementService).getCaseInstances(requestCaptor.capture());
+        assertEquals(view.getCaseInstanceSearchRequest().getStatus(),
+                     requestCaptor.getValue().getStatus());
+        assertEquals(Integer.valueOf(0),
+                     requestCaptor.getValue().getPage());
+        assertEquals(Integer.valueOf(CaseInstanceListPresenter.PAGE_SIZE),
+                     requestCaptor.getValue().getPageSize());
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(view).setCaseInstanceList(captor.capture());
         assertEquals(caseInstanceSummaryList.size(),
                      captor.getValue().size());
+        verify(view).setLoadMoreVisible(false);
+    }
+
+    @Test
+    public void testLoadMoreCaseInstances() {
+        final List<CaseInstanceSummary> firstPage = new ArrayList<>();
+        for (int i = 0; i < CaseInstanceListPresenter.PAGE_SIZE; i++) {
+            firstPage.add(createCaseInstance());
+        }
+        when(caseManagementService.getCaseInstances(any(CaseInstanceSearchRequest.class))).thenReturn(firstPage,
+                                                                                                      caseInstanceSummaryList);
+
+        presenter.refreshData();
+        verify(view).setLoadMoreVisible(true);
+
+        presenter.loadMoreCaseInstances();
+
+        final ArgumentCaptor<CaseInstanceSearchRequest> requestCaptor = ArgumentCaptor.forClass(CaseInstanceSearchRequest.class);
+        verify(caseManagementService,
+               times(2)).getCaseInstances(requestCaptor.capture());
+        assertEquals(Integer.valueOf(1),
+                     requestCaptor.getAllValues().get(1).getPage());
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(view,
+               times(2)).setCaseInstanceList(captor.capture());
+        assertEquals(CaseInstanceListPresenter.PAGE_SIZE + caseInstanceSummaryList.size(),
+                     captor.getValue().size());
+        verify(view).setLoadMoreVisible(false);
+    }
+
+    @Test
+    public void testCaseInstancesOfPreviousSearchAreDropped() {
+        final List<CaseInstanceSummary> firstPage = new ArrayList<>();
+        for (int i = 0; i < CaseInstanceListPresenter.PAGE_SIZE; i++) {
+            firstPage.add(createCaseInstance());
+        }
+        when(caseManagementService.getCaseInstances(any(CaseInstanceSearchRequest.class))).thenAnswer(invocation -> {
+            final CaseInstanceSearchRequest request = (CaseInstanceSearchRequest) invocation.getArguments()[0];
+            if (request.getPage() == 1) {
+                // a new search starts before the next page arrives
+                presenter.searchCaseInstances();
+                return caseInstanceSummaryList;
+            }
+            return firstPage;
+        });
+
+        presenter.refreshData();
+        presenter.loadMoreCaseInstances();
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(view,
+               times(2)).setCaseInstanceList(captor.capture());
+        assertEquals(CaseInstanceListPresenter.PAGE_SIZE,
+                     captor.getValue().size());
+        verify(view,
+               times(2)).setLoadMoreVisible(true);
+        verify(view,
+               never()).setLoadMoreVisible(false);
     }
 
     @Test
@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.cm.client.milestones;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -75,7 +76,9 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
         caseService = new CallerMock<>(caseManagementService);
         when(caseManagementService.getCaseMilestones(anyString(),
                                                      anyString(),
-                                                     any(CaseMilestoneSearchRequest.class))).thenReturn(caseMilestonesSummaryList);
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     anyInt(),
+                                                     anyInt())).thenReturn(caseMilestonesSummaryList);
         when(caseMilestoneListView.getCaseMilestoneSearchRequest()).thenReturn(new CaseMilestoneSearchRequest());
         presenter.setCaseService(caseService);
 
@@ -89,7 +92,9 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
         List<CaseMilestoneSummary> milestones = singletonList(createCaseMilestone());
         when(caseManagementService.getCaseMilestones(anyString(),
                                                      anyString(),
-                                                     any(CaseMilestoneSearchRequest.class))).thenReturn(milestones);
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     anyInt(),
+                                                     anyInt())).thenReturn(milestones);
     }
 
     @Test
@@ -108,7 +113,9 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
         List<CaseMilestoneSummary> milestones = singletonList(createCaseMilestone());
         when(caseManagementService.getCaseMilestones(anyString(),
                                                      anyString(),
-                                                     any(CaseMilestoneSearchRequest.class))).thenReturn(milestones);
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     anyInt(),
+                                                     anyInt())).thenReturn(milestones);
 
         setupCaseInstance(cis,
                           serverTemplateId);
@@ -126,11 +133,153 @@ public class CaseMilestonesPresenterTest extends AbstractCaseInstancePresenterTe
         verify(caseManagementService,
                times(2)).getCaseMilestones(cis.getContainerId(),
                                            cis.getCaseId(),
-                                           caseMilestoneListView.getCaseMilestoneSearchRequest());
+                                           caseMilestoneListView.getCaseMilestoneSearchRequest(),
+                                           0,
+                                           CaseMilestoneListPresenter.PAGE_SIZE);
         final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
         verify(caseMilestoneListView,
                times(2)).setCaseMilestoneList(captor.capture());
         assertEquals(caseMilestonesSummaryList.size(),
                      captor.getValue().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLoadMoreMilestones() {
+        final List<CaseMilestoneSummary> firstPage = new ArrayList<>();
+        for (int i = 0; i < CaseMilestoneListPresenter.PAGE_SIZE; i++) {
+            firstPage.add(CaseMilestoneSummary.builder()
+                                  .identifier("id" + i)
+                                  .name("milestone" + i)
+                                  .status(CaseMilestoneStatus.AVAILABLE.getStatus())
+                                  .build());
+        }
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(0),
+                                                     anyInt())).thenReturn(firstPage);
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(1),
+                                                     anyInt())).thenReturn(caseMilestonesSummaryList);
+        setupCaseInstance(cis,
+                          serverTemplateId);
+
+        presenter.loadMoreMilestones();
+        presenter.loadMoreMilestones();
+
+        verify(caseManagementService).getCaseMilestones(anyString(),
+                                                        anyString(),
+                                                        any(CaseMilestoneSearchRequest.class),
+                                                        eq(1),
+                                                        eq(CaseMilestoneListPresenter.PAGE_SIZE));
+        verify(caseManagementService,
+               never()).getCaseMilestones(anyString(),
+                                          anyString(),
+                                          any(CaseMilestoneSearchRequest.class),
+                                          eq(2),
+                                          anyInt());
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(caseMilestoneListView,
+               times(2)).setCaseMilestoneList(captor.capture());
+        assertEquals(CaseMilestoneListPresenter.PAGE_SIZE + caseMilestonesSummaryList.size(),
+                     captor.getValue().size());
+    }
+
+    @Test
+    public void testLoadMoreMilestonesAfterError() {
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(0),
+                                                     anyInt())).thenReturn(createFullPage());
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(1),
+                                                     anyInt())).thenThrow(new RuntimeException()).thenReturn(caseMilestonesSummaryList);
+        setupCaseInstance(cis,
+                          serverTemplateId);
+
+        presenter.loadMoreMilestones();
+        presenter.loadMoreMilestones();
+
+        verify(caseManagementService,
+               times(2)).getCaseMilestones(anyString(),
+                                           anyString(),
+                                           any(CaseMilestoneSearchRequest.class),
+                                           eq(1),
+                                           anyInt());
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(caseMilestoneListView,
+               times(2)).setCaseMilestoneList(captor.capture());
+        assertEquals(CaseMilestoneListPresenter.PAGE_SIZE + caseMilestonesSummaryList.size(),
+                     captor.getValue().size());
+    }
+
+    @Test
+    public void testMilestonesOfPreviousSearchAreDropped() {
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(0),
+                                                     anyInt())).thenReturn(createFullPage());
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(1),
+                                                     anyInt())).thenAnswer(invocation -> {
+            // a new search starts before the next page arrives
+            presenter.searchCaseMilestones();
+            return caseMilestonesSummaryList;
+        });
+        setupCaseInstance(cis,
+                          serverTemplateId);
+
+        presenter.loadMoreMilestones();
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(caseMilestoneListView,
+               times(2)).setCaseMilestoneList(captor.capture());
+        assertEquals(CaseMilestoneListPresenter.PAGE_SIZE,
+                     captor.getValue().size());
+    }
+
+    @Test
+    public void testMilestonesOfPreviousSortAreDropped() {
+        final CaseMilestoneSearchRequest request = new CaseMilestoneSearchRequest();
+        when(caseMilestoneListView.getCaseMilestoneSearchRequest()).thenReturn(request);
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(0),
+                                                     anyInt())).thenReturn(createFullPage());
+        when(caseManagementService.getCaseMilestones(anyString(),
+                                                     anyString(),
+                                                     any(CaseMilestoneSearchRequest.class),
+                                                     eq(1),
+                                                     anyInt())).thenAnswer(invocation -> {
+            request.setSortByAsc(false);
+            return caseMilestonesSummaryList;
+        });
+        setupCaseInstance(cis,
+                          serverTemplateId);
+
+        presenter.loadMoreMilestones();
+
+        verify(caseMilestoneListView).setCaseMilestoneList(anyList());
+    }
+
+    private List<CaseMilestoneSummary> createFullPage() {
+        final List<CaseMilestoneSummary> page = new ArrayList<>();
+        for (int i = 0; i < CaseMilestoneListPresenter.PAGE_SIZE; i++) {
+            page.add(CaseMilestoneSummary.builder()
+                             .identifier("id" + i)
+                             .name("milestone" + i)
+                             .status(CaseMilestoneStatus.AVAILABLE.getStatus())
+                             .build());
+        }
+        return page;
+    }
+}
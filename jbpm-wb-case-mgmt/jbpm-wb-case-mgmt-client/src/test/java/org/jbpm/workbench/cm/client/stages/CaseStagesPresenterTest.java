@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.cm.client.stages;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.jbpm.workbench.cm.client.util.AbstractCaseInstancePresenterTest;
@@ -60,6 +61,8 @@ public class CaseStagesPresenterTest extends AbstractCaseInstancePresenterTest {
         final List<CaseStageSummary> stages = asList(createCaseStageSummary(AVAILABLE.getStatus()),
                                                      createCaseStageSummary(COMPLETED.getStatus()));
         when(caseManagementService.getCaseStages(any(),
+                                                 any(),
+                                                 any(),
                                                  any())).thenReturn(stages);
 
         final CaseInstanceSummary cis = newCaseInstanceSummary();
@@ -73,6 +76,36 @@ public class CaseStagesPresenterTest extends AbstractCaseInstancePresenterTest {
         verifyNoMoreInteractions(caseStagesView);
     }
 
+    @Test
+    public void testLoadStagesPageByPage() {
+        final List<CaseStageSummary> firstPage = new ArrayList<>();
+        for (int i = 0; i < CaseStagesPresenter.PAGE_SIZE; i++) {
+            firstPage.add(createCaseStageSummary(COMPLETED.getStatus()));
+        }
+        final List<CaseStageSummary> secondPage = asList(createCaseStageSummary(ACTIVE.getStatus()));
+        when(caseManagementService.getCaseStages(any(),
+                                                 any(),
+                                                 eq(0),
+                                                 any())).thenReturn(firstPage);
+        when(caseManagementService.getCaseStages(any(),
+                                                 any(),
+                                                 eq(1),
+                                                 any())).thenReturn(secondPage);
+
+        setupCaseInstance(newCaseInstanceSummary(),
+                          serverTemplateId);
+
+        verify(caseStagesView).setCaseStagesList(firstPage);
+        final List<CaseStageSummary> allStages = new ArrayList<>(firstPage);
+        allStages.addAll(secondPage);
+        verify(caseStagesView).setCaseStagesList(allStages);
+        verify(caseManagementService,
+               times(2)).getCaseStages(any(),
+                                       any(),
+                                       any(),
+                                       eq(CaseStagesPresenter.PAGE_SIZE));
+    }
+
     @Test
     public void testSetStage_stageActive() {
         when(caseStageItemViewMock.getValue()).thenReturn(createCaseStageSummary(ACTIVE.getStatus()));
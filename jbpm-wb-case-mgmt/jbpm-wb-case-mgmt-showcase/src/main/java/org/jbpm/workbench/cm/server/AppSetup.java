@@ -25,10 +25,9 @@ import javax.inject.Inject;
 
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jboss.errai.security.shared.service.AuthenticationService;
+import org.jbpm.workbench.ks.utils.KieServerClientProvider;
 import org.kie.server.api.KieServerConstants;
-import org.kie.server.client.CaseServicesClient;
 import org.kie.server.client.KieServicesClient;
-import org.kie.server.client.UserTaskServicesClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.commons.services.cdi.ApplicationStarted;
@@ -61,18 +60,22 @@ public class AppSetup {
                                        KieServerConstants.CAPABILITY_BPM);
     }
 
+    /**
+     * Every request goes to the server(s) of <code>org.kie.server.location</code>, several instances can be listed
+     * separated by <code>|</code> to balance the requests across them.
+     */
     @Produces
     @ApplicationScoped
-    public CaseServicesClient produceCaseServicesClient(final KieServicesClient kieServicesClient) {
-        LOGGER.info("Creating CaseServicesClient...");
-        return kieServicesClient.getServicesClient(CaseServicesClient.class);
-    }
-
-    @Produces
-    @ApplicationScoped
-    public UserTaskServicesClient produceUserTaskServicesClient(final KieServicesClient kieServicesClient) {
-        LOGGER.info("Creating UserTaskServicesClient...");
-        return kieServicesClient.getServicesClient(UserTaskServicesClient.class);
+    public KieServerClientProvider produceKieServerClientProvider(final KieServicesClient kieServicesClient) {
+        LOGGER.info("Creating KieServerClientProvider...");
+        return new KieServerClientProvider() {
+            @Override
+            public <T> T getClient(final String serverTemplateId,
+                                   final String containerId,
+                                   final Class<T> clientType) {
+                return kieServicesClient.getServicesClient(clientType);
+            }
+        };
     }
 
     @Produces
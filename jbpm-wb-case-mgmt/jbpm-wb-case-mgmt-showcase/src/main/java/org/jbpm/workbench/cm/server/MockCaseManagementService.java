@@ -18,6 +18,7 @@ package org.jbpm.workbench.cm.server;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -41,12 +42,14 @@ import org.jbpm.workbench.cm.model.ProcessDefinitionSummary;
 import org.jbpm.workbench.cm.util.CaseActionStatus;
 import org.jbpm.workbench.cm.util.CaseActionType;
 import org.jbpm.workbench.cm.util.CaseInstanceSearchRequest;
+import org.jbpm.workbench.cm.util.CaseInstanceSortBy;
 import org.jbpm.workbench.cm.util.CaseMilestoneSearchRequest;
 import org.jbpm.workbench.cm.util.CaseStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 
@@ -161,9 +164,24 @@ public class MockCaseManagementService extends RemoteCaseManagementServiceImpl {
         return caseInstanceList.stream()
                 .filter(c -> c.getStatus().equals(request.getStatus()))
                 .sorted(getCaseInstanceSummaryComparator(request))
+                .skip((long) request.getPage() * request.getPageSize())
+                .limit(request.getPageSize())
                 .collect(toList());
     }
 
+    private Comparator<CaseInstanceSummary> getCaseInstanceSummaryComparator(final CaseInstanceSearchRequest request) {
+        Comparator<CaseInstanceSummary> comparator;
+        switch (ofNullable(request.getSortBy()).orElse(CaseInstanceSortBy.CASE_ID)) {
+            case START_TIME:
+                comparator = comparing(CaseInstanceSummary::getStartedAt);
+                break;
+            case CASE_ID:
+            default:
+                comparator = comparing(CaseInstanceSummary::getCaseId);
+        }
+        return request.getSortByAsc() ? comparator : comparator.reversed();
+    }
+
     @Override
     public CaseInstanceSummary getCaseInstance(final String serverTemplateId,
                                                final String containerId,
@@ -315,31 +333,43 @@ public class MockCaseManagementService extends RemoteCaseManagementServiceImpl {
     @Override
     public List<CaseMilestoneSummary> getCaseMilestones(final String containerId,
                                                         final String caseId,
-                                                        final CaseMilestoneSearchRequest request) {
+                                                        final CaseMilestoneSearchRequest request,
+                                                        final Integer page,
+                                                        final Integer pageSize) {
         return caseMilestoneList.stream()
                 .sorted(getCaseMilestoneSummaryComparator(request))
+                .skip((long) page * pageSize)
+                .limit(pageSize)
                 .collect(toList());
     }
 
     @Override
     public List<CaseStageSummary> getCaseStages(final String containerId,
-                                                final String caseId) {
-        return caseStageList;
+                                                final String caseId,
+                                                final Integer page,
+                                                final Integer pageSize) {
+        return caseStageList.stream()
+                .skip((long) page * pageSize)
+                .limit(pageSize)
+                .collect(toList());
     }
 
-    public List<CaseActionSummary> getAdHocFragments(String containerId,
+    public List<CaseActionSummary> getAdHocFragments(String serverTemplateId,
+                                                     String containerId,
                                                      String caseId) {
         return ofNullable(caseActionMap.get(caseId)).orElse(emptyList()).stream()
                 .filter(c -> CaseActionType.AD_HOC_TASK == c.getActionType()).collect(toList());
     }
 
-    public List<CaseActionSummary> getInProgressActions(String containerId,
+    public List<CaseActionSummary> getInProgressActions(String serverTemplateId,
+                                                        String containerId,
                                                         String caseId) {
         return ofNullable(caseActionMap.get(caseId)).orElse(emptyList()).stream()
                 .filter(c -> CaseActionStatus.IN_PROGRESS == c.getActionStatus()).collect(toList());
     }
 
-    public List<CaseActionSummary> getCompletedActions(String containerId,
+    public List<CaseActionSummary> getCompletedActions(String serverTemplateId,
+                                                       String containerId,
                                                        String caseId) {
         return ofNullable(caseActionMap.get(caseId)).orElse(emptyList()).stream()
                 .filter(c -> CaseActionStatus.COMPLETED == c.getActionStatus()).collect(toList());
@@ -466,7 +496,12 @@ public class MockCaseManagementService extends RemoteCaseManagementServiceImpl {
     }
 
     @Override
-    public List<ProcessDefinitionSummary> getProcessDefinitions(String containerId) {
-        return processDefinitionList;
+    public List<ProcessDefinitionSummary> getProcessDefinitions(final String containerId,
+                                                                final Integer page,
+                                                                final Integer pageSize) {
+        return processDefinitionList.stream()
+                .skip((long) page * pageSize)
+                .limit(pageSize)
+                .collect(toList());
     }
 }
\ No newline at end of file
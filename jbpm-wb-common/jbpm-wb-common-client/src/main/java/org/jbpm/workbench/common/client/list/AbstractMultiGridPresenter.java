@@ -17,9 +17,12 @@
 package org.jbpm.workbench.common.client.list;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.enterprise.event.Observes;
@@ -27,9 +30,17 @@ import javax.inject.Inject;
 
 import com.google.gwt.user.cellview.client.ColumnSortList;
 import com.google.gwt.view.client.Range;
+import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
 import org.dashbuilder.dataset.sort.SortOrder;
+import org.jboss.errai.bus.client.api.messaging.Message;
+import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.jbpm.workbench.common.client.dataset.ErrorHandlerBuilder;
 import org.jbpm.workbench.common.client.filters.active.ActiveFilterItem;
@@ -41,6 +52,9 @@ import org.jbpm.workbench.common.model.GenericSummary;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.filter.FilterSettingsManager;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.DataSetRowCount;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
 import org.kie.workbench.common.workbench.client.error.DefaultWorkbenchErrorCallback;
 import org.uberfire.client.annotations.WorkbenchPartView;
 import org.uberfire.client.mvp.UberView;
@@ -66,6 +80,19 @@ public abstract class AbstractMultiGridPresenter<T extends GenericSummary, V ext
 
     protected ManagedInstance<ErrorHandlerBuilder> errorHandlerBuilder;
 
+    protected Caller<DataSetRowCountService> rowCountService;
+
+    protected String rowCountKey;
+
+    protected DataSetRowCount rowCount;
+
+    protected boolean lastPageLoaded;
+
+    @Inject
+    public void setRowCountService(final Caller<DataSetRowCountService> rowCountService) {
+        this.rowCountService = rowCountService;
+    }
+
     @Inject
     public void setErrorHandlerBuilder(final ManagedInstance<ErrorHandlerBuilder> errorHandlerBuilder) {
         this.errorHandlerBuilder = errorHandlerBuilder;
@@ -197,12 +224,204 @@ public abstract class AbstractMultiGridPresenter<T extends GenericSummary, V ext
             getDataSetQueryHelper().lookupDataSet(visibleRange.getStart(),
                                              getDataSetReadyCallback(visibleRange.getStart(),
                                                                      currentTableSettings));
+            loadRowCount(currentTableSettings,
+                         visibleRange.getStart());
         } catch (Exception e) {
             errorCallback.error(e);
             setEmptyResults();
         }
     }
 
+    /**
+     * Loads the total number of rows in the background without delaying the page lookup. An estimate based on a
+     * previous count is applied first, then replaced by the exact count once available. Counts are reloaded when the
+     * filters change or the first page is requested.
+     */
+    protected void loadRowCount(final FilterSettings tableSettings,
+                                final int startRange) {
+        final String key = getRowCountKey(tableSettings);
+        if (key.equals(rowCountKey) && startRange > 0) {
+            return;
+        }
+        if (!key.equals(rowCountKey)) {
+            rowCountKey = key;
+            rowCount = null;
+            lastPageLoaded = false;
+        }
+
+        final ConsoleDataSetLookup lookup = (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(tableSettings.getDataSetLookup(),
+                                                                                                     tableSettings.getServerTemplateId());
+        // counting is optional, grids keep paging based on the rows returned on failures
+        rowCountService.call((DataSetRowCount estimate) -> applyRowCount(key,
+                                                                         estimate),
+                             (Message message, Throwable throwable) -> false).getRowCountEstimate(lookup);
+        rowCountService.call((DataSetRowCount count) -> applyRowCount(key,
+                                                                      count),
+                             (Message message, Throwable throwable) -> false).getRowCount(lookup);
+    }
+
+    protected void applyRowCount(final String key,
+                                 final DataSetRowCount count) {
+        if (count == null || !key.equals(rowCountKey) || (rowCount != null && rowCount.isExact() && !count.isExact())) {
+            return;
+        }
+        rowCount = count;
+        if (lastPageLoaded) {
+            // the total is already known from the rows of the last page
+            return;
+        }
+        dataProvider.updateRowCount(toRowCount(count),
+                                    count.isExact());
+    }
+
+    protected String getRowCountKey(final FilterSettings tableSettings) {
+        final StringBuilder key = new StringBuilder();
+        key.append(tableSettings.getKey()).append('|')
+                .append(tableSettings.getServerTemplateId()).append('|');
+        for (DataSetFilter filter : tableSettings.getDataSetLookup().getOperationList(DataSetFilter.class)) {
+            for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                key.append(columnFilter).append(';');
+            }
+        }
+        return key.toString();
+    }
+
+    @Override
+    public void updateDataOnCallback(final List<T> instanceSummaries,
+                                     final int startRange,
+                                     final int totalRowCount,
+                                     final boolean isExact) {
+        lastPageLoaded = isExact;
+        if (!isExact && rowCount != null && rowCount.getCount() > totalRowCount) {
+            super.updateDataOnCallback(instanceSummaries,
+                                       startRange,
+                                       toRowCount(rowCount),
+                                       rowCount.isExact());
+        } else {
+            super.updateDataOnCallback(instanceSummaries,
+                                       startRange,
+                                       totalRowCount,
+                                       isExact);
+        }
+    }
+
+    private int toRowCount(final DataSetRowCount count) {
+        return (int) Math.min(count.getCount(),
+                              Integer.MAX_VALUE);
+    }
+
+    /**
+     * Applies changes pushed by the server to the rows of the current page without a new lookup. Rows that are not
+     * displayed are left alone, the page is only reloaded when a change may move a row in or out of the active
+     * filters or change its position in the sort order.
+     * @param changes new values of the changed columns of a row, keyed by column id, empty if the row did not change
+     * @param update applies the new column values to a row
+     */
+    protected void updateRows(final Function<T, Map<String, Object>> changes,
+                              final BiConsumer<T, Map<String, Object>> update) {
+        final ExtendedPagedTable<T> grid = view.getListGrid();
+        if (grid == null || grid.getVisibleItems() == null) {
+            return;
+        }
+        final List<T> rows = grid.getVisibleItems();
+        boolean changed = false;
+        for (T row : rows) {
+            final Map<String, Object> columns = changes.apply(row);
+            if (columns == null || columns.isEmpty()) {
+                continue;
+            }
+            if (isRowMembershipAffected(columns)) {
+                refreshGrid();
+                return;
+            }
+            update.accept(row,
+                          columns);
+            changed = true;
+        }
+        if (changed) {
+            dataProvider.updateRowData(grid.getVisibleRange().getStart(),
+                                       rows);
+        }
+    }
+
+    protected boolean isRowMembershipAffected(final Map<String, Object> columns) {
+        if (columns.containsKey(dataSetQueryHelper.getLastOrderedColumn())) {
+            return true;
+        }
+        final DataSetLookup lookup = dataSetQueryHelper.getCurrentTableSettings().getDataSetLookup();
+        for (DataSetSort sort : lookup.getOperationList(DataSetSort.class)) {
+            for (ColumnSort columnSort : sort.getColumnSortList()) {
+                if (columns.containsKey(columnSort.getColumnId())) {
+                    return true;
+                }
+            }
+        }
+        for (DataSetFilter filter : lookup.getOperationList(DataSetFilter.class)) {
+            for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                if (!isStillMatching(columnFilter,
+                                     columns)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates a filter against the new values of a row that matched it before the change. Only equality filters
+     * are evaluated, any other filter on a changed column is assumed to no longer match.
+     */
+    protected boolean isStillMatching(final ColumnFilter columnFilter,
+                                      final Map<String, Object> columns) {
+        if (columnFilter instanceof LogicalExprFilter) {
+            return ((LogicalExprFilter) columnFilter).getLogicalTerms().stream().allMatch(term -> !isFilteringOn(term,
+                                                                                                                 columns));
+        }
+        if (!columns.containsKey(columnFilter.getColumnId())) {
+            return true;
+        }
+        if (!(columnFilter instanceof CoreFunctionFilter)) {
+            return false;
+        }
+        final CoreFunctionFilter filter = (CoreFunctionFilter) columnFilter;
+        final Object value = columns.get(filter.getColumnId());
+        final boolean included = filter.getParameters().stream().anyMatch(p -> p != null && value != null && p.toString().equals(value.toString()));
+        switch (filter.getType()) {
+            case EQUALS_TO:
+            case IN:
+                return included;
+            case NOT_EQUALS_TO:
+            case NOT_IN:
+                return !included;
+            case IS_NULL:
+                return value == null;
+            case NOT_NULL:
+                return value != null;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isFilteringOn(final ColumnFilter columnFilter,
+                                  final Map<String, Object> columns) {
+        if (columnFilter instanceof LogicalExprFilter) {
+            return ((LogicalExprFilter) columnFilter).getLogicalTerms().stream().anyMatch(term -> isFilteringOn(term,
+                                                                                                                columns));
+        }
+        return columns.containsKey(columnFilter.getColumnId());
+    }
+
+    protected static void putIfChanged(final Map<String, Object> columns,
+                                       final String columnId,
+                                       final Object oldValue,
+                                       final Object newValue) {
+        if (!Objects.equals(oldValue,
+                            newValue)) {
+            columns.put(columnId,
+                        newValue);
+        }
+    }
+
     protected abstract void selectSummaryItem(final T summary);
 
     protected abstract DataSetReadyCallback getDataSetReadyCallback(final Integer startRange,
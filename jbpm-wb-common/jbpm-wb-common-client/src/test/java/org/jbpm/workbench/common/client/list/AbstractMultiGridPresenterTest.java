@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.common.client.list;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.view.client.AsyncDataProvider;
+import com.google.gwt.view.client.Range;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.jbpm.workbench.common.model.GenericSummary;
+import org.jbpm.workbench.df.client.filter.FilterSettings;
+import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.DataSetRowCount;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.uberfire.mocks.CallerMock;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.in;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(GwtMockitoTestRunner.class)
+public class AbstractMultiGridPresenterTest {
+
+    @Mock
+    AsyncDataProvider dataProviderMock;
+
+    @Mock
+    DataSetRowCountService rowCountService;
+
+    @Mock
+    MultiGridView viewMock;
+
+    @Mock
+    ExtendedPagedTable gridMock;
+
+    @Mock
+    DataSetQueryHelper dataSetQueryHelper;
+
+    private AbstractMultiGridPresenter presenter;
+
+    private FilterSettings filterSettings;
+
+    @Before
+    public void setupMocks() {
+        presenter = spy(AbstractMultiGridPresenter.class);
+        presenter.setView(viewMock);
+        presenter.setDataProvider(dataProviderMock);
+        presenter.setRowCountService(new CallerMock<>(rowCountService));
+
+        final DataSetLookup dataSetLookup = new DataSetLookup();
+        dataSetLookup.setDataSetUUID("uuid");
+        filterSettings = new FilterSettings();
+        filterSettings.setKey("key");
+        filterSettings.setServerTemplateId("serverTemplateId");
+        filterSettings.setDataSetLookup(dataSetLookup);
+
+        presenter.setDataSetQueryHelper(dataSetQueryHelper);
+        when(dataSetQueryHelper.getCurrentTableSettings()).thenReturn(filterSettings);
+        when(viewMock.getListGrid()).thenReturn(gridMock);
+        when(gridMock.getVisibleRange()).thenReturn(new Range(10,
+                                                              10));
+    }
+
+    @Test
+    public void testEstimateIsReplacedByExactRowCount() {
+        when(rowCountService.getRowCountEstimate(any(ConsoleDataSetLookup.class))).thenReturn(new DataSetRowCount(1000,
+                                                                                                                  false));
+        when(rowCountService.getRowCount(any(ConsoleDataSetLookup.class))).thenReturn(new DataSetRowCount(1200,
+                                                                                                          true));
+
+        presenter.loadRowCount(filterSettings,
+                               0);
+
+        final InOrder inOrder = inOrder(dataProviderMock);
+        inOrder.verify(dataProviderMock).updateRowCount(1000,
+                                                        false);
+        inOrder.verify(dataProviderMock).updateRowCount(1200,
+                                                        true);
+
+        // following pages keep the known count
+        presenter.loadRowCount(filterSettings,
+                               10);
+        presenter.updateDataOnCallback(Collections.emptyList(),
+                                       10,
+                                       20,
+                                       false);
+
+        verify(rowCountService).getRowCount(any(ConsoleDataSetLookup.class));
+        verify(dataProviderMock,
+               times(2)).updateRowCount(1200,
+                                        true);
+    }
+
+    @Test
+    public void testRowCountIsIgnoredOnceLastPageIsLoaded() {
+        when(rowCountService.getRowCount(any(ConsoleDataSetLookup.class))).thenReturn(new DataSetRowCount(1200,
+                                                                                                          true));
+
+        presenter.loadRowCount(filterSettings,
+                               0);
+        presenter.updateDataOnCallback(Collections.emptyList(),
+                                       0,
+                                       5,
+                                       true);
+        presenter.loadRowCount(filterSettings,
+                               0);
+
+        verify(rowCountService,
+               times(2)).getRowCount(any(ConsoleDataSetLookup.class));
+        verify(dataProviderMock).updateRowCount(1200,
+                                                true);
+        verify(dataProviderMock).updateRowCount(5,
+                                                true);
+    }
+
+    @Test
+    public void testRowCountIsReloadedWhenFiltersChange() {
+        presenter.loadRowCount(filterSettings,
+                               0);
+        filterSettings.addColumnFilter(equalsTo("column",
+                                                "value"));
+        presenter.loadRowCount(filterSettings,
+                               10);
+
+        verify(rowCountService,
+               times(2)).getRowCount(any(ConsoleDataSetLookup.class));
+    }
+
+    @Test
+    public void testUpdateRowsPatchesVisibleRows() {
+        final List<Row> rows = Arrays.asList(new Row(1L,
+                                                     "Ready"),
+                                             new Row(2L,
+                                                     "Ready"));
+        when(gridMock.getVisibleItems()).thenReturn(rows);
+        filterSettings.addColumnFilter(in("status",
+                                          Arrays.asList("Ready",
+                                                        "Reserved")));
+
+        presenter.updateRows(row -> statusChange((Row) row,
+                                                 2L,
+                                                 "Reserved"),
+                             (row, columns) -> ((Row) row).status = (String) ((Map) columns).get("status"));
+
+        assertEquals("Ready",
+                     rows.get(0).status);
+        assertEquals("Reserved",
+                     rows.get(1).status);
+        verify(dataProviderMock).updateRowData(10,
+                                               rows);
+        verify(gridMock,
+               never()).setVisibleRangeAndClearData(any(Range.class),
+                                                    anyBoolean());
+    }
+
+    @Test
+    public void testUpdateRowsReloadsWhenRowLeavesFilter() {
+        final List<Row> rows = Collections.singletonList(new Row(1L,
+                                                                 "Ready"));
+        when(gridMock.getVisibleItems()).thenReturn(rows);
+        filterSettings.addColumnFilter(in("status",
+                                          Arrays.asList("Ready",
+                                                        "Reserved")));
+
+        presenter.updateRows(row -> statusChange((Row) row,
+                                                 1L,
+                                                 "Suspended"),
+                             (row, columns) -> fail("Row should be reloaded"));
+
+        verify(gridMock).setVisibleRangeAndClearData(any(Range.class),
+                                                     eq(true));
+        verify(dataProviderMock,
+               never()).updateRowData(anyInt(),
+                                      anyList());
+    }
+
+    @Test
+    public void testUpdateRowsReloadsWhenSortedByChangedColumn() {
+        final List<Row> rows = Collections.singletonList(new Row(1L,
+                                                                 "Ready"));
+        when(gridMock.getVisibleItems()).thenReturn(rows);
+        when(dataSetQueryHelper.getLastOrderedColumn()).thenReturn("status");
+        when(dataSetQueryHelper.getLastSortOrder()).thenReturn(SortOrder.ASCENDING);
+
+        presenter.updateRows(row -> statusChange((Row) row,
+                                                 1L,
+                                                 "Reserved"),
+                             (row, columns) -> fail("Row should be reloaded"));
+
+        verify(gridMock).setVisibleRangeAndClearData(any(Range.class),
+                                                     eq(true));
+    }
+
+    @Test
+    public void testUpdateRowsIgnoresRowsNotDisplayed() {
+        when(gridMock.getVisibleItems()).thenReturn(Collections.singletonList(new Row(1L,
+                                                                                     "Ready")));
+
+        presenter.updateRows(row -> statusChange((Row) row,
+                                                 3L,
+                                                 "Reserved"),
+                             (row, columns) -> fail("Row is not displayed"));
+
+        verify(gridMock,
+               never()).setVisibleRangeAndClearData(any(Range.class),
+                                                    anyBoolean());
+        verify(dataProviderMock,
+               never()).updateRowData(anyInt(),
+                                      anyList());
+    }
+
+    private Map<String, Object> statusChange(final Row row,
+                                             final Long id,
+                                             final String status) {
+        final Map<String, Object> columns = new HashMap<>();
+        if (id.equals(row.getId())) {
+            AbstractMultiGridPresenter.putIfChanged(columns,
+                                                    "status",
+                                                    row.status,
+                                                    status);
+        }
+        return columns;
+    }
+
+    private static class Row extends GenericSummary<Long> {
+
+        private String status;
+
+        private Row(final Long id,
+                    final String status) {
+            super(id,
+                  null);
+            this.status = status;
+        }
+    }
+}
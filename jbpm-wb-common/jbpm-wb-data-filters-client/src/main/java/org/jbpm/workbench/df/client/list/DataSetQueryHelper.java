@@ -48,6 +48,14 @@ public class DataSetQueryHelper {
 
     protected Event<DataSetReadyEvent> event;
 
+    protected String keysetColumnId;
+
+    protected Integer lastOffset;
+
+    protected Object lastKeysetValue;
+
+    protected int lastKeysetSkip;
+
     @Inject
     public void setDataSetClientServices(final DataSetClientServices dataSetClientServices) {
         this.dataSetClientServices = dataSetClientServices;
@@ -77,6 +85,7 @@ public class DataSetQueryHelper {
             // Lookup only the target rows
             dataSetHandler.limitDataSetRows(offset,
                                             currentTableSetting.getTablePageSize());
+            applyKeyset(offset);
 
             // Do the lookup
             dataSetHandler.lookupDataSet(
@@ -104,6 +113,60 @@ public class DataSetQueryHelper {
         }
     }
 
+    /**
+     * When reading the page that directly follows the previous lookup, the last sort key seen is sent along so the
+     * rows are fetched starting from that key instead of scanning all the rows of the previous pages.
+     */
+    protected void applyKeyset(final Integer offset) {
+        final Integer previousOffset = lastOffset;
+        lastOffset = offset;
+        if (keysetColumnId == null || !(dataSetHandler.getCurrentDataSetLookup() instanceof ConsoleDataSetLookup)) {
+            return;
+        }
+        final ConsoleDataSetLookup lookup = (ConsoleDataSetLookup) dataSetHandler.getCurrentDataSetLookup();
+        final int rowCount = dataSet == null ? 0 : dataSet.getRowCount();
+        if (offset == null || offset == 0 || previousOffset == null || rowCount == 0
+                || offset != previousOffset + rowCount || dataSet.getColumnById(keysetColumnId) == null
+                || dataSet.getValueAt(rowCount - 1,
+                                      keysetColumnId) == null) {
+            lastKeysetValue = null;
+            lastKeysetSkip = 0;
+            lookup.setKeyset(null,
+                             null,
+                             0);
+            return;
+        }
+
+        final Object keysetValue = dataSet.getValueAt(rowCount - 1,
+                                                      keysetColumnId);
+        // rows sharing the last key value were already returned and need to be skipped
+        int skip = 0;
+        while (skip < rowCount && keysetValue.equals(dataSet.getValueAt(rowCount - 1 - skip,
+                                                                         keysetColumnId))) {
+            skip++;
+        }
+        if (skip == rowCount && keysetValue.equals(lastKeysetValue)) {
+            skip += lastKeysetSkip;
+        }
+        lastKeysetValue = keysetValue;
+        lastKeysetSkip = skip;
+        lookup.setKeyset(keysetColumnId,
+                         keysetValue,
+                         skip);
+    }
+
+    public String getKeysetColumnId() {
+        return keysetColumnId;
+    }
+
+    /**
+     * Enables keyset pagination on the given column, used when rows are sorted by it. The column must be part of the
+     * data set columns.
+     */
+    public void setKeysetColumnId(String keysetColumnId) {
+        this.keysetColumnId = keysetColumnId;
+    }
+
     public FilterSettings getCurrentTableSettings() {
         return currentTableSetting;
     }
@@ -18,6 +18,7 @@ package org.jbpm.workbench.df.client.list.base;
 import javax.enterprise.event.Event;
 
 import org.dashbuilder.common.client.error.ClientRuntimeError;
+import org.dashbuilder.dataset.DataColumn;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetClientServices;
@@ -26,6 +27,7 @@ import org.dashbuilder.displayer.client.DataSetHandler;
 import org.jbpm.workbench.df.client.events.DataSetReadyEvent;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -121,4 +123,40 @@ public class DataSetQueryHelperTest {
         assertEquals(currentTableSetting,
                      captor.getValue().getFilterSettings());
     }
+
+    @Test
+    public void testKeysetIsAppliedToSequentialPages() throws Exception {
+        final ConsoleDataSetLookup consoleDataSetLookup = new ConsoleDataSetLookup();
+        when(dataSetHandlerMock.getCurrentDataSetLookup()).thenReturn(consoleDataSetLookup);
+        final DataSet dataSet = mock(DataSet.class);
+        when(dataSet.getRowCount()).thenReturn(3);
+        when(dataSet.getColumnById(COLUMN_1)).thenReturn(mock(DataColumn.class));
+        when(dataSet.getValueAt(0,
+                                COLUMN_1)).thenReturn(1L);
+        when(dataSet.getValueAt(1,
+                                COLUMN_1)).thenReturn(2L);
+        when(dataSet.getValueAt(2,
+                                COLUMN_1)).thenReturn(2L);
+        currentTableSetting.setTablePageSize(3);
+        dataSetQueryHelper.setKeysetColumnId(COLUMN_1);
+
+        final DataSetReadyCallback callback = mock(DataSetReadyCallback.class);
+        dataSetQueryHelper.lookupDataSet(0,
+                                         callback);
+        assertFalse(consoleDataSetLookup.isKeysetEnabled());
+
+        dataSetQueryHelper.setDataSet(dataSet);
+        dataSetQueryHelper.lookupDataSet(3,
+                                         callback);
+        assertEquals(COLUMN_1,
+                     consoleDataSetLookup.getKeysetColumnId());
+        assertEquals(2L,
+                     consoleDataSetLookup.getKeysetValue());
+        assertEquals(2,
+                     consoleDataSetLookup.getKeysetSkip());
+
+        dataSetQueryHelper.lookupDataSet(9,
+                                         callback);
+        assertFalse(consoleDataSetLookup.isKeysetEnabled());
+    }
 }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.dashboard.renderer.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
+import org.jbpm.workbench.ks.integration.KieServerDataSetRollup;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+
+import static org.jbpm.dashboard.renderer.model.DashboardData.*;
+
+/**
+ * Optional rollup mode of the process and task dashboards. When enabled, the counts shown by the dashboards are kept
+ * per server template in {@link DataSetRollup}s that are refreshed in the background by fetching only the new and
+ * still open process instances and tasks, instead of aggregating all the rows of the logs on every dashboard load.
+ */
+@ApplicationScoped
+public class DashboardRollups implements KieServerDataSetRollup {
+
+    public static final String ROLLUP_ENABLED = "org.jbpm.workbench.dashboard.rollup.enabled";
+    public static final String ROLLUP_REFRESH_INTERVAL = "org.jbpm.workbench.dashboard.rollup.refresh";
+    protected static final int PAGE_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DashboardRollups.class);
+
+    private final boolean enabled = Boolean.getBoolean(ROLLUP_ENABLED);
+
+    private final long refreshInterval = Long.getLong(ROLLUP_REFRESH_INTERVAL,
+                                                      60000);
+
+    // rollups per server template and data set
+    private final ConcurrentMap<String, ConcurrentMap<String, DataSetRollup>> rollups = new ConcurrentHashMap<>();
+
+    private KieServerDataSetProvider dataSetProvider;
+
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    private ExecutorService executorService;
+
+    private Future<?> refreshLoop;
+
+    public DashboardRollups() {
+    }
+
+    @Inject
+    public DashboardRollups(final KieServerDataSetProvider dataSetProvider,
+                            final DataSetDefRegistry dataSetDefRegistry,
+                            @Managed final ExecutorService executorService) {
+        this.dataSetProvider = dataSetProvider;
+        this.dataSetDefRegistry = dataSetDefRegistry;
+        this.executorService = executorService;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        refreshLoop = executorService.submit(this::refreshPeriodically);
+        LOGGER.info("Dashboard rollups enabled, refreshed every {} ms",
+                    refreshInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshLoop != null) {
+            refreshLoop.cancel(true);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rollups are created on the first lookup of a dashboard data set for a server template and used once their
+     * initial load completed, until then lookups are answered by KIE Server.
+     */
+    @Override
+    public DataSet lookup(final DataSetDef def,
+                          final ConsoleDataSetLookup lookup) {
+        if (!enabled || refreshLoop == null || !isRolledUp(def.getUUID())) {
+            return null;
+        }
+        final String serverTemplateId = lookup.getServerTemplateId();
+        final DataSetRollup rollup = rollups.computeIfAbsent(serverTemplateId,
+                                                             id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(def.getUUID(),
+                                 uuid -> {
+                                     final DataSetRollup newRollup = newRollup(uuid);
+                                     executorService.execute(() -> refresh(serverTemplateId,
+                                                                           newRollup));
+                                     return newRollup;
+                                 });
+        return rollup.lookup(def,
+                             lookup);
+    }
+
+    public void onServerTemplateDeleted(@Observes ServerTemplateDeleted serverTemplateDeleted) {
+        rollups.remove(serverTemplateDeleted.getServerTemplateId());
+    }
+
+    protected boolean isRolledUp(final String dataSetUUID) {
+        return DATASET_PROCESS_INSTANCES.equals(dataSetUUID) || DATASET_HUMAN_TASKS.equals(dataSetUUID);
+    }
+
+    protected DataSetRollup newRollup(final String dataSetUUID) {
+        if (DATASET_PROCESS_INSTANCES.equals(dataSetUUID)) {
+            // completed and aborted process instances no longer change
+            return new DataSetRollup(dataSetUUID,
+                                     COLUMN_PROCESS_INSTANCE_ID,
+                                     COLUMN_PROCESS_STATUS,
+                                     new HashSet<>(Arrays.asList("2",
+                                                                 "3")),
+                                     Arrays.asList(COLUMN_PROCESS_ID,
+                                                   COLUMN_PROCESS_NAME,
+                                                   COLUMN_PROCESS_VERSION,
+                                                   COLUMN_PROCESS_EXTERNAL_ID,
+                                                   COLUMN_PROCESS_USER_ID,
+                                                   COLUMN_PROCESS_STATUS),
+                                     COLUMN_PROCESS_DURATION);
+        }
+        return new DataSetRollup(dataSetUUID,
+                                 COLUMN_TASK_ID,
+                                 COLUMN_TASK_STATUS,
+                                 new HashSet<>(Arrays.asList(TASK_STATUS_COMPLETED,
+                                                             TASK_STATUS_FAILED,
+                                                             TASK_STATUS_ERROR,
+                                                             TASK_STATUS_EXITED,
+                                                             TASK_STATUS_OBSOLETE)),
+                                 Arrays.asList(COLUMN_PROCESS_NAME,
+                                               COLUMN_PROCESS_EXTERNAL_ID,
+                                               COLUMN_TASK_NAME,
+                                               COLUMN_TASK_OWNER_ID,
+                                               COLUMN_TASK_STATUS),
+                                 COLUMN_TASK_DURATION);
+    }
+
+    /**
+     * Keeps a thread of the managed executor until the application stops, the rollups are refreshed every refresh
+     * interval.
+     */
+    protected void refreshPeriodically() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(refreshInterval);
+                refresh();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected void refresh() {
+        rollups.forEach((serverTemplateId, templateRollups) -> templateRollups.values().forEach(rollup -> refresh(serverTemplateId,
+                                                                                                                  rollup)));
+    }
+
+    /**
+     * Fetches the open rows again to pick up their changes, then the rows created since the last refresh in id order.
+     * Refreshes run on a background thread without a user request, hence with the admin credentials.
+     */
+    protected void refresh(final String serverTemplateId,
+                           final DataSetRollup rollup) {
+        final DataSetDef def = dataSetDefRegistry.getDataSetDef(rollup.getDataSetUUID());
+        if (def == null) {
+            return;
+        }
+        try {
+            final long start = System.currentTimeMillis();
+            final List<String> columnIds = dataSetProvider.getDataSetMetadata(def).getColumnIds();
+            final String idColumnId = rollup.getIdColumnId();
+
+            final List<Long> openIds = new ArrayList<>(rollup.getOpenIds());
+            for (int from = 0; from < openIds.size(); from += PAGE_SIZE) {
+                final List<Long> ids = openIds.subList(from,
+                                                       Math.min(from + PAGE_SIZE,
+                                                                openIds.size()));
+                final List<List> rows = dataSetProvider.queryRowsAsAdmin(def,
+                                                                         serverTemplateId,
+                                                                         newFilterSpec(idColumnId,
+                                                                                       CoreFunctionType.IN,
+                                                                                       new ArrayList<>(ids)),
+                                                                         0,
+                                                                         ids.size());
+                rollup.apply(columnIds,
+                             rows);
+                final int idIndex = columnIds.indexOf(idColumnId);
+                final Set<Long> found = rows.stream()
+                        .map(row -> DataSetRollup.toLong(row.get(idIndex)))
+                        .collect(Collectors.toSet());
+                rollup.remove(ids.stream()
+                                      .filter(id -> !found.contains(id))
+                                      .collect(Collectors.toList()));
+            }
+
+            int added = 0;
+            List<List> rows;
+            do {
+                rows = dataSetProvider.queryRowsAsAdmin(def,
+                                                        serverTemplateId,
+                                                        newFilterSpec(idColumnId,
+                                                                      CoreFunctionType.GREATER_THAN,
+                                                                      Collections.singletonList(rollup.getWatermark())),
+                                                        0,
+                                                        PAGE_SIZE);
+                rollup.apply(columnIds,
+                             rows);
+                added += rows.size();
+            } while (rows.size() == PAGE_SIZE);
+
+            rollup.setLoaded(true);
+            LOGGER.debug("Rollup of data set {} for server template {} refreshed in {} ms, {} open and {} new rows",
+                         def.getUUID(),
+                         serverTemplateId,
+                         System.currentTimeMillis() - start,
+                         openIds.size(),
+                         added);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to refresh rollup of data set {} for server template {} due to {}",
+                        def.getUUID(),
+                        serverTemplateId,
+                        e.getMessage());
+        }
+    }
+
+    protected QueryFilterSpec newFilterSpec(final String idColumnId,
+                                            final CoreFunctionType type,
+                                            final List<?> values) {
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setParameters(new QueryParam[]{new QueryParam(idColumnId,
+                                                                 type.toString(),
+                                                                 values)});
+        filterSpec.setOrderBy(idColumnId);
+        filterSpec.setAscending(true);
+        return filterSpec;
+    }
+
+    protected Map<String, ConcurrentMap<String, DataSetRollup>> getRollups() {
+        return rollups;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.dashboard.renderer.backend;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetFactory;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetOp;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.DataSetGroup;
+import org.dashbuilder.dataset.group.GroupFunction;
+import org.dashbuilder.dataset.group.GroupStrategy;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+
+/**
+ * Counts of the rows of a data set per combination of the values of a few low cardinality columns, e.g. process name
+ * and status, along with the sum of a measure column such as the duration. The counts are kept current by applying
+ * the rows created since the last refresh, tracked by an id watermark, and the rows that are not in a final status
+ * yet. Lookups grouping and counting by those columns are answered from the counts rather than from all the rows;
+ * lookups that need anything else, e.g. date intervals or sorting, are not answered.
+ */
+public class DataSetRollup {
+
+    private final String dataSetUUID;
+
+    private final String idColumnId;
+
+    private final String statusColumnId;
+
+    private final Set<String> finalStatuses;
+
+    private final List<String> dimensionColumnIds;
+
+    private final String measureColumnId;
+
+    private final Map<List<String>, Aggregate> aggregates = new HashMap<>();
+
+    // rows that can still change along with what they added to the aggregates
+    private final Map<Long, Contribution> openRows = new HashMap<>();
+
+    private long watermark = -1;
+
+    private volatile boolean loaded;
+
+    public DataSetRollup(final String dataSetUUID,
+                         final String idColumnId,
+                         final String statusColumnId,
+                         final Set<String> finalStatuses,
+                         final List<String> dimensionColumnIds,
+                         final String measureColumnId) {
+        if (!dimensionColumnIds.contains(statusColumnId)) {
+            throw new IllegalArgumentException("Status column " + statusColumnId + " must be one of the dimensions");
+        }
+        this.dataSetUUID = dataSetUUID;
+        this.idColumnId = idColumnId;
+        this.statusColumnId = statusColumnId;
+        this.finalStatuses = finalStatuses;
+        this.dimensionColumnIds = dimensionColumnIds;
+        this.measureColumnId = measureColumnId;
+    }
+
+    public String getDataSetUUID() {
+        return dataSetUUID;
+    }
+
+    public String getIdColumnId() {
+        return idColumnId;
+    }
+
+    /**
+     * @return highest id applied so far, -1 if none
+     */
+    public synchronized long getWatermark() {
+        return watermark;
+    }
+
+    public synchronized Set<Long> getOpenIds() {
+        return new HashSet<>(openRows.keySet());
+    }
+
+    public synchronized int size() {
+        return aggregates.size();
+    }
+
+    /**
+     * @return true once all the rows existing at the first refresh were applied, lookups are not answered until then
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void setLoaded(final boolean loaded) {
+        this.loaded = loaded;
+    }
+
+    /**
+     * Adds rows created since the last refresh and replaces the contribution of open rows that were fetched again.
+     * @param columnIds ids of the columns of the rows, in order
+     */
+    public synchronized void apply(final List<String> columnIds,
+                                   final List<List> rows) {
+        final int idIndex = columnIds.indexOf(idColumnId);
+        final int statusIndex = columnIds.indexOf(statusColumnId);
+        final int measureIndex = columnIds.indexOf(measureColumnId);
+        final int[] dimensionIndexes = dimensionColumnIds.stream().mapToInt(columnIds::indexOf).toArray();
+
+        for (List row : rows) {
+            final long id = toLong(row.get(idIndex));
+            watermark = Math.max(watermark,
+                                 id);
+
+            final List<String> key = new ArrayList<>(dimensionIndexes.length);
+            for (int dimensionIndex : dimensionIndexes) {
+                key.add(dimensionIndex < 0 ? null : normalize(row.get(dimensionIndex)));
+            }
+            final Object measure = measureIndex < 0 ? null : row.get(measureIndex);
+            final Contribution contribution = new Contribution(key,
+                                                               measure == null ? null : toDouble(measure));
+
+            final Contribution previous = openRows.remove(id);
+            if (previous != null) {
+                subtract(previous);
+            }
+            add(contribution);
+            if (!finalStatuses.contains(normalize(row.get(statusIndex)))) {
+                openRows.put(id,
+                             contribution);
+            }
+        }
+    }
+
+    /**
+     * Drops open rows that no longer exist, e.g. removed by a log clean up.
+     */
+    public synchronized void remove(final Collection<Long> ids) {
+        for (Long id : ids) {
+            final Contribution previous = openRows.remove(id);
+            if (previous != null) {
+                subtract(previous);
+            }
+        }
+    }
+
+    /**
+     * @return result of the lookup computed from the aggregates or null if the lookup can not be answered by them
+     */
+    public synchronized DataSet lookup(final DataSetDef def,
+                                       final DataSetLookup lookup) {
+        if (!loaded) {
+            return null;
+        }
+
+        final List<Predicate<List<String>>> predicates = new ArrayList<>();
+        boolean measureRequired = false;
+        DataSetGroup group = null;
+        for (DataSetOp op : lookup.getOperationList()) {
+            if (op instanceof DataSetFilter) {
+                for (ColumnFilter columnFilter : ((DataSetFilter) op).getColumnFilterList()) {
+                    if (!(columnFilter instanceof CoreFunctionFilter)) {
+                        return null;
+                    }
+                    final CoreFunctionFilter filter = (CoreFunctionFilter) columnFilter;
+                    final int dimension = dimensionColumnIds.indexOf(filter.getColumnId());
+                    if (dimension >= 0) {
+                        final Predicate<String> predicate = toPredicate(filter);
+                        if (predicate == null) {
+                            return null;
+                        }
+                        predicates.add(key -> predicate.test(key.get(dimension)));
+                    } else if (filter.getType() != CoreFunctionType.NOT_NULL) {
+                        return null;
+                    } else if (filter.getColumnId().equals(measureColumnId)) {
+                        measureRequired = true;
+                    } else if (!filter.getColumnId().equals(idColumnId)) {
+                        return null;
+                    }
+                }
+            } else if (op instanceof DataSetGroup && ((DataSetGroup) op).isSelect()) {
+                final DataSetGroup selection = (DataSetGroup) op;
+                final int dimension = selection.getColumnGroup() == null ? -1 : dimensionColumnIds.indexOf(selection.getColumnGroup().getSourceId());
+                if (dimension < 0 || selection.getColumnGroup().getIntervalSize() != null || !selection.getGroupFunctions().isEmpty()) {
+                    return null;
+                }
+                final Set<String> names = selection.getSelectedIntervalList().stream()
+                        .map(Interval::getName)
+                        .collect(Collectors.toSet());
+                predicates.add(key -> names.contains(key.get(dimension)));
+            } else if (op instanceof DataSetGroup && group == null) {
+                group = (DataSetGroup) op;
+            } else {
+                return null;
+            }
+        }
+        if (group == null || group.getGroupFunctions().isEmpty()) {
+            return null;
+        }
+
+        final ColumnGroup columnGroup = group.getColumnGroup();
+        final int groupDimension;
+        if (columnGroup == null) {
+            groupDimension = -1;
+        } else {
+            groupDimension = dimensionColumnIds.indexOf(columnGroup.getSourceId());
+            if (groupDimension < 0 || columnGroup.getIntervalSize() != null || columnGroup.getStrategy() != GroupStrategy.DYNAMIC) {
+                return null;
+            }
+        }
+
+        final List<GroupFunction> functions = group.getGroupFunctions();
+        for (GroupFunction function : functions) {
+            if (!isSupported(function,
+                             columnGroup)) {
+                return null;
+            }
+        }
+
+        // per group value: count, count of rows with a measure, sum of the measure and count of non null dimensions
+        final Map<String, double[]> groups = new TreeMap<>(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+        if (groupDimension < 0) {
+            groups.put(null,
+                       new double[3 + dimensionColumnIds.size()]);
+        }
+        for (Map.Entry<List<String>, Aggregate> entry : aggregates.entrySet()) {
+            final List<String> key = entry.getKey();
+            final Aggregate aggregate = entry.getValue();
+            if (!predicates.stream().allMatch(predicate -> predicate.test(key))) {
+                continue;
+            }
+            final long count = measureRequired ? aggregate.measureCount : aggregate.count;
+            if (count == 0) {
+                continue;
+            }
+            final double[] values = groups.computeIfAbsent(groupDimension < 0 ? null : key.get(groupDimension),
+                                                           value -> new double[3 + dimensionColumnIds.size()]);
+            values[0] += count;
+            values[1] += aggregate.measureCount;
+            values[2] += aggregate.measureSum;
+            for (int dimension = 0; dimension < key.size(); dimension++) {
+                if (key.get(dimension) != null) {
+                    values[3 + dimension] += count;
+                }
+            }
+        }
+
+        final List<Map.Entry<String, double[]>> rows = new ArrayList<>(groups.entrySet());
+        final int from = Math.min(Math.max(lookup.getRowOffset(),
+                                           0),
+                                  rows.size());
+        final int to = lookup.getNumberOfRows() > 0 ? Math.min(from + lookup.getNumberOfRows(),
+                                                               rows.size()) : rows.size();
+
+        final DataSet dataSet = DataSetFactory.newEmptyDataSet();
+        dataSet.setUUID(def.getUUID());
+        dataSet.setDefinition(def);
+        for (GroupFunction function : functions) {
+            final DataColumn column = new DataColumnImpl(function.getColumnId() == null ? function.getSourceId() : function.getColumnId(),
+                                                         function.getFunction() == null ? ColumnType.LABEL : ColumnType.NUMBER);
+            final List<Object> values = new ArrayList<>(to - from);
+            for (Map.Entry<String, double[]> row : rows.subList(from,
+                                                                to)) {
+                values.add(getValue(function,
+                                    row.getKey(),
+                                    row.getValue()));
+            }
+            column.setValues(values);
+            dataSet.addColumn(column);
+        }
+        dataSet.setRowCountNonTrimmed(rows.size());
+        return dataSet;
+    }
+
+    protected boolean isSupported(final GroupFunction function,
+                                  final ColumnGroup columnGroup) {
+        final AggregateFunctionType type = function.getFunction();
+        if (type == null) {
+            return columnGroup != null && columnGroup.getSourceId().equals(function.getSourceId());
+        }
+        switch (type) {
+            case COUNT:
+                return function.getSourceId().equals(idColumnId)
+                        || function.getSourceId().equals(measureColumnId)
+                        || dimensionColumnIds.contains(function.getSourceId());
+            case SUM:
+            case AVERAGE:
+                return function.getSourceId().equals(measureColumnId);
+            default:
+                return false;
+        }
+    }
+
+    protected Object getValue(final GroupFunction function,
+                              final String groupValue,
+                              final double[] values) {
+        if (function.getFunction() == null) {
+            return groupValue;
+        }
+        switch (function.getFunction()) {
+            case COUNT:
+                if (function.getSourceId().equals(measureColumnId)) {
+                    return values[1];
+                }
+                final int dimension = dimensionColumnIds.indexOf(function.getSourceId());
+                return dimension < 0 ? values[0] : values[3 + dimension];
+            case SUM:
+                return values[2];
+            default:
+                return values[1] == 0 ? null : values[2] / values[1];
+        }
+    }
+
+    protected Predicate<String> toPredicate(final CoreFunctionFilter filter) {
+        final List<String> parameters = filter.getParameters() == null ? Collections.emptyList() :
+                filter.getParameters().stream().map(DataSetRollup::normalize).collect(Collectors.toList());
+        switch (filter.getType()) {
+            case IS_NULL:
+                return value -> value == null;
+            case NOT_NULL:
+                return value -> value != null;
+            case EQUALS_TO:
+            case IN:
+                return value -> value != null && parameters.contains(value);
+            case NOT_EQUALS_TO:
+            case NOT_IN:
+                return value -> value != null && !parameters.contains(value);
+            default:
+                return null;
+        }
+    }
+
+    protected void add(final Contribution contribution) {
+        final Aggregate aggregate = aggregates.computeIfAbsent(contribution.key,
+                                                               key -> new Aggregate());
+        aggregate.count++;
+        if (contribution.measure != null) {
+            aggregate.measureCount++;
+            aggregate.measureSum += contribution.measure;
+        }
+    }
+
+    protected void subtract(final Contribution contribution) {
+        final Aggregate aggregate = aggregates.get(contribution.key);
+        if (aggregate == null) {
+            return;
+        }
+        aggregate.count--;
+        if (contribution.measure != null) {
+            aggregate.measureCount--;
+            aggregate.measureSum -= contribution.measure;
+        }
+        if (aggregate.count <= 0) {
+            aggregates.remove(contribution.key);
+        }
+    }
+
+    /**
+     * Numbers are compared by value as KIE Server may return them as any numeric type, e.g. 1 or 1.0.
+     */
+    protected static String normalize(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    protected static long toLong(final Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : new BigDecimal(value.toString()).longValue();
+    }
+
+    protected static double toDouble(final Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    private static class Aggregate {
+
+        private long count;
+
+        private long measureCount;
+
+        private double measureSum;
+    }
+
+    private static class Contribution {
+
+        private final List<String> key;
+
+        private final Double measure;
+
+        private Contribution(final List<String> key,
+                             final Double measure) {
+            this.key = key;
+            this.measure = measure;
+        }
+    }
+}
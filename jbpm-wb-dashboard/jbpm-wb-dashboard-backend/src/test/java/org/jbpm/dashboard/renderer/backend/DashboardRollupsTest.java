@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.DataSetMetadata;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.COUNT;
+import static org.jbpm.dashboard.renderer.model.DashboardData.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DashboardRollupsTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    @Mock
+    KieServerDataSetProvider dataSetProvider;
+
+    @Mock
+    DataSetDefRegistry dataSetDefRegistry;
+
+    @Mock
+    DataSetMetadata metadata;
+
+    @Mock
+    ExecutorService executorService;
+
+    DataSetDef def;
+
+    DashboardRollups dashboardRollups;
+
+    @Before
+    public void setup() throws Exception {
+        def = new DataSetDef();
+        def.setUUID(DATASET_PROCESS_INSTANCES);
+        when(dataSetDefRegistry.getDataSetDef(DATASET_PROCESS_INSTANCES)).thenReturn(def);
+        when(dataSetProvider.getDataSetMetadata(def)).thenReturn(metadata);
+        when(metadata.getColumnIds()).thenReturn(Arrays.asList(COLUMN_PROCESS_INSTANCE_ID,
+                                                               COLUMN_PROCESS_NAME,
+                                                               COLUMN_PROCESS_STATUS));
+        dashboardRollups = new DashboardRollups(dataSetProvider,
+                                                dataSetDefRegistry,
+                                                executorService);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        dashboardRollups.init();
+
+        assertFalse(dashboardRollups.isEnabled());
+        assertNull(dashboardRollups.lookup(def,
+                                           newCountLookup()));
+        assertTrue(dashboardRollups.getRollups().isEmpty());
+        verifyZeroInteractions(executorService);
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        final DataSetRollup rollup = dashboardRollups.newRollup(DATASET_PROCESS_INSTANCES);
+        when(dataSetProvider.queryRowsAsAdmin(eq(def),
+                                              eq(SERVER_TEMPLATE_ID),
+                                              any(QueryFilterSpec.class),
+                                              eq(0),
+                                              anyInt()))
+                .thenReturn(Arrays.asList(Arrays.asList(1,
+                                                        "Evaluation",
+                                                        1),
+                                          Arrays.asList(2,
+                                                        "Evaluation",
+                                                        2)))
+                .thenReturn(Collections.singletonList(Arrays.asList(1,
+                                                                    "Evaluation",
+                                                                    2)))
+                .thenReturn(Collections.emptyList());
+
+        dashboardRollups.refresh(SERVER_TEMPLATE_ID,
+                                 rollup);
+
+        assertTrue(rollup.isLoaded());
+        assertEquals(2,
+                     rollup.getWatermark());
+        assertEquals(Collections.singleton(1L),
+                     rollup.getOpenIds());
+
+        dashboardRollups.refresh(SERVER_TEMPLATE_ID,
+                                 rollup);
+
+        assertTrue(rollup.getOpenIds().isEmpty());
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(dataSetProvider,
+               times(3)).queryRowsAsAdmin(eq(def),
+                                          eq(SERVER_TEMPLATE_ID),
+                                          captor.capture(),
+                                          eq(0),
+                                          anyInt());
+        final List<QueryFilterSpec> filterSpecs = captor.getAllValues();
+        assertEquals("GREATER_THAN",
+                     filterSpecs.get(0).getParameters()[0].getOperator());
+        assertEquals(-1L,
+                     filterSpecs.get(0).getParameters()[0].getValue().get(0));
+        assertEquals("IN",
+                     filterSpecs.get(1).getParameters()[0].getOperator());
+        assertEquals(Collections.singletonList(1L),
+                     filterSpecs.get(1).getParameters()[0].getValue());
+        assertEquals("GREATER_THAN",
+                     filterSpecs.get(2).getParameters()[0].getOperator());
+        assertEquals(2L,
+                     filterSpecs.get(2).getParameters()[0].getValue().get(0));
+        assertEquals(COLUMN_PROCESS_INSTANCE_ID,
+                     filterSpecs.get(2).getOrderBy());
+        assertEquals(2.0,
+                     rollup.lookup(def,
+                                   DataSetLookupFactory.newDataSetLookupBuilder()
+                                           .dataset(DATASET_PROCESS_INSTANCES)
+                                           .filter(COLUMN_PROCESS_STATUS,
+                                                   equalsTo(2))
+                                           .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                   COUNT,
+                                                   "Processes")
+                                           .buildLookup()).getValueAt(0,
+                                                                      0));
+    }
+
+    @Test
+    public void testRefreshFailureKeepsRollupNotLoaded() throws Exception {
+        final DataSetRollup rollup = dashboardRollups.newRollup(DATASET_PROCESS_INSTANCES);
+        when(dataSetProvider.queryRowsAsAdmin(any(),
+                                              any(),
+                                              any(),
+                                              anyInt(),
+                                              anyInt())).thenThrow(new RuntimeException("KIE Server down"));
+
+        dashboardRollups.refresh(SERVER_TEMPLATE_ID,
+                                 rollup);
+
+        assertFalse(rollup.isLoaded());
+    }
+
+    @Test
+    public void testRefreshWithoutRequestContext() throws Exception {
+        final DataSetRollup rollup = dashboardRollups.newRollup(DATASET_PROCESS_INSTANCES);
+        final Thread requestThread = Thread.currentThread();
+        when(dataSetProvider.queryRows(any(),
+                                       any(),
+                                       any(),
+                                       anyInt(),
+                                       anyInt())).thenThrow(new IllegalStateException("No user request to take the credentials from"));
+        when(dataSetProvider.queryRowsAsAdmin(eq(def),
+                                              eq(SERVER_TEMPLATE_ID),
+                                              any(QueryFilterSpec.class),
+                                              eq(0),
+                                              anyInt())).thenAnswer(invocation -> {
+            assertNotSame(requestThread,
+                          Thread.currentThread());
+            return Collections.emptyList();
+        });
+
+        final Thread refreshThread = new Thread(() -> dashboardRollups.refresh(SERVER_TEMPLATE_ID,
+                                                                               rollup));
+        refreshThread.start();
+        refreshThread.join();
+
+        assertTrue(rollup.isLoaded());
+        verify(dataSetProvider,
+               never()).queryRows(any(),
+                                  any(),
+                                  any(),
+                                  anyInt(),
+                                  anyInt());
+    }
+
+    protected ConsoleDataSetLookup newCountLookup() {
+        return (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(DataSetLookupFactory.newDataSetLookupBuilder()
+                                                                                .dataset(DATASET_PROCESS_INSTANCES)
+                                                                                .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                                                        COUNT,
+                                                                                        "Processes")
+                                                                                .buildLookup(),
+                                                                        SERVER_TEMPLATE_ID);
+    }
+}
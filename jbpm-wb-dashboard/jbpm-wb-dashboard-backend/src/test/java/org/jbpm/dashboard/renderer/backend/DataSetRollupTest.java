@@ -0,0 +1,290 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetLookupFactory;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.DataSetGroup;
+import org.dashbuilder.dataset.group.DateIntervalType;
+import org.dashbuilder.dataset.group.Interval;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.*;
+import static org.dashbuilder.dataset.group.AggregateFunctionType.*;
+import static org.jbpm.dashboard.renderer.model.DashboardData.*;
+import static org.junit.Assert.*;
+
+public class DataSetRollupTest {
+
+    private static final List<String> COLUMN_IDS = Arrays.asList(COLUMN_PROCESS_INSTANCE_ID,
+                                                                 COLUMN_PROCESS_ID,
+                                                                 COLUMN_PROCESS_NAME,
+                                                                 COLUMN_PROCESS_STATUS,
+                                                                 COLUMN_PROCESS_START_DATE,
+                                                                 COLUMN_PROCESS_DURATION);
+
+    private DataSetRollup rollup;
+
+    private DataSetDef def;
+
+    @Before
+    public void setup() {
+        rollup = new DataSetRollup(DATASET_PROCESS_INSTANCES,
+                                   COLUMN_PROCESS_INSTANCE_ID,
+                                   COLUMN_PROCESS_STATUS,
+                                   new HashSet<>(Arrays.asList("2",
+                                                               "3")),
+                                   Arrays.asList(COLUMN_PROCESS_ID,
+                                                 COLUMN_PROCESS_NAME,
+                                                 COLUMN_PROCESS_STATUS),
+                                   COLUMN_PROCESS_DURATION);
+        def = new DataSetDef();
+        def.setUUID(DATASET_PROCESS_INSTANCES);
+
+        rollup.apply(COLUMN_IDS,
+                     Arrays.asList(Arrays.asList(1.0,
+                                                 "evaluation",
+                                                 "Evaluation",
+                                                 1.0,
+                                                 null,
+                                                 null),
+                                   Arrays.asList(2,
+                                                 "evaluation",
+                                                 "Evaluation",
+                                                 2,
+                                                 null,
+                                                 1000.0),
+                                   Arrays.asList(3L,
+                                                 "hiring",
+                                                 "Hiring",
+                                                 1,
+                                                 null,
+                                                 null),
+                                   Arrays.asList(4L,
+                                                 "hiring",
+                                                 "Hiring",
+                                                 3,
+                                                 null,
+                                                 3000.0)));
+    }
+
+    @Test
+    public void testNotLoaded() {
+        assertNull(rollup.lookup(def,
+                                 DataSetLookupFactory.newDataSetLookupBuilder()
+                                         .dataset(DATASET_PROCESS_INSTANCES)
+                                         .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                 COUNT,
+                                                 "Processes")
+                                         .buildLookup()));
+    }
+
+    @Test
+    public void testApply() {
+        assertEquals(4,
+                     rollup.getWatermark());
+        assertEquals(new HashSet<>(Arrays.asList(1L,
+                                                 3L)),
+                     rollup.getOpenIds());
+        assertEquals(4,
+                     rollup.size());
+    }
+
+    @Test
+    public void testCountByStatus() {
+        rollup.setLoaded(true);
+
+        final DataSet dataSet = rollup.lookup(def,
+                                              DataSetLookupFactory.newDataSetLookupBuilder()
+                                                      .dataset(DATASET_PROCESS_INSTANCES)
+                                                      .filter(COLUMN_PROCESS_STATUS,
+                                                              equalsTo(1))
+                                                      .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                              COUNT,
+                                                              "Processes")
+                                                      .buildLookup());
+
+        assertEquals(1,
+                     dataSet.getRowCount());
+        assertEquals("Processes",
+                     dataSet.getColumnByIndex(0).getId());
+        assertEquals(2.0,
+                     dataSet.getValueAt(0,
+                                        0));
+    }
+
+    @Test
+    public void testGroupByProcessName() {
+        rollup.setLoaded(true);
+
+        final DataSet dataSet = rollup.lookup(def,
+                                              DataSetLookupFactory.newDataSetLookupBuilder()
+                                                      .dataset(DATASET_PROCESS_INSTANCES)
+                                                      .filter(notNull(COLUMN_PROCESS_DURATION))
+                                                      .group(COLUMN_PROCESS_NAME)
+                                                      .column(COLUMN_PROCESS_NAME)
+                                                      .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                              COUNT,
+                                                              "Processes")
+                                                      .column(COLUMN_PROCESS_DURATION,
+                                                              AVERAGE,
+                                                              COLUMN_PROCESS_DURATION)
+                                                      .buildLookup());
+
+        assertEquals(2,
+                     dataSet.getRowCount());
+        assertEquals("Evaluation",
+                     dataSet.getValueAt(0,
+                                        0));
+        assertEquals(1.0,
+                     dataSet.getValueAt(0,
+                                        1));
+        assertEquals(1000.0,
+                     dataSet.getValueAt(0,
+                                        2));
+        assertEquals("Hiring",
+                     dataSet.getValueAt(1,
+                                        0));
+        assertEquals(3000.0,
+                     dataSet.getValueAt(1,
+                                        2));
+    }
+
+    @Test
+    public void testSelection() {
+        rollup.setLoaded(true);
+        final DataSetLookup lookup = DataSetLookupFactory.newDataSetLookupBuilder()
+                .dataset(DATASET_PROCESS_INSTANCES)
+                .column(COLUMN_PROCESS_INSTANCE_ID,
+                        COUNT,
+                        "Processes")
+                .buildLookup();
+        final DataSetGroup selection = new DataSetGroup();
+        selection.setColumnGroup(new ColumnGroup(COLUMN_PROCESS_NAME,
+                                                 COLUMN_PROCESS_NAME));
+        selection.setSelectedIntervalList(Collections.singletonList(new Interval("Hiring")));
+        lookup.getOperationList().add(0,
+                                      selection);
+
+        final DataSet dataSet = rollup.lookup(def,
+                                              lookup);
+
+        assertEquals(2.0,
+                     dataSet.getValueAt(0,
+                                        0));
+    }
+
+    @Test
+    public void testOpenRowsUpdated() {
+        rollup.setLoaded(true);
+
+        rollup.apply(COLUMN_IDS,
+                     Collections.singletonList(Arrays.asList(1L,
+                                                             "evaluation",
+                                                             "Evaluation",
+                                                             2,
+                                                             null,
+                                                             2000.0)));
+        rollup.remove(Collections.singletonList(3L));
+
+        assertEquals(Collections.emptySet(),
+                     rollup.getOpenIds());
+        final DataSet dataSet = rollup.lookup(def,
+                                              DataSetLookupFactory.newDataSetLookupBuilder()
+                                                      .dataset(DATASET_PROCESS_INSTANCES)
+                                                      .group(COLUMN_PROCESS_STATUS)
+                                                      .column(COLUMN_PROCESS_STATUS)
+                                                      .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                              COUNT,
+                                                              "Processes")
+                                                      .column(COLUMN_PROCESS_DURATION,
+                                                              SUM,
+                                                              COLUMN_PROCESS_DURATION)
+                                                      .buildLookup());
+
+        assertEquals(2,
+                     dataSet.getRowCount());
+        assertEquals("2",
+                     dataSet.getValueAt(0,
+                                        0));
+        assertEquals(2.0,
+                     dataSet.getValueAt(0,
+                                        1));
+        assertEquals(3000.0,
+                     dataSet.getValueAt(0,
+                                        2));
+        assertEquals("3",
+                     dataSet.getValueAt(1,
+                                        0));
+        assertEquals(1.0,
+                     dataSet.getValueAt(1,
+                                        1));
+    }
+
+    @Test
+    public void testUnsupportedLookups() {
+        rollup.setLoaded(true);
+
+        assertNull(rollup.lookup(def,
+                                 DataSetLookupFactory.newDataSetLookupBuilder()
+                                         .dataset(DATASET_PROCESS_INSTANCES)
+                                         .rowNumber(10)
+                                         .buildLookup()));
+        assertNull(rollup.lookup(def,
+                                 DataSetLookupFactory.newDataSetLookupBuilder()
+                                         .dataset(DATASET_PROCESS_INSTANCES)
+                                         .filter(notNull(COLUMN_PROCESS_START_DATE))
+                                         .group(COLUMN_PROCESS_START_DATE).dynamic(30,
+                                                                                   DateIntervalType.DAY,
+                                                                                   true)
+                                         .column(COLUMN_PROCESS_START_DATE)
+                                         .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                 COUNT,
+                                                 "Processes")
+                                         .buildLookup()));
+        assertNull(rollup.lookup(def,
+                                 DataSetLookupFactory.newDataSetLookupBuilder()
+                                         .dataset(DATASET_PROCESS_INSTANCES)
+                                         .filter(COLUMN_PROCESS_NAME,
+                                                 likeTo(COLUMN_PROCESS_NAME,
+                                                        "%Hir%"))
+                                         .column(COLUMN_PROCESS_INSTANCE_ID,
+                                                 COUNT,
+                                                 "Processes")
+                                         .buildLookup()));
+        assertNull(rollup.lookup(def,
+                                 DataSetLookupFactory.newDataSetLookupBuilder()
+                                         .dataset(DATASET_PROCESS_INSTANCES)
+                                         .group(COLUMN_PROCESS_NAME)
+                                         .column(COLUMN_PROCESS_NAME)
+                                         .column(COLUMN_PROCESS_DURATION,
+                                                 MAX,
+                                                 COLUMN_PROCESS_DURATION)
+                                         .sort(COLUMN_PROCESS_NAME,
+                                               SortOrder.ASCENDING)
+                                         .buildLookup()));
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.jbpm.dashboard.renderer.client.panel;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -23,6 +26,7 @@ import javax.inject.Inject;
 
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwt.user.client.ui.Widget;
+import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetClientServices;
 import org.dashbuilder.displayer.DisplayerSettings;
@@ -32,9 +36,13 @@ import org.dashbuilder.displayer.client.DisplayerCoordinator;
 import org.dashbuilder.displayer.client.DisplayerLocator;
 import org.dashbuilder.renderer.client.metric.MetricDisplayer;
 import org.dashbuilder.renderer.client.table.TableDisplayer;
+import org.jboss.errai.bus.client.api.messaging.Message;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
 import org.jbpm.workbench.common.client.PerspectiveIds;
 import org.jbpm.workbench.common.client.menu.PrimaryActionMenuBuilder;
 import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.service.DataSetMultiLookupService;
 import org.jbpm.workbench.common.client.menu.ServerTemplateSelectorMenuBuilder;
 import org.jbpm.dashboard.renderer.client.panel.formatter.DurationFormatter;
 import org.jbpm.dashboard.renderer.client.panel.i18n.DashboardI18n;
@@ -69,6 +77,10 @@ public abstract class AbstractDashboard {
 
     protected Event<NotificationEvent> notificationEvent;
 
+    protected Caller<DataSetMultiLookupService> dataSetMultiLookupService;
+
+    protected final List<PrefetchDataSetHandler> prefetchDataSetHandlers = new ArrayList<>();
+
     private PerspectiveManager perspectiveManager;
 
     private String detailScreenId;
@@ -78,6 +90,11 @@ public abstract class AbstractDashboard {
         this.notificationEvent = notificationEvent;
     }
 
+    @Inject
+    public void setDataSetMultiLookupService(final Caller<DataSetMultiLookupService> dataSetMultiLookupService) {
+        this.dataSetMultiLookupService = dataSetMultiLookupService;
+    }
+
     public String getPerspectiveId() {
         return perspectiveManager.getCurrentPerspective().getIdentifier();
     }
@@ -206,11 +223,47 @@ public abstract class AbstractDashboard {
                      settings);
         MetricDisplayer metricDisplayer = (MetricDisplayer) displayerLocator.lookupDisplayer(settings);
         metricDisplayer.setDisplayerSettings(settings);
-        metricDisplayer.setDataSetHandler(new DataSetHandlerImpl(dataSetClientServices,
-                                                                 getDataSetLookup(settings)));
+        metricDisplayer.setDataSetHandler(createPrefetchDataSetHandler(settings));
         return metricDisplayer;
     }
 
+    protected PrefetchDataSetHandler createPrefetchDataSetHandler(final DisplayerSettings settings) {
+        final PrefetchDataSetHandler handler = new PrefetchDataSetHandler(dataSetClientServices,
+                                                                          getDataSetLookup(settings));
+        prefetchDataSetHandlers.add(handler);
+        return handler;
+    }
+
+    /**
+     * Draws all the displayers, fetching the data sets of the metrics and charts in a single request first. Tables are
+     * left out as they page and sort their lookup when drawn. Displayers whose data set could not be fetched look it
+     * up on their own.
+     */
+    protected void drawAll(final Command onSuccess,
+                           final Command onFailure) {
+        if (dataSetMultiLookupService == null || prefetchDataSetHandlers.isEmpty()) {
+            displayerCoordinator.drawAll(onSuccess,
+                                         onFailure);
+            return;
+        }
+        final List<DataSetLookup> lookups = prefetchDataSetHandlers.stream()
+                .map(handler -> handler.getCurrentDataSetLookup().cloneInstance())
+                .collect(Collectors.toList());
+        dataSetMultiLookupService.call((List<DataSet> dataSets) -> {
+                                           for (int i = 0; i < dataSets.size() && i < lookups.size(); i++) {
+                                               prefetchDataSetHandlers.get(i).setPrefetchedDataSet(lookups.get(i),
+                                                                                                   dataSets.get(i));
+                                           }
+                                           displayerCoordinator.drawAll(onSuccess,
+                                                                        onFailure);
+                                       },
+                                       (ErrorCallback<Message>) (message, throwable) -> {
+                                           displayerCoordinator.drawAll(onSuccess,
+                                                                        onFailure);
+                                           return false;
+                                       }).lookupDataSets(lookups);
+    }
+
     private DataSetLookup getDataSetLookup(final DisplayerSettings settings) {
         return ConsoleDataSetLookup.fromInstance(settings.getDataSetLookup(),
                                                  serverTemplateSelectorMenuBuilder.getSelectedServerTemplateId());
@@ -290,8 +343,7 @@ public abstract class AbstractDashboard {
         checkNotNull("displayerSettings",
                      settings);
         AbstractDisplayer displayer = (AbstractDisplayer) displayerLocator.lookupDisplayer(settings);
-        displayer.setDataSetHandler(new DataSetHandlerImpl(dataSetClientServices,
-                                                           getDataSetLookup(settings)));
+        displayer.setDataSetHandler(createPrefetchDataSetHandler(settings));
         return displayer;
     }
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.dashboard.renderer.client.panel;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.client.DataSetClientServices;
+import org.dashbuilder.dataset.client.DataSetReadyCallback;
+import org.dashbuilder.displayer.client.DataSetHandlerImpl;
+
+/**
+ * Data set handler able to serve its next lookup from a data set fetched beforehand, together with the ones of other
+ * displayers. Once used, or if the lookup changed in the meantime, lookups go to the data set services as usual.
+ */
+public class PrefetchDataSetHandler extends DataSetHandlerImpl {
+
+    private DataSetLookup prefetchedLookup;
+
+    private DataSet prefetchedDataSet;
+
+    private DataSet lastPrefetchedDataSet;
+
+    public PrefetchDataSetHandler(final DataSetClientServices clientServices,
+                                  final DataSetLookup lookup) {
+        super(clientServices,
+              lookup);
+    }
+
+    public void setPrefetchedDataSet(final DataSetLookup lookup,
+                                     final DataSet dataSet) {
+        this.prefetchedLookup = lookup;
+        this.prefetchedDataSet = dataSet;
+    }
+
+    public boolean hasPrefetchedDataSet() {
+        return prefetchedDataSet != null;
+    }
+
+    @Override
+    public void lookupDataSet(final DataSetReadyCallback callback) throws Exception {
+        final DataSet dataSet = prefetchedDataSet;
+        final boolean current = dataSet != null && prefetchedLookup.equals(getCurrentDataSetLookup());
+        prefetchedLookup = null;
+        prefetchedDataSet = null;
+        if (current) {
+            lastPrefetchedDataSet = dataSet;
+            callback.callback(dataSet);
+        } else {
+            lastPrefetchedDataSet = null;
+            super.lookupDataSet(callback);
+        }
+    }
+
+    @Override
+    public DataSet getLastDataSet() {
+        return lastPrefetchedDataSet != null ? lastPrefetchedDataSet : super.getLastDataSet();
+    }
+}
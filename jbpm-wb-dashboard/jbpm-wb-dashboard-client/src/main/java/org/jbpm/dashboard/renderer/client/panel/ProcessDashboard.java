@@ -207,8 +207,8 @@ public class ProcessDashboard extends AbstractDashboard {
         displayerCoordinator.addDisplayers(chartsGroup);
         displayerCoordinator.addNotificationVeto(metricsGroup);
         displayerCoordinator.addListener(dashboardListener);
-        displayerCoordinator.drawAll(() -> view.hideLoading(),
-                                     () -> view.hideLoading());
+        drawAll(() -> view.hideLoading(),
+                () -> view.hideLoading());
     }
 
     public MetricDisplayer getTotalMetric() {
@@ -253,8 +253,8 @@ public class TaskDashboard extends AbstractDashboard {
         displayerCoordinator.addDisplayers(chartsGroup);
         displayerCoordinator.addNotificationVeto(metricsGroup);
         displayerCoordinator.addListener(dashboardListener);
-        displayerCoordinator.drawAll(() -> view.hideLoading(),
-                                     () -> view.hideLoading());
+        drawAll(() -> view.hideLoading(),
+                () -> view.hideLoading());
     }
 
     public MetricDisplayer getTotalMetric() {
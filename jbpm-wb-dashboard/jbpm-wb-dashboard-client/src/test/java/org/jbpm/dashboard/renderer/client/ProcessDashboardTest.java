@@ -15,14 +15,18 @@
  */
 package org.jbpm.dashboard.renderer.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.enterprise.event.Event;
 
 import org.dashbuilder.common.client.error.ClientRuntimeError;
 import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.displayer.DisplayerSettings;
 import org.dashbuilder.displayer.client.AbstractDisplayer;
 import org.dashbuilder.displayer.client.Displayer;
+import org.dashbuilder.displayer.client.DisplayerCoordinator;
 import org.dashbuilder.displayer.client.DisplayerListener;
 import org.dashbuilder.renderer.client.metric.MetricDisplayer;
 import org.jbpm.dashboard.renderer.client.panel.DashboardKpis;
@@ -30,15 +34,18 @@ import org.jbpm.workbench.pr.events.ProcessInstanceSelectionEvent;
 import org.jbpm.dashboard.renderer.client.panel.AbstractDashboard;
 import org.jbpm.dashboard.renderer.client.panel.ProcessDashboard;
 import org.jbpm.dashboard.renderer.client.panel.widgets.ProcessBreadCrumb;
+import org.jbpm.workbench.ks.service.DataSetMultiLookupService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.server.controller.api.model.spec.ServerTemplate;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.client.mvp.PerspectiveActivity;
 import org.uberfire.client.mvp.PerspectiveManager;
 import org.uberfire.ext.widgets.common.client.breadcrumbs.UberfireBreadcrumbs;
+import org.uberfire.mocks.CallerMock;
 import org.uberfire.workbench.events.NotificationEvent;
 
 import static org.dashbuilder.dataset.Assertions.*;
@@ -157,6 +164,44 @@ public class ProcessDashboardTest extends AbstractDashboardTest {
         verify(view).hideLoading();
     }
 
+    @Test
+    public void testDrawAllPrefetchesDataSets() {
+        final List<DataSet> prefetched = new ArrayList<>();
+        final DataSetMultiLookupService multiLookupService = mock(DataSetMultiLookupService.class);
+        when(multiLookupService.lookupDataSets(anyList())).thenAnswer(invocation -> {
+            for (Object lookup : (List) invocation.getArguments()[0]) {
+                prefetched.add(clientDataSetManager.lookupDataSet((DataSetLookup) lookup));
+            }
+            return prefetched;
+        });
+        reset(view);
+
+        final ProcessDashboard dashboard = new ProcessDashboard(view,
+                                                                processBreadCrumb,
+                                                                clientServices,
+                                                                displayerLocator,
+                                                                new DisplayerCoordinator(rendererManager),
+                                                                placeManager,
+                                                                instanceSelectionEvent,
+                                                                serverTemplateSelectorMenuBuilder);
+        dashboard.setNotificationEvent(notificationEvent);
+        dashboard.setPerspectiveManager(perspectiveManagerMock);
+        dashboard.setUberfireBreadcrumbs(uberfireBreadcrumbsMock);
+        dashboard.setDataSetMultiLookupService(new CallerMock<>(multiLookupService));
+        dashboard.init();
+
+        final ArgumentCaptor<List> lookups = ArgumentCaptor.forClass(List.class);
+        verify(multiLookupService).lookupDataSets(lookups.capture());
+        // Metrics and charts only, the table pages its own lookup
+        assertEquals(12,
+                     lookups.getValue().size());
+        assertSame(prefetched.get(0),
+                   dashboard.getTotalMetric().getDataSetHandler().getLastDataSet());
+        assertSame(prefetched.get(6),
+                   dashboard.getProcessesByType().getDataSetHandler().getLastDataSet());
+        verify(view).hideLoading();
+    }
+
     @Test
     public void test_JBPM_4851_Fix() {
         assertEquals(presenter.getTotalMetric().isFilterOn(),
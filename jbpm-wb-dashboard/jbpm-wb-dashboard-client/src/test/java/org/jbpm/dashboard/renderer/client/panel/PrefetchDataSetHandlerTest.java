@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.dashboard.renderer.client.panel;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.client.DataSetClientServices;
+import org.dashbuilder.dataset.client.DataSetReadyCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchDataSetHandlerTest {
+
+    @Mock
+    DataSetClientServices clientServices;
+
+    @Mock
+    DataSetReadyCallback callback;
+
+    @Mock
+    DataSet dataSet;
+
+    PrefetchDataSetHandler handler;
+
+    @Before
+    public void setup() {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("jbpmProcessInstances");
+        handler = new PrefetchDataSetHandler(clientServices,
+                                             lookup);
+    }
+
+    @Test
+    public void testPrefetchedDataSetUsedOnce() throws Exception {
+        handler.setPrefetchedDataSet(handler.getCurrentDataSetLookup().cloneInstance(),
+                                     dataSet);
+        assertTrue(handler.hasPrefetchedDataSet());
+
+        handler.lookupDataSet(callback);
+
+        verify(callback).callback(dataSet);
+        verify(clientServices,
+               never()).lookupDataSet(any(DataSetLookup.class),
+                                      any(DataSetReadyCallback.class));
+        assertSame(dataSet,
+                   handler.getLastDataSet());
+        assertFalse(handler.hasPrefetchedDataSet());
+
+        handler.lookupDataSet(callback);
+
+        verify(clientServices).lookupDataSet(any(DataSetLookup.class),
+                                             any(DataSetReadyCallback.class));
+    }
+
+    @Test
+    public void testPrefetchedDataSetIgnoredWhenLookupChanged() throws Exception {
+        final DataSetLookup other = new DataSetLookup();
+        other.setDataSetUUID("jbpmHumanTasks");
+        handler.setPrefetchedDataSet(other,
+                                     dataSet);
+
+        handler.lookupDataSet(callback);
+
+        verify(callback,
+               never()).callback(dataSet);
+        verify(clientServices).lookupDataSet(any(DataSetLookup.class),
+                                             any(DataSetReadyCallback.class));
+    }
+
+    @Test
+    public void testMissingDataSetLookedUp() throws Exception {
+        handler.setPrefetchedDataSet(handler.getCurrentDataSetLookup().cloneInstance(),
+                                     null);
+
+        handler.lookupDataSet(callback);
+
+        verify(clientServices).lookupDataSet(any(DataSetLookup.class),
+                                             any(DataSetReadyCallback.class));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.es.model;
+
+import java.io.Serializable;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Outcome of acknowledging one chunk of the errors matching a filter. The next chunk starts after the last error id
+ * of this one, so errors that could not be acknowledged are not read and counted again. The operation is complete
+ * once no more unacknowledged errors match.
+ */
+@Portable
+public class ExecutionErrorAcknowledgement implements Serializable {
+
+    private int acknowledged;
+    private int failed;
+    private boolean completed;
+    private String lastErrorId;
+
+    public ExecutionErrorAcknowledgement() {
+    }
+
+    public ExecutionErrorAcknowledgement(final int acknowledged,
+                                         final int failed,
+                                         final boolean completed,
+                                         final String lastErrorId) {
+        this.acknowledged = acknowledged;
+        this.failed = failed;
+        this.completed = completed;
+        this.lastErrorId = lastErrorId;
+    }
+
+    public int getAcknowledged() {
+        return acknowledged;
+    }
+
+    public void setAcknowledged(int acknowledged) {
+        this.acknowledged = acknowledged;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getLastErrorId() {
+        return lastErrorId;
+    }
+
+    public void setLastErrorId(String lastErrorId) {
+        this.lastErrorId = lastErrorId;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionErrorAcknowledgement{" +
+                "acknowledged=" + acknowledged +
+                ", failed=" + failed +
+                ", completed=" + completed +
+                ", lastErrorId='" + lastErrorId + '\'' +
+                '}';
+    }
+}
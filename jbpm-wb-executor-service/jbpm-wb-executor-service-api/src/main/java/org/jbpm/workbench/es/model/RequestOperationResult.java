@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.es.model;
+
+import java.io.Serializable;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Outcome of an operation on one of the jobs of a batch, the error is only set when the operation failed.
+ */
+@Portable
+public class RequestOperationResult implements Serializable {
+
+    private String deploymentId;
+    private Long requestId;
+    private String error;
+
+    public RequestOperationResult() {
+    }
+
+    public RequestOperationResult(final String deploymentId,
+                                  final Long requestId,
+                                  final String error) {
+        this.deploymentId = deploymentId;
+        this.requestId = requestId;
+        this.error = error;
+    }
+
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    public void setDeploymentId(String deploymentId) {
+        this.deploymentId = deploymentId;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestOperationResult{" +
+                "deploymentId='" + deploymentId + '\'' +
+                ", requestId=" + requestId +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
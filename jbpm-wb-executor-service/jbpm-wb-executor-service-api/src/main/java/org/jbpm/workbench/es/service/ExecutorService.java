@@ -17,11 +17,15 @@
 package org.jbpm.workbench.es.service;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
+import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.jboss.errai.bus.server.annotations.Remote;
+import org.jbpm.workbench.es.model.ExecutionErrorAcknowledgement;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.jbpm.workbench.es.model.RequestDetails;
+import org.jbpm.workbench.es.model.RequestOperationResult;
 
 @Remote
 public interface ExecutorService {
@@ -43,10 +47,25 @@ public interface ExecutorService {
                         String deploymentId,
                         Long requestId);
 
+    List<RequestOperationResult> cancelRequests(String serverTemplateId,
+                                                Map<String, List<Long>> deploymentRequests);
+
+    List<RequestOperationResult> requeueRequests(String serverTemplateId,
+                                                 Map<String, List<Long>> deploymentRequests);
+
     void acknowledgeError(String serverTemplateId,
                           String deploymentId,
                           String... errorId);
 
+    /**
+     * Acknowledges the next chunk of the unacknowledged errors matching the filter whose id follows the given one, to
+     * be called again with the last error id of the returned acknowledgement until it is completed. The first chunk
+     * is requested with a {@code null} error id.
+     */
+    ExecutionErrorAcknowledgement acknowledgeErrors(String serverTemplateId,
+                                                    DataSetFilter filter,
+                                                    String afterErrorId);
+
     ExecutionErrorSummary getError(String serverTemplateId,
                                    String deploymentId,
                                    String errorId);
@@ -16,29 +16,60 @@
 
 package org.jbpm.workbench.es.backend.server;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
+import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.es.model.ExecutionErrorAcknowledgement;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
+import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
 import org.jbpm.workbench.es.model.RequestDetails;
+import org.jbpm.workbench.es.model.RequestOperationResult;
 import org.jbpm.workbench.es.service.ExecutorService;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.model.admin.ExecutionErrorInstance;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
 import org.kie.server.api.model.instance.JobRequestInstance;
 import org.kie.server.api.model.instance.RequestInfoInstance;
 import org.kie.server.client.JobServicesClient;
 import org.kie.server.client.admin.ProcessAdminServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
+import static org.jbpm.workbench.es.model.ExecutionErrorDataSetConstants.*;
 
 @Service
 @ApplicationScoped
 public class RemoteExecutorServiceImpl extends AbstractKieServerService implements ExecutorService {
 
+    public static final String ACKNOWLEDGE_CHUNK_SIZE = "org.jbpm.workbench.executor.errors.acknowledge.chunk.size";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteExecutorServiceImpl.class);
+
+    private final int acknowledgeChunkSize = Integer.getInteger(ACKNOWLEDGE_CHUNK_SIZE,
+                                                                500);
+
+    @Inject
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    @Inject
+    private KieServerDataSetProvider dataSetProvider;
+
     @Override
     public RequestDetails getRequestDetails(String serverTemplateId,
                                             String deploymentId,
@@ -76,7 +107,9 @@ public class RemoteExecutorServiceImpl extends AbstractKieServerService implemen
                 .data(data)
                 .scheduledDate(date)
                 .build();
-        return jobClient.scheduleRequest((String)data.get("containerId"), jobRequest);
+        Long requestId = jobClient.scheduleRequest((String)data.get("containerId"), jobRequest);
+        invalidateDataSets(serverTemplateId);
+        return requestId;
     }
 
     @Override
@@ -88,6 +121,7 @@ public class RemoteExecutorServiceImpl extends AbstractKieServerService implemen
                                                 JobServicesClient.class);
         
         jobClient.cancelRequest(deploymentId, requestId);
+        invalidateDataSets(serverTemplateId);
     
     }
 
@@ -98,9 +132,78 @@ public class RemoteExecutorServiceImpl extends AbstractKieServerService implemen
         JobServicesClient jobClient = getClient(serverTemplateId,
                                                     JobServicesClient.class);
         jobClient.requeueRequest(deploymentId, requestId);
+        invalidateDataSets(serverTemplateId);
         
     }
 
+    @Override
+    public List<RequestOperationResult> cancelRequests(final String serverTemplateId,
+                                                       final Map<String, List<Long>> deploymentRequests) {
+        return executeRequests(serverTemplateId,
+                               deploymentRequests,
+                               (jobClient, deploymentId, requestId) -> jobClient.cancelRequest(deploymentId,
+                                                                                               requestId));
+    }
+
+    @Override
+    public List<RequestOperationResult> requeueRequests(final String serverTemplateId,
+                                                        final Map<String, List<Long>> deploymentRequests) {
+        return executeRequests(serverTemplateId,
+                               deploymentRequests,
+                               (jobClient, deploymentId, requestId) -> jobClient.requeueRequest(deploymentId,
+                                                                                                requestId));
+    }
+
+    /**
+     * Runs the operation for every job one after the other (see {@link AbstractKieServerService}). Failures are
+     * collected per job and the data sets are invalidated once for the whole batch.
+     */
+    protected List<RequestOperationResult> executeRequests(final String serverTemplateId,
+                                                           final Map<String, List<Long>> deploymentRequests,
+                                                           final RequestOperation operation) {
+        if (serverTemplateId == null || serverTemplateId.isEmpty() || deploymentRequests == null || deploymentRequests.isEmpty()) {
+            return emptyList();
+        }
+
+        JobServicesClient jobClient = getClient(serverTemplateId,
+                                                JobServicesClient.class);
+
+        final List<RequestOperationResult> results = new ArrayList<>();
+        deploymentRequests.forEach((deploymentId, requestIds) -> {
+            for (Long requestId : requestIds) {
+                try {
+                    operation.execute(jobClient,
+                                      deploymentId,
+                                      requestId);
+                    results.add(new RequestOperationResult(deploymentId,
+                                                           requestId,
+                                                           null));
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Operation on job {} of deployment {} failed: {}",
+                                 requestId,
+                                 deploymentId,
+                                 e.getMessage());
+                    results.add(new RequestOperationResult(deploymentId,
+                                                           requestId,
+                                                           e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage()));
+                }
+            }
+        });
+
+        if (results.stream().anyMatch(RequestOperationResult::isSuccessful)) {
+            invalidateDataSets(serverTemplateId);
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    protected interface RequestOperation {
+
+        void execute(JobServicesClient jobClient,
+                     String deploymentId,
+                     Long requestId);
+    }
+
     @Override
     public void acknowledgeError(String serverTemplateId,
                                  String deploymentId,
@@ -109,6 +212,81 @@ public class RemoteExecutorServiceImpl extends AbstractKieServerService implemen
                                                                           ProcessAdminServicesClient.class);
         processAdminServicesClient.acknowledgeError(deploymentId,
                                                     errorId);
+        invalidateDataSets(serverTemplateId);
+    }
+
+    @Override
+    public ExecutionErrorAcknowledgement acknowledgeErrors(final String serverTemplateId,
+                                                           final DataSetFilter filter,
+                                                           final String afterErrorId) {
+        if (serverTemplateId == null || serverTemplateId.isEmpty()) {
+            return new ExecutionErrorAcknowledgement(0,
+                                                     0,
+                                                     true,
+                                                     afterErrorId);
+        }
+
+        final DataSetDef def = dataSetDefRegistry.getDataSetDef(EXECUTION_ERROR_LIST_DATASET);
+        final List<String> columnIds;
+        try {
+            columnIds = dataSetProvider.getDataSetMetadata(def).getColumnIds();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        final int errorIdIndex = columnIds.indexOf(COLUMN_ERROR_ID);
+        final int deploymentIdIndex = columnIds.indexOf(COLUMN_DEPLOYMENT_ID);
+
+        final List<QueryParam> filterParams = dataSetProvider.buildFilterParams(filter);
+        filterParams.add(new QueryParam(COLUMN_ERROR_ACK,
+                                        CoreFunctionType.EQUALS_TO.toString(),
+                                        singletonList(0)));
+        // errors that failed to be acknowledged still match, so chunks continue after the last error id
+        if (afterErrorId != null) {
+            filterParams.add(new QueryParam(COLUMN_ERROR_ID,
+                                            CoreFunctionType.GREATER_THAN.toString(),
+                                            singletonList(afterErrorId)));
+        }
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setParameters(filterParams.toArray(new QueryParam[filterParams.size()]));
+        filterSpec.setOrderBy(COLUMN_ERROR_ID);
+        filterSpec.setAscending(true);
+
+        final List<List> rows = dataSetProvider.queryRows(def,
+                                                          serverTemplateId,
+                                                          filterSpec,
+                                                          0,
+                                                          acknowledgeChunkSize);
+        final Map<String, List<String>> deploymentErrors = new HashMap<>();
+        for (List row : rows) {
+            deploymentErrors.computeIfAbsent((String) row.get(deploymentIdIndex),
+                                             key -> new ArrayList<>()).add((String) row.get(errorIdIndex));
+        }
+
+        ProcessAdminServicesClient processAdminServicesClient = getClient(serverTemplateId,
+                                                                          ProcessAdminServicesClient.class);
+        int acknowledged = 0;
+        int failed = 0;
+        for (Map.Entry<String, List<String>> entry : deploymentErrors.entrySet()) {
+            try {
+                processAdminServicesClient.acknowledgeError(entry.getKey(),
+                                                            entry.getValue().toArray(new String[entry.getValue().size()]));
+                acknowledged += entry.getValue().size();
+            } catch (KieServicesException e) {
+                LOGGER.warn("Unable to acknowledge {} error(s) of deployment {}: {}",
+                            entry.getValue().size(),
+                            entry.getKey(),
+                            e.getMessage());
+                failed += entry.getValue().size();
+            }
+        }
+        if (acknowledged > 0) {
+            invalidateDataSets(serverTemplateId);
+        }
+        final String lastErrorId = rows.isEmpty() ? afterErrorId : (String) rows.get(rows.size() - 1).get(errorIdIndex);
+        return new ExecutionErrorAcknowledgement(acknowledged,
+                                                 failed,
+                                                 rows.size() < acknowledgeChunkSize,
+                                                 lastErrorId);
     }
 
     @Override
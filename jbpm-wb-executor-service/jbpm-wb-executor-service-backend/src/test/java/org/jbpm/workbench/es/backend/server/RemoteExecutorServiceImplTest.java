@@ -20,25 +20,53 @@ import static org.jbpm.workbench.es.backend.server.ExecutionErrorSummaryMapperTe
 import static org.jbpm.workbench.es.backend.server.ExecutionErrorSummaryMapperTest.createTestError;
 import static org.jbpm.workbench.es.backend.server.RequestDetailsMapperTest.assertRequestDetails;
 import static org.jbpm.workbench.es.backend.server.RequestSummaryMapperTest.newRequestInfoInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.jbpm.workbench.es.model.ExecutionErrorDataSetConstants.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dashbuilder.dataset.DataSetMetadata;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.jbpm.workbench.es.model.ExecutionErrorAcknowledgement;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.jbpm.workbench.es.model.RequestDetails;
+import org.jbpm.workbench.es.model.RequestOperationResult;
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
+import org.jbpm.workbench.ks.integration.KieServerDataSetProvider;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.model.admin.ExecutionErrorInstance;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
 import org.kie.server.api.model.instance.RequestInfoInstance;
 import org.kie.server.client.JobServicesClient;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.admin.ProcessAdminServicesClient;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -49,12 +77,21 @@ public class RemoteExecutorServiceImplTest {
     @Mock
     KieServerIntegration kieServerIntegration;
 
+    @Mock
+    KieServerDataSetCache dataSetCache;
+
     @Mock
     JobServicesClient jobServicesClient;
 
     @Mock
     ProcessAdminServicesClient processAdminServicesClient;
 
+    @Mock
+    DataSetDefRegistry dataSetDefRegistry;
+
+    @Mock
+    KieServerDataSetProvider dataSetProvider;
+
     @InjectMocks
     RemoteExecutorServiceImpl executorService;
 
@@ -142,4 +179,165 @@ public class RemoteExecutorServiceImplTest {
         assertExecutionErrorSummary(errorInstance,
                                     errorSummary);
     }
+
+    @Test
+    public void testRequeueRequests() {
+        final String serverTemplateId = "testServerTemplateId";
+        final Map<String, List<Long>> deploymentRequests = new HashMap<>();
+        deploymentRequests.put("deployment1",
+                               Arrays.asList(1l,
+                                             2l));
+        deploymentRequests.put("deployment2",
+                               Collections.singletonList(3l));
+        doThrow(new KieServicesException("Request 2 not found")).when(jobServicesClient).requeueRequest("deployment1",
+                                                                                                      2l);
+
+        final List<RequestOperationResult> results = executorService.requeueRequests(serverTemplateId,
+                                                                                      deploymentRequests);
+
+        verify(kieServerIntegration).getServerClient(serverTemplateId);
+        verify(jobServicesClient).requeueRequest("deployment1",
+                                                 1l);
+        verify(jobServicesClient).requeueRequest("deployment2",
+                                                 3l);
+        assertEquals(3,
+                     results.size());
+        assertEquals(1,
+                     results.stream().filter(r -> !r.isSuccessful()).count());
+        assertFalse(results.stream().filter(r -> r.getRequestId() == 2l).findFirst().get().isSuccessful());
+        verify(dataSetCache).invalidateServerTemplate(serverTemplateId);
+    }
+
+    @Test
+    public void testCancelRequestsWithoutRequests() {
+        assertTrue(executorService.cancelRequests("testServerTemplateId",
+                                                  Collections.emptyMap()).isEmpty());
+
+        verify(kieServerIntegration,
+               never()).getServerClient(anyString());
+    }
+
+    @Test
+    public void testAcknowledgeErrorsByFilter() throws Exception {
+        final String serverTemplateId = "testServerTemplateId";
+        final DataSetDef def = mock(DataSetDef.class);
+        final DataSetMetadata metadata = mock(DataSetMetadata.class);
+        when(dataSetDefRegistry.getDataSetDef(EXECUTION_ERROR_LIST_DATASET)).thenReturn(def);
+        when(dataSetProvider.getDataSetMetadata(def)).thenReturn(metadata);
+        when(metadata.getColumnIds()).thenReturn(Arrays.asList(COLUMN_ERROR_ID,
+                                                               COLUMN_DEPLOYMENT_ID));
+        when(dataSetProvider.buildFilterParams(any(DataSetFilter.class))).thenReturn(new ArrayList<>());
+        when(dataSetProvider.queryRows(eq(def),
+                                       eq(serverTemplateId),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       anyInt())).thenReturn(Arrays.asList(Arrays.asList("error1",
+                                                                                         "deployment1"),
+                                                                           Arrays.asList("error2",
+                                                                                         "deployment1"),
+                                                                           Arrays.asList("error3",
+                                                                                         "deployment2")));
+        doThrow(new KieServicesException("error")).when(processAdminServicesClient).acknowledgeError("deployment2",
+                                                                                                    "error3");
+
+        final ExecutionErrorAcknowledgement result = executorService.acknowledgeErrors(serverTemplateId,
+                                                                                       new DataSetFilter(),
+                                                                                       null);
+
+        verify(processAdminServicesClient).acknowledgeError("deployment1",
+                                                            "error1",
+                                                            "error2");
+        assertEquals(2,
+                     result.getAcknowledged());
+        assertEquals(1,
+                     result.getFailed());
+        assertTrue(result.isCompleted());
+        assertEquals("error3",
+                     result.getLastErrorId());
+        verify(dataSetCache).invalidateServerTemplate(serverTemplateId);
+    }
+
+    @Test
+    public void testAcknowledgeErrorsContinuesAfterFailedErrors() throws Exception {
+        final String serverTemplateId = "testServerTemplateId";
+        final DataSetDef def = mock(DataSetDef.class);
+        final DataSetMetadata metadata = mock(DataSetMetadata.class);
+        when(dataSetDefRegistry.getDataSetDef(EXECUTION_ERROR_LIST_DATASET)).thenReturn(def);
+        when(dataSetProvider.getDataSetMetadata(def)).thenReturn(metadata);
+        when(metadata.getColumnIds()).thenReturn(Arrays.asList(COLUMN_ERROR_ID,
+                                                               COLUMN_DEPLOYMENT_ID));
+        when(dataSetProvider.buildFilterParams(any(DataSetFilter.class))).thenAnswer(invocation -> new ArrayList<>());
+        final List<List> firstChunk = new ArrayList<>();
+        for (int i = 0; i < 499; i++) {
+            firstChunk.add(Arrays.asList(String.format("error%03d",
+                                                       i),
+                                         "deployment1"));
+        }
+        firstChunk.add(Arrays.asList("error499",
+                                     "deployment2"));
+        when(dataSetProvider.queryRows(eq(def),
+                                       eq(serverTemplateId),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       anyInt())).thenReturn(firstChunk)
+                .thenReturn(Arrays.asList(Arrays.asList("error500",
+                                                        "deployment1"),
+                                          Arrays.asList("error501",
+                                                        "deployment2")));
+        doThrow(new KieServicesException("error")).when(processAdminServicesClient).acknowledgeError("deployment2",
+                                                                                                    "error499");
+        doThrow(new KieServicesException("error")).when(processAdminServicesClient).acknowledgeError("deployment2",
+                                                                                                    "error501");
+
+        final ExecutionErrorAcknowledgement first = executorService.acknowledgeErrors(serverTemplateId,
+                                                                                      new DataSetFilter(),
+                                                                                      null);
+        assertEquals(499,
+                     first.getAcknowledged());
+        assertEquals(1,
+                     first.getFailed());
+        assertFalse(first.isCompleted());
+        assertEquals("error499",
+                     first.getLastErrorId());
+
+        final ExecutionErrorAcknowledgement second = executorService.acknowledgeErrors(serverTemplateId,
+                                                                                       new DataSetFilter(),
+                                                                                       first.getLastErrorId());
+        assertEquals(1,
+                     second.getAcknowledged());
+        assertEquals(1,
+                     second.getFailed());
+        assertTrue(second.isCompleted());
+
+        verify(processAdminServicesClient,
+               times(1)).acknowledgeError("deployment2",
+                                          "error499");
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(dataSetProvider,
+               times(2)).queryRows(eq(def),
+                                   eq(serverTemplateId),
+                                   captor.capture(),
+                                   eq(0),
+                                   anyInt());
+        assertFalse(Arrays.stream(captor.getAllValues().get(0).getParameters())
+                            .anyMatch(param -> COLUMN_ERROR_ID.equals(param.getColumn())));
+        final QueryParam afterParam = Arrays.stream(captor.getAllValues().get(1).getParameters())
+                .filter(param -> COLUMN_ERROR_ID.equals(param.getColumn()))
+                .findFirst()
+                .get();
+        assertEquals("GREATER_THAN",
+                     afterParam.getOperator());
+        assertEquals(Collections.singletonList("error499"),
+                     afterParam.getValue());
+    }
+
+    @Test
+    public void testAcknowledgeErrorsWithoutServerTemplate() {
+        assertTrue(executorService.acknowledgeErrors("",
+                                                     new DataSetFilter(),
+                                                     null).isCompleted());
+
+        verify(kieServerIntegration,
+               never()).getServerClient(anyString());
+    }
 }
@@ -25,20 +25,24 @@ import javax.inject.Inject;
 
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
+import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.jboss.errai.common.client.api.Caller;
 import org.jbpm.workbench.common.client.PerspectiveIds;
 import org.jbpm.workbench.common.client.list.AbstractMultiGridPresenter;
 import org.jbpm.workbench.common.client.list.MultiGridView;
+import org.jbpm.workbench.common.client.menu.PrimaryActionMenuBuilder;
 import org.jbpm.workbench.common.client.menu.RefreshMenuBuilder;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.es.client.editors.errordetails.ExecutionErrorDetailsPresenter;
 import org.jbpm.workbench.es.client.editors.events.ExecutionErrorSelectedEvent;
 import org.jbpm.workbench.es.client.i18n.Constants;
+import org.jbpm.workbench.es.model.ExecutionErrorAcknowledgement;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.jbpm.workbench.es.service.ExecutorService;
 import org.jbpm.workbench.es.util.ExecutionErrorType;
 import org.uberfire.client.annotations.WorkbenchMenu;
 import org.uberfire.client.annotations.WorkbenchScreen;
+import org.uberfire.mvp.Command;
 import org.uberfire.workbench.model.menu.MenuFactory;
 import org.uberfire.workbench.model.menu.Menus;
 
@@ -206,10 +210,47 @@ public class ExecutionErrorListPresenter extends AbstractMultiGridPresenter<Exec
         }
     }
 
+    /**
+     * Acknowledges every execution error matching the current filters. The server resolves the matching errors
+     * in chunks, so only the filter and the per chunk counts travel between the browser and the server.
+     */
+    public void acknowledgeAllErrors() {
+        DataSetFilter filter = dataSetQueryHelper.getCurrentTableSettings().getDataSetLookup().getFirstFilterOp();
+        acknowledgeErrors(filter == null ? new DataSetFilter() : filter,
+                          null,
+                          0,
+                          0);
+    }
+
+    protected void acknowledgeErrors(final DataSetFilter filter,
+                                     final String afterErrorId,
+                                     final int acknowledged,
+                                     final int failed) {
+        executorService.call((ExecutionErrorAcknowledgement result) -> {
+            final int totalAcknowledged = acknowledged + result.getAcknowledged();
+            final int totalFailed = failed + result.getFailed();
+            if (result.isCompleted()) {
+                view.displayNotification(constants.Errors_Acknowledged(totalAcknowledged,
+                                                                       totalFailed));
+                refreshGrid();
+            } else {
+                view.displayNotification(constants.Errors_Acknowledged_Progress(totalAcknowledged));
+                acknowledgeErrors(filter,
+                                  result.getLastErrorId(),
+                                  totalAcknowledged,
+                                  totalFailed);
+            }
+        }).acknowledgeErrors(getSelectedServerTemplate(),
+                             filter,
+                             afterErrorId);
+    }
+
     @WorkbenchMenu
     public Menus getMenus() {
         return MenuFactory
                 .newTopLevelCustomMenu(new RefreshMenuBuilder(this)).endMenu()
+                .newTopLevelCustomMenu(new PrimaryActionMenuBuilder(constants.Acknowledge_All(),
+                                                                    () -> view.confirmAcknowledgeAll(() -> acknowledgeAllErrors()))).endMenu()
                 .build();
     }
 
@@ -326,5 +367,6 @@ public class ExecutionErrorListPresenter extends AbstractMultiGridPresenter<Exec
 
     public interface ExecutionErrorListView extends MultiGridView<ExecutionErrorSummary, ExecutionErrorListPresenter> {
 
+        void confirmAcknowledgeAll(Command command);
     }
 }
@@ -40,6 +40,7 @@ import org.jbpm.workbench.es.client.i18n.Constants;
 import org.jbpm.workbench.es.client.util.ExecutionErrorTypeConverter;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.uberfire.client.views.pfly.widgets.ConfirmPopup;
+import org.uberfire.mvp.Command;
 import org.uberfire.ext.widgets.table.client.ColumnMeta;
 
 import static org.jbpm.workbench.es.model.ExecutionErrorDataSetConstants.*;
@@ -92,6 +93,14 @@ public class ExecutionErrorListViewImpl extends AbstractMultiGridView<ExecutionE
         return Collections.singletonList(getBulkAck(extendedPagedTable));
     }
 
+    @Override
+    public void confirmAcknowledgeAll(final Command command) {
+        confirmPopup.show(constants.Acknowledge_All(),
+                          constants.Acknowledge(),
+                          constants.Acknowledge_All_confirm(),
+                          command);
+    }
+
     protected AnchorListItem getBulkAck(final ExtendedPagedTable<ExecutionErrorSummary> extendedPagedTable) {
         final AnchorListItem bulkAckNavLink = GWT.create(AnchorListItem.class);
         bulkAckNavLink.setText(constants.Bulk_Ack());
@@ -18,9 +18,15 @@ package org.jbpm.workbench.es.client.editors.requestlist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -39,6 +45,7 @@ import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.es.client.editors.events.JobSelectedEvent;
 import org.jbpm.workbench.es.client.editors.quicknewjob.NewJobPresenter;
 import org.jbpm.workbench.es.client.i18n.Constants;
+import org.jbpm.workbench.es.model.RequestOperationResult;
 import org.jbpm.workbench.es.model.RequestSummary;
 import org.jbpm.workbench.es.model.events.RequestChangedEvent;
 import org.jbpm.workbench.es.service.ExecutorService;
@@ -58,6 +65,8 @@ import static org.jbpm.workbench.es.model.RequestDataSetConstants.*;
 @WorkbenchScreen(identifier = PerspectiveIds.JOB_LIST_SCREEN)
 public class RequestListPresenter extends AbstractMultiGridPresenter<RequestSummary, RequestListPresenter.RequestListView> {
 
+    protected static final int BULK_BATCH_SIZE = 100;
+
     private final org.jbpm.workbench.common.client.resources.i18n.Constants commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
 
     private Constants constants = Constants.INSTANCE;
@@ -318,33 +327,93 @@ public class RequestListPresenter extends AbstractMultiGridPresenter<RequestSumm
     }
 
     public void bulkCancel(List<RequestSummary> jobsSelected) {
-        if (jobsSelected == null || jobsSelected.isEmpty()) {
-            return;
+        executeBulkOperation(getApplicableJobs(jobsSelected,
+                                               getCancelActionCondition(),
+                                               constants::Job_Can_Not_Be_Cancelled),
+                             (service, deploymentRequests) -> service.cancelRequests(getSelectedServerTemplate(),
+                                                                                     deploymentRequests),
+                             constants::Jobs_Cancelled);
+    }
+
+    public void bulkRequeue(List<RequestSummary> jobsSelected) {
+        executeBulkOperation(getApplicableJobs(jobsSelected,
+                                               getRequeueActionCondition(),
+                                               constants::Job_Can_Not_Be_Requeued),
+                             (service, deploymentRequests) -> service.requeueRequests(getSelectedServerTemplate(),
+                                                                                      deploymentRequests),
+                             constants::Jobs_Requeued);
+    }
+
+    protected List<RequestSummary> getApplicableJobs(final List<RequestSummary> jobsSelected,
+                                                     final Predicate<RequestSummary> condition,
+                                                     final Function<Long, String> notAllowedMessage) {
+        if (jobsSelected == null) {
+            return new ArrayList<>();
         }
-        for (RequestSummary selected : jobsSelected) {
-            if (!getCancelActionCondition().test(selected)) {
-                view.displayNotification(constants.Job_Can_Not_Be_Cancelled(selected.getJobId()));
-                continue;
-            } else {
-                cancelRequest(selected.getDeploymentId(),
-                              selected.getJobId());
+        return jobsSelected.stream().filter(job -> {
+            if (condition.test(job)) {
+                return true;
             }
-        }
+            view.displayNotification(notAllowedMessage.apply(job.getJobId()));
+            return false;
+        }).collect(Collectors.toList());
     }
 
-    public void bulkRequeue(List<RequestSummary> jobsSelected) {
-        if (jobsSelected == null || jobsSelected.isEmpty()) {
+    /**
+     * Sends the jobs in batches of {@link #BULK_BATCH_SIZE}, one batch at a time so a large selection does not flood
+     * the KIE Server, reporting the progress after each batch and refreshing the list once all of them are done.
+     */
+    protected void executeBulkOperation(final List<RequestSummary> jobs,
+                                        final BiConsumer<ExecutorService, Map<String, List<Long>>> operation,
+                                        final BiFunction<Integer, Integer, String> completedMessage) {
+        if (jobs.isEmpty()) {
             return;
         }
-        for (RequestSummary selected : jobsSelected) {
-            if (!getRequeueActionCondition().test(selected)) {
-                view.displayNotification(constants.Job_Can_Not_Be_Requeued(selected.getJobId()));
-                continue;
-            } else {
-                requeueRequest(selected.getDeploymentId(),
-                               selected.getJobId());
-            }
+        executeBulkBatch(jobs,
+                         0,
+                         0,
+                         operation,
+                         completedMessage);
+    }
+
+    private void executeBulkBatch(final List<RequestSummary> jobs,
+                                  final int from,
+                                  final int failed,
+                                  final BiConsumer<ExecutorService, Map<String, List<Long>>> operation,
+                                  final BiFunction<Integer, Integer, String> completedMessage) {
+        final int to = Math.min(from + BULK_BATCH_SIZE,
+                                jobs.size());
+        final Map<String, List<Long>> deploymentRequests = new HashMap<>();
+        for (RequestSummary job : jobs.subList(from,
+                                               to)) {
+            deploymentRequests.computeIfAbsent(job.getDeploymentId(),
+                                               key -> new ArrayList<>()).add(job.getJobId());
         }
+
+        operation.accept(executorServices.call((List<RequestOperationResult> results) -> {
+                             int totalFailed = failed;
+                             for (RequestOperationResult result : results) {
+                                 if (!result.isSuccessful()) {
+                                     totalFailed++;
+                                     view.displayNotification(constants.Job_Operation_Failed(result.getRequestId(),
+                                                                                             result.getError()));
+                                 }
+                             }
+                             if (to < jobs.size()) {
+                                 view.displayNotification(constants.Jobs_Processed(to,
+                                                                                   jobs.size()));
+                                 executeBulkBatch(jobs,
+                                                  to,
+                                                  totalFailed,
+                                                  operation,
+                                                  completedMessage);
+                             } else {
+                                 view.displayNotification(completedMessage.apply(jobs.size() - totalFailed,
+                                                                                 totalFailed));
+                                 requestChangedEvent.fire(new RequestChangedEvent());
+                             }
+                         }),
+                         deploymentRequests);
     }
 
     public interface RequestListView extends MultiGridView<RequestSummary, RequestListPresenter> {
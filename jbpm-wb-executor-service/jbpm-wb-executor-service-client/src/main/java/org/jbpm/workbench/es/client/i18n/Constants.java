@@ -260,4 +260,25 @@ public interface Constants extends Messages {
     String Requeue_Jobs_Confirmation();
 
     String Job_Can_Not_Be_Requeued(Long jobId);
+
+    String Job_Operation_Failed(Long jobId,
+                                String error);
+
+    String Jobs_Processed(Integer processed,
+                          Integer total);
+
+    String Jobs_Cancelled(Integer cancelled,
+                          Integer failed);
+
+    String Jobs_Requeued(Integer requeued,
+                         Integer failed);
+
+    String Acknowledge_All();
+
+    String Acknowledge_All_confirm();
+
+    String Errors_Acknowledged_Progress(Integer acknowledged);
+
+    String Errors_Acknowledged(Integer acknowledged,
+                               Integer failed);
 }
@@ -25,6 +25,7 @@ import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jbpm.workbench.common.client.PerspectiveIds;
@@ -39,9 +40,11 @@ import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.es.client.editors.errordetails.ExecutionErrorDetailsPresenter;
 import org.jbpm.workbench.es.client.editors.events.ExecutionErrorSelectedEvent;
 import org.jbpm.workbench.es.client.i18n.Constants;
+import org.jbpm.workbench.es.model.ExecutionErrorAcknowledgement;
 import org.jbpm.workbench.es.model.ExecutionErrorSummary;
 import org.jbpm.workbench.es.service.ExecutorService;
 import org.jbpm.workbench.es.util.ExecutionErrorType;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -63,6 +66,7 @@ import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.security.ResourceRef;
 import org.uberfire.security.authz.AuthorizationManager;
 
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
 import static org.jbpm.workbench.common.client.PerspectiveIds.SEARCH_PARAMETER_PROCESS_INSTANCE_ID;
 import static org.jbpm.workbench.es.model.ExecutionErrorDataSetConstants.*;
 import static org.junit.Assert.*;
@@ -78,6 +82,9 @@ public class ExecutionErrorListPresenterTest {
 
     private CallerMock<ExecutorService> callerMockExecutorService;
 
+    @Mock
+    private DataSetRowCountService rowCountService;
+
     @Mock
     private ExecutorService executorServiceMock;
 
@@ -155,6 +162,7 @@ public class ExecutionErrorListPresenterTest {
                                                   any(DataSetReadyCallback.class));
         commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
         presenter.setExecutorService(callerMockExecutorService);
+        presenter.setRowCountService(new CallerMock<>(rowCountService));
         when(errorHandlerBuilder.get()).thenReturn(errorHandler);
     }
 
@@ -208,6 +216,39 @@ public class ExecutionErrorListPresenterTest {
         verifyNoMoreInteractions(executorServiceMock);
     }
 
+    @Test
+    public void acknowledgeAllErrorsLoopsUntilCompletedTest() {
+        final DataSetFilter filter = new DataSetFilter();
+        filter.addFilterColumn(equalsTo(COLUMN_ERROR_ACK,
+                                        0));
+        dataSetLookup.addOperation(filter);
+        when(executorServiceMock.acknowledgeErrors(anyString(),
+                                                   any(DataSetFilter.class),
+                                                   any()))
+                .thenReturn(new ExecutionErrorAcknowledgement(499,
+                                                              1,
+                                                              false,
+                                                              "error500"))
+                .thenReturn(new ExecutionErrorAcknowledgement(20,
+                                                              2,
+                                                              true,
+                                                              "error522"));
+
+        presenter.acknowledgeAllErrors();
+
+        verify(executorServiceMock).acknowledgeErrors(anyString(),
+                                                      eq(filter),
+                                                      (String) isNull());
+        verify(executorServiceMock).acknowledgeErrors(anyString(),
+                                                      eq(filter),
+                                                      eq("error500"));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Errors_Acknowledged_Progress(499));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Errors_Acknowledged(519,
+                                                                                    3));
+        verify(extendedPagedTable).setVisibleRangeAndClearData(any(),
+                                                               eq(true));
+    }
+
     @Test
     public void testGetExecutionErrorSummary() {
         final String errorId = "errorId";
@@ -18,6 +18,8 @@ package org.jbpm.workbench.es.client.editors.requestlist;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import com.google.gwt.view.client.Range;
@@ -39,10 +41,12 @@ import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.es.client.editors.events.JobSelectedEvent;
 import org.jbpm.workbench.es.client.editors.quicknewjob.NewJobPresenter;
 import org.jbpm.workbench.es.client.i18n.Constants;
+import org.jbpm.workbench.es.model.RequestOperationResult;
 import org.jbpm.workbench.es.model.RequestSummary;
 import org.jbpm.workbench.es.model.events.RequestChangedEvent;
 import org.jbpm.workbench.es.service.ExecutorService;
 import org.jbpm.workbench.es.util.RequestStatus;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -79,6 +83,9 @@ public class RequestListPresenterTest {
 
     private CallerMock<ExecutorService> callerMockExecutorService;
 
+    @Mock
+    private DataSetRowCountService rowCountService;
+
     @Mock
     private ExecutorService executorServiceMock;
 
@@ -167,6 +174,7 @@ public class RequestListPresenterTest {
         presenter.setServerTemplateSelectorMenuBuilder(serverTemplateSelectorMenuBuilder);
         presenter.setNewJobPresenter(newJobPresenterMock);
         presenter.setErrorHandlerBuilder(errorHandlerBuilder);
+        presenter.setRowCountService(new CallerMock<>(rowCountService));
     }
 
     @Test
@@ -562,22 +570,30 @@ public class RequestListPresenterTest {
                                                   key,
                                                   deploymentId,
                                                   RequestStatus.ERROR));
+        when(executorServiceMock.cancelRequests(anyString(),
+                                                anyMap())).thenReturn(Arrays.asList(new RequestOperationResult(deploymentId,
+                                                                                                               jobId_1,
+                                                                                                               null),
+                                                                                    new RequestOperationResult(deploymentId,
+                                                                                                               jobId_2,
+                                                                                                               "error")));
 
         presenter.bulkCancel(requestSummaries);
 
-        verify(executorServiceMock).cancelRequest(anyString(),
-                                                  anyString(),
-                                                  eq(jobId_1));
-        verify(executorServiceMock).cancelRequest(anyString(),
-                                                  anyString(),
-                                                  eq(jobId_2));
+        verify(executorServiceMock).cancelRequests(serverTemplateTest,
+                                                   singletonMap(deploymentId,
+                                                                Arrays.asList(jobId_1,
+                                                                              jobId_2)));
         verify(executorServiceMock,
                never()).cancelRequest(anyString(),
                                       anyString(),
-                                      eq(jobId_3));
-        verify(viewMock).displayNotification(Constants.INSTANCE.RequestCanceled(jobId_1));
-        verify(viewMock).displayNotification(Constants.INSTANCE.RequestCanceled(jobId_2));
+                                      anyLong());
         verify(viewMock).displayNotification(Constants.INSTANCE.Job_Can_Not_Be_Cancelled(jobId_3));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Job_Operation_Failed(jobId_2,
+                                                                                     "error"));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Jobs_Cancelled(1,
+                                                                               1));
+        verify(requestChangedEvent).fire(any(RequestChangedEvent.class));
     }
 
     @Test
@@ -606,20 +622,47 @@ public class RequestListPresenterTest {
 
         presenter.bulkRequeue(requestSummaries);
 
-        verify(executorServiceMock).requeueRequest(anyString(),
-                                                   anyString(),
-                                                   eq(jobId_1));
-        verify(executorServiceMock).requeueRequest(anyString(),
-                                                   anyString(),
-                                                   eq(jobId_2));
+        verify(executorServiceMock).requeueRequests(serverTemplateTest,
+                                                    singletonMap(deploymentId,
+                                                                 Arrays.asList(jobId_1,
+                                                                               jobId_2)));
         verify(executorServiceMock,
                never()).requeueRequest(anyString(),
                                        anyString(),
-                                       eq(jobId_3));
-        verify(viewMock).displayNotification(Constants.INSTANCE.RequestRequeued(jobId_1));
-        verify(viewMock).displayNotification(Constants.INSTANCE.RequestRequeued(jobId_2));
+                                       anyLong());
         verify(viewMock).displayNotification(Constants.INSTANCE.Job_Can_Not_Be_Requeued(jobId_3));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Jobs_Requeued(2,
+                                                                              0));
+        verify(requestChangedEvent).fire(any(RequestChangedEvent.class));
     }
 
+    @Test
+    public void bulkRequeueSendsJobsInBatchesTest() {
+        final int total = RequestListPresenter.BULK_BATCH_SIZE * 2 + 50;
+        final List<RequestSummary> requestSummaries = new ArrayList<>();
+        for (long jobId = 0; jobId < total; jobId++) {
+            requestSummaries.add(createRequestSummary(jobId,
+                                                      "key",
+                                                      "deploymentId",
+                                                      RequestStatus.ERROR));
+        }
+
+        presenter.bulkRequeue(requestSummaries);
 
-}
\ No newline at end of file
+        final ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+        verify(executorServiceMock,
+               times(3)).requeueRequests(anyString(),
+                                         captor.capture());
+        assertEquals(RequestListPresenter.BULK_BATCH_SIZE,
+                     ((List) captor.getAllValues().get(0).get("deploymentId")).size());
+        assertEquals(50,
+                     ((List) captor.getAllValues().get(2).get("deploymentId")).size());
+        verify(viewMock).displayNotification(Constants.INSTANCE.Jobs_Processed(RequestListPresenter.BULK_BATCH_SIZE,
+                                                                               total));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Jobs_Processed(RequestListPresenter.BULK_BATCH_SIZE * 2,
+                                                                               total));
+        verify(viewMock).displayNotification(Constants.INSTANCE.Jobs_Requeued(total,
+                                                                              0));
+        verify(requestChangedEvent).fire(any(RequestChangedEvent.class));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ht.model;
+
+import java.io.Serializable;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Outcome of an operation on one of the tasks of a batch, the error is only set when the operation failed.
+ */
+@Portable
+public class TaskOperationResult implements Serializable {
+
+    private String containerId;
+    private Long taskId;
+    private String error;
+
+    public TaskOperationResult() {
+    }
+
+    public TaskOperationResult(final String containerId,
+                               final Long taskId,
+                               final String error) {
+        this.containerId = containerId;
+        this.taskId = taskId;
+        this.error = error;
+    }
+
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskOperationResult{" +
+                "containerId='" + containerId + '\'' +
+                ", taskId=" + taskId +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jbpm.workbench.ht.model.events;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Published by the server after tasks were changed. The event is delivered to every client, it carries only the ids
+ * of the changed tasks and each task list reloads them through its own user filtered data set.
+ */
+@Portable
+public class TasksChangedEvent implements Serializable {
+
+    private String serverTemplateId;
+    private List<Long> taskIds = new ArrayList<>();
+
+    public TasksChangedEvent() {
+    }
+
+    public TasksChangedEvent(final String serverTemplateId,
+                             final List<Long> taskIds) {
+        this.serverTemplateId = serverTemplateId;
+        this.taskIds = taskIds;
+    }
+
+    public String getServerTemplateId() {
+        return serverTemplateId;
+    }
+
+    public void setServerTemplateId(String serverTemplateId) {
+        this.serverTemplateId = serverTemplateId;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    @Override
+    public String toString() {
+        return "TasksChangedEvent{" +
+                "serverTemplateId='" + serverTemplateId + '\'' +
+                ", taskIds=" + taskIds +
+                '}';
+    }
+}
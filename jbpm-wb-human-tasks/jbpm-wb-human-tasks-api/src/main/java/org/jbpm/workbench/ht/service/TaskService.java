@@ -24,6 +24,7 @@ import org.jboss.errai.bus.server.annotations.Remote;
 import org.jbpm.workbench.ht.model.CommentSummary;
 import org.jbpm.workbench.ht.model.TaskAssignmentSummary;
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskOperationResult;
 import org.jbpm.workbench.ht.model.TaskSummary;
 
 @Remote
@@ -65,6 +66,25 @@ public interface TaskService {
                      String containerId,
                      Long taskId);
 
+    /**
+     * Batch variants of the task operations, the tasks are given per container id. Each task is handled on its own, a
+     * failing task does not stop the others and is reported in the returned outcomes.
+     */
+    List<TaskOperationResult> claimTasks(String serverTemplateId,
+                                         Map<String, List<Long>> containerTasks);
+
+    List<TaskOperationResult> releaseTasks(String serverTemplateId,
+                                           Map<String, List<Long>> containerTasks);
+
+    List<TaskOperationResult> resumeTasks(String serverTemplateId,
+                                          Map<String, List<Long>> containerTasks);
+
+    List<TaskOperationResult> suspendTasks(String serverTemplateId,
+                                           Map<String, List<Long>> containerTasks);
+
+    List<TaskOperationResult> completeTasks(String serverTemplateId,
+                                            Map<String, List<Long>> containerTasks);
+
     void saveTaskContent(String serverTemplateId,
                          String containerId,
                          Long taskId,
@@ -16,6 +16,7 @@
 
 package org.jbpm.workbench.ht.backend.server;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
@@ -28,8 +29,10 @@ import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.ht.model.CommentSummary;
 import org.jbpm.workbench.ht.model.TaskAssignmentSummary;
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskOperationResult;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
+import org.jbpm.workbench.ht.model.events.TasksChangedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
 import org.kie.internal.identity.IdentityProvider;
@@ -38,14 +41,20 @@ import org.kie.server.api.model.instance.TaskComment;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 @Service
 @ApplicationScoped
 public class RemoteTaskServiceImpl extends AbstractKieServerService implements TaskService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteTaskServiceImpl.class);
+
     public static int NOT_FOUND_ERROR_CODE = 404;
 
     @Inject
@@ -54,6 +63,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
     @Inject
     private Event<TaskCompletedEvent> taskCompletedEvent;
 
+    @Inject
+    private Event<TasksChangedEvent> tasksChangedEvent;
+
     @Override
     public TaskSummary getTask(String serverTemplateId,
                                String containerId,
@@ -100,6 +112,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.setTaskExpirationDate(containerId,
                                      taskId,
                                      dueDate);
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -116,6 +131,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.claimTask(containerId,
                          taskId,
                          identityProvider.getName());
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -132,6 +150,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.releaseTask(containerId,
                            taskId,
                            identityProvider.getName());
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -148,6 +169,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.startTask(containerId,
                          taskId,
                          identityProvider.getName());
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -166,6 +190,7 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
                             taskId,
                             identityProvider.getName(),
                             output);
+        invalidateDataSets(serverTemplateId);
         taskCompletedEvent.fire(new TaskCompletedEvent(serverTemplateId,
                                                        containerId,
                                                        taskId));
@@ -185,6 +210,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.resumeTask(containerId,
                           taskId,
                           identityProvider.getName());
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -201,6 +229,112 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.suspendTask(containerId,
                            taskId,
                            identityProvider.getName());
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
+    }
+
+    @Override
+    public List<TaskOperationResult> claimTasks(final String serverTemplateId,
+                                                final Map<String, List<Long>> containerTasks) {
+        return executeTasks(serverTemplateId,
+                            containerTasks,
+                            (client, containerId, taskId) -> client.claimTask(containerId,
+                                                                              taskId,
+                                                                              identityProvider.getName()));
+    }
+
+    @Override
+    public List<TaskOperationResult> releaseTasks(final String serverTemplateId,
+                                                  final Map<String, List<Long>> containerTasks) {
+        return executeTasks(serverTemplateId,
+                            containerTasks,
+                            (client, containerId, taskId) -> client.releaseTask(containerId,
+                                                                                taskId,
+                                                                                identityProvider.getName()));
+    }
+
+    @Override
+    public List<TaskOperationResult> resumeTasks(final String serverTemplateId,
+                                                 final Map<String, List<Long>> containerTasks) {
+        return executeTasks(serverTemplateId,
+                            containerTasks,
+                            (client, containerId, taskId) -> client.resumeTask(containerId,
+                                                                               taskId,
+                                                                               identityProvider.getName()));
+    }
+
+    @Override
+    public List<TaskOperationResult> suspendTasks(final String serverTemplateId,
+                                                  final Map<String, List<Long>> containerTasks) {
+        return executeTasks(serverTemplateId,
+                            containerTasks,
+                            (client, containerId, taskId) -> client.suspendTask(containerId,
+                                                                                taskId,
+                                                                                identityProvider.getName()));
+    }
+
+    @Override
+    public List<TaskOperationResult> completeTasks(final String serverTemplateId,
+                                                   final Map<String, List<Long>> containerTasks) {
+        final List<TaskOperationResult> results = executeTasks(serverTemplateId,
+                                                               containerTasks,
+                                                               (client, containerId, taskId) -> client.completeTask(containerId,
+                                                                                                                    taskId,
+                                                                                                                    identityProvider.getName(),
+                                                                                                                    emptyMap()));
+        results.stream()
+                .filter(TaskOperationResult::isSuccessful)
+                .forEach(r -> taskCompletedEvent.fire(new TaskCompletedEvent(serverTemplateId,
+                                                                             r.getContainerId(),
+                                                                             r.getTaskId())));
+        return results;
+    }
+
+    /**
+     * Runs the operation for every task one after the other (see {@link AbstractKieServerService}). Failures are
+     * collected per task and the data sets are invalidated and the changes published once for the whole batch.
+     */
+    protected List<TaskOperationResult> executeTasks(final String serverTemplateId,
+                                                     final Map<String, List<Long>> containerTasks,
+                                                     final TaskOperation operation) {
+        if (serverTemplateId == null || serverTemplateId.isEmpty() || containerTasks == null || containerTasks.isEmpty()) {
+            return emptyList();
+        }
+
+        UserTaskServicesClient client = getClient(serverTemplateId,
+                                                  UserTaskServicesClient.class);
+
+        final List<TaskOperationResult> results = new ArrayList<>();
+        final List<Long> changedTaskIds = new ArrayList<>();
+        containerTasks.forEach((containerId, taskIds) -> {
+            for (Long taskId : taskIds) {
+                try {
+                    operation.execute(client,
+                                      containerId,
+                                      taskId);
+                    changedTaskIds.add(taskId);
+                    results.add(new TaskOperationResult(containerId,
+                                                        taskId,
+                                                        null));
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Operation on task {} of container {} failed: {}",
+                                 taskId,
+                                 containerId,
+                                 e.getMessage());
+                    results.add(new TaskOperationResult(containerId,
+                                                        taskId,
+                                                        e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage()));
+                }
+            }
+        });
+
+        if (!changedTaskIds.isEmpty()) {
+            invalidateDataSets(serverTemplateId);
+            fireTasksChanged(serverTemplateId,
+                             changedTaskIds);
+        }
+        return results;
     }
 
     @Override
@@ -218,6 +352,7 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.saveTaskContent(containerId,
                                taskId,
                                output);
+        invalidateDataSets(serverTemplateId);
     }
 
     @Override
@@ -238,6 +373,7 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
                               text,
                               identityProvider.getName(),
                               addedOn);
+        invalidateDataSets(serverTemplateId);
     }
 
     @Override
@@ -255,6 +391,7 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
         client.deleteTaskComment(containerId,
                                  taskId,
                                  commentId);
+        invalidateDataSets(serverTemplateId);
     }
 
     @Override
@@ -320,6 +457,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
                             taskId,
                             identityProvider.getName(),
                             entity);
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -338,6 +478,9 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
                            taskId,
                            identityProvider.getName(),
                            entity);
+        invalidateDataSets(serverTemplateId);
+        fireTasksChanged(serverTemplateId,
+                         singletonList(taskId));
     }
 
     @Override
@@ -375,6 +518,23 @@ public class RemoteTaskServiceImpl extends AbstractKieServerService implements T
 
     }
 
+    /**
+     * Publishes the ids of the changed tasks, clients read the tasks again through their own data sets.
+     */
+    protected void fireTasksChanged(final String serverTemplateId,
+                                    final List<Long> taskIds) {
+        tasksChangedEvent.fire(new TasksChangedEvent(serverTemplateId,
+                                                     new ArrayList<>(taskIds)));
+    }
+
+    @FunctionalInterface
+    protected interface TaskOperation {
+
+        void execute(UserTaskServicesClient client,
+                     String containerId,
+                     Long taskId);
+    }
+
     protected CommentSummary build(TaskComment comment) {
         CommentSummary summary = new CommentSummary(
                 comment.getId(),
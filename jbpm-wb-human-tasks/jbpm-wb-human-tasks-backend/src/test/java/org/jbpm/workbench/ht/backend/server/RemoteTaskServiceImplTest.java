@@ -20,19 +20,24 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.event.Event;
 
 import org.jbpm.workbench.ht.model.TaskEventSummary;
+import org.jbpm.workbench.ht.model.TaskOperationResult;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
+import org.jbpm.workbench.ht.model.events.TasksChangedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.exception.KieServicesException;
 import org.kie.server.api.model.instance.TaskEventInstance;
 import org.kie.server.api.model.instance.TaskInstance;
 import org.kie.server.client.KieServicesClient;
@@ -57,6 +62,9 @@ public class RemoteTaskServiceImplTest {
     @Mock
     KieServerIntegration kieServerIntegration;
 
+    @Mock
+    KieServerDataSetCache dataSetCache;
+
     @Mock
     KieServicesClient kieServicesClient;
 
@@ -66,6 +74,9 @@ public class RemoteTaskServiceImplTest {
     @Mock
     Event<TaskCompletedEvent> taskCompletedEvent;
 
+    @Mock
+    Event<TasksChangedEvent> tasksChangedEvent;
+
     @InjectMocks
     RemoteTaskServiceImpl remoteTaskService;
 
@@ -165,6 +176,109 @@ public class RemoteTaskServiceImplTest {
         verify(kieServerIntegration).getServerClient(serverTemplateId);
     }
 
+    @Test
+    public void testClaimPublishesChangedTaskId() {
+        final String containerId = "containerId";
+        final Long taskId = 1l;
+        final String serverTemplateId = "serverTemplateId";
+
+        remoteTaskService.claimTask(serverTemplateId,
+                                    containerId,
+                                    taskId);
+
+        verify(userTaskServicesClient).claimTask(containerId,
+                                                 taskId,
+                                                 CURRENT_USER);
+        verify(userTaskServicesClient,
+               never()).findTaskById(anyLong());
+        final ArgumentCaptor<TasksChangedEvent> captor = ArgumentCaptor.forClass(TasksChangedEvent.class);
+        verify(tasksChangedEvent).fire(captor.capture());
+        assertEquals(serverTemplateId,
+                     captor.getValue().getServerTemplateId());
+        assertEquals(Collections.singletonList(taskId),
+                     captor.getValue().getTaskIds());
+    }
+
+    @Test
+    public void testClaimTasksPublishesSingleChange() {
+        final String serverTemplateId = "serverTemplateId";
+        final Map<String, List<Long>> containerTasks = new HashMap<>();
+        containerTasks.put("container1",
+                           Arrays.asList(1l,
+                                         2l));
+        containerTasks.put("container2",
+                           Collections.singletonList(3l));
+
+        final List<TaskOperationResult> results = remoteTaskService.claimTasks(serverTemplateId,
+                                                                               containerTasks);
+
+        assertEquals(3,
+                     results.size());
+        assertTrue(results.stream().allMatch(TaskOperationResult::isSuccessful));
+        verify(userTaskServicesClient).claimTask("container1",
+                                                 1l,
+                                                 CURRENT_USER);
+        verify(userTaskServicesClient).claimTask("container1",
+                                                 2l,
+                                                 CURRENT_USER);
+        verify(userTaskServicesClient).claimTask("container2",
+                                                 3l,
+                                                 CURRENT_USER);
+        verify(userTaskServicesClient,
+               never()).findTaskById(anyLong());
+        verify(dataSetCache).invalidateServerTemplate(serverTemplateId);
+        final ArgumentCaptor<TasksChangedEvent> captor = ArgumentCaptor.forClass(TasksChangedEvent.class);
+        verify(tasksChangedEvent).fire(captor.capture());
+        assertEquals(3,
+                     captor.getValue().getTaskIds().size());
+        assertTrue(captor.getValue().getTaskIds().containsAll(Arrays.asList(1l,
+                                                                            2l,
+                                                                            3l)));
+    }
+
+    @Test
+    public void testReleaseTasksReportsFailuresPerTask() {
+        final String containerId = "containerId";
+        doThrow(new KieServicesException("Task 2 is not reserved")).when(userTaskServicesClient).releaseTask(containerId,
+                                                                                                            2l,
+                                                                                                            CURRENT_USER);
+
+        final List<TaskOperationResult> results = remoteTaskService.releaseTasks("serverTemplateId",
+                                                                                 Collections.singletonMap(containerId,
+                                                                                                          Arrays.asList(1l,
+                                                                                                                        2l)));
+
+        assertEquals(2,
+                     results.size());
+        assertTrue(results.get(0).isSuccessful());
+        assertFalse(results.get(1).isSuccessful());
+        assertEquals("Task 2 is not reserved",
+                     results.get(1).getError());
+        final ArgumentCaptor<TasksChangedEvent> captor = ArgumentCaptor.forClass(TasksChangedEvent.class);
+        verify(tasksChangedEvent).fire(captor.capture());
+        assertEquals(Collections.singletonList(1l),
+                     captor.getValue().getTaskIds());
+    }
+
+    @Test
+    public void testCompleteTasksFiresCompletedEvents() {
+        remoteTaskService.completeTasks("serverTemplateId",
+                                        Collections.singletonMap("containerId",
+                                                                 Arrays.asList(1l,
+                                                                               2l)));
+
+        verify(userTaskServicesClient).completeTask("containerId",
+                                                    1l,
+                                                    CURRENT_USER,
+                                                    Collections.emptyMap());
+        verify(userTaskServicesClient).completeTask("containerId",
+                                                    2l,
+                                                    CURRENT_USER,
+                                                    Collections.emptyMap());
+        verify(taskCompletedEvent,
+               times(2)).fire(any());
+    }
+
     @Test
     public void getTask_ReturnsSingleTaskTest() {
         final String containerId = "containerId";
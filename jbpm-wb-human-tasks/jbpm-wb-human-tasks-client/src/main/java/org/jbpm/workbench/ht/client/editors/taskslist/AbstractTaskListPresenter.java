@@ -18,16 +18,20 @@ package org.jbpm.workbench.ht.client.editors.taskslist;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
+import com.google.gwt.core.client.GWT;
 import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpType;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
@@ -35,7 +39,7 @@ import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionType;
 import org.dashbuilder.dataset.filter.DataSetFilter;
-import org.dashbuilder.dataset.sort.SortOrder;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jboss.errai.common.client.api.RemoteCallback;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
@@ -45,15 +49,16 @@ import org.jbpm.workbench.common.client.list.ListTable;
 import org.jbpm.workbench.common.client.list.MultiGridView;
 import org.jbpm.workbench.common.client.menu.RefreshMenuBuilder;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
-import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.ht.client.resources.i18n.Constants;
+import org.jbpm.workbench.ht.model.TaskOperationResult;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.AbstractTaskEvent;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
-import org.jbpm.workbench.ht.model.events.TaskRefreshedEvent;
 import org.jbpm.workbench.ht.model.events.TaskSelectionEvent;
+import org.jbpm.workbench.ht.model.events.TasksChangedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
 import org.jbpm.workbench.ht.util.TaskStatus;
+import org.jbpm.workbench.ks.service.DataSetPivotService;
 import org.uberfire.client.workbench.events.BeforeClosePlaceEvent;
 import org.uberfire.mvp.PlaceRequest;
 import org.uberfire.mvp.impl.DefaultPlaceRequest;
@@ -61,7 +66,6 @@ import org.uberfire.workbench.model.menu.MenuFactory;
 import org.uberfire.workbench.model.menu.Menus;
 
 import static org.dashbuilder.dataset.filter.FilterFactory.*;
-import static org.jbpm.workbench.common.client.util.DataSetUtils.*;
 import static org.jbpm.workbench.ht.model.TaskDataSetConstants.*;
 
 public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresenter.TaskListView> extends AbstractMultiGridPresenter<TaskSummary, V> {
@@ -70,7 +74,7 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
 
     private Caller<TaskService> taskService;
 
-    private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
+    private Caller<DataSetPivotService> pivotService;
 
     protected TranslationService translationService;
 
@@ -164,56 +168,48 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                                             final Boolean lastPageExactCount) {
 
         List<Long> taskIds = tasksFromDataSet.stream().map(t -> t.getId()).collect(Collectors.toList());
-        FilterSettings variablesTableSettings = filterSettingsManager.getVariablesFilterSettings(taskIds);
-        variablesTableSettings.setTablePageSize(-1);
-        variablesTableSettings.setServerTemplateId(getSelectedServerTemplate());
-
-        dataSetQueryHelperDomainSpecific.setDataSetHandler(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setCurrentTableSettings(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setLastOrderedColumn(COLUMN_TASK_ID);
-        dataSetQueryHelperDomainSpecific.setLastSortOrder(SortOrder.ASCENDING);
-        dataSetQueryHelperDomainSpecific.lookupDataSet(0,
-                                                       createDataSetDomainSpecificCallback(startRange,
-                                                                                           tasksFromDataSet,
-                                                                                           variablesTableSettings,
-                                                                                           lastPageExactCount));
-    }
-
-    protected DataSetReadyCallback createDataSetDomainSpecificCallback(final int startRange,
-                                                                       final List<TaskSummary> instances,
-                                                                       final FilterSettings tableSettings,
-                                                                       boolean lastPageExactCount) {
-        return errorHandlerBuilder.get().withUUID(tableSettings.getUUID()).withDataSetCallback(
-                dataSet -> {
-                    if (dataSet.getRowCount() > 0) {
-                        Set<String> columns = new HashSet<String>();
-                        for (int i = 0; i < dataSet.getRowCount(); i++) {
-                            Long taskId = getColumnLongValue(dataSet,
-                                                             COLUMN_TASK_ID,
-                                                             i);
-                            String variableName = getColumnStringValue(dataSet,
-                                                                       COLUMN_TASK_VARIABLE_NAME,
-                                                                       i);
-                            String variableValue = getColumnStringValue(dataSet,
-                                                                        COLUMN_TASK_VARIABLE_VALUE,
-                                                                        i);
-                            for (TaskSummary task : instances) {
-                                if (task.getId().equals(taskId)) {
-                                    task.addDomainData(variableName,
-                                                       variableValue);
-                                    columns.add(variableName);
-                                }
-                            }
-                        }
-                        view.addDomainSpecifColumns((ListTable) view.getListGrid(),
-                                                    columns);
-                    }
-                    updateDataOnCallback(instances,
-                                         startRange,
-                                         startRange + instances.size(),
-                                         lastPageExactCount);
-                })
-                .withEmptyResultsCallback(() -> setEmptyResults());
+        pivotService.call((Map<Long, Map<String, String>> variables) -> {
+                              addDomainSpecifData(tasksFromDataSet,
+                                                  variables);
+                              updateDataOnCallback(tasksFromDataSet,
+                                                   startRange,
+                                                   startRange + tasksFromDataSet.size(),
+                                                   lastPageExactCount);
+                          },
+                          (Message message, Throwable throwable) -> {
+                              // the page is still displayed, only without the variable columns
+                              GWT.log("Unable to load the variables of the page: " + throwable);
+                              updateDataOnCallback(tasksFromDataSet,
+                                                   startRange,
+                                                   startRange + tasksFromDataSet.size(),
+                                                   lastPageExactCount);
+                              return false;
+                          }).pivot(getSelectedServerTemplate(),
+                                   HUMAN_TASKS_WITH_VARIABLES_DATASET,
+                                   COLUMN_TASK_VARIABLE_TASK_ID,
+                                   COLUMN_TASK_VARIABLE_NAME,
+                                   COLUMN_TASK_VARIABLE_VALUE,
+                                   taskIds);
+    }
+
+    /**
+     * Joins the variables, already grouped per task id, with the tasks of the current page.
+     */
+    protected void addDomainSpecifData(final List<TaskSummary> tasks,
+                                       final Map<Long, Map<String, String>> variables) {
+        if (variables.isEmpty()) {
+            return;
+        }
+        final Set<String> columns = new HashSet<String>();
+        for (TaskSummary task : tasks) {
+            final Map<String, String> taskVariables = variables.get(task.getId());
+            if (taskVariables != null) {
+                taskVariables.forEach(task::addDomainData);
+                columns.addAll(taskVariables.keySet());
+            }
+        }
+        view.addDomainSpecifColumns((ListTable) view.getListGrid(),
+                                    columns);
     }
 
     public void releaseTask(final TaskSummary task) {
@@ -222,7 +218,6 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                     @Override
                     public void callback(Void nothing) {
                         view.displayNotification(constants.TaskReleased(String.valueOf(task.getId())));
-                        refreshGrid();
                     }
                 }).releaseTask(getSelectedServerTemplate(),
                                task.getDeploymentId(),
@@ -235,7 +230,6 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                     @Override
                     public void callback(Void nothing) {
                         view.displayNotification(constants.TaskClaimed(String.valueOf(task.getId())));
-                        refreshGrid();
                     }
                 }
         ).claimTask(getSelectedServerTemplate(),
@@ -249,7 +243,6 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                     @Override
                     public void callback(Void nothing) {
                         view.displayNotification(constants.TaskResumed(String.valueOf(task.getId())));
-                        refreshGrid();
                     }
                 }
         ).resumeTask(getSelectedServerTemplate(),
@@ -263,7 +256,6 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                     @Override
                     public void callback(Void nothing) {
                         view.displayNotification(constants.TaskSuspended(String.valueOf(task.getId())));
-                        refreshGrid();
                     }
                 }
         ).suspendTask(getSelectedServerTemplate(),
@@ -271,6 +263,87 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                       task.getId());
     }
 
+    public void bulkClaim(final List<TaskSummary> tasks) {
+        executeBulkAction(tasks,
+                          getClaimActionCondition(),
+                          (service, containerTasks) -> service.claimTasks(getSelectedServerTemplate(),
+                                                                          containerTasks));
+    }
+
+    public void bulkRelease(final List<TaskSummary> tasks) {
+        executeBulkAction(tasks,
+                          getReleaseActionCondition(),
+                          (service, containerTasks) -> service.releaseTasks(getSelectedServerTemplate(),
+                                                                            containerTasks));
+    }
+
+    public void bulkResume(final List<TaskSummary> tasks) {
+        executeBulkAction(tasks,
+                          getResumeActionCondition(),
+                          (service, containerTasks) -> service.resumeTasks(getSelectedServerTemplate(),
+                                                                           containerTasks));
+    }
+
+    public void bulkSuspend(final List<TaskSummary> tasks) {
+        executeBulkAction(tasks,
+                          getSuspendActionCondition(),
+                          (service, containerTasks) -> service.suspendTasks(getSelectedServerTemplate(),
+                                                                            containerTasks));
+    }
+
+    /**
+     * Sends all the selected tasks the action applies to in a single call, the rows are updated once the server
+     * publishes the changed tasks. The outcome of the whole batch is reported in a single notification.
+     */
+    protected void executeBulkAction(final List<TaskSummary> tasks,
+                                     final Predicate<TaskSummary> condition,
+                                     final BiConsumer<TaskService, Map<String, List<Long>>> operation) {
+        if (tasks == null || tasks.isEmpty()) {
+            return;
+        }
+
+        final Map<String, List<Long>> containerTasks = new HashMap<>();
+        final List<Long> failedTaskIds = new ArrayList<>();
+        for (TaskSummary task : tasks) {
+            if (condition.test(task)) {
+                containerTasks.computeIfAbsent(task.getDeploymentId(),
+                                               key -> new ArrayList<>()).add(task.getId());
+            } else {
+                failedTaskIds.add(task.getId());
+            }
+        }
+        if (containerTasks.isEmpty()) {
+            displayBulkActionResult(0,
+                                    failedTaskIds);
+            return;
+        }
+
+        operation.accept(taskService.call((List<TaskOperationResult> results) -> {
+                             int succeeded = 0;
+                             for (TaskOperationResult result : results) {
+                                 if (result.isSuccessful()) {
+                                     succeeded++;
+                                 } else {
+                                     failedTaskIds.add(result.getTaskId());
+                                 }
+                             }
+                             displayBulkActionResult(succeeded,
+                                                     failedTaskIds);
+                         }),
+                         containerTasks);
+    }
+
+    protected void displayBulkActionResult(final int succeeded,
+                                           final List<Long> failedTaskIds) {
+        if (failedTaskIds.isEmpty()) {
+            view.displayNotification(constants.BulkActionSucceeded(succeeded));
+        } else {
+            view.displayNotification(constants.BulkActionFailed(succeeded,
+                                                                failedTaskIds.size(),
+                                                                failedTaskIds.stream().map(String::valueOf).collect(Collectors.joining(", "))));
+        }
+    }
+
     public Menus getMenus() { //To be used by subclass methods annotated with @WorkbenchMenu
         return MenuFactory
                 .newTopLevelCustomMenu(new RefreshMenuBuilder(this)).endMenu()
@@ -308,8 +381,18 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
                                                  summary.getProcessId()));
     }
 
-    public void onTaskRefreshedEvent(@Observes TaskRefreshedEvent event) {
-        refreshGrid();
+    /**
+     * The event only carries the ids of the changed tasks, the page is read again through the data set of the list
+     * when one of them is displayed.
+     */
+    public void onTasksChangedEvent(@Observes TasksChangedEvent event) {
+        if (!event.getServerTemplateId().equals(getSelectedServerTemplate())) {
+            return;
+        }
+        final List<TaskSummary> rows = view.getListGrid() == null ? null : view.getListGrid().getVisibleItems();
+        if (rows != null && rows.stream().anyMatch(row -> event.getTaskIds().contains(row.getId()))) {
+            refreshGrid();
+        }
     }
 
     public void onTaskDetailsClosed(@Observes BeforeClosePlaceEvent closed) {
@@ -321,7 +404,41 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
     public void onTaskCompletedEvent(@Observes TaskCompletedEvent event) {
         //Need to filter events only for a related task that was selected.
         if(isSameTaskFromEvent().test(event)){
-            refreshGrid();
+            updateRows(row -> {
+                           final Map<String, Object> columns = new HashMap<>();
+                           if (event.getTaskId().equals(row.getId())) {
+                               putIfChanged(columns,
+                                            COLUMN_STATUS,
+                                            row.getStatus(),
+                                            TaskStatus.TASK_STATUS_COMPLETED.getIdentifier());
+                           }
+                           return columns;
+                       },
+                       this::updateTaskSummary);
+        }
+    }
+
+    /**
+     * Tasks of the user filtered data sets are also filtered by the server on their owners and potential owners,
+     * a new status or owner may move the task out of the list.
+     */
+    @Override
+    protected boolean isRowMembershipAffected(final Map<String, Object> columns) {
+        if (isUserFilteredDataSet() && (columns.containsKey(COLUMN_STATUS) || columns.containsKey(COLUMN_ACTUAL_OWNER))) {
+            return true;
+        }
+        return super.isRowMembershipAffected(columns);
+    }
+
+    protected boolean isUserFilteredDataSet() {
+        final String dataSetUUID = dataSetQueryHelper.getCurrentTableSettings().getDataSetLookup().getDataSetUUID();
+        return HUMAN_TASKS_WITH_USER_DATASET.equals(dataSetUUID) || HUMAN_TASKS_WITH_ADMIN_DATASET.equals(dataSetUUID);
+    }
+
+    protected void updateTaskSummary(final TaskSummary row,
+                                     final Map<String, Object> columns) {
+        if (columns.containsKey(COLUMN_STATUS)) {
+            row.setStatus((String) columns.get(COLUMN_STATUS));
         }
     }
 
@@ -330,8 +447,8 @@ public abstract class AbstractTaskListPresenter<V extends AbstractTaskListPresen
     }
 
     @Inject
-    public void setDataSetQueryHelperDomainSpecific(final DataSetQueryHelper dataSetQueryHelperDomainSpecific) {
-        this.dataSetQueryHelperDomainSpecific = dataSetQueryHelperDomainSpecific;
+    public void setPivotService(final Caller<DataSetPivotService> pivotService) {
+        this.pivotService = pivotService;
     }
 
     @Inject
@@ -20,15 +20,20 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.BrowserEvents;
 import com.google.gwt.dom.client.Style;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.RowStyles;
 import com.google.gwt.view.client.CellPreviewEvent;
+import org.gwtbootstrap3.client.ui.AnchorListItem;
+import org.gwtbootstrap3.client.ui.constants.IconType;
 import org.jboss.errai.ui.client.local.spi.TranslationService;
 import org.jbpm.workbench.common.client.list.AbstractMultiGridView;
+import org.jbpm.workbench.common.client.list.ExtendedPagedTable;
 import org.jbpm.workbench.common.client.list.ListTable;
 import org.jbpm.workbench.common.client.util.ConditionalAction;
 import org.jbpm.workbench.common.client.util.DateUtils;
@@ -50,10 +55,48 @@ public abstract class AbstractTaskListView<P extends AbstractTaskListPresenter>
 
     @Override
     public List<String> getBannedColumns() {
-        return Arrays.asList(COLUMN_NAME,
+        return Arrays.asList(COL_ID_SELECT,
+                             COLUMN_NAME,
                              COL_ID_ACTIONS);
     }
 
+    @Override
+    protected List<AnchorListItem> getBulkActionsItems(final ExtendedPagedTable<TaskSummary> extendedPagedTable) {
+        final List<AnchorListItem> bulkActionsItems = new ArrayList<>();
+        bulkActionsItems.add(getBulkAction(extendedPagedTable,
+                                           constants.Bulk_Claim(),
+                                           IconType.USER,
+                                           tasks -> presenter.bulkClaim(tasks)));
+        bulkActionsItems.add(getBulkAction(extendedPagedTable,
+                                           constants.Bulk_Release(),
+                                           IconType.SIGN_OUT,
+                                           tasks -> presenter.bulkRelease(tasks)));
+        bulkActionsItems.add(getBulkAction(extendedPagedTable,
+                                           constants.Bulk_Suspend(),
+                                           IconType.PAUSE,
+                                           tasks -> presenter.bulkSuspend(tasks)));
+        bulkActionsItems.add(getBulkAction(extendedPagedTable,
+                                           constants.Bulk_Resume(),
+                                           IconType.PLAY,
+                                           tasks -> presenter.bulkResume(tasks)));
+        return bulkActionsItems;
+    }
+
+    protected AnchorListItem getBulkAction(final ExtendedPagedTable<TaskSummary> extendedPagedTable,
+                                           final String text,
+                                           final IconType icon,
+                                           final Consumer<List<TaskSummary>> action) {
+        final AnchorListItem bulkActionNavLink = GWT.create(AnchorListItem.class);
+        bulkActionNavLink.setText(text);
+        bulkActionNavLink.setIcon(icon);
+        bulkActionNavLink.setIconFixedWidth(true);
+        bulkActionNavLink.addClickHandler(event -> {
+            action.accept(extendedPagedTable.getSelectedItems());
+            extendedPagedTable.deselectAllItems();
+        });
+        return bulkActionNavLink;
+    }
+
     @Override
     public String getEmptyTableCaption() {
         return constants.No_Tasks_Found();
@@ -76,10 +119,13 @@ public abstract class AbstractTaskListView<P extends AbstractTaskListPresenter>
     public void initColumns(ListTable<TaskSummary> extendedPagedTable) {
         initCellPreview(extendedPagedTable);
 
+        final ColumnMeta<TaskSummary> checkColumnMeta = initChecksColumn(extendedPagedTable);
         ColumnMeta<TaskSummary> actionsColumnMeta = initActionsColumn();
+        extendedPagedTable.addSelectionIgnoreColumn(checkColumnMeta.getColumn());
         extendedPagedTable.addSelectionIgnoreColumn(actionsColumnMeta.getColumn());
 
         List<ColumnMeta<TaskSummary>> columnMetas = new ArrayList<ColumnMeta<TaskSummary>>();
+        columnMetas.add(checkColumnMeta);
         columnMetas.add(new ColumnMeta<>(
                 createNumberColumn(COLUMN_TASK_ID,
                                    task -> task.getId()),
@@ -219,6 +219,20 @@ public interface Constants extends Messages {
 
     String TaskSuspended(String taskId);
 
+    String BulkActionSucceeded(int succeeded);
+
+    String BulkActionFailed(int succeeded,
+                            int failed,
+                            String failedTaskIds);
+
+    String Bulk_Claim();
+
+    String Bulk_Release();
+
+    String Bulk_Resume();
+
+    String Bulk_Suspend();
+
     String TaskSuccessfullyForwarded();
 
     String ReminderSentTo(String userName);
@@ -18,8 +18,10 @@ package org.jbpm.workbench.ht.client.editors.taskslist;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import javax.enterprise.event.Event;
@@ -43,10 +45,14 @@ import org.jbpm.workbench.common.client.list.ListTable;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.ht.client.resources.i18n.Constants;
+import org.jbpm.workbench.ht.model.TaskOperationResult;
 import org.jbpm.workbench.ht.model.TaskSummary;
 import org.jbpm.workbench.ht.model.events.TaskCompletedEvent;
 import org.jbpm.workbench.ht.model.events.TaskSelectionEvent;
+import org.jbpm.workbench.ht.model.events.TasksChangedEvent;
 import org.jbpm.workbench.ht.service.TaskService;
+import org.jbpm.workbench.ks.service.DataSetPivotService;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
 import org.junit.Before;
 import org.junit.Test;
 import org.kie.server.controller.api.model.spec.Capability;
@@ -67,6 +73,7 @@ import org.uberfire.mvp.impl.DefaultPlaceRequest;
 
 import static java.util.Collections.*;
 import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.dashbuilder.dataset.filter.FilterFactory.in;
 import static org.dashbuilder.dataset.filter.FilterFactory.likeTo;
 import static org.jbpm.workbench.ht.client.util.TaskUtils.TaskType;
 import static org.jbpm.workbench.ht.client.util.TaskUtils.getStatusByType;
@@ -75,6 +82,8 @@ import static org.jbpm.workbench.ht.util.TaskStatus.*;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
 public abstract class AbstractTaskListPresenterTest {
@@ -82,6 +91,9 @@ public abstract class AbstractTaskListPresenterTest {
     private static final Long TASK_ID = 1L;
     private static final String TASK_DEPLOYMENT_ID = "deploymentId";
 
+    @Mock
+    protected DataSetRowCountService rowCountService;
+
     @Mock
     protected User identity;
 
@@ -97,7 +109,7 @@ public abstract class AbstractTaskListPresenterTest {
     protected DataSetQueryHelper dataSetQueryHelper;
 
     @Mock
-    protected DataSetQueryHelper dataSetQueryHelperDomainSpecific;
+    protected DataSetPivotService pivotService;
 
     @Mock
     protected TaskListViewImpl viewMock;
@@ -108,9 +120,6 @@ public abstract class AbstractTaskListPresenterTest {
     @Mock
     protected DataSet dataSetMock;
 
-    @Mock
-    protected DataSet dataSetTaskVarMock;
-
     @Mock
     protected PlaceManager placeManager;
 
@@ -154,6 +163,8 @@ public abstract class AbstractTaskListPresenterTest {
     public void setupMocks() {
         callerMockRemoteTaskService = new CallerMock<TaskService>(taskService);
         getPresenter().setTaskService(callerMockRemoteTaskService);
+        getPresenter().setRowCountService(new CallerMock<>(rowCountService));
+        getPresenter().setPivotService(new CallerMock<>(pivotService));
 
         doNothing().when(taskSelected).fire(any(TaskSelectionEvent.class));
 
@@ -180,17 +191,6 @@ public abstract class AbstractTaskListPresenterTest {
         }).when(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                   any(DataSetReadyCallback.class));
 
-        //Mock that actually calls the callbacks
-        doAnswer(new Answer() {
-
-            @Override
-            public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((DataSetReadyCallback) invocation.getArguments()[1]).callback(dataSetTaskVarMock);
-                return null;
-            }
-        }).when(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                                any(DataSetReadyCallback.class));
-
         when(identity.getIdentifier()).thenReturn("userId");
 
         when(errorHandlerBuilder.get()).thenReturn(errorHandler);
@@ -208,9 +208,13 @@ public abstract class AbstractTaskListPresenterTest {
 
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               never()).lookupDataSet(anyInt(),
-                                      any(DataSetReadyCallback.class));
+        verify(pivotService,
+               never()).pivot(anyString(),
+                              anyString(),
+                              anyString(),
+                              anyString(),
+                              anyString(),
+                              anyList());
     }
 
     @Test
@@ -235,6 +239,61 @@ public abstract class AbstractTaskListPresenterTest {
                                       TASK_ID);
     }
 
+    @Test
+    public void bulkClaimTest() {
+        final TaskSummary task1 = TaskSummary.builder().id(1l).deploymentId("container1").status(TASK_STATUS_READY.getIdentifier()).build();
+        final TaskSummary task2 = TaskSummary.builder().id(2l).deploymentId("container1").status(TASK_STATUS_READY.getIdentifier()).build();
+        final TaskSummary task3 = TaskSummary.builder().id(3l).deploymentId("container2").status(TASK_STATUS_READY.getIdentifier()).build();
+        final TaskSummary reserved = TaskSummary.builder().id(4l).deploymentId("container2").status(TASK_STATUS_RESERVED.getIdentifier()).build();
+        when(taskService.claimTasks(anyString(),
+                                    anyMap())).thenReturn(Arrays.asList(new TaskOperationResult("container1",
+                                                                                                1l,
+                                                                                                null),
+                                                                        new TaskOperationResult("container1",
+                                                                                                2l,
+                                                                                                "error"),
+                                                                        new TaskOperationResult("container2",
+                                                                                                3l,
+                                                                                                null)));
+
+        getPresenter().bulkClaim(Arrays.asList(task1,
+                                               task2,
+                                               task3,
+                                               reserved));
+
+        final Map<String, List<Long>> containerTasks = new HashMap<>();
+        containerTasks.put("container1",
+                           Arrays.asList(1l,
+                                         2l));
+        containerTasks.put("container2",
+                           singletonList(3l));
+        verify(taskService).claimTasks("",
+                                       containerTasks);
+        verify(taskService,
+               never()).claimTask(anyString(),
+                                  anyString(),
+                                  anyLong());
+        //A single summary for the skipped, failed and claimed tasks
+        verify(viewMock).displayNotification(any());
+        verify(extendedPagedTable,
+               never()).setVisibleRangeAndClearData(any(Range.class),
+                                                    anyBoolean());
+    }
+
+    @Test
+    public void bulkActionWithoutApplicableTasksTest() {
+        getPresenter().bulkSuspend(singletonList(TaskSummary.builder().id(TASK_ID).deploymentId(TASK_DEPLOYMENT_ID).status(TASK_STATUS_COMPLETED.getIdentifier()).build()));
+        getPresenter().bulkResume(emptyList());
+
+        verify(taskService,
+               never()).suspendTasks(anyString(),
+                                     anyMap());
+        verify(taskService,
+               never()).resumeTasks(anyString(),
+                                    anyMap());
+        verify(viewMock).displayNotification(any());
+    }
+
     @Test
     public void resumeTaskTest() {
         final TaskSummary task = TaskSummary.builder().id(TASK_ID).deploymentId(TASK_DEPLOYMENT_ID).build();
@@ -287,29 +346,28 @@ public abstract class AbstractTaskListPresenterTest {
                                         "taskName"));
         filterSettings.getDataSetLookup().addOperation(filter);
 
-        when(dataSetMock.getRowCount()).thenReturn(1);//1 task
+        when(dataSetMock.getRowCount()).thenReturn(2);//2 tasks
         //Task summary creation
         when(dataSetMock.getValueAt(0,
                                     COLUMN_TASK_ID)).thenReturn(Long.valueOf(1));
-
-        when(dataSetTaskVarMock.getRowCount()).thenReturn(2); //two domain variables associated
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_ID
-        )).thenReturn(Long.valueOf(1));
+        when(dataSetMock.getValueAt(1,
+                                    COLUMN_TASK_ID)).thenReturn(Long.valueOf(2));
 
         String taskVariable1 = "var1";
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_VARIABLE_NAME)).thenReturn(taskVariable1);
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_VARIABLE_VALUE)).thenReturn("value1");
-
-        when(dataSetTaskVarMock.getValueAt(1,
-                                           COLUMN_TASK_ID)).thenReturn(Long.valueOf(1));
         String taskVariable2 = "var2";
-        when(dataSetTaskVarMock.getValueAt(1,
-                                           COLUMN_TASK_VARIABLE_NAME)).thenReturn(taskVariable2);
-        when(dataSetTaskVarMock.getValueAt(1,
-                                           COLUMN_TASK_VARIABLE_VALUE)).thenReturn("value2");
+        final Map<String, String> taskVariables = new HashMap<>();
+        taskVariables.put(taskVariable1,
+                          "value1");
+        taskVariables.put(taskVariable2,
+                          "value2");
+        //two domain variables associated to the first task only
+        when(pivotService.pivot(anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyList())).thenReturn(singletonMap(1L,
+                                                                    taskVariables));
 
         Set<String> expectedColumns = new HashSet<String>();
         expectedColumns.add(taskVariable1);
@@ -327,17 +385,23 @@ public abstract class AbstractTaskListPresenterTest {
 
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                               any(DataSetReadyCallback.class));
+        verify(pivotService).pivot("",
+                                   HUMAN_TASKS_WITH_VARIABLES_DATASET,
+                                   COLUMN_TASK_VARIABLE_TASK_ID,
+                                   COLUMN_TASK_VARIABLE_NAME,
+                                   COLUMN_TASK_VARIABLE_VALUE,
+                                   Arrays.asList(1L,
+                                                 2L));
 
-        when(dataSetTaskVarMock.getRowCount()).thenReturn(1); //one domain variables associated
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_ID)).thenReturn(Long.valueOf(1));
         taskVariable1 = "varTest1";
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_VARIABLE_NAME)).thenReturn(taskVariable1);
-        when(dataSetTaskVarMock.getValueAt(0,
-                                           COLUMN_TASK_VARIABLE_VALUE)).thenReturn("value1");
+        when(pivotService.pivot(anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyList())).thenReturn(singletonMap(1L,
+                                                                    singletonMap(taskVariable1,
+                                                                                 "value1")));
 
         expectedColumns = Collections.singleton(taskVariable1);
 
@@ -354,9 +418,45 @@ public abstract class AbstractTaskListPresenterTest {
         verify(dataSetQueryHelper,
                times(2)).lookupDataSet(anyInt(),
                                        any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               times(2)).lookupDataSet(anyInt(),
-                                       any(DataSetReadyCallback.class));
+        verify(pivotService,
+               times(2)).pivot(anyString(),
+                               anyString(),
+                               anyString(),
+                               anyString(),
+                               anyString(),
+                               anyList());
+    }
+
+    @Test
+    public void addDomainSpecifDataTest() {
+        final TaskSummary task1 = TaskSummary.builder().id(1L).build();
+        final TaskSummary task2 = TaskSummary.builder().id(2L).build();
+        final Map<String, String> taskVariables = new HashMap<>();
+        taskVariables.put("var1",
+                          "value1");
+        taskVariables.put("var2",
+                          null);
+
+        getPresenter().addDomainSpecifData(Arrays.asList(task1,
+                                                         task2),
+                                           singletonMap(1L,
+                                                        taskVariables));
+
+        assertEquals(taskVariables,
+                     task1.getDomainData());
+        assertTrue(task2.getDomainData().isEmpty());
+        verify(viewMock).addDomainSpecifColumns(any(ListTable.class),
+                                                eq(taskVariables.keySet()));
+    }
+
+    @Test
+    public void addDomainSpecifDataEmptyTest() {
+        getPresenter().addDomainSpecifData(singletonList(TaskSummary.builder().id(1L).build()),
+                                           emptyMap());
+
+        verify(viewMock,
+               never()).addDomainSpecifColumns(any(ListTable.class),
+                                               any(Set.class));
     }
 
     @Test
@@ -545,6 +645,13 @@ public abstract class AbstractTaskListPresenterTest {
                                                                     emptyMap(),
                                                                     emptyList()));
         getPresenter().selectSummaryItem(taskSummary);
+        when(extendedPagedTable.getVisibleItems()).thenReturn(singletonList(taskSummary));
+        when(extendedPagedTable.getVisibleRange()).thenReturn(new Range(0,
+                                                                        10));
+        dataSetLookup.addOperation(new DataSetFilter());
+        dataSetLookup.getFirstFilterOp().addFilterColumn(in(COLUMN_STATUS,
+                                                            Arrays.asList(TASK_STATUS_READY.getIdentifier(),
+                                                                          TASK_STATUS_RESERVED.getIdentifier())));
 
         getPresenter().onTaskCompletedEvent(new TaskCompletedEvent(serverTemplateId,
                                                                    TASK_DEPLOYMENT_ID,
@@ -560,6 +667,69 @@ public abstract class AbstractTaskListPresenterTest {
                                                      eq(true));
     }
 
+    @Test
+    public void testOnTasksChangedEventReloadsDisplayedTask() {
+        final String serverTemplateId = "serverTemplateId";
+        getPresenter().setSelectedServerTemplate(new ServerTemplate(serverTemplateId,
+                                                                    null,
+                                                                    singletonList(Capability.PROCESS.name()),
+                                                                    emptyMap(),
+                                                                    emptyList()));
+        final TaskSummary taskSummary = TaskSummary.builder()
+                .id(TASK_ID)
+                .deploymentId(TASK_DEPLOYMENT_ID)
+                .status(TASK_STATUS_READY.getIdentifier())
+                .build();
+        when(extendedPagedTable.getVisibleItems()).thenReturn(singletonList(taskSummary));
+
+        getPresenter().onTasksChangedEvent(new TasksChangedEvent(serverTemplateId,
+                                                                 singletonList(TASK_ID + 1)));
+        getPresenter().onTasksChangedEvent(new TasksChangedEvent("anotherServerTemplateId",
+                                                                 singletonList(TASK_ID)));
+
+        //Refreshed only once for the server template
+        verify(extendedPagedTable,
+               times(1)).setVisibleRangeAndClearData(any(),
+                                                     eq(true));
+
+        getPresenter().onTasksChangedEvent(new TasksChangedEvent(serverTemplateId,
+                                                                 singletonList(TASK_ID)));
+
+        verify(extendedPagedTable,
+               times(2)).setVisibleRangeAndClearData(any(),
+                                                     eq(true));
+    }
+
+    @Test
+    public void testStatusChangeReloadsUserFilteredTasks() {
+        final TaskSummary taskSummary = TaskSummary.builder()
+                .id(TASK_ID)
+                .deploymentId(TASK_DEPLOYMENT_ID)
+                .status(TASK_STATUS_READY.getIdentifier())
+                .build();
+        final String serverTemplateId = "serverTemplateId";
+        getPresenter().setSelectedServerTemplate(new ServerTemplate(serverTemplateId,
+                                                                    null,
+                                                                    singletonList(Capability.PROCESS.name()),
+                                                                    emptyMap(),
+                                                                    emptyList()));
+        getPresenter().selectSummaryItem(taskSummary);
+        when(extendedPagedTable.getVisibleItems()).thenReturn(singletonList(taskSummary));
+        when(extendedPagedTable.getVisibleRange()).thenReturn(new Range(0,
+                                                                        10));
+        dataSetLookup.setDataSetUUID(HUMAN_TASKS_WITH_USER_DATASET);
+
+        getPresenter().onTaskCompletedEvent(new TaskCompletedEvent(serverTemplateId,
+                                                                   TASK_DEPLOYMENT_ID,
+                                                                   TASK_ID));
+
+        assertEquals(TASK_STATUS_READY.getIdentifier(),
+                     taskSummary.getStatus());
+        verify(extendedPagedTable,
+               times(2)).setVisibleRangeAndClearData(any(),
+                                                     eq(true));
+    }
+
     protected static BeforeClosePlaceEvent newCloseEventMock(String placeId) {
         final BeforeClosePlaceEvent event = mock(BeforeClosePlaceEvent.class);
         when(event.getPlace()).thenReturn(new DefaultPlaceRequest(placeId));
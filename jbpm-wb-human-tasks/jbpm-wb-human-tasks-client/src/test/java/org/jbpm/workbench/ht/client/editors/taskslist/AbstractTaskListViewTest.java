@@ -31,6 +31,7 @@ import org.uberfire.ext.services.shared.preferences.GridGlobalPreferences;
 import org.uberfire.ext.widgets.table.client.ColumnMeta;
 
 import static org.jbpm.workbench.common.client.list.AbstractMultiGridView.COL_ID_ACTIONS;
+import static org.jbpm.workbench.common.client.list.AbstractMultiGridView.COL_ID_SELECT;
 import static org.jbpm.workbench.ht.util.TaskStatus.*;
 import static org.jbpm.workbench.ht.model.TaskDataSetConstants.COLUMN_NAME;
 import static org.junit.Assert.*;
@@ -44,13 +45,14 @@ public abstract class AbstractTaskListViewTest extends AbstractMultiGridViewTest
 
     @Override
     public List<String> getExpectedBannedColumns() {
-        return Arrays.asList(COLUMN_NAME,
+        return Arrays.asList(COL_ID_SELECT,
+                             COLUMN_NAME,
                              COL_ID_ACTIONS);
     }
 
     @Override
     public Integer getExpectedNumberOfColumns() {
-        return 15;
+        return 16;
     }
 
     @Test
@@ -25,6 +25,12 @@ public class ConsoleDataSetLookup extends DataSetLookup {
 
     private String serverTemplateId;
 
+    private String keysetColumnId;
+
+    private Object keysetValue;
+
+    private int keysetSkip;
+
     public static DataSetLookup fromInstance(DataSetLookup orig,
                                              String serverTemplateId) {
         ConsoleDataSetLookup clone = new ConsoleDataSetLookup();
@@ -35,6 +41,12 @@ public class ConsoleDataSetLookup extends DataSetLookup {
             clone.getOperationList().add(dataSetOp.cloneInstance());
         }
         clone.setServerTemplateId(serverTemplateId);
+        if (orig instanceof ConsoleDataSetLookup) {
+            final ConsoleDataSetLookup consoleLookup = (ConsoleDataSetLookup) orig;
+            clone.setKeyset(consoleLookup.getKeysetColumnId(),
+                            consoleLookup.getKeysetValue(),
+                            consoleLookup.getKeysetSkip());
+        }
         return clone;
     }
 
@@ -46,9 +58,42 @@ public class ConsoleDataSetLookup extends DataSetLookup {
         this.serverTemplateId = serverTemplateId;
     }
 
+    public String getKeysetColumnId() {
+        return keysetColumnId;
+    }
+
+    public Object getKeysetValue() {
+        return keysetValue;
+    }
+
+    public int getKeysetSkip() {
+        return keysetSkip;
+    }
+
+    /**
+     * Requests the rows that follow the given sort key instead of using the row offset. The column must be the first
+     * sort column of the lookup, otherwise the offset is used. As the key might not be unique, <code>skip</code> holds
+     * the number of rows with the same key value already returned by previous pages.
+     */
+    public void setKeyset(String keysetColumnId,
+                          Object keysetValue,
+                          int keysetSkip) {
+        this.keysetColumnId = keysetColumnId;
+        this.keysetValue = keysetValue;
+        this.keysetSkip = keysetSkip;
+    }
+
+    public boolean isKeysetEnabled() {
+        return keysetColumnId != null && keysetValue != null;
+    }
+
     @Override
     public DataSetLookup cloneInstance() {
-        return fromInstance(super.cloneInstance(),
-                            getServerTemplateId());
+        final ConsoleDataSetLookup clone = (ConsoleDataSetLookup) fromInstance(super.cloneInstance(),
+                                                                               getServerTemplateId());
+        clone.setKeyset(keysetColumnId,
+                        keysetValue,
+                        keysetSkip);
+        return clone;
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Export of all the rows of a remote data set lookup, streamed by the workbench as they are fetched from KIE Server.
+ * Exports are prepared first and then downloaded using their id, which allows clients to follow their progress.
+ */
+@Portable
+public class DataSetExport {
+
+    private String id;
+
+    private String dataSetUUID;
+
+    private DataSetExportFormat format;
+
+    private Status status;
+
+    private long rowsExported;
+
+    private String error;
+
+    public DataSetExport() {
+    }
+
+    public DataSetExport(String id,
+                         String dataSetUUID,
+                         DataSetExportFormat format,
+                         Status status,
+                         long rowsExported,
+                         String error) {
+        this.id = id;
+        this.dataSetUUID = dataSetUUID;
+        this.format = format;
+        this.status = status;
+        this.rowsExported = rowsExported;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDataSetUUID() {
+        return dataSetUUID;
+    }
+
+    public void setDataSetUUID(String dataSetUUID) {
+        this.dataSetUUID = dataSetUUID;
+    }
+
+    public DataSetExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(DataSetExportFormat format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getRowsExported() {
+        return rowsExported;
+    }
+
+    public void setRowsExported(long rowsExported) {
+        this.rowsExported = rowsExported;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSetExport{" +
+                "id='" + id + '\'' +
+                ", dataSetUUID='" + dataSetUUID + '\'' +
+                ", format=" + format +
+                ", status=" + status +
+                ", rowsExported=" + rowsExported +
+                ", error='" + error + '\'' +
+                '}';
+    }
+
+    @Portable
+    public enum Status {
+        PREPARED,
+        IN_PROGRESS,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Total number of rows matching the filters of a data set lookup. Counts that are not exact are estimates based on
+ * a previous count of the same lookup.
+ */
+@Portable
+public class DataSetRowCount {
+
+    private long count;
+
+    private boolean exact;
+
+    public DataSetRowCount() {
+    }
+
+    public DataSetRowCount(long count,
+                           boolean exact) {
+        this.count = count;
+        this.exact = exact;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DataSetRowCount that = (DataSetRowCount) o;
+
+        return count == that.count && exact == that.exact;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidMultipleUnaryOperators")
+    public int hashCode() {
+        int result = (int) (count ^ (count >>> 32));
+        result = ~~result;
+        result = 31 * result + (exact ? 1 : 0);
+        result = ~~result;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSetRowCount{" +
+                "count=" + count +
+                ", exact=" + exact +
+                '}';
+    }
+}
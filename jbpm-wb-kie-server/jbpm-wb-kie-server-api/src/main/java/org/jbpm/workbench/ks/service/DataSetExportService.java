@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.service;
+
+import org.jboss.errai.bus.server.annotations.Remote;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.DataSetExport;
+import org.jbpm.workbench.ks.integration.DataSetExportFormat;
+
+/**
+ * Prepares exports of all the rows of remote data sets. The rows are then downloaded from
+ * <code>jbpm/dataset/export?id=</code> followed by the export id, streamed page by page without holding the whole
+ * data set in memory.
+ */
+@Remote
+public interface DataSetExportService {
+
+    /**
+     * Paging of the lookup is ignored, all the rows matching its filters are exported. Group operations are not
+     * supported.
+     */
+    DataSetExport prepareExport(ConsoleDataSetLookup lookup,
+                                DataSetExportFormat format);
+
+    /**
+     * @return the export progress or <code>null</code> when the export does not exist or expired
+     */
+    DataSetExport getExport(String exportId);
+
+    /**
+     * Stops the export once the page being written is complete.
+     */
+    void cancelExport(String exportId);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.service;
+
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.jboss.errai.bus.server.annotations.Remote;
+
+/**
+ * Looks up several data sets in a single request, so screens drawing many displayers at once, like the dashboards,
+ * do not need a round trip per displayer.
+ */
+@Remote
+public interface DataSetMultiLookupService {
+
+    /**
+     * @return the data sets in the same order as the given lookups; <code>null</code> for the lookups that failed or
+     * whose data set does not exist, which the client is expected to look up on its own
+     */
+    List<DataSet> lookupDataSets(List<DataSetLookup> lookups);
+}
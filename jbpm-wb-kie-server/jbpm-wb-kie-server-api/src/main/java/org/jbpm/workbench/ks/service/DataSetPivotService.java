@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.errai.bus.server.annotations.Remote;
+
+/**
+ * Turns name/value rows of remote data sets, such as process instance or task variables, into a map per row id so
+ * clients can attach them to the rows of a grid without scanning all the values.
+ */
+@Remote
+public interface DataSetPivotService {
+
+    /**
+     * Only the rows of the given ids are fetched, limited to the variable names allowed by the server configuration.
+     * @return values by name, grouped by id; ids without any value are not included
+     */
+    Map<Long, Map<String, String>> pivot(String serverTemplateId,
+                                         String dataSetUUID,
+                                         String idColumnId,
+                                         String nameColumnId,
+                                         String valueColumnId,
+                                         List<Long> ids);
+}
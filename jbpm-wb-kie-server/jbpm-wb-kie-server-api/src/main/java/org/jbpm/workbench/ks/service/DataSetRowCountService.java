@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.service;
+
+import org.jboss.errai.bus.server.annotations.Remote;
+import org.jbpm.workbench.ks.integration.ConsoleDataSetLookup;
+import org.jbpm.workbench.ks.integration.DataSetRowCount;
+
+/**
+ * Counts the rows of remote data sets separately from the paged lookups, so grids can show the total number of rows
+ * without delaying the page fetch.
+ */
+@Remote
+public interface DataSetRowCountService {
+
+    /**
+     * @return exact number of rows matching the filters of the lookup, cached for a limited time
+     */
+    DataSetRowCount getRowCount(ConsoleDataSetLookup lookup);
+
+    /**
+     * Returns immediately without querying KIE Server, based on the last count of the same lookup.
+     * @return estimated number of rows or <code>null</code> when the lookup was not counted before
+     */
+    DataSetRowCount getRowCountEstimate(ConsoleDataSetLookup lookup);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.utils;
+
+/**
+ * Resolves the KIE Server clients used to reach the containers of a server template, so that services shared by
+ * several applications do not depend on how those clients are created or balanced across the server instances.
+ */
+public interface KieServerClientProvider {
+
+    /**
+     * @param serverTemplateId server template to reach, <code>null</code> for the default one of the application
+     * @param containerId container the request is about, <code>null</code> when it is not bound to a container
+     * @param clientType services client to return, e.g. <code>CaseServicesClient</code>
+     */
+    <T> T getClient(String serverTemplateId,
+                    String containerId,
+                    Class<T> clientType);
+}
@@ -37,6 +37,9 @@ import static org.kie.server.common.KeyStoreHelperUtil.loadServerPassword;
 
 public class KieServerUtils {
 
+    public static final String CLIENT_TIMEOUT = "org.jbpm.workbench.kieserver.client.timeout";
+    public static final String MARSHALLING_FORMAT = "org.jbpm.workbench.kieserver.marshalling.format";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerUtils.class);
 
     public static KieServicesClient createKieServicesClient(final String... capabilities) {
@@ -77,11 +80,24 @@ public class KieServerUtils {
                                                             final ClassLoader classLoader,
                                                             final CredentialsProvider credentialsProvider,
                                                             final String... capabilities) {
+        return createKieServicesClient(endpoint,
+                                       classLoader,
+                                       credentialsProvider,
+                                       getMarshallingFormat(null),
+                                       capabilities);
+    }
+
+    public static KieServicesClient createKieServicesClient(final String endpoint,
+                                                            final ClassLoader classLoader,
+                                                            final CredentialsProvider credentialsProvider,
+                                                            final MarshallingFormat marshallingFormat,
+                                                            final String... capabilities) {
         final KieServicesConfiguration configuration = KieServicesFactory.newRestConfiguration(endpoint,
                                                                                                credentialsProvider);
         return createKieServicesClient(endpoint,
                                        classLoader,
                                        configuration,
+                                       marshallingFormat,
                                        capabilities);
     }
 
@@ -89,13 +105,28 @@ public class KieServerUtils {
                                                             final ClassLoader classLoader,
                                                             final KieServicesConfiguration configuration,
                                                             final String... capabilities) {
-        LOGGER.debug("Creating client that will use following endpoint {}",
-                     endpoint);
-        configuration.setTimeout(60000);
+        return createKieServicesClient(endpoint,
+                                       classLoader,
+                                       configuration,
+                                       getMarshallingFormat(null),
+                                       capabilities);
+    }
+
+    public static KieServicesClient createKieServicesClient(final String endpoint,
+                                                            final ClassLoader classLoader,
+                                                            final KieServicesConfiguration configuration,
+                                                            final MarshallingFormat marshallingFormat,
+                                                            final String... capabilities) {
+        LOGGER.debug("Creating client that will use following endpoint {} and marshalling format {}",
+                     endpoint,
+                     marshallingFormat);
+        // used as both connect and read timeout of the requests
+        configuration.setTimeout(Long.getLong(CLIENT_TIMEOUT,
+                                              60000));
         if (capabilities != null) {
             configuration.setCapabilities(Arrays.asList(capabilities));
         }
-        configuration.setMarshallingFormat(MarshallingFormat.XSTREAM);
+        configuration.setMarshallingFormat(marshallingFormat);
         configuration.setLoadBalancer(LoadBalancer.getDefault(endpoint));
 
         KieServicesClient kieServicesClient;
@@ -111,6 +142,35 @@ public class KieServerUtils {
         return kieServicesClient;
     }
 
+    /**
+     * Marshalling format used to talk to the KIE Servers of a server template. It can be set per server template with
+     * the <code>org.jbpm.workbench.kieserver.marshalling.format.&lt;serverTemplateId&gt;</code> property, falling back to
+     * <code>org.jbpm.workbench.kieserver.marshalling.format</code> and then to XStream. Both the format names
+     * (XSTREAM, JAXB, JSON) and types (xstream, xml, json) are accepted.
+     */
+    public static MarshallingFormat getMarshallingFormat(final String serverTemplateId) {
+        String format = serverTemplateId == null ? null : System.getProperty(MARSHALLING_FORMAT + "." + serverTemplateId);
+        if (format == null || format.trim().isEmpty()) {
+            format = System.getProperty(MARSHALLING_FORMAT);
+        }
+        if (format == null || format.trim().isEmpty()) {
+            return MarshallingFormat.XSTREAM;
+        }
+        try {
+            return MarshallingFormat.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            try {
+                return MarshallingFormat.fromType(format.trim());
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Unknown marshalling format {} for server template {}, using {}",
+                            format,
+                            serverTemplateId,
+                            MarshallingFormat.XSTREAM);
+                return MarshallingFormat.XSTREAM;
+            }
+        }
+    }
+
     public static CredentialsProvider getCredentialsProvider() {
         CredentialsProvider credentialsProvider;
         try {
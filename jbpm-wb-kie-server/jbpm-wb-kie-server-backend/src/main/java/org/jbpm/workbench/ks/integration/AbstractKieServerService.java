@@ -20,11 +20,20 @@ import javax.inject.Inject;
 
 import org.kie.server.client.KieServicesClient;
 
+/**
+ * Base of the services calling KIE Server on behalf of the workbench user. The clients take the user credentials from
+ * the current request (the Keycloak token or the JAAS subject bound to the calling thread), so calls towards KIE Server
+ * have to be made on the request thread and are not handed to other threads. Batches of calls are therefore run one
+ * after the other within the request; background work uses the admin clients of {@link KieServerIntegration} instead.
+ */
 public abstract class AbstractKieServerService {
 
     @Inject
     protected KieServerIntegration kieServerIntegration;
 
+    @Inject
+    protected KieServerDataSetCache dataSetCache;
+
     protected <T> T getClient(final String serverTemplateId,
                               final Class<T> clientType) {
         KieServicesClient client = getKieServicesClient(serverTemplateId);
@@ -56,4 +65,11 @@ public abstract class AbstractKieServerService {
         }
         return client;
     }
-}
\ No newline at end of file
+
+    /**
+     * Evicts cached remote data set results of the server template, to be invoked after data has been modified.
+     */
+    protected void invalidateDataSets(final String serverTemplateId) {
+        dataSetCache.invalidateServerTemplate(serverTemplateId);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV, encoded in UTF-8. Dates are written in ISO-8601 format, other values as returned by KIE Server.
+ */
+public class CsvDataSetExportWriter implements DataSetExportWriter {
+
+    private static final String SEPARATOR = ",";
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    public CsvDataSetExportWriter(final OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out,
+                                                                StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader(final List<String> columnIds) throws IOException {
+        writeRow(columnIds);
+    }
+
+    @Override
+    public void writeRow(final List<?> row) throws IOException {
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(format(row.get(i)));
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    protected static String format(final Object value) {
+        if (value == null) {
+            return "";
+        }
+        final String text = value instanceof Date ? ((Date) value).toInstant().toString() : value.toString();
+        if (text.contains(SEPARATOR) || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"",
+                                       "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.ks.service.DataSetExportService;
+
+@Service
+@ApplicationScoped
+public class DataSetExportServiceImpl implements DataSetExportService {
+
+    private KieServerDataSetExporter exporter;
+
+    public DataSetExportServiceImpl() {
+    }
+
+    @Inject
+    public DataSetExportServiceImpl(final KieServerDataSetExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public DataSetExport prepareExport(final ConsoleDataSetLookup lookup,
+                                       final DataSetExportFormat format) {
+        return exporter.prepare(lookup,
+                                format);
+    }
+
+    @Override
+    public DataSetExport getExport(final String exportId) {
+        return exporter.getExport(exportId);
+    }
+
+    @Override
+    public void cancelExport(final String exportId) {
+        exporter.cancel(exportId);
+    }
+}
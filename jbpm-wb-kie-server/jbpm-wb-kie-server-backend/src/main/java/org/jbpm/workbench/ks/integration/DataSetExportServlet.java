@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.IOException;
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads the rows of an export prepared with the {@link org.jbpm.workbench.ks.service.DataSetExportService},
+ * written to the response as they are fetched from KIE Server.
+ */
+@WebServlet(name = "DataSetExportServlet", urlPatterns = "/jbpm/dataset/export")
+public class DataSetExportServlet extends HttpServlet {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetExportServlet.class);
+
+    @Inject
+    private KieServerDataSetExporter exporter;
+
+    public DataSetExportServlet() {
+    }
+
+    @Override
+    protected void doGet(final HttpServletRequest request,
+                         final HttpServletResponse response) throws ServletException, IOException {
+        final String exportId = request.getParameter("id");
+        final DataSetExport export = exporter.getExport(exportId);
+        if (export == null) {
+            LOGGER.error("Unable to find data set export with id \"{}\"",
+                         exportId);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (export.getStatus() != DataSetExport.Status.PREPARED) {
+            response.sendError(HttpServletResponse.SC_CONFLICT);
+            return;
+        }
+
+        response.setContentType(export.getFormat().getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+                           "attachment; filename=\"" + getFileName(export) + "\"");
+        // rows are streamed, so the response is never buffered as a whole
+        response.setBufferSize(8192);
+        try {
+            exporter.export(exportId,
+                            response.getOutputStream());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            LOGGER.error("Unable to export data set: {}",
+                         e.getMessage());
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_CONFLICT);
+            }
+        }
+    }
+
+    protected String getFileName(final DataSetExport export) {
+        return export.getDataSetUUID().replaceAll("[^A-Za-z0-9_.-]",
+                                                  "_") + "." + export.getFormat().getExtension();
+    }
+
+    // for testing
+    public void setExporter(final KieServerDataSetExporter exporter) {
+        this.exporter = exporter;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+
+/**
+ * Writes exported rows to the output as they are received, so only the page being written is kept in memory.
+ */
+public interface DataSetExportWriter extends Closeable {
+
+    static DataSetExportWriter create(final DataSetExportFormat format,
+                                      final OutputStream out) {
+        switch (format) {
+            case XLSX:
+                return new XlsxDataSetExportWriter(out);
+            default:
+                return new CsvDataSetExportWriter(out);
+        }
+    }
+
+    void writeHeader(List<String> columnIds) throws IOException;
+
+    void writeRow(List<?> row) throws IOException;
+
+    /**
+     * Called after each page of rows.
+     */
+    void flush() throws IOException;
+}
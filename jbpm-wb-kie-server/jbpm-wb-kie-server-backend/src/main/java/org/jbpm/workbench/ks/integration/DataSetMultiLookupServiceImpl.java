@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetManager;
+import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.ks.service.DataSetMultiLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+@ApplicationScoped
+public class DataSetMultiLookupServiceImpl implements DataSetMultiLookupService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetMultiLookupServiceImpl.class);
+
+    private DataSetManager dataSetManager;
+
+    public DataSetMultiLookupServiceImpl() {
+    }
+
+    @Inject
+    public DataSetMultiLookupServiceImpl(final DataSetManager dataSetManager) {
+        this.dataSetManager = dataSetManager;
+    }
+
+    /**
+     * Looks up the data sets one after the other, see {@link AbstractKieServerService} on why they are not run in
+     * parallel. A lookup that fails is returned as {@code null} without failing the others.
+     */
+    @Override
+    public List<DataSet> lookupDataSets(final List<DataSetLookup> lookups) {
+        return lookups.stream()
+                .map(this::lookupDataSet)
+                .collect(Collectors.toList());
+    }
+
+    protected DataSet lookupDataSet(final DataSetLookup lookup) {
+        try {
+            return dataSetManager.lookupDataSet(lookup);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to look up data set {}: {}",
+                        lookup.getDataSetUUID(),
+                        e.getMessage());
+            LOGGER.debug("Data set lookup failed",
+                         e);
+            return null;
+        }
+    }
+}
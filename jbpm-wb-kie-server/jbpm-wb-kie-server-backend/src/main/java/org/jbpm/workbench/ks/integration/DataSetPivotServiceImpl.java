@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.List;
+import java.util.Map;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.ks.service.DataSetPivotService;
+
+@Service
+@ApplicationScoped
+public class DataSetPivotServiceImpl implements DataSetPivotService {
+
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    private KieServerDataSetProvider dataSetProvider;
+
+    public DataSetPivotServiceImpl() {
+    }
+
+    @Inject
+    public DataSetPivotServiceImpl(final DataSetDefRegistry dataSetDefRegistry,
+                                   final KieServerDataSetProvider dataSetProvider) {
+        this.dataSetDefRegistry = dataSetDefRegistry;
+        this.dataSetProvider = dataSetProvider;
+    }
+
+    @Override
+    public Map<Long, Map<String, String>> pivot(final String serverTemplateId,
+                                                final String dataSetUUID,
+                                                final String idColumnId,
+                                                final String nameColumnId,
+                                                final String valueColumnId,
+                                                final List<Long> ids) {
+        final DataSetDef def = dataSetDefRegistry.getDataSetDef(dataSetUUID);
+        if (def == null || !KieServerDataSetProvider.TYPE.equals(def.getProvider())) {
+            throw new IllegalArgumentException("Data set " + dataSetUUID + " is not a remote data set");
+        }
+        try {
+            return dataSetProvider.pivot(def,
+                                         serverTemplateId,
+                                         idColumnId,
+                                         nameColumnId,
+                                         valueColumnId,
+                                         ids);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.jboss.errai.bus.server.annotations.Service;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+@ApplicationScoped
+public class DataSetRowCountServiceImpl implements DataSetRowCountService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetRowCountServiceImpl.class);
+
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    private KieServerDataSetProvider dataSetProvider;
+
+    public DataSetRowCountServiceImpl() {
+    }
+
+    @Inject
+    public DataSetRowCountServiceImpl(final DataSetDefRegistry dataSetDefRegistry,
+                                      final KieServerDataSetProvider dataSetProvider) {
+        this.dataSetDefRegistry = dataSetDefRegistry;
+        this.dataSetProvider = dataSetProvider;
+    }
+
+    @Override
+    public DataSetRowCount getRowCount(final ConsoleDataSetLookup lookup) {
+        final DataSetDef def = getDataSetDef(lookup);
+        try {
+            final DataSetRowCount rowCount = dataSetProvider.getRowCount(def,
+                                                                         lookup);
+            LOGGER.debug("Data set {} counted {} row(s)",
+                         def.getUUID(),
+                         rowCount.getCount());
+            return rowCount;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public DataSetRowCount getRowCountEstimate(final ConsoleDataSetLookup lookup) {
+        final DataSetDef def = getDataSetDef(lookup);
+        try {
+            return dataSetProvider.getRowCountEstimate(def,
+                                                       lookup);
+        } catch (Exception e) {
+            // an estimate is optional, the exact count reports the actual error
+            LOGGER.debug("Unable to estimate row count of data set {} due to {}",
+                         def.getUUID(),
+                         e.getMessage());
+            return null;
+        }
+    }
+
+    protected DataSetDef getDataSetDef(final ConsoleDataSetLookup lookup) {
+        final DataSetDef def = dataSetDefRegistry.getDataSetDef(lookup.getDataSetUUID());
+        if (def == null || !KieServerDataSetProvider.TYPE.equals(def.getProvider())) {
+            throw new IllegalArgumentException("Data set " + lookup.getDataSetUUID() + " is not a remote data set");
+        }
+        return def;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+/**
+ * Outcome of a broadcast operation on a single KIE Server instance.
+ */
+public class KieServerBroadcastResult {
+
+    public enum Status {
+        SUCCESS,
+        FAILURE,
+        TIMEOUT
+    }
+
+    private final String serverInstanceId;
+
+    private final String url;
+
+    private final Status status;
+
+    private final Object result;
+
+    private final Throwable error;
+
+    private final long latency;
+
+    private KieServerBroadcastResult(final String serverInstanceId,
+                                     final String url,
+                                     final Status status,
+                                     final Object result,
+                                     final Throwable error,
+                                     final long latency) {
+        this.serverInstanceId = serverInstanceId;
+        this.url = url;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+        this.latency = latency;
+    }
+
+    public static KieServerBroadcastResult success(final String serverInstanceId,
+                                                   final String url,
+                                                   final Object result,
+                                                   final long latency) {
+        return new KieServerBroadcastResult(serverInstanceId,
+                                            url,
+                                            Status.SUCCESS,
+                                            result,
+                                            null,
+                                            latency);
+    }
+
+    public static KieServerBroadcastResult failure(final String serverInstanceId,
+                                                   final String url,
+                                                   final Throwable error,
+                                                   final long latency) {
+        return new KieServerBroadcastResult(serverInstanceId,
+                                            url,
+                                            Status.FAILURE,
+                                            null,
+                                            error,
+                                            latency);
+    }
+
+    public static KieServerBroadcastResult timeout(final String serverInstanceId,
+                                                   final String url,
+                                                   final long latency) {
+        return new KieServerBroadcastResult(serverInstanceId,
+                                            url,
+                                            Status.TIMEOUT,
+                                            null,
+                                            null,
+                                            latency);
+    }
+
+    public String getServerInstanceId() {
+        return serverInstanceId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return time in milliseconds spent on the instance, up to the deadline for timed out instances
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "KieServerBroadcastResult{" +
+                "serverInstanceId='" + serverInstanceId + '\'' +
+                ", url='" + url + '\'' +
+                ", status=" + status +
+                ", latency=" + latency +
+                (error == null ? "" : ", error=" + error.getMessage()) +
+                '}';
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Bounded LRU cache of raw query results returned by KIE Server for remote data sets. Entries expire after a
+ * configurable time to live and are evicted whenever the data set definition changes or data is modified through the
+ * workbench services of the owning server template. Identical lookups running at the same time are coalesced into a
+ * single remote query, even when caching is disabled.
+ */
+@ApplicationScoped
+public class KieServerDataSetCache {
+
+    public static final String CACHE_SIZE = "org.jbpm.workbench.kieserver.dataset.cache.size";
+    public static final String CACHE_TTL = "org.jbpm.workbench.kieserver.dataset.cache.ttl";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetCache.class);
+
+    /**
+     * Query targets KIE Server filters on the identity of the caller, results of any other target are shared by all
+     * users.
+     */
+    private static final Set<String> USER_FILTERED_TARGETS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("PO_TASK",
+                                                                                                                     "BA_TASK",
+                                                                                                                     "FILTERED_PO_TASK",
+                                                                                                                     "FILTERED_BA_TASK",
+                                                                                                                     "FILTERED_PROCESS")));
+
+    private final int maxEntries = Integer.getInteger(CACHE_SIZE,
+                                                      500);
+    private final long timeToLive = Long.getLong(CACHE_TTL,
+                                                 10000);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ConcurrentMap<String, CompletableFuture<List<List>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<String, CacheEntry>(16,
+                                                                                          0.75f,
+                                                                                          true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private IdentityProvider identityProvider;
+
+    public KieServerDataSetCache() {
+    }
+
+    @Inject
+    public KieServerDataSetCache(final IdentityProvider identityProvider) {
+        this.identityProvider = identityProvider;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0 && timeToLive > 0;
+    }
+
+    /**
+     * Returns rows cached for the given query, invoking the query supplier when there is no valid cache entry.
+     * Concurrent lookups of the same query that miss the cache share a single invocation of the supplier.
+     * Results of query targets KIE Server filters on the caller identity are cached per user.
+     * @param queryTarget target of the query definition of the data set, <code>null</code> if not known
+     */
+    public List<List> lookup(final String serverTemplateId,
+                             final String dataSetUUID,
+                             final String queryTarget,
+                             final QueryFilterSpec filterSpec,
+                             final int page,
+                             final int pageSize,
+                             final Supplier<List<List>> query) {
+        return lookup(serverTemplateId,
+                      dataSetUUID,
+                      queryTarget,
+                      filterSpec,
+                      page,
+                      pageSize,
+                      timeToLive,
+                      query);
+    }
+
+    /**
+     * Same as {@link #lookup(String, String, String, QueryFilterSpec, int, int, Supplier)} using a specific time to live for
+     * the cached result, e.g. for queries that are more expensive than fetching a page of rows.
+     */
+    public List<List> lookup(final String serverTemplateId,
+                             final String dataSetUUID,
+                             final String queryTarget,
+                             final QueryFilterSpec filterSpec,
+                             final int page,
+                             final int pageSize,
+                             final long timeToLive,
+                             final Supplier<List<List>> query) {
+        final String key = buildKey(serverTemplateId,
+                                    dataSetUUID,
+                                    queryTarget,
+                                    filterSpec,
+                                    page,
+                                    pageSize);
+        final boolean enabled = maxEntries > 0 && timeToLive > 0;
+        if (enabled) {
+            synchronized (entries) {
+                final CacheEntry entry = entries.get(key);
+                if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                    hits.incrementAndGet();
+                    return entry.rows;
+                }
+            }
+            misses.incrementAndGet();
+        }
+
+        final long currentGeneration = generation.get();
+        final CompletableFuture<List<List>> flight = new CompletableFuture<>();
+        final CompletableFuture<List<List>> inProgress = inFlight.putIfAbsent(key,
+                                                                              flight);
+        if (inProgress != null) {
+            coalesced.incrementAndGet();
+            return await(inProgress);
+        }
+
+        try {
+            final List<List> rows = Collections.unmodifiableList(query.get());
+            if (enabled) {
+                synchronized (entries) {
+                    // results of queries issued before an invalidation might already be stale
+                    if (currentGeneration == generation.get()) {
+                        entries.put(key,
+                                    new CacheEntry(serverTemplateId,
+                                                   dataSetUUID,
+                                                   rows,
+                                                   System.currentTimeMillis() + timeToLive));
+                    }
+                }
+            }
+            flight.complete(rows);
+            return rows;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key,
+                            flight);
+        }
+    }
+
+    /**
+     * Returns the rows last cached for the given query even if they already expired, without querying KIE Server.
+     * Expired rows might miss changes done outside of the workbench, so they should only be used as an estimate.
+     * @return cached rows or <code>null</code> when there is no entry for the query
+     */
+    public List<List> peek(final String serverTemplateId,
+                           final String dataSetUUID,
+                           final String queryTarget,
+                           final QueryFilterSpec filterSpec,
+                           final int page,
+                           final int pageSize) {
+        final String key = buildKey(serverTemplateId,
+                                    dataSetUUID,
+                                    queryTarget,
+                                    filterSpec,
+                                    page,
+                                    pageSize);
+        synchronized (entries) {
+            final CacheEntry entry = entries.get(key);
+            return entry == null ? null : entry.rows;
+        }
+    }
+
+    protected List<List> await(final CompletableFuture<List<List>> inProgress) {
+        try {
+            return inProgress.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public void invalidateServerTemplate(final String serverTemplateId) {
+        invalidate(entry -> entry.serverTemplateId.equals(serverTemplateId));
+        LOGGER.debug("Data set cache invalidated for server template {} ({} hits, {} misses, {} coalesced)",
+                     serverTemplateId,
+                     getHits(),
+                     getMisses(),
+                     getCoalesced());
+    }
+
+    public void invalidateDataSet(final String dataSetUUID) {
+        invalidate(entry -> entry.dataSetUUID.equals(dataSetUUID));
+        LOGGER.debug("Data set cache invalidated for data set {} ({} hits, {} misses, {} coalesced)",
+                     dataSetUUID,
+                     getHits(),
+                     getMisses(),
+                     getCoalesced());
+    }
+
+    public void invalidateAll() {
+        invalidate(entry -> true);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of lookups that were served by a query already in progress for the same key
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    void onDataSetDefModifiedEvent(@Observes DataSetDefModifiedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateDataSet(event.getOldDataSetDef().getUUID());
+    }
+
+    void onDataSetDefRemovedEvent(@Observes DataSetDefRemovedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidateDataSet(event.getDataSetDef().getUUID());
+    }
+
+    void onServerTemplateDeleted(@Observes ServerTemplateDeleted serverTemplateDeleted) {
+        invalidateServerTemplate(serverTemplateDeleted.getServerTemplateId());
+    }
+
+    protected String buildKey(final String serverTemplateId,
+                              final String dataSetUUID,
+                              final String queryTarget,
+                              final QueryFilterSpec filterSpec,
+                              final int page,
+                              final int pageSize) {
+        final StringBuilder key = new StringBuilder();
+        key.append(serverTemplateId).append('|')
+                .append(dataSetUUID).append('|')
+                .append(isUserFiltered(queryTarget) ? getIdentity() : "").append('|')
+                .append(page).append('|')
+                .append(pageSize).append('|');
+        if (filterSpec != null) {
+            key.append(filterSpec.getOrderBy()).append('|')
+                    .append(filterSpec.isAscending()).append('|');
+            if (filterSpec.getParameters() != null) {
+                for (QueryParam param : filterSpec.getParameters()) {
+                    key.append(param.getColumn()).append(':')
+                            .append(param.getOperator()).append(':');
+                    appendValue(key,
+                                param.getValue());
+                    key.append(';');
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Data sets without a known query target are treated as filtered per user.
+     */
+    protected boolean isUserFiltered(final String queryTarget) {
+        return queryTarget == null || USER_FILTERED_TARGETS.contains(queryTarget);
+    }
+
+    protected String getIdentity() {
+        try {
+            return identityProvider == null ? "" : identityProvider.getName();
+        } catch (Exception e) {
+            // no active request, e.g. lookups issued by background tasks
+            return "";
+        }
+    }
+
+    protected void appendValue(final StringBuilder key,
+                               final Object value) {
+        if (value instanceof Collection) {
+            key.append('[');
+            for (Object item : (Collection<?>) value) {
+                appendValue(key,
+                            item);
+                key.append(',');
+            }
+            key.append(']');
+        } else if (value instanceof Date) {
+            key.append(((Date) value).getTime());
+        } else {
+            key.append(value);
+        }
+    }
+
+    private void invalidate(final Predicate<CacheEntry> predicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            // queries in progress can no longer be joined as their results might be outdated
+            inFlight.clear();
+            final Iterator<CacheEntry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next())) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static class CacheEntry {
+
+        private final String serverTemplateId;
+        private final String dataSetUUID;
+        private final List<List> rows;
+        private final long expiresAt;
+
+        private CacheEntry(final String serverTemplateId,
+                           final String dataSetUUID,
+                           final List<List> rows,
+                           final long expiresAt) {
+            this.serverTemplateId = serverTemplateId;
+            this.dataSetUUID = dataSetUUID;
+            this.rows = rows;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
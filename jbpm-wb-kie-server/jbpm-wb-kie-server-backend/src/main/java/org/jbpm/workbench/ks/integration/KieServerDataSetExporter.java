@@ -0,0 +1,348 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.dashbuilder.dataset.def.DataColumnDef;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams all the rows of remote data set lookups to an output, fetching them from KIE Server with keyset pagination
+ * on the first sort column of the lookup: each page starts at the last key written instead of skipping all the rows
+ * of the previous pages, so the cost per page and the memory used do not grow with the number of rows exported.
+ */
+@ApplicationScoped
+public class KieServerDataSetExporter {
+
+    public static final String EXPORT_PAGE_SIZE = "org.jbpm.workbench.kieserver.dataset.export.page.size";
+    public static final String EXPORT_TTL = "org.jbpm.workbench.kieserver.dataset.export.ttl";
+    private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetExporter.class);
+
+    private final int pageSize = Integer.getInteger(EXPORT_PAGE_SIZE,
+                                                    1000);
+
+    private final long timeToLive = Long.getLong(EXPORT_TTL,
+                                                 300000L);
+
+    private final ConcurrentMap<String, ExportTask> exports = new ConcurrentHashMap<>();
+
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    private KieServerDataSetProvider dataSetProvider;
+
+    private IdentityProvider identityProvider;
+
+    public KieServerDataSetExporter() {
+    }
+
+    @Inject
+    public KieServerDataSetExporter(final DataSetDefRegistry dataSetDefRegistry,
+                                    final KieServerDataSetProvider dataSetProvider,
+                                    final IdentityProvider identityProvider) {
+        this.dataSetDefRegistry = dataSetDefRegistry;
+        this.dataSetProvider = dataSetProvider;
+        this.identityProvider = identityProvider;
+    }
+
+    public DataSetExport prepare(final ConsoleDataSetLookup lookup,
+                                 final DataSetExportFormat format) {
+        final DataSetDef def = getDataSetDef(lookup);
+        if (lookup.getServerTemplateId() == null || lookup.getServerTemplateId().isEmpty()) {
+            throw new IllegalArgumentException("No server template selected to export data set " + def.getUUID());
+        }
+        if (lookup.getLastGroupOp() != null) {
+            throw new IllegalArgumentException("Group operations are not supported by data set exports");
+        }
+        purgeExpired(System.currentTimeMillis());
+
+        final ExportTask task = new ExportTask(UUID.randomUUID().toString(),
+                                               getUser(),
+                                               (ConsoleDataSetLookup) lookup.cloneInstance(),
+                                               format == null ? DataSetExportFormat.CSV : format);
+        exports.put(task.id,
+                    task);
+        LOGGER.debug("Data set {} export {} prepared as {}",
+                     def.getUUID(),
+                     task.id,
+                     task.format);
+        return task.toExport();
+    }
+
+    public DataSetExport getExport(final String exportId) {
+        final ExportTask task = getTask(exportId);
+        return task == null ? null : task.toExport();
+    }
+
+    public void cancel(final String exportId) {
+        final ExportTask task = getTask(exportId);
+        if (task != null) {
+            task.cancelled = true;
+        }
+    }
+
+    /**
+     * Writes the rows of a prepared export, returning once all of them are written or the export is cancelled. The
+     * output is not closed.
+     */
+    public DataSetExport export(final String exportId,
+                                final OutputStream out) throws IOException {
+        final ExportTask task = getTask(exportId);
+        if (task == null) {
+            throw new IllegalArgumentException("Data set export " + exportId + " does not exist");
+        }
+        if (!task.start()) {
+            throw new IllegalStateException("Data set export " + exportId + " already started");
+        }
+        final OutputStream target = new NonClosingOutputStream(out);
+        try (DataSetExportWriter writer = DataSetExportWriter.create(task.format,
+                                                                     target)) {
+            writeRows(task,
+                      writer);
+        } catch (IOException e) {
+            // most likely the download was aborted by the client
+            LOGGER.debug("Data set export {} interrupted: {}",
+                         task.id,
+                         e.getMessage());
+            task.cancelled = true;
+        } catch (Exception e) {
+            LOGGER.warn("Data set export {} failed: {}",
+                        task.id,
+                        e.getMessage());
+            task.error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        } finally {
+            task.finish();
+        }
+        LOGGER.debug("Data set export {} finished: {} row(s) in {} ms",
+                     task.id,
+                     task.rowsExported.get(),
+                     task.finished - task.started);
+        return task.toExport();
+    }
+
+    protected void writeRows(final ExportTask task,
+                             final DataSetExportWriter writer) throws Exception {
+        final ConsoleDataSetLookup lookup = task.lookup;
+        final DataSetDef def = getDataSetDef(lookup);
+        final List<String> columnIds = def.getColumns().stream()
+                .map(DataColumnDef::getId)
+                .collect(Collectors.toList());
+        writer.writeHeader(columnIds);
+
+        final DataSetSort sort = lookup.getFirstSortOp();
+        final ColumnSort keySort = sort == null || sort.getColumnSortList().isEmpty() ?
+                new ColumnSort(columnIds.get(0),
+                               SortOrder.ASCENDING) :
+                sort.getColumnSortList().get(0);
+        final String keyColumnId = keySort.getColumnId();
+        final boolean ascending = keySort.getOrder() != SortOrder.DESCENDING;
+        final int keyIndex = columnIds.indexOf(keyColumnId);
+        if (keyIndex < 0) {
+            throw new IllegalArgumentException("Column " + keyColumnId + " not found in data set " + def.getUUID());
+        }
+        final List<QueryParam> filterParams = dataSetProvider.buildFilterParams(lookup,
+                                                                                lookup);
+
+        Object lastKey = null;
+        // rows with the last key already written, as the next page starts at that key again
+        int skip = 0;
+        while (!task.cancelled) {
+            final List<QueryParam> params = new ArrayList<>(filterParams);
+            if (lastKey != null) {
+                params.add(new QueryParam(keyColumnId,
+                                          ascending ? "GREATER_OR_EQUALS_TO" : "LOWER_OR_EQUALS_TO",
+                                          Collections.singletonList(lastKey)));
+            }
+            final QueryFilterSpec filterSpec = new QueryFilterSpec();
+            filterSpec.setOrderBy(keyColumnId);
+            filterSpec.setAscending(ascending);
+            if (!params.isEmpty()) {
+                filterSpec.setParameters(params.toArray(new QueryParam[params.size()]));
+            }
+
+            final int fetchSize = pageSize + skip;
+            final List<List> rows = dataSetProvider.queryRows(def,
+                                                              lookup.getServerTemplateId(),
+                                                              filterSpec,
+                                                              0,
+                                                              fetchSize);
+            for (int i = skip; i < rows.size(); i++) {
+                writer.writeRow(rows.get(i));
+            }
+            writer.flush();
+            task.rowsExported.addAndGet(Math.max(0,
+                                                 rows.size() - skip));
+
+            if (rows.size() < fetchSize) {
+                return;
+            }
+            final Object key = rows.get(rows.size() - 1).get(keyIndex);
+            if (key == null) {
+                throw new IllegalStateException("Unable to page data set " + def.getUUID() + " by column " + keyColumnId + " as it contains empty values");
+            }
+            skip = 0;
+            for (int i = rows.size() - 1; i >= 0 && Objects.equals(key,
+                                                                   rows.get(i).get(keyIndex)); i--) {
+                skip++;
+            }
+            lastKey = key;
+        }
+    }
+
+    protected DataSetDef getDataSetDef(final ConsoleDataSetLookup lookup) {
+        final DataSetDef def = dataSetDefRegistry.getDataSetDef(lookup.getDataSetUUID());
+        if (def == null || !KieServerDataSetProvider.TYPE.equals(def.getProvider())) {
+            throw new IllegalArgumentException("Data set " + lookup.getDataSetUUID() + " is not a remote data set");
+        }
+        return def;
+    }
+
+    /**
+     * Exports can only be accessed by the user who prepared them.
+     */
+    protected ExportTask getTask(final String exportId) {
+        final ExportTask task = exportId == null ? null : exports.get(exportId);
+        return task != null && task.user.equals(getUser()) ? task : null;
+    }
+
+    /**
+     * Drops exports that were never started or finished longer than the time to live ago.
+     */
+    protected void purgeExpired(final long now) {
+        exports.values().removeIf(task -> task.isExpired(now,
+                                                         timeToLive));
+    }
+
+    protected ConcurrentMap<String, ExportTask> getExports() {
+        return exports;
+    }
+
+    protected String getUser() {
+        try {
+            return identityProvider == null ? "" : identityProvider.getName();
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    protected static class ExportTask {
+
+        private final String id;
+        private final String user;
+        private final ConsoleDataSetLookup lookup;
+        private final DataSetExportFormat format;
+        private final long prepared = System.currentTimeMillis();
+        private final AtomicLong rowsExported = new AtomicLong();
+        private volatile long started;
+        private volatile long finished;
+        private volatile boolean cancelled;
+        private volatile String error;
+
+        protected ExportTask(final String id,
+                             final String user,
+                             final ConsoleDataSetLookup lookup,
+                             final DataSetExportFormat format) {
+            this.id = id;
+            this.user = user;
+            this.lookup = lookup;
+            this.format = format;
+        }
+
+        protected synchronized boolean start() {
+            if (started > 0) {
+                return false;
+            }
+            started = System.currentTimeMillis();
+            return true;
+        }
+
+        protected void finish() {
+            finished = System.currentTimeMillis();
+        }
+
+        protected boolean isExpired(final long now,
+                                    final long timeToLive) {
+            if (started == 0) {
+                return now - prepared > timeToLive;
+            }
+            return finished > 0 && now - finished > timeToLive;
+        }
+
+        protected DataSetExport toExport() {
+            final DataSetExport.Status status;
+            if (error != null) {
+                status = DataSetExport.Status.FAILED;
+            } else if (finished > 0 || (cancelled && started == 0)) {
+                status = cancelled ? DataSetExport.Status.CANCELLED : DataSetExport.Status.COMPLETED;
+            } else {
+                status = started == 0 ? DataSetExport.Status.PREPARED : DataSetExport.Status.IN_PROGRESS;
+            }
+            return new DataSetExport(id,
+                                     lookup.getDataSetUUID(),
+                                     format,
+                                     status,
+                                     rowsExported.get(),
+                                     error);
+        }
+    }
+
+    /**
+     * Keeps writers from closing the servlet output, which is left to the container.
+     */
+    protected static class NonClosingOutputStream extends FilterOutputStream {
+
+        protected NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b,
+                          final int off,
+                          final int len) throws IOException {
+            out.write(b,
+                      off,
+                      len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
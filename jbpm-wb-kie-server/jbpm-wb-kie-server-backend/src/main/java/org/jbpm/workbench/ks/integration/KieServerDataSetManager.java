@@ -18,10 +18,23 @@ package org.jbpm.workbench.ks.integration;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 
-import java.util.Iterator;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -53,8 +66,31 @@ import org.uberfire.commons.concurrent.Managed;
 @ApplicationScoped
 public class KieServerDataSetManager {
 
+    public static final String REGISTRATION_PARALLELISM = "org.jbpm.workbench.kieserver.dataset.registration.parallelism";
+    public static final String REGISTRATION_TIMEOUT = "org.jbpm.workbench.kieserver.dataset.registration.timeout";
+    public static final String REGISTRATION_BACKOFF_MIN = "org.jbpm.workbench.kieserver.dataset.registration.backoff.min";
+    public static final String REGISTRATION_BACKOFF_MAX = "org.jbpm.workbench.kieserver.dataset.registration.backoff.max";
+    protected static final int QUERIES_PAGE_SIZE = 100;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetManager.class);
 
+    private final int registrationParallelism = Math.max(1,
+                                                         Integer.getInteger(REGISTRATION_PARALLELISM,
+                                                                            4));
+    private final long registrationTimeout = Long.getLong(REGISTRATION_TIMEOUT,
+                                                          5 * 60 * 1000);
+    private final long backoffMin = Math.max(1,
+                                             Long.getLong(REGISTRATION_BACKOFF_MIN,
+                                                          500));
+    private final long backoffMax = Math.max(backoffMin,
+                                             Long.getLong(REGISTRATION_BACKOFF_MAX,
+                                                          30000));
+
+    private final ConcurrentMap<String, KieServerQueryRegistration> registrations = new ConcurrentHashMap<>();
+
+    // fingerprints of the query definitions built from data sets by name, dropped whenever the data set changes
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
     private ExecutorService executorService;
 
     private DataSetDefRegistry dataSetDefRegistry;
@@ -103,33 +139,38 @@ public class KieServerDataSetManager {
             return;
         }
 
-        this.executorService.execute(() -> {
-            try {
-                LOGGER.debug("Registering data set definitions on connected server instance '{}'",
-                             serverInstanceId);
-
-                final Set<QueryDefinition> queryDefinitions = dataSetDefs.stream()
-                        .filter(dataSetDef -> dataSetDef.getProvider().getName().equals("REMOTE"))
-                        .map(
-                                dataSetDef ->
-                                        QueryDefinition.builder()
-                                                .name(dataSetDef.getUUID())
-                                                .expression(((SQLDataSetDef) dataSetDef).getDbSQL())
-                                                .source(((SQLDataSetDef) dataSetDef).getDataSource())
-                                                .target(extractQueryTarget(dataSetDef))
-                                                .build()
-                        ).collect(Collectors.toSet());
-
-                registerQueriesWithRetry(serverTemplateId,
-                                         serverInstanceId,
-                                         queryDefinitions);
-            } catch (Exception e) {
-                LOGGER.warn("Unable to register query definition on '{}' due to {}",
-                            serverInstanceId,
-                            e.getMessage(),
-                            e);
-            }
-        });
+        try {
+            LOGGER.debug("Registering data set definitions on connected server instance '{}'",
+                         serverInstanceId);
+
+            final Set<QueryDefinition> queryDefinitions = dataSetDefs.stream()
+                    .filter(dataSetDef -> dataSetDef.getProvider().getName().equals("REMOTE"))
+                    .map(
+                            dataSetDef ->
+                                    QueryDefinition.builder()
+                                            .name(dataSetDef.getUUID())
+                                            .expression(((SQLDataSetDef) dataSetDef).getDbSQL())
+                                            .source(((SQLDataSetDef) dataSetDef).getDataSource())
+                                            .target(extractQueryTarget(dataSetDef))
+                                            .build()
+                    ).collect(Collectors.toSet());
+
+            registerQueriesWithRetry(serverTemplateId,
+                                     serverInstanceId,
+                                     queryDefinitions);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to register query definition on '{}' due to {}",
+                        serverInstanceId,
+                        e.getMessage(),
+                        e);
+        }
+    }
+
+    /**
+     * @return progress of the latest query definitions registration per server instance id
+     */
+    public Map<String, KieServerQueryRegistration> getRegistrations() {
+        return Collections.unmodifiableMap(registrations);
     }
     
     protected String extractQueryTarget(DataSetDef dataSetDef) {
@@ -142,59 +183,233 @@ public class KieServerDataSetManager {
                                                                                    dataSetDef.getName().indexOf("-")) : "CUSTOM";
     }
 
-    protected void registerQueriesWithRetry(String serverTemplateId,
-                                            String serverInstanceId,
-                                            Set<QueryDefinition> queryDefinitions) throws Exception {
-        long waitLimit = 5 * 60 * 1000;   // default 5 min
-        long elapsed = 0;
-        try {
-            QueryServicesClient queryClient = kieServerIntegration.getAdminServerClient(serverTemplateId, serverInstanceId).getServicesClient(QueryServicesClient.class);
-
-            while (elapsed < waitLimit) {
-                try {
-                    Iterator<QueryDefinition> definitionIt = queryDefinitions.iterator();
-
-                    while (definitionIt.hasNext()) {
-                        QueryDefinition definition = definitionIt.next();
-                        queryClient.replaceQuery(definition);
-                        LOGGER.info("Query definition {} (type {}) successfully registered on kie server '{}'",
-                                    definition.getName(),
-                                    definition.getTarget(),
-                                    serverInstanceId);
-                        // remove successfully stored definition to avoid duplicated reads in case of intermediate error
-                        definitionIt.remove();
-                    }
-
-                    event.fire(new KieServerDataSetRegistered(serverInstanceId,
-                                                              serverTemplateId));
-                    return;
-                } catch (KieServicesException | KieServerHttpRequestException e) {
-                    // unable to register, might still be booting
-                    Thread.sleep(500);
-                    elapsed += 500;
-                    // get admin client with forced check of endpoints as they might have been banned (marked as failed)
-                    queryClient = kieServerIntegration.getAdminServerClientCheckEndpoints(serverTemplateId).getServicesClient(QueryServicesClient.class);
-                    LOGGER.debug("Cannot reach KIE Server, elapsed time while waiting '{}', max time '{}' error {}",
-                                 elapsed,
-                                 waitLimit,
-                                 e.getMessage());
-                }
-            }
+    /**
+     * Registers given query definitions on the server instance without blocking the caller. The fingerprints of the
+     * definitions are compared with the ones of the queries the instance already has and only the missing or changed
+     * definitions are sent, in parallel batches.
+     * Attempts failing because the instance cannot be reached, e.g. as it is still booting, are retried with
+     * exponential backoff until the registration timeout elapses.
+     * @return future completed with the registration outcome
+     */
+    protected CompletableFuture<KieServerQueryRegistration> registerQueriesWithRetry(String serverTemplateId,
+                                                                                     String serverInstanceId,
+                                                                                     Set<QueryDefinition> queryDefinitions) {
+        final KieServerQueryRegistration registration = new KieServerQueryRegistration(serverTemplateId,
+                                                                                       serverInstanceId,
+                                                                                       queryDefinitions.size());
+        registrations.put(serverInstanceId,
+                          registration);
+        final CompletableFuture<KieServerQueryRegistration> result = new CompletableFuture<>();
 
-            LOGGER.warn("Timeout while trying to register query definitions on '{}'",
-                        serverInstanceId);
+        final QueryServicesClient queryClient;
+        try {
+            queryClient = kieServerIntegration.getAdminServerClient(serverTemplateId, serverInstanceId).getServicesClient(QueryServicesClient.class);
         } catch (KieServicesException ex) {
             // in case getting queryClient fails due to missing capability to handle advanced queries
             LOGGER.info("Not possible to register queries on server {} most likely due to BPM capability missing (details {})",
                         serverInstanceId,
                         ex.getMessage());
+            registration.error(ex.getMessage());
+            registration.done(KieServerQueryRegistration.Status.FAILED);
+            result.complete(registration);
+            return result;
         }
+
+        final Set<QueryDefinition> pending = ConcurrentHashMap.newKeySet();
+        pending.addAll(queryDefinitions);
+        registerQueries(registration,
+                        () -> queryClient,
+                        pending,
+                        System.currentTimeMillis() + registrationTimeout,
+                        result);
+        return result;
+    }
+
+    protected void registerQueries(KieServerQueryRegistration registration,
+                                   Supplier<QueryServicesClient> queryClientSupplier,
+                                   Set<QueryDefinition> pending,
+                                   long deadline,
+                                   CompletableFuture<KieServerQueryRegistration> result) {
+        final String serverInstanceId = registration.getServerInstanceId();
+        final int attempt = registration.attempt();
+
+        CompletableFuture.supplyAsync(queryClientSupplier,
+                                      executorService)
+                .thenCompose(queryClient -> {
+                    final Map<String, String> registeredFingerprints = getRegisteredFingerprints(queryClient);
+                    pending.removeIf(definition -> {
+                        if (isRegistered(definition,
+                                         registeredFingerprints)) {
+                            registration.skipped();
+                            return true;
+                        }
+                        return false;
+                    });
+                    LOGGER.debug("{} query definitions missing or changed on kie server '{}', {} up to date",
+                                 pending.size(),
+                                 serverInstanceId,
+                                 registration.getSkipped());
+
+                    return CompletableFuture.allOf(partition(pending).stream()
+                                                           .map(batch -> CompletableFuture.runAsync(() -> replaceQueries(registration,
+                                                                                                                         queryClient,
+                                                                                                                         batch,
+                                                                                                                         pending),
+                                                                                                    executorService))
+                                                           .toArray(CompletableFuture[]::new));
+                })
+                .whenComplete((ignored, error) -> {
+                    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause == null) {
+                        registration.done(KieServerQueryRegistration.Status.COMPLETED);
+                        LOGGER.info("Query definitions registered on kie server '{}' ({})",
+                                    serverInstanceId,
+                                    registration);
+                        event.fire(new KieServerDataSetRegistered(serverInstanceId,
+                                                                  registration.getServerTemplateId()));
+                        result.complete(registration);
+                        return;
+                    }
+
+                    registration.error(cause.getMessage());
+                    if (!(cause instanceof KieServicesException || cause instanceof KieServerHttpRequestException)) {
+                        LOGGER.warn("Unable to register query definitions on '{}' due to {}",
+                                    serverInstanceId,
+                                    cause.getMessage(),
+                                    cause);
+                        registration.done(KieServerQueryRegistration.Status.FAILED);
+                        result.complete(registration);
+                        return;
+                    }
+
+                    // unable to register, might still be booting
+                    final long delay = getBackoffDelay(attempt);
+                    if (System.currentTimeMillis() + delay > deadline) {
+                        LOGGER.warn("Timeout while trying to register query definitions on '{}' ({})",
+                                    serverInstanceId,
+                                    registration);
+                        registration.done(KieServerQueryRegistration.Status.TIMEOUT);
+                        result.complete(registration);
+                        return;
+                    }
+                    LOGGER.debug("Cannot reach KIE Server '{}', {} query definitions pending, next attempt in {} ms, error {}",
+                                 serverInstanceId,
+                                 pending.size(),
+                                 delay,
+                                 cause.getMessage());
+                    // the next attempt waits on the managed executor, then gets admin client with forced check of endpoints
+                    // as they might have been banned (marked as failed)
+                    registerQueries(registration,
+                                    () -> {
+                                        waitForRetry(delay);
+                                        return kieServerIntegration.getAdminServerClientCheckEndpoints(registration.getServerTemplateId()).getServicesClient(QueryServicesClient.class);
+                                    },
+                                    pending,
+                                    deadline,
+                                    result);
+                });
+    }
+
+    protected void replaceQueries(KieServerQueryRegistration registration,
+                                  QueryServicesClient queryClient,
+                                  List<QueryDefinition> batch,
+                                  Set<QueryDefinition> pending) {
+        for (QueryDefinition definition : batch) {
+            queryClient.replaceQuery(definition);
+            LOGGER.info("Query definition {} (type {}) successfully registered on kie server '{}'",
+                        definition.getName(),
+                        definition.getTarget(),
+                        registration.getServerInstanceId());
+            // remove successfully stored definition to avoid duplicated writes in case of intermediate error
+            pending.remove(definition);
+            registration.registered();
+        }
+    }
+
+    protected Map<String, String> getRegisteredFingerprints(QueryServicesClient queryClient) {
+        final Map<String, String> registeredFingerprints = new HashMap<>();
+        int page = 0;
+        List<QueryDefinition> queries;
+        do {
+            queries = queryClient.getQueries(page++,
+                                             QUERIES_PAGE_SIZE);
+            if (queries != null) {
+                queries.forEach(query -> registeredFingerprints.put(query.getName(),
+                                                                    fingerprint(query)));
+            }
+        } while (queries != null && queries.size() == QUERIES_PAGE_SIZE);
+        return registeredFingerprints;
+    }
+
+    protected boolean isRegistered(QueryDefinition definition,
+                                   Map<String, String> registeredFingerprints) {
+        return getFingerprint(definition).equals(registeredFingerprints.get(definition.getName()));
+    }
+
+    protected String getFingerprint(QueryDefinition definition) {
+        return fingerprints.computeIfAbsent(definition.getName(),
+                                            name -> fingerprint(definition));
+    }
+
+    /**
+     * @return hash of what the query definition consists of on KIE Server: its source, target and expression
+     */
+    protected static String fingerprint(QueryDefinition definition) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{definition.getSource(), definition.getTarget(), definition.getExpression()}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return new BigInteger(1,
+                                  digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Splits definitions into at most the configured parallelism batches.
+     */
+    protected List<List<QueryDefinition>> partition(Set<QueryDefinition> definitions) {
+        final List<QueryDefinition> all = new ArrayList<>(definitions);
+        final int batches = Math.min(registrationParallelism,
+                                     all.size());
+        final List<List<QueryDefinition>> partitions = new ArrayList<>(batches);
+        for (int i = 0; i < batches; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < all.size(); i++) {
+            partitions.get(i % batches).add(all.get(i));
+        }
+        return partitions;
+    }
+
+    protected void waitForRetry(long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry the query definitions registration",
+                                            e);
+        }
+    }
+
+    /**
+     * Exponential backoff with jitter, so instances that failed at the same time do not retry all at once.
+     */
+    protected long getBackoffDelay(int attempt) {
+        final long delay = Math.min(backoffMax,
+                                    backoffMin << Math.min(attempt - 1,
+                                                           20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
     }
     
     void onDataSetDefRegisteredEvent(@Observes DataSetDefRegisteredEvent event) {
         checkNotNull("event",
                      event);
         DataSetDef def = event.getDataSetDef();
+        fingerprints.remove(def.getUUID());
         replaceQueryInKieServers(def);
     }
 
@@ -202,6 +417,7 @@ public class KieServerDataSetManager {
         checkNotNull("event",
                      event);
         DataSetDef def = event.getNewDataSetDef();
+        fingerprints.remove(def.getUUID());
         replaceQueryInKieServers(def);        
     }
 
@@ -210,13 +426,16 @@ public class KieServerDataSetManager {
                      event);
 
         DataSetDef def = event.getDataSetDef();
+        fingerprints.remove(def.getUUID());
         if (def instanceof RemoteDataSetDef) {
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
+            List<KieServerBroadcastResult> results = kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
                 QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
                 instanceQueryClient.unregisterQuery(def.getUUID());
                 return null;
             });
-            
+            logFailedBroadcasts(def,
+                                results);
+
             LOGGER.info("Data set definition {} ({}) deletion event processed", def.getUUID(), def.getName());
         }
         
@@ -232,12 +451,26 @@ public class KieServerDataSetManager {
                     .expression(((RemoteDataSetDef) def).getDbSQL())
                     .build();
             
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
+            List<KieServerBroadcastResult> results = kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(), (KieServicesClient client) -> {
                 QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
                 QueryDefinition registered = instanceQueryClient.replaceQuery(queryDefinition);
                 return registered;
             });
+            logFailedBroadcasts(def,
+                                results);
             LOGGER.info("Data set definition {} ({}) modification event processed", def.getUUID(), def.getName());
         }
     }
+
+    protected void logFailedBroadcasts(DataSetDef def,
+                                       List<KieServerBroadcastResult> results) {
+        results.stream()
+                .filter(result -> !result.isSuccess())
+                .forEach(result -> LOGGER.warn("Data set definition {} ({}) not updated on kie server '{}' ({} after {} ms)",
+                                               def.getUUID(),
+                                               def.getName(),
+                                               result.getUrl(),
+                                               result.getStatus(),
+                                               result.getLatency()));
+    }
 }
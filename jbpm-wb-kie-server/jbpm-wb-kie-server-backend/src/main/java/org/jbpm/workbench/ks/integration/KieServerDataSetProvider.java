@@ -18,9 +18,21 @@ package org.jbpm.workbench.ks.integration;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
 
 import org.dashbuilder.dataprovider.DataSetProvider;
 import org.dashbuilder.dataprovider.DataSetProviderType;
@@ -32,20 +44,22 @@ import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetMetadata;
 import org.dashbuilder.dataset.def.DataColumnDef;
 import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
+import org.dashbuilder.dataset.events.DataSetDefRegisteredEvent;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionType;
 import org.dashbuilder.dataset.filter.DataSetFilter;
 import org.dashbuilder.dataset.filter.FilterFactory;
 import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.group.AggregateFunctionType;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.DataSetGroup;
 import org.dashbuilder.dataset.group.GroupFunction;
 import org.dashbuilder.dataset.group.Interval;
 import org.dashbuilder.dataset.impl.DataColumnImpl;
 import org.dashbuilder.dataset.impl.DataSetMetadataImpl;
-import org.dashbuilder.dataset.sort.ColumnSort;
-import org.dashbuilder.dataset.sort.DataSetSort;
-import org.dashbuilder.dataset.sort.SortOrder;
 import org.kie.server.api.model.definition.QueryDefinition;
 import org.kie.server.api.model.definition.QueryFilterSpec;
 import org.kie.server.api.model.definition.QueryParam;
@@ -58,8 +72,34 @@ import org.slf4j.LoggerFactory;
 public class KieServerDataSetProvider extends AbstractKieServerService implements DataSetProvider {
 
     public static final DataSetProviderType TYPE = new KieServerDataSetProviderType();
+    public static final String COUNT_TTL = "org.jbpm.workbench.kieserver.dataset.count.ttl";
+    public static final String PIVOT_MAX_IDS = "org.jbpm.workbench.kieserver.dataset.pivot.ids.max";
+    public static final String PIVOT_COLUMNS = "org.jbpm.workbench.kieserver.dataset.pivot.columns";
+    public static final String QUERY_PLAN_CACHE_SIZE = "org.jbpm.workbench.kieserver.dataset.plan.cache.size";
+    protected static final int PIVOT_PAGE_SIZE = 1000;
     private static final Logger LOGGER = LoggerFactory.getLogger(KieServerDataSetProvider.class);
 
+    @Inject
+    @Any
+    protected Instance<KieServerDataSetRollup> rollups;
+
+    private final long countTimeToLive = Long.getLong(COUNT_TTL,
+                                                      60000);
+
+    private final int pivotMaxIds = Integer.getInteger(PIVOT_MAX_IDS,
+                                                       1000);
+
+    private final List<String> pivotColumns = Arrays.stream(System.getProperty(PIVOT_COLUMNS,
+                                                                                "").split(","))
+            .map(String::trim)
+            .filter(column -> !column.isEmpty())
+            .collect(Collectors.toList());
+
+    private final int queryPlanCacheSize = Integer.getInteger(QUERY_PLAN_CACHE_SIZE,
+                                                              256);
+
+    private final Map<String, Map<String, KieServerQueryPlan>> queryPlans = new ConcurrentHashMap<>();
+
     @Override
     public DataSetProviderType getType() {
         return TYPE;
@@ -114,34 +154,223 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                                 new ArrayList<>());
         }
 
+        if (!dataSetLookup.testMode()) {
+            final DataSet rollup = lookupRollup(def,
+                                                dataSetLookup);
+            if (rollup != null) {
+                return rollup;
+            }
+        }
+
         final QueryServicesClient queryClient = getClient(dataSetLookup.getServerTemplateId(),
                                                           QueryServicesClient.class);
 
-        List<QueryParam> filterParams = new ArrayList<>();
-        QueryFilterSpec filterSpec = new QueryFilterSpec();
-        // apply filtering
+        final KieServerQueryPlan queryPlan = getQueryPlan(def,
+                                                          dataSetLookup);
+        final List<QueryParam> filterParams = buildFilterParams(dataSetLookup,
+                                                                lookup);
+        final List<DataColumn> extraColumns = queryPlan.newExtraColumns();
+
+        final QueryPage queryPage;
+        if (dataSetLookup.getLastGroupOp() == null && isKeysetApplicable(dataSetLookup,
+                                                                         queryPlan)) {
+            filterParams.add(new QueryParam(dataSetLookup.getKeysetColumnId(),
+                                            queryPlan.isAscending() ? "GREATER_OR_EQUALS_TO" : "LOWER_OR_EQUALS_TO",
+                                            Collections.singletonList(dataSetLookup.getKeysetValue())));
+            queryPage = new QueryPage(0,
+                                      dataSetLookup.getNumberOfRows() + dataSetLookup.getKeysetSkip(),
+                                      dataSetLookup.getKeysetSkip(),
+                                      1);
+        } else {
+            queryPage = getQueryPage(dataSetLookup.getRowOffset(),
+                                     dataSetLookup.getNumberOfRows());
+        }
+        final QueryFilterSpec filterSpec = queryPlan.newFilterSpec(filterParams);
 
-        for (DataSetFilter filter : dataSetLookup.getOperationList(DataSetFilter.class)) {
-            if (filter != null) {
+        if (dataSetLookup.testMode()) {
+            registerTestQuery((RemoteDataSetDef) def,
+                              dataSetLookup);
+        }
+        final List<List> instances = fetchPages(queryPage,
+                                                page -> {
+                                                    if (dataSetLookup.testMode()) {
+                                                        return performQuery((RemoteDataSetDef) def,
+                                                                            dataSetLookup,
+                                                                            queryClient,
+                                                                            filterSpec,
+                                                                            page,
+                                                                            queryPage.pageSize);
+                                                    }
+                                                    return dataSetCache.lookup(dataSetLookup.getServerTemplateId(),
+                                                                               dataSetLookup.getDataSetUUID(),
+                                                                               getQueryTarget(def),
+                                                                               filterSpec,
+                                                                               page,
+                                                                               queryPage.pageSize,
+                                                                               () -> performQuery((RemoteDataSetDef) def,
+                                                                                                  dataSetLookup,
+                                                                                                  queryClient,
+                                                                                                  filterSpec,
+                                                                                                  page,
+                                                                                                  queryPage.pageSize));
+                                                });
+        LOGGER.debug("Query client returned {} row(s)",
+                     instances.size());
 
-                for (ColumnFilter cFilter : filter.getColumnFilterList()) {
-                    if (cFilter instanceof CoreFunctionFilter) {
+        return buildDataSet(def,
+                            queryPage.trim(instances,
+                                           dataSetLookup.getNumberOfRows()),
+                            extraColumns);
+    }
 
-                        CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) cFilter;
+    /**
+     * Query plans are compiled once per data set and lookup shape, test lookups are always compiled as the columns
+     * of the data set are not known yet. The least recently used plans of a data set are dropped when it has more
+     * shapes than the configured size.
+     */
+    protected KieServerQueryPlan getQueryPlan(final DataSetDef def,
+                                              final ConsoleDataSetLookup dataSetLookup) {
+        if (dataSetLookup.testMode()) {
+            return compileQueryPlan(def,
+                                    dataSetLookup);
+        }
+        final Map<String, KieServerQueryPlan> plans = queryPlans.computeIfAbsent(def.getUUID(),
+                                                                                 uuid -> newQueryPlans());
+        final String shape = KieServerQueryPlan.getShape(dataSetLookup);
+        synchronized (plans) {
+            final KieServerQueryPlan plan = plans.get(shape);
+            if (plan != null) {
+                return plan;
+            }
+        }
+        final KieServerQueryPlan plan = compileQueryPlan(def,
+                                                         dataSetLookup);
+        synchronized (plans) {
+            plans.put(shape,
+                      plan);
+        }
+        return plan;
+    }
 
-                        filterParams.add(new QueryParam(coreFunctionFilter.getColumnId(),
-                                                        coreFunctionFilter.getType().toString(),
-                                                        coreFunctionFilter.getParameters()));
-                    } else if (cFilter instanceof LogicalExprFilter) {
-                        LogicalExprFilter logicalExprFilter = (LogicalExprFilter) cFilter;
-                        filterParams.add(new QueryParam(logicalExprFilter.getColumnId(),
-                                                        logicalExprFilter.getLogicalOperator().toString(),
-                                                        logicalExprFilter.getLogicalTerms()));
-                    }
-                }
+    protected Map<String, KieServerQueryPlan> newQueryPlans() {
+        return new LinkedHashMap<String, KieServerQueryPlan>(16,
+                                                             0.75f,
+                                                             true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KieServerQueryPlan> eldest) {
+                return size() > queryPlanCacheSize;
             }
+        };
+    }
+
+    protected KieServerQueryPlan compileQueryPlan(final DataSetDef def,
+                                                  final ConsoleDataSetLookup dataSetLookup) {
+        if (!dataSetLookup.testMode()) {
+            KieServerQueryPlan.validateColumns(def,
+                                               dataSetLookup);
+        }
+        final List<QueryParam> groupParams = new ArrayList<>();
+        final List<DataColumn> extraColumns = new ArrayList<>();
+        handleDataSetGroup(def,
+                           dataSetLookup.getLastGroupOp(),
+                           groupParams,
+                           extraColumns);
+        return new KieServerQueryPlan(groupParams,
+                                      extraColumns,
+                                      dataSetLookup.getFirstSortOp());
+    }
+
+    protected Map<String, Map<String, KieServerQueryPlan>> getQueryPlans() {
+        return queryPlans;
+    }
+
+    public void onDataSetDefRegistered(@Observes final DataSetDefRegisteredEvent event) {
+        queryPlans.remove(event.getDataSetDef().getUUID());
+    }
+
+    public void onDataSetDefModified(@Observes final DataSetDefModifiedEvent event) {
+        queryPlans.remove(event.getOldDataSetDef().getUUID());
+    }
+
+    public void onDataSetDefRemoved(@Observes final DataSetDefRemovedEvent event) {
+        queryPlans.remove(event.getDataSetDef().getUUID());
+    }
+
+    protected DataSet lookupRollup(final DataSetDef def,
+                                   final ConsoleDataSetLookup dataSetLookup) throws Exception {
+        if (rollups == null) {
+            return null;
+        }
+        for (KieServerDataSetRollup rollup : rollups) {
+            final DataSet dataSet = rollup.lookup(def,
+                                                  dataSetLookup);
+            if (dataSet != null) {
+                LOGGER.debug("Data set {} lookup answered from rollup",
+                             def.getUUID());
+                return dataSet;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetches a page of raw rows of the data set straight from KIE Server, bypassing the data set cache. Meant for
+     * background processing that needs to see the latest rows.
+     */
+    public List<List> queryRows(final DataSetDef def,
+                                final String serverTemplateId,
+                                final QueryFilterSpec filterSpec,
+                                final int page,
+                                final int pageSize) {
+        return queryRows(getClient(serverTemplateId,
+                                   QueryServicesClient.class),
+                         def,
+                         filterSpec,
+                         page,
+                         pageSize);
+    }
+
+    /**
+     * Same as {@link #queryRows(DataSetDef, String, QueryFilterSpec, int, int)} but authenticated with the admin
+     * credentials, for background threads that have no user request to take the credentials from.
+     */
+    public List<List> queryRowsAsAdmin(final DataSetDef def,
+                                       final String serverTemplateId,
+                                       final QueryFilterSpec filterSpec,
+                                       final int page,
+                                       final int pageSize) {
+        final KieServicesClient adminClient = kieServerIntegration.getAdminServerClientCheckEndpoints(serverTemplateId);
+        if (adminClient == null) {
+            throw new RuntimeException("No connection to '" + serverTemplateId + "' server(s)");
+        }
+        return queryRows(adminClient.getServicesClient(QueryServicesClient.class),
+                         def,
+                         filterSpec,
+                         page,
+                         pageSize);
+    }
+
+    protected List<List> queryRows(final QueryServicesClient queryClient,
+                                   final DataSetDef def,
+                                   final QueryFilterSpec filterSpec,
+                                   final int page,
+                                   final int pageSize) {
+        return queryClient.query(def.getUUID(),
+                                 QueryServicesClient.QUERY_MAP_RAW,
+                                 filterSpec,
+                                 page,
+                                 pageSize,
+                                 List.class);
+    }
+
+    protected List<QueryParam> buildFilterParams(ConsoleDataSetLookup dataSetLookup,
+                                                 DataSetLookup lookup) {
+        List<QueryParam> filterParams = new ArrayList<>();
+        // apply filtering
+
+        for (DataSetFilter filter : dataSetLookup.getOperationList(DataSetFilter.class)) {
+            filterParams.addAll(buildFilterParams(filter));
         }
-        List<DataColumn> extraColumns = new ArrayList<DataColumn>();
 
         List<DataSetGroup> dataSetGroups = lookup.getFirstGroupOpSelections();
         for (DataSetGroup group : dataSetGroups) {
@@ -150,42 +379,254 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                                         filterParams);
             }
         }
+        return filterParams;
+    }
 
-        DataSetGroup dataSetGroup = dataSetLookup.getLastGroupOp();
-        handleDataSetGroup(def,
-                           dataSetGroup,
-                           filterParams,
-                           extraColumns);
+    /**
+     * Translates the column filters into KIE Server query parameters.
+     */
+    public List<QueryParam> buildFilterParams(final DataSetFilter filter) {
+        final List<QueryParam> filterParams = new ArrayList<>();
+        if (filter == null) {
+            return filterParams;
+        }
+
+        for (ColumnFilter cFilter : filter.getColumnFilterList()) {
+            if (cFilter instanceof CoreFunctionFilter) {
+
+                CoreFunctionFilter coreFunctionFilter = (CoreFunctionFilter) cFilter;
+
+                filterParams.add(new QueryParam(coreFunctionFilter.getColumnId(),
+                                                coreFunctionFilter.getType().toString(),
+                                                coreFunctionFilter.getParameters()));
+            } else if (cFilter instanceof LogicalExprFilter) {
+                LogicalExprFilter logicalExprFilter = (LogicalExprFilter) cFilter;
+                filterParams.add(new QueryParam(logicalExprFilter.getColumnId(),
+                                                logicalExprFilter.getLogicalOperator().toString(),
+                                                logicalExprFilter.getLogicalTerms()));
+            }
+        }
+        return filterParams;
+    }
+
+    /**
+     * Counts the rows matching the filters of the lookup using an aggregated query on KIE Server, ignoring sorting
+     * and paging. Counts are cached longer than pages of rows as they are usually more expensive to compute.
+     */
+    public DataSetRowCount getRowCount(DataSetDef def,
+                                       DataSetLookup lookup) throws Exception {
+        final ConsoleDataSetLookup dataSetLookup = adoptLookup(def,
+                                                               lookup);
+        if (dataSetLookup.getServerTemplateId() == null || dataSetLookup.getServerTemplateId().isEmpty()) {
+            return new DataSetRowCount(0,
+                                       true);
+        }
 
-        if (!filterParams.isEmpty()) {
-            filterSpec.setParameters(filterParams.toArray(new QueryParam[filterParams.size()]));
+        final QueryServicesClient queryClient = getClient(dataSetLookup.getServerTemplateId(),
+                                                          QueryServicesClient.class);
+        final QueryFilterSpec filterSpec = buildCountFilterSpec(def,
+                                                                dataSetLookup);
+        final List<List> rows = dataSetCache.lookup(dataSetLookup.getServerTemplateId(),
+                                                    dataSetLookup.getDataSetUUID(),
+                                                    getQueryTarget(def),
+                                                    filterSpec,
+                                                    0,
+                                                    1,
+                                                    countTimeToLive,
+                                                    () -> queryClient.query(dataSetLookup.getDataSetUUID(),
+                                                                            QueryServicesClient.QUERY_MAP_RAW,
+                                                                            filterSpec,
+                                                                            0,
+                                                                            1,
+                                                                            List.class));
+        return new DataSetRowCount(extractCount(rows),
+                                   true);
+    }
+
+    /**
+     * @return the last count of the lookup, possibly outdated, or <code>null</code> if it was never counted
+     */
+    public DataSetRowCount getRowCountEstimate(DataSetDef def,
+                                               DataSetLookup lookup) throws Exception {
+        final ConsoleDataSetLookup dataSetLookup = adoptLookup(def,
+                                                               lookup);
+        if (dataSetLookup.getServerTemplateId() == null || dataSetLookup.getServerTemplateId().isEmpty()) {
+            return null;
         }
 
-        // apply sorting
-        DataSetSort sort = dataSetLookup.getFirstSortOp();
-        if (sort != null) {
-            SortOrder sortOrder = SortOrder.UNSPECIFIED;
-            StringBuilder orderBy = new StringBuilder();
-            for (ColumnSort cSort : sort.getColumnSortList()) {
-                orderBy.append(cSort.getColumnId()).append(",");
-                sortOrder = cSort.getOrder();
+        final List<List> rows = dataSetCache.peek(dataSetLookup.getServerTemplateId(),
+                                                  dataSetLookup.getDataSetUUID(),
+                                                  getQueryTarget(def),
+                                                  buildCountFilterSpec(def,
+                                                                       dataSetLookup),
+                                                  0,
+                                                  1);
+        return rows == null ? null : new DataSetRowCount(extractCount(rows),
+                                                         false);
+    }
+
+    protected QueryFilterSpec buildCountFilterSpec(DataSetDef def,
+                                                   ConsoleDataSetLookup dataSetLookup) throws Exception {
+        // column definitions are loaded from KIE Server on first use
+        final String countColumnId = getDataSetMetadata(def).getColumnId(0);
+        final List<QueryParam> filterParams = buildFilterParams(dataSetLookup,
+                                                                dataSetLookup);
+        filterParams.add(new QueryParam(countColumnId,
+                                        AggregateFunctionType.COUNT.toString(),
+                                        Arrays.asList(countColumnId)));
+
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setParameters(filterParams.toArray(new QueryParam[filterParams.size()]));
+        return filterSpec;
+    }
+
+    protected long extractCount(List<List> rows) {
+        if (rows == null || rows.isEmpty() || rows.get(0).isEmpty() || rows.get(0).get(0) == null) {
+            return 0;
+        }
+        final Object count = rows.get(0).get(0);
+        return count instanceof Number ? ((Number) count).longValue() : Long.parseLong(count.toString());
+    }
+
+    /**
+     * Fetches the name/value rows of the given ids only, sorted by id and name so they can be paged consistently, and
+     * groups them per id. Names are restricted to the configured allow-list, if any.
+     */
+    public Map<Long, Map<String, String>> pivot(final DataSetDef def,
+                                                final String serverTemplateId,
+                                                final String idColumnId,
+                                                final String nameColumnId,
+                                                final String valueColumnId,
+                                                final List<Long> ids) throws Exception {
+        if (serverTemplateId == null || serverTemplateId.isEmpty() || ids == null || ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (ids.size() > pivotMaxIds) {
+            throw new IllegalArgumentException("Unable to pivot " + ids.size() + " ids of data set " + def.getUUID() + ", the maximum is " + pivotMaxIds);
+        }
+
+        // column definitions are loaded from KIE Server on first use
+        final List<String> columnIds = getDataSetMetadata(def).getColumnIds();
+        final int idIndex = getColumnIndex(def,
+                                           columnIds,
+                                           idColumnId);
+        final int nameIndex = getColumnIndex(def,
+                                             columnIds,
+                                             nameColumnId);
+        final int valueIndex = getColumnIndex(def,
+                                              columnIds,
+                                              valueColumnId);
+
+        final List<QueryParam> filterParams = new ArrayList<>();
+        filterParams.add(new QueryParam(idColumnId,
+                                        CoreFunctionType.IN.toString(),
+                                        new ArrayList<>(ids)));
+        if (!pivotColumns.isEmpty()) {
+            filterParams.add(new QueryParam(nameColumnId,
+                                            CoreFunctionType.IN.toString(),
+                                            new ArrayList<>(pivotColumns)));
+        }
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setParameters(filterParams.toArray(new QueryParam[filterParams.size()]));
+        filterSpec.setOrderBy(idColumnId + "," + nameColumnId);
+        filterSpec.setAscending(true);
+
+        final QueryServicesClient queryClient = getClient(serverTemplateId,
+                                                          QueryServicesClient.class);
+        final Map<Long, Map<String, String>> values = new HashMap<>();
+        int page = 0;
+        List<List> rows;
+        do {
+            final int currentPage = page++;
+            rows = dataSetCache.lookup(serverTemplateId,
+                                       def.getUUID(),
+                                       getQueryTarget(def),
+                                       filterSpec,
+                                       currentPage,
+                                       PIVOT_PAGE_SIZE,
+                                       () -> queryClient.query(def.getUUID(),
+                                                               QueryServicesClient.QUERY_MAP_RAW,
+                                                               filterSpec,
+                                                               currentPage,
+                                                               PIVOT_PAGE_SIZE,
+                                                               List.class));
+            for (List row : rows) {
+                final Object id = row.get(idIndex);
+                final Object name = row.get(nameIndex);
+                if (id == null || name == null) {
+                    continue;
+                }
+                final Object value = row.get(valueIndex);
+                values.computeIfAbsent(id instanceof Number ? ((Number) id).longValue() : Long.valueOf(id.toString()),
+                                       key -> new HashMap<>()).put(name.toString(),
+                                                                   value == null ? null : value.toString());
             }
-            // remove last ,
-            orderBy.deleteCharAt(orderBy.length() - 1);
+        } while (rows.size() == PIVOT_PAGE_SIZE);
+
+        LOGGER.debug("Pivoted variables of {} id(s) out of {} requested",
+                     values.size(),
+                     ids.size());
+        return values;
+    }
 
-            filterSpec.setOrderBy(orderBy.toString());
-            filterSpec.setAscending(sortOrder.equals(SortOrder.ASCENDING));
+    protected int getColumnIndex(final DataSetDef def,
+                                 final List<String> columnIds,
+                                 final String columnId) {
+        final int index = columnIds.indexOf(columnId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Column " + columnId + " not found in data set " + def.getUUID());
         }
-        final List<List> instances = performQuery((RemoteDataSetDef) def,
-                                                  dataSetLookup,
-                                                  queryClient,
-                                                  filterSpec);
-        LOGGER.debug("Query client returned {} row(s)",
-                     instances.size());
+        return index;
+    }
 
-        return buildDataSet(def,
-                            instances,
-                            extraColumns);
+    /**
+     * Keyset pagination is only used when the rows are sorted by the keyset column first, as rows are then fetched
+     * starting at the last key seen by the client rather than skipping all the rows of the previous pages.
+     */
+    protected boolean isKeysetApplicable(final ConsoleDataSetLookup dataSetLookup,
+                                         final KieServerQueryPlan queryPlan) {
+        return dataSetLookup.isKeysetEnabled()
+                && dataSetLookup.getNumberOfRows() > 0
+                && dataSetLookup.getKeysetColumnId().equals(queryPlan.getFirstSortColumnId());
+    }
+
+    /**
+     * KIE Server only supports page based queries, so offsets that are not a multiple of the number of rows are
+     * served by the two neighbouring pages of that size, which never fetches more than twice the requested rows.
+     */
+    protected QueryPage getQueryPage(final int rowOffset,
+                                     final int numberOfRows) {
+        if (numberOfRows <= 0) {
+            return new QueryPage(0,
+                                 numberOfRows,
+                                 0,
+                                 1);
+        }
+        final int skip = rowOffset % numberOfRows;
+        return new QueryPage(rowOffset / numberOfRows,
+                             numberOfRows,
+                             skip,
+                             skip == 0 ? 1 : 2);
+    }
+
+    /**
+     * Fetches the pages of the query page, the following page is only requested when the first one is full.
+     */
+    protected List<List> fetchPages(final QueryPage queryPage,
+                                    final IntFunction<List<List>> pageQuery) {
+        final List<List> rows = pageQuery.apply(queryPage.page);
+        if (queryPage.pages == 1 || rows.size() < queryPage.pageSize) {
+            return rows;
+        }
+        final List<List> allRows = new ArrayList<>(rows);
+        for (int page = queryPage.page + 1; page < queryPage.page + queryPage.pages; page++) {
+            allRows.addAll(pageQuery.apply(page));
+        }
+        return allRows;
+    }
+
+    protected String getQueryTarget(final DataSetDef def) {
+        return def instanceof RemoteDataSetDef ? ((RemoteDataSetDef) def).getQueryTarget() : null;
     }
 
     protected ConsoleDataSetLookup adoptLookup(DataSetDef def,
@@ -211,42 +652,54 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
         return dataSetLookup;
     }
 
+    /**
+     * Registers the query of a data set being tested on every server instance of its server template, once per lookup
+     * whatever the number of pages it fetches.
+     */
+    protected void registerTestQuery(RemoteDataSetDef def,
+                                     ConsoleDataSetLookup dataSetLookup) {
+        QueryDefinition queryDefinition = QueryDefinition.builder()
+                .name(dataSetLookup.getDataSetUUID())
+                .source(def.getDataSource())
+                .target(def.getQueryTarget())
+                .expression(def.getDbSQL())
+                .build();
+
+        List<KieServerBroadcastResult> results = kieServerIntegration.broadcastToKieServers(def.getServerTemplateId(),
+                                                                                            (KieServicesClient client) -> {
+                                                                                                QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
+                                                                                                return instanceQueryClient.replaceQuery(queryDefinition);
+                                                                                            });
+        // columns are applied once all instances replied as the broadcast runs concurrently
+        for (KieServerBroadcastResult result : results) {
+            QueryDefinition registered = (QueryDefinition) result.getResult();
+            if (result.isSuccess() && registered != null && registered.getColumns() != null) {
+
+                for (Entry<String, String> entry : registered.getColumns().entrySet()) {
+                    if (def.getColumnById(entry.getKey()) == null) {
+                        def.addColumn(entry.getKey(),
+                                      ColumnType.valueOf(entry.getValue()));
+                    }
+                }
+            }
+        }
+    }
+
     protected List<List> performQuery(RemoteDataSetDef def,
                                       ConsoleDataSetLookup dataSetLookup,
                                       QueryServicesClient queryClient,
-                                      QueryFilterSpec filterSpec) {
+                                      QueryFilterSpec filterSpec,
+                                      int page,
+                                      int pageSize) {
 
         if (dataSetLookup.testMode()) {
-            QueryDefinition queryDefinition = QueryDefinition.builder()
-                    .name(dataSetLookup.getDataSetUUID())
-                    .source(def.getDataSource())
-                    .target(def.getQueryTarget())
-                    .expression(def.getDbSQL())
-                    .build();
-
-            kieServerIntegration.broadcastToKieServers(((RemoteDataSetDef) def).getServerTemplateId(),
-                                                       (KieServicesClient client) -> {
-                                                           QueryServicesClient instanceQueryClient = client.getServicesClient(QueryServicesClient.class);
-                                                           QueryDefinition registered = instanceQueryClient.replaceQuery(queryDefinition);
-                                                           if (registered.getColumns() != null) {
-
-                                                               for (Entry<String, String> entry : registered.getColumns().entrySet()) {
-                                                                   if (def.getColumnById(entry.getKey()) == null) {
-                                                                       def.addColumn(entry.getKey(),
-                                                                                     ColumnType.valueOf(entry.getValue()));
-                                                                   }
-                                                               }
-                                                           }
-                                                           return registered;
-                                                       });
-
             try {
                 return queryClient.query(
                         dataSetLookup.getDataSetUUID(),
                         QueryServicesClient.QUERY_MAP_RAW,
                         filterSpec,
-                        dataSetLookup.getRowOffset() / dataSetLookup.getNumberOfRows(),
-                        dataSetLookup.getNumberOfRows(),
+                        page,
+                        pageSize,
                         List.class
                 );
             } catch (Exception e) {
@@ -258,8 +711,8 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
                     dataSetLookup.getDataSetUUID(),
                     QueryServicesClient.QUERY_MAP_RAW,
                     filterSpec,
-                    dataSetLookup.getRowOffset() / dataSetLookup.getNumberOfRows(),
-                    dataSetLookup.getNumberOfRows(),
+                    page,
+                    pageSize,
                     List.class
             );
         }
@@ -291,22 +744,42 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
             }
         }
 
-        for (List<Object> row : instances) {
-
-            int columnIndex = 0;
-            for (Object value : row) {
-                DataColumn intervalBuilder = dataSet.getColumnByIndex(columnIndex);
-                intervalBuilder.getValues().add(value);
-
-                columnIndex++;
-            }
-        }
+        fillColumns(dataSet.getColumns(),
+                    instances);
         // set size of the results to allow paging to be more then the actual size
 //        dataSet.setRowCountNonTrimmed(instances.size() == 0 ? 0 : instances.size() + 1);
         dataSet.setRowCountNonTrimmed(instances.size());
         return dataSet;
     }
 
+    /**
+     * Transposes the rows into the column value lists, presized to the number of rows so large results are copied
+     * only once. Values are kept as returned by KIE Server.
+     */
+    protected void fillColumns(final List<DataColumn> columns,
+                               final List<List> instances) {
+        final int rowCount = instances.size();
+        final List[] columnValues = new List[columns.size()];
+        for (int columnIndex = 0; columnIndex < columnValues.length; columnIndex++) {
+            columnValues[columnIndex] = new ArrayList<>(rowCount);
+            columns.get(columnIndex).setValues(columnValues[columnIndex]);
+        }
+
+        for (List row : instances) {
+            if (row instanceof RandomAccess) {
+                final int size = row.size();
+                for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+                    columnValues[columnIndex].add(row.get(columnIndex));
+                }
+            } else {
+                int columnIndex = 0;
+                for (Object value : row) {
+                    columnValues[columnIndex++].add(value);
+                }
+            }
+        }
+    }
+
     protected void appendIntervalSelection(DataSetGroup intervalSel,
                                            List<QueryParam> filterParams) {
         if (intervalSel != null && intervalSel.isSelect()) {
@@ -416,4 +889,54 @@ public class KieServerDataSetProvider extends AbstractKieServerService implement
             return columnGroup.getSourceId().equals(groupFunction.getSourceId()) ? ColumnType.LABEL : type;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Consecutive pages requested from KIE Server along with the number of leading rows to drop from their result.
+     */
+    protected static class QueryPage {
+
+        private final int page;
+        private final int pageSize;
+        private final int skip;
+        private final int pages;
+
+        protected QueryPage(final int page,
+                            final int pageSize,
+                            final int skip,
+                            final int pages) {
+            this.page = page;
+            this.pageSize = pageSize;
+            this.skip = skip;
+            this.pages = pages;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public int getSkip() {
+            return skip;
+        }
+
+        protected List<List> trim(final List<List> rows,
+                                  final int numberOfRows) {
+            if (skip == 0 && (numberOfRows < 0 || rows.size() <= numberOfRows)) {
+                return rows;
+            }
+            final int from = Math.min(skip,
+                                      rows.size());
+            final int to = numberOfRows < 0 ? rows.size() : Math.min(from + numberOfRows,
+                                                                     rows.size());
+            return rows.subList(from,
+                                to);
+        }
+    }
+}
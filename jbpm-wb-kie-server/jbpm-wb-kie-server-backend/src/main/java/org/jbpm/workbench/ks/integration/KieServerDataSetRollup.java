@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.def.DataSetDef;
+
+/**
+ * Answers data set lookups from data aggregated ahead of time instead of querying KIE Server. Implementations are
+ * consulted by {@link KieServerDataSetProvider} before a lookup is sent to KIE Server.
+ */
+public interface KieServerDataSetRollup {
+
+    /**
+     * @return data set with the result of the lookup or null when the lookup can not be answered from the rollup, in
+     * which case KIE Server is queried as usual
+     */
+    DataSet lookup(DataSetDef def,
+                   ConsoleDataSetLookup lookup) throws Exception;
+}
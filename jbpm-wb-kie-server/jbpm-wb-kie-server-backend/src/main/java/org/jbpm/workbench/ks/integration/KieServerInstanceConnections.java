@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.kie.server.client.KieServicesClient;
+
+/**
+ * Client of a single KIE Server instance, shared by all the operations sent directly to that instance. The number of
+ * concurrent requests is bounded by a semaphore so a slow instance can't tie up an unbounded number of threads and
+ * sockets. Connections themselves are still opened and kept alive by the JDK <code>HttpURLConnection</code>.
+ */
+public class KieServerInstanceConnections {
+
+    private final String url;
+
+    private final KieServicesClient client;
+
+    private final int maxConnections;
+
+    private final Semaphore permits;
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public KieServerInstanceConnections(final String url,
+                                        final KieServicesClient client,
+                                        final int maxConnections) {
+        this.url = url;
+        this.client = client;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections,
+                                     true);
+    }
+
+    /**
+     * Applies the operation once fewer than the maximum number of requests are running against the instance, waiting at
+     * most <code>timeout</code> milliseconds.
+     */
+    public <T> T execute(final Function<KieServicesClient, T> operation,
+                         final long timeout) throws TimeoutException, InterruptedException {
+        if (!permits.tryAcquire(timeout,
+                                TimeUnit.MILLISECONDS)) {
+            rejected.incrementAndGet();
+            throw new TimeoutException("Too many concurrent requests to KIE Server at " + url + ", none completed within " + timeout + " ms");
+        }
+        requests.incrementAndGet();
+        try {
+            return operation.apply(client);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public KieServicesClient getClient() {
+        return client;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public String toString() {
+        return "KieServerInstanceConnections{" +
+                "url='" + url + '\'' +
+                ", active=" + getActiveConnections() +
+                ", max=" + maxConnections +
+                ", waiting=" + getWaiting() +
+                ", requests=" + requests +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -20,17 +20,29 @@ import static java.util.Collections.emptyMap;
 import static org.jbpm.workbench.ks.utils.KieServerUtils.createKieServicesClient;
 import static org.jbpm.workbench.ks.utils.KieServerUtils.getAdminCredentialsProvider;
 import static org.jbpm.workbench.ks.utils.KieServerUtils.getCredentialsProvider;
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getMarshallingFormat;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -40,6 +52,7 @@ import org.jbpm.workbench.ks.integration.event.ServerInstanceRegistered;
 import org.kie.api.KieServices;
 import org.kie.api.runtime.KieContainer;
 import org.kie.server.api.KieServerConstants;
+import org.kie.server.api.model.ReleaseId;
 import org.kie.server.client.CredentialsProvider;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.balancer.LoadBalancer;
@@ -58,6 +71,7 @@ import org.kie.server.controller.impl.client.KieServicesClientProvider;
 import org.kie.workbench.common.screens.server.management.service.SpecManagementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.commons.services.cdi.Startup;
 
 @Startup
@@ -68,11 +82,30 @@ public class KieServerIntegration {
 
     protected static final String SERVER_TEMPLATE_KEY = "_SERVER_TEMPLATE_MAIN_CLIENT_";
 
+    public static final String BROADCAST_INSTANCE_TIMEOUT = "org.jbpm.workbench.kieserver.broadcast.instance.timeout";
+    public static final String BROADCAST_TIMEOUT = "org.jbpm.workbench.kieserver.broadcast.timeout";
+    public static final String INSTANCE_MAX_CONNECTIONS = "org.jbpm.workbench.kieserver.instance.connections.max";
+    public static final String CONTAINER_CLIENT_IDLE_TIMEOUT = "org.jbpm.workbench.kieserver.container.client.idle.timeout";
+
+    private final long broadcastInstanceTimeout = Long.getLong(BROADCAST_INSTANCE_TIMEOUT,
+                                                               30000);
+    private final long broadcastTimeout = Long.getLong(BROADCAST_TIMEOUT,
+                                                       60000);
+    private final int instanceMaxConnections = Integer.getInteger(INSTANCE_MAX_CONNECTIONS,
+                                                                  10);
+    private final long containerClientIdleTimeout = Long.getLong(CONTAINER_CLIENT_IDLE_TIMEOUT,
+                                                                 1800000);
+    private ScheduledExecutorService evictionExecutor;
+
     private KieServices kieServices;
 
     private ConcurrentMap<String, Map<String, KieServicesClient>> serverTemplatesClients = new ConcurrentHashMap<String, Map<String, KieServicesClient>>();
     private ConcurrentMap<String, KieServicesClient> adminClients = new ConcurrentHashMap<String, KieServicesClient>();
     private ConcurrentMap<String, ServerInstanceKey> serverInstancesById = new ConcurrentHashMap<String, ServerInstanceKey>();
+    private ConcurrentMap<String, KieServerInstanceConnections> instanceConnections = new ConcurrentHashMap<String, KieServerInstanceConnections>();
+    private ConcurrentMap<String, KieServicesClient> instanceAdminClients = new ConcurrentHashMap<String, KieServicesClient>();
+    private ConcurrentMap<String, ConcurrentMap<String, ContainerClient>> containerClients = new ConcurrentHashMap<String, ConcurrentMap<String, ContainerClient>>();
+    private ConcurrentMap<ContainerClient, Long> retiredContainerClients = new ConcurrentHashMap<ContainerClient, Long>();
 
     private List<KieServicesClientProvider> clientProviders = new ArrayList<>();
     private List<KieServicesClientProvider> allClientProviders = new ArrayList<>();
@@ -83,9 +116,12 @@ public class KieServerIntegration {
     @Inject
     private Event<ServerInstanceRegistered> serverInstanceRegisteredEvent;
 
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
     @PostConstruct
     public void createAvailableClients() {
-
         ServiceLoader<KieServicesClientProvider> loader = ServiceLoader.load(KieServicesClientProvider.class);
 
         loader.forEach(provider -> {
@@ -107,29 +143,191 @@ public class KieServerIntegration {
         for (ServerTemplate serverTemplate : serverTemplates.getServerTemplates()) {
             buildClientsForServer(serverTemplate);
         }
+
+        if (containerClientIdleTimeout > 0) {
+            final long period = Math.min(containerClientIdleTimeout,
+                                         60000);
+            evictionExecutor = Executors.newSingleThreadScheduledExecutor(new KieServerThreadFactory("kie-server-client-eviction-"));
+            evictionExecutor.scheduleWithFixedDelay(() -> evictIdleContainerClients(System.currentTimeMillis()),
+                                                    period,
+                                                    period,
+                                                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+        }
     }
 
     protected void setKieServices(final KieServices kieServices) {
         this.kieServices = kieServices;
     }
 
+    protected void setExecutorService(final ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
     public KieServicesClient getServerClient(String serverTemplateId) {
         return serverTemplatesClients.getOrDefault(serverTemplateId,
                                                    emptyMap()).get(SERVER_TEMPLATE_KEY);
     }
 
+    /**
+     * Ids of the server templates clients have been created for.
+     */
+    public Set<String> getServerTemplateIds() {
+        return Collections.unmodifiableSet(serverTemplatesClients.keySet());
+    }
+
     public KieServicesClient getServerClient(String serverTemplateId,
                                              String containerId) {
-        KieServicesClient client = serverTemplatesClients.getOrDefault(serverTemplateId,
-                                                                       emptyMap()).get(containerId);
+        ContainerClient containerClient = getContainerClient(serverTemplateId,
+                                                             containerId);
+
+        if (containerClient == null) {
+            logger.warn("Container {} not found in server template {}, returning global kie server client",
+                        containerId,
+                        serverTemplateId);
+            return getServerClient(serverTemplateId);
+        }
+        containerClient.touch();
+        return containerClient.getClient();
+    }
+
+    /**
+     * Container clients are only created on first use as loading the kjar of a container to get its class loader is
+     * expensive. Concurrent first requests for the same container wait for a single client to be created. Containers
+     * that are unknown or whose kjar can't be loaded are remembered as missing until the server template is updated.
+     */
+    protected ContainerClient getContainerClient(String serverTemplateId,
+                                                 String containerId) {
+        final Map<String, KieServicesClient> clients = serverTemplatesClients.get(serverTemplateId);
+        if (clients == null || containerId == null) {
+            return null;
+        }
+        final ConcurrentMap<String, ContainerClient> templateContainerClients = containerClients.computeIfAbsent(serverTemplateId,
+                                                                                                                 k -> new ConcurrentHashMap<String, ContainerClient>());
+        ContainerClient containerClient = templateContainerClients.get(containerId);
+        if (containerClient == null) {
+            containerClient = templateContainerClients.computeIfAbsent(containerId,
+                                                                       id -> buildContainerClient(serverTemplateId,
+                                                                                                  id));
+            if (!containerClient.isMissing()) {
+                clients.put(containerId,
+                            containerClient.getClient());
+            }
+        }
+        return containerClient.isMissing() ? null : containerClient;
+    }
+
+    protected ContainerClient buildContainerClient(String serverTemplateId,
+                                                   String containerId) {
+        ServerTemplate serverTemplate = specManagementService.getServerTemplate(serverTemplateId);
+        if (serverTemplate == null || serverTemplate.getContainersSpec() == null) {
+            return ContainerClient.missing();
+        }
+        ContainerSpec containerSpec = serverTemplate.getContainersSpec()
+                .stream()
+                .filter(spec -> containerId.equals(spec.getId()))
+                .findFirst()
+                .orElse(null);
+        if (containerSpec == null) {
+            return ContainerClient.missing();
+        }
+        try {
+            KieContainer kieContainer = kieServices.newKieContainer(containerSpec.getReleasedId());
+
+            KieServicesClient kieServicesClientForContainer = createClientForTemplate(serverTemplate,
+                                                                                      kieContainer.getClassLoader(),
+                                                                                      getCredentialsProvider());
+            if (kieServicesClientForContainer == null) {
+                kieContainer.dispose();
+                return ContainerClient.missing();
+            }
+            // server instances already known to be down are not used by the new client either
+            KieServicesClient templateClient = getServerClient(serverTemplateId);
+            if (templateClient != null) {
+                LoadBalancer loadBalancer = ((AbstractKieServicesClientImpl) kieServicesClientForContainer).getLoadBalancer();
+                ((AbstractKieServicesClientImpl) templateClient).getLoadBalancer().getFailedEndpoints().forEach(loadBalancer::markAsFailed);
+            }
+            logger.debug("KieServerClient created for container {} of server template {}",
+                         containerId,
+                         serverTemplateId);
+            return new ContainerClient(containerSpec.getReleasedId(),
+                                       kieServicesClientForContainer,
+                                       kieContainer);
+        } catch (Exception e) {
+            logger.warn("Failed ot create kie server client for container {} due to {}",
+                        containerId,
+                        e.getMessage());
+            return ContainerClient.missing();
+        }
+    }
+
+    /**
+     * Removes the clients of containers that were not used for longer than the configured idle timeout, releasing
+     * the class loaders of their kjars. They are created again on next use.
+     */
+    protected void evictIdleContainerClients(long now) {
+        disposeRetiredContainerClients(now);
+        containerClients.forEach((serverTemplateId, templateContainerClients) ->
+                                         templateContainerClients.forEach((containerId, containerClient) -> {
+                                             if (now - containerClient.getLastAccess() > containerClientIdleTimeout) {
+                                                 logger.debug("Evicting idle KieServerClient of container {} in server template {}",
+                                                              containerId,
+                                                              serverTemplateId);
+                                                 removeContainerClient(serverTemplateId,
+                                                                       containerId,
+                                                                       containerClient);
+                                             }
+                                         }));
+    }
 
-         if (client == null) {
-             logger.warn("Container {} not found in server template {}, returning global kie server client",
-                          containerId,
-                          serverTemplateId);
-             client = getServerClient(serverTemplateId);
-         }
-         return client;
+    protected void removeContainerClient(String serverTemplateId,
+                                         String containerId,
+                                         ContainerClient containerClient) {
+        ConcurrentMap<String, ContainerClient> templateContainerClients = containerClients.get(serverTemplateId);
+        if (templateContainerClients == null || !templateContainerClients.remove(containerId,
+                                                                                 containerClient)) {
+            return;
+        }
+        Map<String, KieServicesClient> clients = serverTemplatesClients.get(serverTemplateId);
+        if (clients != null) {
+            clients.remove(containerId,
+                           containerClient.getClient());
+        }
+        retireContainerClient(containerClient);
+    }
+
+    protected void removeContainerClients(String serverTemplateId) {
+        ConcurrentMap<String, ContainerClient> templateContainerClients = containerClients.remove(serverTemplateId);
+        if (templateContainerClients != null) {
+            templateContainerClients.values().forEach(this::retireContainerClient);
+        }
+    }
+
+    /**
+     * Requests that got the client of a container before it was removed may still be unmarshalling with the class
+     * loader of its kjar, so the kjar is only disposed once the client has been detached for the idle timeout.
+     * Without eviction the kjar is left to the garbage collector.
+     */
+    protected void retireContainerClient(ContainerClient containerClient) {
+        if (!containerClient.isMissing() && containerClientIdleTimeout > 0) {
+            retiredContainerClients.put(containerClient,
+                                        System.currentTimeMillis());
+        }
+    }
+
+    protected void disposeRetiredContainerClients(long now) {
+        retiredContainerClients.forEach((containerClient, retiredAt) -> {
+            if (now - retiredAt > containerClientIdleTimeout && retiredContainerClients.remove(containerClient,
+                                                                                               retiredAt)) {
+                containerClient.dispose();
+            }
+        });
     }
 
     public KieServicesClient getAdminServerClient(String serverTemplateId,
@@ -141,12 +339,13 @@ public class KieServerIntegration {
                     .findFirst()
                     .get();
             String url = instance.getUrl();
-            KieServicesClient client = clientProviders
-                    .stream()
-                    .filter(provider -> provider.supports(url))
-                    .findFirst()
-                    .get()
-                    .get(url);
+            KieServicesClient client = instanceAdminClients.computeIfAbsent(url,
+                                                                            u -> clientProviders
+                                                                                    .stream()
+                                                                                    .filter(provider -> provider.supports(u))
+                                                                                    .findFirst()
+                                                                                    .get()
+                                                                                    .get(u));
             logger.debug("Using client {}",
                          client);
             return client;
@@ -174,6 +373,7 @@ public class KieServerIntegration {
         while (iterator.hasNext()) {
             Map.Entry<String, ServerInstanceKey> entry = iterator.next();
             if (entry.getValue().getServerTemplateId().equals(serverTemplateId)) {
+                removeInstanceClients(entry.getValue().getUrl());
                 iterator.remove();
             }
         }
@@ -191,6 +391,8 @@ public class KieServerIntegration {
                          serverTemplateDeleted.getServerTemplateId());
         }
 
+        removeContainerClients(serverTemplateDeleted.getServerTemplateId());
+
         // remove admin client
         adminClients.remove(serverTemplateDeleted.getServerTemplateId());
 
@@ -218,6 +420,7 @@ public class KieServerIntegration {
                                                     });
 
             serverInstancesById.remove(serverInstanceKey.getServerInstanceId());
+            removeInstanceClients(serverInstanceKey.getUrl());
 
             // update admin client
             KieServicesClient adminClient = adminClients.get(serverInstanceKey.getServerTemplateId());
@@ -259,9 +462,26 @@ public class KieServerIntegration {
         serverInstanceRegisteredEvent.fire(new ServerInstanceRegistered(serverInstanceConnected.getServerInstance()));
     }
 
-    public List<Object> broadcastToKieServers(String serverTemplateId,
-                                              Function<KieServicesClient, Object> operation) {
-        List<Object> results = new ArrayList<>();
+    public List<KieServerBroadcastResult> broadcastToKieServers(String serverTemplateId,
+                                                                Function<KieServicesClient, Object> operation) {
+        return broadcastToKieServers(serverTemplateId,
+                                     operation,
+                                     broadcastInstanceTimeout,
+                                     broadcastTimeout);
+    }
+
+    /**
+     * Applies given operation on every server instance of the server template in parallel on the managed executor.
+     * Each instance gets at most <code>instanceTimeout</code> milliseconds and the whole broadcast at most
+     * <code>timeout</code> milliseconds, both measured from the moment the broadcast starts. Instances that did not
+     * respond in time are reported as timed out and their operation is cancelled.
+     * @return one result per server instance, in the order of server instances of the template
+     */
+    public List<KieServerBroadcastResult> broadcastToKieServers(String serverTemplateId,
+                                                                Function<KieServicesClient, Object> operation,
+                                                                long instanceTimeout,
+                                                                long timeout) {
+        List<KieServerBroadcastResult> results = new ArrayList<>();
 
         ServerTemplate serverTemplate = specManagementService.getServerTemplate(serverTemplateId);
 
@@ -270,28 +490,116 @@ public class KieServerIntegration {
             return results;
         }
 
-        for (ServerInstanceKey instanceUrl : serverTemplate.getServerInstanceKeys()) {
+        final long start = System.nanoTime();
+        final long overallDeadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        final long instanceDeadline = Math.min(start + TimeUnit.MILLISECONDS.toNanos(instanceTimeout),
+                                               overallDeadline);
+
+        final List<ServerInstanceKey> instances = new ArrayList<>(serverTemplate.getServerInstanceKeys());
+        final List<Future<KieServerBroadcastResult>> futures = new ArrayList<>(instances.size());
+        for (ServerInstanceKey instance : instances) {
+            futures.add(executorService.submit(() -> applyOnInstance(instance,
+                                                                       operation,
+                                                                       instanceTimeout)));
+        }
 
+        for (int i = 0; i < instances.size(); i++) {
+            final ServerInstanceKey instance = instances.get(i);
+            final Future<KieServerBroadcastResult> future = futures.get(i);
             try {
-                KieServicesClient client = getClient(instanceUrl.getUrl());
-
-                Object result = operation.apply(client);
-                results.add(result);
-                logger.debug("KIE Server at {} returned result {} for broadcast operation {}", instanceUrl, result, operation);
-            } catch (Exception e) {
-                logger.debug("Unable to send breadcast to {} due to {}", instanceUrl, e.getMessage(), e);
+                results.add(future.get(Math.max(0,
+                                                instanceDeadline - System.nanoTime()),
+                                       TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                logger.debug("KIE Server at {} did not respond within {} ms to broadcast operation {}",
+                             instance.getUrl(),
+                             latency,
+                             operation);
+                results.add(KieServerBroadcastResult.timeout(instance.getServerInstanceId(),
+                                                             instance.getUrl(),
+                                                             latency));
+            } catch (ExecutionException e) {
+                results.add(KieServerBroadcastResult.failure(instance.getServerInstanceId(),
+                                                             instance.getUrl(),
+                                                             e.getCause(),
+                                                             TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                results.add(KieServerBroadcastResult.failure(instance.getServerInstanceId(),
+                                                             instance.getUrl(),
+                                                             e,
+                                                             TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                break;
             }
         }
 
         return results;
     }
 
+    protected KieServerBroadcastResult applyOnInstance(ServerInstanceKey instance,
+                                                       Function<KieServicesClient, Object> operation,
+                                                       long timeout) {
+        final long start = System.nanoTime();
+        try {
+            Object result = getInstanceConnections(instance.getUrl()).execute(operation,
+                                                                              timeout);
+            logger.debug("KIE Server at {} returned result {} for broadcast operation {}", instance.getUrl(), result, operation);
+            return KieServerBroadcastResult.success(instance.getServerInstanceId(),
+                                                    instance.getUrl(),
+                                                    result,
+                                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            logger.debug("Unable to send broadcast to {} due to {}", instance.getUrl(), e.getMessage(), e);
+            return KieServerBroadcastResult.failure(instance.getServerInstanceId(),
+                                                    instance.getUrl(),
+                                                    e,
+                                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
     protected KieServicesClient getClient(String url) {
-        KieServicesClient client = allClientProviders.stream().filter(provider -> provider.supports(url)).findFirst().get().get(url);
+        KieServicesClient client = getInstanceConnections(url).getClient();
         logger.debug("Using client {}", client);
         return client;
     }
 
+    /**
+     * Clients of single server instances are created once per url and shared by all the operations sent to that
+     * instance, as creating a client is expensive and each one holds its own connections.
+     */
+    protected KieServerInstanceConnections getInstanceConnections(String url) {
+        return instanceConnections.computeIfAbsent(url,
+                                                   u -> {
+                                                       KieServicesClient client = allClientProviders.stream().filter(provider -> provider.supports(u)).findFirst().get().get(u);
+                                                       logger.debug("Created client {} for server instance {}",
+                                                                    client,
+                                                                    u);
+                                                       return new KieServerInstanceConnections(u,
+                                                                                               client,
+                                                                                               instanceMaxConnections);
+                                                   });
+    }
+
+    protected void removeInstanceClients(String url) {
+        KieServerInstanceConnections connections = instanceConnections.remove(url);
+        if (connections != null) {
+            logger.debug("Removed client of server instance {}, {}",
+                         url,
+                         connections);
+        }
+        instanceAdminClients.remove(url);
+    }
+
+    /**
+     * @return usage of the connections to single server instances, by url
+     */
+    public Map<String, KieServerInstanceConnections> getInstanceConnections() {
+        return Collections.unmodifiableMap(instanceConnections);
+    }
+
     protected void updateOrBuildClient(KieServicesClient client,
                                        ServerInstance serverInstance) {
         if (client != null) {
@@ -322,31 +630,23 @@ public class KieServerIntegration {
                                                                    kieServicesClient);
         }
 
-        if (serverTemplate.getContainersSpec() != null) {
-            for (ContainerSpec containerSpec : serverTemplate.getContainersSpec()) {
-                try {
-                    if (serverTemplatesClients.get(serverTemplate.getId()).containsKey(containerSpec.getId())) {
-                        logger.debug("KieServerClient for {} is already created",
-                                     containerSpec.getId());
-                        continue;
-                    }
-
-                    KieContainer kieContainer = kieServices.newKieContainer(containerSpec.getReleasedId());
-
-                    KieServicesClient kieServicesClientForContainer = createClientForTemplate(serverTemplate,
-                                                                                              kieContainer.getClassLoader(),
-                                                                                              getCredentialsProvider());
-                    if (kieServicesClient != null) {
-                        serverTemplatesClients.get(serverTemplate.getId()).put(containerSpec.getId(),
-                                                                               kieServicesClientForContainer);
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed ot create kie server client for container {} due to {}",
-                                containerSpec.getId(),
-                                e.getMessage());
-                }
+        // container clients are created on first use, only the ones of removed or updated containers are dropped
+        ConcurrentMap<String, ContainerClient> templateContainerClients = containerClients.get(serverTemplate.getId());
+        if (templateContainerClients != null) {
+            Map<String, ReleaseId> releaseIds = new HashMap<>();
+            if (serverTemplate.getContainersSpec() != null) {
+                serverTemplate.getContainersSpec().forEach(containerSpec -> releaseIds.put(containerSpec.getId(),
+                                                                                           containerSpec.getReleasedId()));
             }
+            templateContainerClients.forEach((containerId, containerClient) -> {
+                if (containerClient.isMissing() || !containerClient.getReleaseId().equals(releaseIds.get(containerId))) {
+                    removeContainerClient(serverTemplate.getId(),
+                                          containerId,
+                                          containerClient);
+                }
+            });
         }
+
         // lastly create admin client
         KieServicesClient adminKieServicesClient = createClientForTemplate(serverTemplate,
                                                                            null,
@@ -389,6 +689,7 @@ public class KieServerIntegration {
             final KieServicesClient kieServicesClient = createKieServicesClient(endpoints.toString(),
                                                                                 classLoader,
                                                                                 credentialsProvider,
+                                                                                getMarshallingFormat(serverTemplate.getId()),
                                                                                 mappedCapabilities.toArray(new String[mappedCapabilities.size()]));
 
             logger.debug("KieServerClient created successfully for server template {}",
@@ -418,4 +719,59 @@ public class KieServerIntegration {
         this.allClientProviders = providers;
     }
 
+    /**
+     * Client of a single container along with the kjar that provides its class loader, or a placeholder for a
+     * container no client could be created for.
+     */
+    protected static class ContainerClient {
+
+        private final ReleaseId releaseId;
+
+        private final KieServicesClient client;
+
+        private final KieContainer kieContainer;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        protected ContainerClient(final ReleaseId releaseId,
+                                  final KieServicesClient client,
+                                  final KieContainer kieContainer) {
+            this.releaseId = releaseId;
+            this.client = client;
+            this.kieContainer = kieContainer;
+        }
+
+        protected static ContainerClient missing() {
+            return new ContainerClient(null,
+                                       null,
+                                       null);
+        }
+
+        public boolean isMissing() {
+            return client == null;
+        }
+
+        public ReleaseId getReleaseId() {
+            return releaseId;
+        }
+
+        public KieServicesClient getClient() {
+            return client;
+        }
+
+        public long getLastAccess() {
+            return lastAccess;
+        }
+
+        protected void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        protected void dispose() {
+            if (kieContainer != null) {
+                kieContainer.dispose();
+            }
+        }
+    }
+
 }
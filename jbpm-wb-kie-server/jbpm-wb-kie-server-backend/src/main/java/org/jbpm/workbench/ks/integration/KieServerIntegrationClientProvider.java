@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Set;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.jbpm.workbench.ks.utils.KieServerClientProvider;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+/**
+ * Hands out the clients kept by {@link KieServerIntegration}, so requests are balanced across the server instances
+ * of the template and unmarshalled with the class loader of the container they target. Requests without a server
+ * template go to the one configured by the <code>org.jbpm.workbench.kieserver.template.default</code> system
+ * property, or to the only server template there is when the property is not set.
+ */
+@ApplicationScoped
+public class KieServerIntegrationClientProvider extends AbstractKieServerService implements KieServerClientProvider {
+
+    public static final String DEFAULT_SERVER_TEMPLATE = "org.jbpm.workbench.kieserver.template.default";
+
+    @Override
+    public <T> T getClient(final String serverTemplateId,
+                           final String containerId,
+                           final Class<T> clientType) {
+        final String templateId = getServerTemplateId(serverTemplateId);
+        if (isNullOrEmpty(containerId)) {
+            return getClient(templateId,
+                             clientType);
+        }
+        return super.getClient(templateId,
+                               containerId,
+                               clientType);
+    }
+
+    protected String getServerTemplateId(final String serverTemplateId) {
+        if (!isNullOrEmpty(serverTemplateId)) {
+            return serverTemplateId;
+        }
+        final String defaultServerTemplateId = System.getProperty(DEFAULT_SERVER_TEMPLATE);
+        if (!isNullOrEmpty(defaultServerTemplateId)) {
+            return defaultServerTemplateId;
+        }
+        final Set<String> serverTemplateIds = kieServerIntegration.getServerTemplateIds();
+        if (serverTemplateIds.size() != 1) {
+            throw new RuntimeException("No server template given and " + serverTemplateIds.size() + " server templates available, configure the default one with " + DEFAULT_SERVER_TEMPLATE);
+        }
+        return serverTemplateIds.iterator().next();
+    }
+}
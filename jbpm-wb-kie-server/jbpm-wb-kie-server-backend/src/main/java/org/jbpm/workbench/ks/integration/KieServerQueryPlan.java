@@ -0,0 +1,271 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.CoreFunctionFilter;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.filter.LogicalExprFilter;
+import org.dashbuilder.dataset.group.ColumnGroup;
+import org.dashbuilder.dataset.group.DataSetGroup;
+import org.dashbuilder.dataset.group.GroupFunction;
+import org.dashbuilder.dataset.impl.DataColumnImpl;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+
+/**
+ * Translation of the structure of a data set lookup into a KIE Server query: ORDER BY clause, grouping and returned
+ * columns, with the column ids checked against the data set definition when compiled. Plans are shared by all the
+ * lookups with the same shape, only the filter values are bound on each lookup.
+ */
+public class KieServerQueryPlan {
+
+    private final List<QueryParam> groupParams;
+
+    private final List<String> extraColumnIds;
+
+    private final List<ColumnType> extraColumnTypes;
+
+    private final String orderBy;
+
+    private final boolean ascending;
+
+    private final String firstSortColumnId;
+
+    protected KieServerQueryPlan(final List<QueryParam> groupParams,
+                                 final List<DataColumn> extraColumns,
+                                 final DataSetSort sort) {
+        this.groupParams = Collections.unmodifiableList(new ArrayList<>(groupParams));
+        this.extraColumnIds = new ArrayList<>(extraColumns.size());
+        this.extraColumnTypes = new ArrayList<>(extraColumns.size());
+        for (DataColumn column : extraColumns) {
+            extraColumnIds.add(column.getId());
+            extraColumnTypes.add(column.getColumnType());
+        }
+        final List<ColumnSort> columnSorts = sort == null ? Collections.emptyList() : sort.getColumnSortList();
+        this.orderBy = getOrderBy(columnSorts);
+        this.ascending = columnSorts.isEmpty() || columnSorts.get(0).getOrder() != SortOrder.DESCENDING;
+        this.firstSortColumnId = columnSorts.isEmpty() ? null : columnSorts.get(0).getColumnId();
+    }
+
+    /**
+     * Columns sharing the same direction are listed as is, the direction being given by the ascending flag of the
+     * filter spec. Otherwise each column carries its own direction, so rows are not silently sorted by the direction
+     * of a single column.
+     */
+    protected static String getOrderBy(final List<ColumnSort> columnSorts) {
+        if (columnSorts.isEmpty()) {
+            return null;
+        }
+        final SortOrder firstOrder = direction(columnSorts.get(0));
+        final boolean mixed = columnSorts.stream().anyMatch(columnSort -> direction(columnSort) != firstOrder);
+        final StringBuilder orderBy = new StringBuilder();
+        for (ColumnSort columnSort : columnSorts) {
+            if (orderBy.length() > 0) {
+                orderBy.append(",");
+            }
+            orderBy.append(columnSort.getColumnId());
+            if (mixed) {
+                orderBy.append(direction(columnSort) == SortOrder.DESCENDING ? " DESC" : " ASC");
+            }
+        }
+        return orderBy.toString();
+    }
+
+    private static SortOrder direction(final ColumnSort columnSort) {
+        return columnSort.getOrder() == SortOrder.DESCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+    }
+
+    /**
+     * Lookups with the same shape only differ by their filter values, interval selections and paging.
+     */
+    public static String getShape(final ConsoleDataSetLookup lookup) {
+        final StringBuilder shape = new StringBuilder();
+        for (DataSetFilter filter : lookup.getOperationList(DataSetFilter.class)) {
+            if (filter != null) {
+                for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                    appendFilterShape(shape,
+                                      columnFilter);
+                }
+            }
+        }
+        for (DataSetGroup selection : lookup.getFirstGroupOpSelections()) {
+            if (selection.getColumnGroup() != null) {
+                shape.append("s(").append(selection.getColumnGroup().getSourceId()).append(')');
+            }
+        }
+        final DataSetGroup group = lookup.getLastGroupOp();
+        if (group != null) {
+            shape.append("g(");
+            final ColumnGroup columnGroup = group.getColumnGroup();
+            if (columnGroup != null) {
+                shape.append(columnGroup.getSourceId()).append(',')
+                        .append(columnGroup.getColumnId()).append(',')
+                        .append(columnGroup.getIntervalSize()).append(',')
+                        .append(columnGroup.getMaxIntervals());
+            }
+            for (GroupFunction function : group.getGroupFunctions()) {
+                shape.append(';').append(function.getSourceId())
+                        .append(',').append(function.getColumnId())
+                        .append(',').append(function.getFunction());
+            }
+            shape.append(')');
+        }
+        final DataSetSort sort = lookup.getFirstSortOp();
+        if (sort != null) {
+            for (ColumnSort columnSort : sort.getColumnSortList()) {
+                shape.append("o(").append(columnSort.getColumnId()).append(',').append(columnSort.getOrder()).append(')');
+            }
+        }
+        return shape.toString();
+    }
+
+    private static void appendFilterShape(final StringBuilder shape,
+                                          final ColumnFilter columnFilter) {
+        if (columnFilter instanceof CoreFunctionFilter) {
+            final CoreFunctionFilter coreFilter = (CoreFunctionFilter) columnFilter;
+            shape.append("f(").append(coreFilter.getColumnId()).append(',').append(coreFilter.getType()).append(')');
+        } else if (columnFilter instanceof LogicalExprFilter) {
+            final LogicalExprFilter logicalFilter = (LogicalExprFilter) columnFilter;
+            shape.append("l(").append(logicalFilter.getLogicalOperator());
+            for (ColumnFilter term : logicalFilter.getLogicalTerms()) {
+                appendFilterShape(shape,
+                                  term);
+            }
+            shape.append(')');
+        }
+    }
+
+    /**
+     * Checks that all the columns used to filter, group or sort exist in the data set, when its columns are known.
+     * @throws IllegalArgumentException when a column is not found
+     */
+    public static void validateColumns(final DataSetDef def,
+                                       final ConsoleDataSetLookup lookup) {
+        if (def.getColumns() == null || def.getColumns().isEmpty()) {
+            return;
+        }
+        for (DataSetFilter filter : lookup.getOperationList(DataSetFilter.class)) {
+            if (filter != null) {
+                for (ColumnFilter columnFilter : filter.getColumnFilterList()) {
+                    validateFilterColumns(def,
+                                          columnFilter);
+                }
+            }
+        }
+        for (DataSetGroup selection : lookup.getFirstGroupOpSelections()) {
+            if (selection.getColumnGroup() != null) {
+                validateColumn(def,
+                               selection.getColumnGroup().getSourceId());
+            }
+        }
+        final DataSetGroup group = lookup.getLastGroupOp();
+        if (group != null) {
+            if (group.getColumnGroup() != null) {
+                validateColumn(def,
+                               group.getColumnGroup().getSourceId());
+            }
+            for (GroupFunction function : group.getGroupFunctions()) {
+                validateColumn(def,
+                               function.getSourceId());
+            }
+        }
+        final DataSetSort sort = lookup.getFirstSortOp();
+        if (sort != null) {
+            for (ColumnSort columnSort : sort.getColumnSortList()) {
+                validateColumn(def,
+                               columnSort.getColumnId());
+            }
+        }
+    }
+
+    private static void validateFilterColumns(final DataSetDef def,
+                                              final ColumnFilter columnFilter) {
+        if (columnFilter instanceof CoreFunctionFilter) {
+            validateColumn(def,
+                           columnFilter.getColumnId());
+        } else if (columnFilter instanceof LogicalExprFilter) {
+            for (ColumnFilter term : ((LogicalExprFilter) columnFilter).getLogicalTerms()) {
+                validateFilterColumns(def,
+                                      term);
+            }
+        }
+    }
+
+    private static void validateColumn(final DataSetDef def,
+                                       final String columnId) {
+        if (columnId != null && def.getColumnById(columnId) == null) {
+            throw new IllegalArgumentException("Column " + columnId + " not found in data set " + def.getUUID());
+        }
+    }
+
+    /**
+     * @param filterParams values of the filters of the lookup, followed by the grouping parameters of the plan
+     */
+    public QueryFilterSpec newFilterSpec(final List<QueryParam> filterParams) {
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        if (orderBy != null) {
+            filterSpec.setOrderBy(orderBy);
+            filterSpec.setAscending(ascending);
+        }
+        final List<QueryParam> params = new ArrayList<>(filterParams.size() + groupParams.size());
+        params.addAll(filterParams);
+        params.addAll(groupParams);
+        if (!params.isEmpty()) {
+            filterSpec.setParameters(params.toArray(new QueryParam[params.size()]));
+        }
+        return filterSpec;
+    }
+
+    /**
+     * @return new empty columns for the results of a grouped lookup, or an empty list when not grouped
+     */
+    public List<DataColumn> newExtraColumns() {
+        final List<DataColumn> columns = new ArrayList<>(extraColumnIds.size());
+        for (int i = 0; i < extraColumnIds.size(); i++) {
+            columns.add(new DataColumnImpl(extraColumnIds.get(i),
+                                           extraColumnTypes.get(i)));
+        }
+        return columns;
+    }
+
+    public boolean isGrouped() {
+        return !groupParams.isEmpty() || !extraColumnIds.isEmpty();
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public String getFirstSortColumnId() {
+        return firstSortColumnId;
+    }
+}
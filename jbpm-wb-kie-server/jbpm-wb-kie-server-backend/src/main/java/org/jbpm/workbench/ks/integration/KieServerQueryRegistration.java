@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of the query definitions registration on a single KIE Server instance.
+ */
+public class KieServerQueryRegistration {
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED,
+        TIMEOUT
+    }
+
+    private final String serverTemplateId;
+
+    private final String serverInstanceId;
+
+    private final int total;
+
+    private final long startTime = System.currentTimeMillis();
+
+    private final AtomicInteger registered = new AtomicInteger();
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private volatile Status status = Status.IN_PROGRESS;
+
+    private volatile long endTime;
+
+    private volatile String lastError;
+
+    public KieServerQueryRegistration(final String serverTemplateId,
+                                      final String serverInstanceId,
+                                      final int total) {
+        this.serverTemplateId = serverTemplateId;
+        this.serverInstanceId = serverInstanceId;
+        this.total = total;
+    }
+
+    public String getServerTemplateId() {
+        return serverTemplateId;
+    }
+
+    public String getServerInstanceId() {
+        return serverInstanceId;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return number of query definitions registered on the instance so far
+     */
+    public int getRegistered() {
+        return registered.get();
+    }
+
+    /**
+     * @return number of query definitions not sent as the instance already had them
+     */
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    public int getAttempts() {
+        return attempts.get();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isDone() {
+        return status != Status.IN_PROGRESS;
+    }
+
+    /**
+     * @return time in milliseconds spent on the registration so far, or in total once it is done
+     */
+    public long getElapsed() {
+        return (isDone() ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    protected int attempt() {
+        return attempts.incrementAndGet();
+    }
+
+    protected void registered() {
+        registered.incrementAndGet();
+    }
+
+    protected void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    protected void error(final String error) {
+        this.lastError = error;
+    }
+
+    protected void done(final Status status) {
+        this.endTime = System.currentTimeMillis();
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "KieServerQueryRegistration{" +
+                "serverInstanceId='" + serverInstanceId + '\'' +
+                ", status=" + status +
+                ", registered=" + registered + "/" + total +
+                ", skipped=" + skipped +
+                ", attempts=" + attempts +
+                ", elapsed=" + getElapsed() +
+                (lastError == null ? "" : ", lastError=" + lastError) +
+                '}';
+    }
+}
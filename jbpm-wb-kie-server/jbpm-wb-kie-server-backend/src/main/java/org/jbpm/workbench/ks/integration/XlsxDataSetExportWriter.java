@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Excel workbook written with the POI streaming API: only a window of rows is kept in memory, older rows are flushed
+ * to a temporary file until the workbook is written to the output on close. Rows beyond the Excel limit continue in
+ * a new sheet.
+ */
+public class XlsxDataSetExportWriter implements DataSetExportWriter {
+
+    protected static final int ROW_ACCESS_WINDOW = 100;
+
+    protected static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream out;
+
+    private final SXSSFWorkbook workbook;
+
+    private final CellStyle dateStyle;
+
+    private List<String> columnIds;
+
+    private Sheet sheet;
+
+    private int rowIndex;
+
+    public XlsxDataSetExportWriter(final OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+    }
+
+    @Override
+    public void writeHeader(final List<String> columnIds) throws IOException {
+        this.columnIds = columnIds;
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(final List<?> values) throws IOException {
+        if (sheet == null || rowIndex == MAX_ROWS) {
+            newSheet();
+        }
+        final Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.size(); i++) {
+            final Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            final Cell cell = row.createCell(i);
+            if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else if (value instanceof Date) {
+                cell.setCellValue((Date) value);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof Boolean) {
+                cell.setCellValue((Boolean) value);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    protected void newSheet() {
+        sheet = workbook.createSheet();
+        rowIndex = 0;
+        if (columnIds != null) {
+            final Row header = sheet.createRow(rowIndex++);
+            for (int i = 0; i < columnIds.size(); i++) {
+                header.createCell(i).setCellValue(columnIds.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        // rows are flushed to the temporary file by the workbook as the window moves
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataSetMultiLookupServiceImplTest {
+
+    @Mock
+    DataSetManager dataSetManager;
+
+    @InjectMocks
+    DataSetMultiLookupServiceImpl service;
+
+    @Test
+    public void testLookupDataSetsInOrder() {
+        final DataSetLookup first = newLookup("first");
+        final DataSetLookup second = newLookup("second");
+        final DataSet firstDataSet = mock(DataSet.class);
+        final DataSet secondDataSet = mock(DataSet.class);
+        when(dataSetManager.lookupDataSet(first)).thenReturn(firstDataSet);
+        when(dataSetManager.lookupDataSet(second)).thenReturn(secondDataSet);
+
+        final List<DataSet> dataSets = service.lookupDataSets(Arrays.asList(first,
+                                                                            second));
+
+        assertEquals(Arrays.asList(firstDataSet,
+                                   secondDataSet),
+                     dataSets);
+    }
+
+    @Test
+    public void testFailedLookupReturnsNull() {
+        final DataSetLookup failing = newLookup("failing");
+        final DataSetLookup working = newLookup("working");
+        final DataSet dataSet = mock(DataSet.class);
+        when(dataSetManager.lookupDataSet(failing)).thenThrow(new RuntimeException("KIE Server not available"));
+        when(dataSetManager.lookupDataSet(working)).thenReturn(dataSet);
+
+        final List<DataSet> dataSets = service.lookupDataSets(Arrays.asList(failing,
+                                                                            working));
+
+        assertEquals(2,
+                     dataSets.size());
+        assertNull(dataSets.get(0));
+        assertSame(dataSet,
+                   dataSets.get(1));
+    }
+
+    private DataSetLookup newLookup(final String dataSetUUID) {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID(dataSetUUID);
+        return lookup;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefRemovedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieServerDataSetCacheTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private static final String DATA_SET_UUID = "jbpmHumanTasksWithUser";
+
+    private static final String QUERY_TARGET = "FILTERED_PO_TASK";
+
+    @Mock
+    IdentityProvider identityProvider;
+
+    @Mock
+    Supplier<List<List>> query;
+
+    KieServerDataSetCache cache;
+
+    @Before
+    public void setup() {
+        cache = new KieServerDataSetCache(identityProvider);
+        when(identityProvider.getName()).thenReturn("admin");
+        when(query.get()).thenReturn(Collections.singletonList(Arrays.asList(1,
+                                                                             "task")));
+    }
+
+    @Test
+    public void testIdenticalLookupsAreCached() {
+        final List<List> first = lookup(newFilterSpec("admin"),
+                                        0);
+        final List<List> second = lookup(newFilterSpec("admin"),
+                                         0);
+
+        verify(query,
+               times(1)).get();
+        assertEquals(first,
+                     second);
+        assertEquals(1,
+                     cache.getHits());
+        assertEquals(1,
+                     cache.getMisses());
+    }
+
+    @Test
+    public void testDifferentLookupsAreNotShared() {
+        lookup(newFilterSpec("admin"),
+               0);
+        lookup(newFilterSpec("admin"),
+               1);
+        lookup(newFilterSpec("john"),
+               0);
+        when(identityProvider.getName()).thenReturn("john");
+        lookup(newFilterSpec("admin"),
+               0);
+
+        verify(query,
+               times(4)).get();
+        assertEquals(0,
+                     cache.getHits());
+        assertEquals(4,
+                     cache.getSize());
+    }
+
+    @Test
+    public void testLookupsOfCustomTargetsAreSharedByUsers() {
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     "jbpmProcessInstances",
+                     "CUSTOM",
+                     newFilterSpec("admin"),
+                     0,
+                     10,
+                     query);
+        when(identityProvider.getName()).thenReturn("john");
+        cache.lookup(SERVER_TEMPLATE_ID,
+                     "jbpmProcessInstances",
+                     "CUSTOM",
+                     newFilterSpec("admin"),
+                     0,
+                     10,
+                     query);
+
+        verify(query,
+               times(1)).get();
+        assertEquals(1,
+                     cache.getHits());
+    }
+
+    @Test
+    public void testInvalidation() {
+        lookup(newFilterSpec("admin"),
+               0);
+        cache.invalidateServerTemplate(SERVER_TEMPLATE_ID);
+        lookup(newFilterSpec("admin"),
+               0);
+
+        final DataSetDef def = new DataSetDef();
+        def.setUUID(DATA_SET_UUID);
+        cache.onDataSetDefRemovedEvent(new DataSetDefRemovedEvent(def));
+        lookup(newFilterSpec("admin"),
+               0);
+
+        verify(query,
+               times(3)).get();
+        assertEquals(0,
+                     cache.getHits());
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() throws Exception {
+        final CountDownLatch queryStarted = new CountDownLatch(1);
+        final CountDownLatch releaseQuery = new CountDownLatch(1);
+        final List<List> rows = Collections.singletonList(Arrays.asList(1,
+                                                                        "task"));
+        when(query.get()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await();
+            return rows;
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<List<List>> first = executor.submit(() -> lookup(newFilterSpec("admin"),
+                                                                          0));
+            assertTrue(queryStarted.await(5,
+                                          TimeUnit.SECONDS));
+            final Future<List<List>> second = executor.submit(() -> lookup(newFilterSpec("admin"),
+                                                                           0));
+            // wait until the second lookup joined the query in progress
+            while (cache.getCoalesced() == 0) {
+                Thread.sleep(10);
+            }
+            releaseQuery.countDown();
+
+            assertEquals(rows,
+                         first.get(5,
+                                   TimeUnit.SECONDS));
+            assertEquals(rows,
+                         second.get(5,
+                                    TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(query,
+               times(1)).get();
+        assertEquals(1,
+                     cache.getCoalesced());
+    }
+
+    @Test
+    public void testFailedQueryIsNotCached() {
+        when(query.get()).thenThrow(new RuntimeException("unavailable")).thenReturn(Collections.emptyList());
+
+        try {
+            lookup(newFilterSpec("admin"),
+                   0);
+            fail("Query failure should be propagated");
+        } catch (RuntimeException e) {
+            assertEquals("unavailable",
+                         e.getMessage());
+        }
+        assertTrue(lookup(newFilterSpec("admin"),
+                          0).isEmpty());
+        verify(query,
+               times(2)).get();
+    }
+
+    @Test
+    public void testPeekReturnsExpiredRows() throws Exception {
+        assertNull(cache.peek(SERVER_TEMPLATE_ID,
+                              DATA_SET_UUID,
+                              QUERY_TARGET,
+                              newFilterSpec("admin"),
+                              0,
+                              10));
+
+        final List<List> rows = cache.lookup(SERVER_TEMPLATE_ID,
+                                             DATA_SET_UUID,
+                                             QUERY_TARGET,
+                                             newFilterSpec("admin"),
+                                             0,
+                                             10,
+                                             1,
+                                             query);
+        Thread.sleep(10);
+
+        assertEquals(rows,
+                     cache.peek(SERVER_TEMPLATE_ID,
+                                DATA_SET_UUID,
+                                QUERY_TARGET,
+                                newFilterSpec("admin"),
+                                0,
+                                10));
+        lookup(newFilterSpec("admin"),
+               0);
+        verify(query,
+               times(2)).get();
+
+        cache.invalidateAll();
+        assertNull(cache.peek(SERVER_TEMPLATE_ID,
+                              DATA_SET_UUID,
+                              QUERY_TARGET,
+                              newFilterSpec("admin"),
+                              0,
+                              10));
+    }
+
+    private List<List> lookup(final QueryFilterSpec filterSpec,
+                              final int page) {
+        return cache.lookup(SERVER_TEMPLATE_ID,
+                            DATA_SET_UUID,
+                            QUERY_TARGET,
+                            filterSpec,
+                            page,
+                            10,
+                            query);
+    }
+
+    private QueryFilterSpec newFilterSpec(final String actualOwner) {
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setOrderBy("taskId");
+        filterSpec.setAscending(true);
+        filterSpec.setParameters(new QueryParam[]{
+                new QueryParam("actualOwner",
+                               "EQUALS_TO",
+                               Collections.singletonList(actualOwner))
+        });
+        return filterSpec;
+    }
+}
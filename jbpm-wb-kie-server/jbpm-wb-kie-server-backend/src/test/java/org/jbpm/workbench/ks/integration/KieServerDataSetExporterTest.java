@@ -0,0 +1,271 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.def.DataColumnDef;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.internal.identity.IdentityProvider;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieServerDataSetExporterTest {
+
+    private static final String SERVER_TEMPLATE_ID = "serverTemplateId";
+
+    private static final String DATA_SET_UUID = "jbpmProcessInstances";
+
+    @Mock
+    DataSetDefRegistry dataSetDefRegistry;
+
+    @Mock
+    KieServerDataSetProvider dataSetProvider;
+
+    @Mock
+    IdentityProvider identityProvider;
+
+    @Mock
+    DataSetDef dataSetDef;
+
+    List<List> rows = new ArrayList<>();
+
+    KieServerDataSetExporter exporter;
+
+    @Before
+    public void setup() {
+        System.setProperty(KieServerDataSetExporter.EXPORT_PAGE_SIZE,
+                           "2");
+        exporter = new KieServerDataSetExporter(dataSetDefRegistry,
+                                                dataSetProvider,
+                                                identityProvider);
+        when(identityProvider.getName()).thenReturn("admin");
+        when(dataSetDefRegistry.getDataSetDef(DATA_SET_UUID)).thenReturn(dataSetDef);
+        when(dataSetDef.getUUID()).thenReturn(DATA_SET_UUID);
+        when(dataSetDef.getProvider()).thenReturn(KieServerDataSetProvider.TYPE);
+        when(dataSetDef.getColumns()).thenReturn(Arrays.asList(new DataColumnDef("id",
+                                                                                 ColumnType.NUMBER),
+                                                               new DataColumnDef("name",
+                                                                                 ColumnType.LABEL)));
+        when(dataSetProvider.buildFilterParams(any(),
+                                               any())).thenReturn(new ArrayList<>());
+        // rows sorted by id starting at the keyset value, like KIE Server would return them
+        when(dataSetProvider.queryRows(eq(dataSetDef),
+                                       eq(SERVER_TEMPLATE_ID),
+                                       any(QueryFilterSpec.class),
+                                       eq(0),
+                                       anyInt())).thenAnswer(invocation -> {
+            final QueryFilterSpec filterSpec = (QueryFilterSpec) invocation.getArguments()[2];
+            final int pageSize = (Integer) invocation.getArguments()[4];
+            final Integer from = filterSpec.getParameters() == null ? null :
+                    Arrays.stream(filterSpec.getParameters())
+                            .filter(param -> "GREATER_OR_EQUALS_TO".equals(param.getOperator()))
+                            .map(param -> (Integer) ((List) param.getValue()).get(0))
+                            .findFirst()
+                            .orElse(null);
+            return rows.stream()
+                    .filter(row -> from == null || (Integer) row.get(0) >= from)
+                    .limit(pageSize)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(KieServerDataSetExporter.EXPORT_PAGE_SIZE);
+    }
+
+    @Test
+    public void testExportPagesByKeyset() throws Exception {
+        addRows(1,
+                2,
+                3,
+                4,
+                5);
+
+        final DataSetExport export = export(DataSetExportFormat.CSV);
+
+        assertEquals(DataSetExport.Status.COMPLETED,
+                     export.getStatus());
+        assertEquals(5,
+                     export.getRowsExported());
+        verify(dataSetProvider,
+               times(3)).queryRows(any(),
+                                   any(),
+                                   any(),
+                                   anyInt(),
+                                   anyInt());
+    }
+
+    @Test
+    public void testExportWithDuplicateKeys() throws Exception {
+        addRows(1,
+                1,
+                1,
+                2);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        DataSetExportFormat.CSV);
+
+        final DataSetExport export = exporter.export(prepared.getId(),
+                                                     out);
+
+        assertEquals(4,
+                     export.getRowsExported());
+        assertEquals("id,name\r\n1,row1\r\n1,row1\r\n1,row1\r\n2,row2\r\n",
+                     new String(out.toByteArray(),
+                                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testExportCancelled() throws Exception {
+        addRows(1,
+                2,
+                3,
+                4,
+                5);
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        DataSetExportFormat.CSV);
+        when(dataSetProvider.buildFilterParams(any(),
+                                               any())).thenAnswer(invocation -> {
+            exporter.cancel(prepared.getId());
+            return new ArrayList<>();
+        });
+
+        final DataSetExport export = exporter.export(prepared.getId(),
+                                                     new ByteArrayOutputStream());
+
+        assertEquals(DataSetExport.Status.CANCELLED,
+                     export.getStatus());
+        assertEquals(0,
+                     export.getRowsExported());
+        verify(dataSetProvider,
+               never()).queryRows(any(),
+                                  any(),
+                                  any(),
+                                  anyInt(),
+                                  anyInt());
+    }
+
+    @Test
+    public void testExportFailed() throws Exception {
+        addRows(1);
+        when(dataSetProvider.queryRows(any(),
+                                       any(),
+                                       any(),
+                                       anyInt(),
+                                       anyInt())).thenThrow(new RuntimeException("KIE Server not available"));
+
+        final DataSetExport export = export(DataSetExportFormat.CSV);
+
+        assertEquals(DataSetExport.Status.FAILED,
+                     export.getStatus());
+        assertEquals("KIE Server not available",
+                     export.getError());
+    }
+
+    @Test
+    public void testExportStartedOnce() throws Exception {
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        DataSetExportFormat.CSV);
+        exporter.export(prepared.getId(),
+                        new ByteArrayOutputStream());
+
+        try {
+            exporter.export(prepared.getId(),
+                            new ByteArrayOutputStream());
+            fail("Export started twice");
+        } catch (IllegalStateException e) {
+            assertEquals(DataSetExport.Status.COMPLETED,
+                         exporter.getExport(prepared.getId()).getStatus());
+        }
+    }
+
+    @Test
+    public void testExportOnlyVisibleToOwner() {
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        DataSetExportFormat.XLSX);
+        assertEquals(DataSetExport.Status.PREPARED,
+                     exporter.getExport(prepared.getId()).getStatus());
+
+        when(identityProvider.getName()).thenReturn("john");
+
+        assertNull(exporter.getExport(prepared.getId()));
+    }
+
+    @Test
+    public void testExpiredExportsPurged() {
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        DataSetExportFormat.CSV);
+
+        exporter.purgeExpired(System.currentTimeMillis());
+        assertTrue(exporter.getExports().containsKey(prepared.getId()));
+
+        exporter.purgeExpired(System.currentTimeMillis() + 600000L);
+        assertFalse(exporter.getExports().containsKey(prepared.getId()));
+    }
+
+    @Test
+    public void testCsvFormat() {
+        assertEquals("",
+                     CsvDataSetExportWriter.format(null));
+        assertEquals("plain",
+                     CsvDataSetExportWriter.format("plain"));
+        assertEquals("\"a,b\"",
+                     CsvDataSetExportWriter.format("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"",
+                     CsvDataSetExportWriter.format("say \"hi\""));
+    }
+
+    private DataSetExport export(final DataSetExportFormat format) throws Exception {
+        final DataSetExport prepared = exporter.prepare(newLookup(),
+                                                        format);
+        return exporter.export(prepared.getId(),
+                               new ByteArrayOutputStream());
+    }
+
+    private ConsoleDataSetLookup newLookup() {
+        final ConsoleDataSetLookup lookup = new ConsoleDataSetLookup();
+        lookup.setDataSetUUID(DATA_SET_UUID);
+        lookup.setServerTemplateId(SERVER_TEMPLATE_ID);
+        return lookup;
+    }
+
+    private void addRows(final Integer... ids) {
+        for (Integer id : ids) {
+            rows.add(Arrays.asList(id,
+                                   "row" + id));
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.jbpm.workbench.ks.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,7 +25,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import javax.enterprise.event.Event;
 
+import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
 import org.jbpm.workbench.ks.events.KieServerDataSetRegistered;
 import org.jbpm.workbench.ks.integration.event.ServerInstanceRegistered;
 import org.junit.Before;
@@ -108,7 +111,7 @@ public class KieServerDataSetManagerTest {
 
         kieServerDataSetManager.registerQueriesWithRetry("template",
                                                          "instance",
-                                                         definitions);
+                                                         definitions).get();
 
         verify(kieServerIntegration,
                times(1)).getAdminServerClient(anyString(),
@@ -118,6 +121,13 @@ public class KieServerDataSetManagerTest {
 
         assertEquals(1,
                      receivedEvents.size());
+        final KieServerQueryRegistration registration = kieServerDataSetManager.getRegistrations().get("instance");
+        assertEquals(KieServerQueryRegistration.Status.COMPLETED,
+                     registration.getStatus());
+        assertEquals(1,
+                     registration.getRegistered());
+        assertEquals(1,
+                     registration.getAttempts());
     }
 
     @Test
@@ -145,7 +155,7 @@ public class KieServerDataSetManagerTest {
 
         kieServerDataSetManager.registerQueriesWithRetry("template",
                                                          "instance",
-                                                         definitions);
+                                                         definitions).get();
 
         verify(kieServerIntegration,
                times(1)).getAdminServerClient(anyString(),
@@ -159,6 +169,8 @@ public class KieServerDataSetManagerTest {
 
         assertEquals(1,
                      receivedEvents.size());
+        assertEquals(2,
+                     kieServerDataSetManager.getRegistrations().get("instance").getAttempts());
     }
 
     @Test
@@ -205,7 +217,7 @@ public class KieServerDataSetManagerTest {
 
         kieServerDataSetManager.registerQueriesWithRetry("template",
                                                          "instance",
-                                                         definitions);
+                                                         definitions).get();
 
         verify(kieServerIntegration,
                times(1)).getAdminServerClient(anyString(),
@@ -216,4 +228,130 @@ public class KieServerDataSetManagerTest {
         assertEquals(0,
                      receivedEvents.size());
     }
+
+    @Test
+    public void testRegisterQueriesSkipsRegisteredDefinitions() throws Exception {
+        QueryDefinition registered = QueryDefinition.builder().name("registered").expression("expression").source("jbpm").target("CUSTOM").build();
+        QueryDefinition modified = QueryDefinition.builder().name("modified").expression("expression").source("jbpm").target("CUSTOM").build();
+        QueryDefinition added = QueryDefinition.builder().name("added").expression("expression").source("jbpm").target("CUSTOM").build();
+        Set<QueryDefinition> definitions = new HashSet<>(Arrays.asList(registered,
+                                                                       modified,
+                                                                       added));
+        when(queryClient.getQueries(0,
+                                    KieServerDataSetManager.QUERIES_PAGE_SIZE)).thenReturn(Arrays.asList(QueryDefinition.builder().name("registered").expression("expression").source("jbpm").target("CUSTOM").build(),
+                                                                                                         QueryDefinition.builder().name("modified").expression("old expression").source("jbpm").target("CUSTOM").build()));
+
+        final KieServerQueryRegistration registration = kieServerDataSetManager.registerQueriesWithRetry("template",
+                                                                                                         "instance",
+                                                                                                         definitions).get();
+
+        verify(queryClient,
+               never()).replaceQuery(registered);
+        verify(queryClient).replaceQuery(modified);
+        verify(queryClient).replaceQuery(added);
+        assertEquals(KieServerQueryRegistration.Status.COMPLETED,
+                     registration.getStatus());
+        assertEquals(2,
+                     registration.getRegistered());
+        assertEquals(1,
+                     registration.getSkipped());
+        assertEquals(1,
+                     receivedEvents.size());
+    }
+
+    @Test
+    public void testRegisterQueriesTimeout() throws Exception {
+        System.setProperty(KieServerDataSetManager.REGISTRATION_TIMEOUT,
+                           "50");
+        System.setProperty(KieServerDataSetManager.REGISTRATION_BACKOFF_MIN,
+                           "10");
+        try {
+            kieServerDataSetManager = new KieServerDataSetManager(dataSetDefRegistry,
+                                                                  kieServerIntegration,
+                                                                  event,
+                                                                  Executors.newCachedThreadPool(new DescriptiveThreadFactory()),
+                                                                  specManagementService);
+        } finally {
+            System.clearProperty(KieServerDataSetManager.REGISTRATION_TIMEOUT);
+            System.clearProperty(KieServerDataSetManager.REGISTRATION_BACKOFF_MIN);
+        }
+        when(kieServerIntegration.getAdminServerClientCheckEndpoints(anyString())).thenReturn(kieClient);
+        doThrow(new KieServerHttpRequestException("KieServer endpoint down")).when(queryClient).replaceQuery(any());
+
+        final KieServerQueryRegistration registration = kieServerDataSetManager.registerQueriesWithRetry("template",
+                                                                                                         "instance",
+                                                                                                         singleton(QueryDefinition.builder().name("test").expression("expression").source("jbpm").target("CUSTOM").build())).get();
+
+        assertEquals(KieServerQueryRegistration.Status.TIMEOUT,
+                     registration.getStatus());
+        assertTrue(registration.getAttempts() > 1);
+        assertEquals(0,
+                     registration.getRegistered());
+        assertNotNull(registration.getLastError());
+        assertEquals(0,
+                     receivedEvents.size());
+    }
+
+    @Test
+    public void testBackoffDelay() {
+        for (int attempt = 1; attempt < 10; attempt++) {
+            final long max = Math.min(30000,
+                                      500 << (attempt - 1));
+            final long delay = kieServerDataSetManager.getBackoffDelay(attempt);
+            assertTrue(delay >= max / 2);
+            assertTrue(delay <= max);
+        }
+        assertTrue(kieServerDataSetManager.getBackoffDelay(100) <= 30000);
+    }
+
+    @Test
+    public void testPartition() {
+        final Set<QueryDefinition> definitions = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            definitions.add(QueryDefinition.builder().name("query" + i).expression("expression").source("jbpm").target("CUSTOM").build());
+        }
+
+        final List<List<QueryDefinition>> partitions = kieServerDataSetManager.partition(definitions);
+
+        assertEquals(4,
+                     partitions.size());
+        assertEquals(10,
+                     partitions.stream().mapToInt(List::size).sum());
+        assertEquals(1,
+                     kieServerDataSetManager.partition(singleton(definitions.iterator().next())).size());
+        assertTrue(kieServerDataSetManager.partition(emptySet()).isEmpty());
+    }
+
+    @Test
+    public void testFingerprint() {
+        final QueryDefinition query = QueryDefinition.builder().name("test").expression("expression").source("jbpm").target("CUSTOM").build();
+
+        assertEquals(KieServerDataSetManager.fingerprint(query),
+                     KieServerDataSetManager.fingerprint(QueryDefinition.builder().name("other").expression("expression").source("jbpm").target("CUSTOM").build()));
+        assertNotEquals(KieServerDataSetManager.fingerprint(query),
+                        KieServerDataSetManager.fingerprint(QueryDefinition.builder().name("test").expression("expression2").source("jbpm").target("CUSTOM").build()));
+        assertNotEquals(KieServerDataSetManager.fingerprint(query),
+                        KieServerDataSetManager.fingerprint(QueryDefinition.builder().name("test").expression("expression").source("other").target("CUSTOM").build()));
+        assertNotEquals(KieServerDataSetManager.fingerprint(query),
+                        KieServerDataSetManager.fingerprint(QueryDefinition.builder().name("test").expression("expression").source("jbpm").target("PROCESS").build()));
+    }
+
+    @Test
+    public void testFingerprintDroppedOnDataSetChange() {
+        final QueryDefinition query = QueryDefinition.builder().name("test").expression("expression").source("jbpm").target("CUSTOM").build();
+        final QueryDefinition modified = QueryDefinition.builder().name("test").expression("modified").source("jbpm").target("CUSTOM").build();
+        final DataSetDef def = new DataSetDef();
+        def.setUUID("test");
+
+        assertEquals(KieServerDataSetManager.fingerprint(query),
+                     kieServerDataSetManager.getFingerprint(query));
+        assertEquals(KieServerDataSetManager.fingerprint(query),
+                     kieServerDataSetManager.getFingerprint(modified));
+
+        kieServerDataSetManager.onDataSetDefModifiedEvent(new DataSetDefModifiedEvent(def,
+                                                                                      def));
+
+        assertEquals(KieServerDataSetManager.fingerprint(modified),
+                     kieServerDataSetManager.getFingerprint(modified));
+    }
 }
@@ -16,17 +16,24 @@
 package org.jbpm.workbench.ks.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import javax.enterprise.inject.Instance;
 
 import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.DataColumn;
+import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.events.DataSetDefModifiedEvent;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.filter.FilterFactory;
 import org.dashbuilder.dataset.group.ColumnGroup;
 import org.dashbuilder.dataset.group.DataSetGroup;
 import org.dashbuilder.dataset.group.DateIntervalType;
@@ -34,6 +41,9 @@ import org.dashbuilder.dataset.group.GroupFunction;
 import org.dashbuilder.dataset.group.GroupStrategy;
 import org.dashbuilder.dataset.group.Interval;
 import org.dashbuilder.dataset.impl.DataSetImpl;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +56,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.dashbuilder.dataset.filter.FilterFactory.OR;
@@ -80,6 +91,9 @@ public class KieServerDataSetProviderTest {
     @Mock
     RemoteDataSetDef dataSetDef;
 
+    @Spy
+    KieServerDataSetCache dataSetCache = new KieServerDataSetCache();
+
     @Before
     public void setUp() {
         when(kieServerIntegration.getServerClient("servereTemplateId")).thenReturn(kieServicesClient);
@@ -253,53 +267,49 @@ public class KieServerDataSetProviderTest {
     }
     
     @Test
-    public void testPerformQueryTestMode() {
-        QueryFilterSpec filterSpec = new QueryFilterSpec();
-        
-        ConsoleDataSetLookup dataSetLookup = Mockito.mock(ConsoleDataSetLookup.class);
-        when(dataSetLookup.testMode()).thenReturn(true);
-        when(dataSetLookup.getNumberOfRows()).thenReturn(10);
-        when(dataSetLookup.getRowOffset()).thenReturn(1);
-        when(dataSetLookup.getDataSetUUID()).thenReturn("");
-        
-        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
-        
-        verify(kieServerIntegration).broadcastToKieServers(anyString(),
+    public void testLookupDataSetTestModeRegistersQueryOnce() throws Exception {
+        final ConsoleDataSetLookup lookup = spy(newLookup(15,
+                                                          10,
+                                                          SortOrder.ASCENDING));
+        doReturn(true).when(lookup).testMode();
+        stubUnalignedPages();
+
+        kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                               lookup);
+
+        // the unaligned offset fetches two pages but the query is registered only once
+        verify(kieServerIntegration).broadcastToKieServers(eq("servereTemplateId"),
                                                            any());
-        verify(dataSetLookup, times(1)).testMode();
-        
-        verify(queryServicesClient).query(anyString(),
-                                          anyString(),
-                                          any(QueryFilterSpec.class),
-                                          anyInt(),
-                                          anyInt(),
-                                          any());
+        verify(queryServicesClient,
+               times(2)).query(eq("uuid"),
+                               eq(QueryServicesClient.QUERY_MAP_RAW),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               eq(10),
+                               any());
     }
-    
+
     @Test
-    public void testPerformQueryRegularMode() {
-        QueryFilterSpec filterSpec = new QueryFilterSpec();
-        
-        ConsoleDataSetLookup dataSetLookup = Mockito.mock(ConsoleDataSetLookup.class);
-        when(dataSetLookup.testMode()).thenReturn(false);
-        when(dataSetLookup.getNumberOfRows()).thenReturn(10);
-        when(dataSetLookup.getRowOffset()).thenReturn(1);
-        when(dataSetLookup.getDataSetUUID()).thenReturn("");
-        
-        kieServerDataSetProvider.performQuery(dataSetDef, dataSetLookup, queryServicesClient, filterSpec);
-        
-        verify(kieServerIntegration, times(0)).broadcastToKieServers(anyString(),
-                                                           any());
-        verify(dataSetLookup, times(1)).testMode();
-        
-        verify(queryServicesClient).query(anyString(),
-                                          anyString(),
-                                          any(QueryFilterSpec.class),
-                                          anyInt(),
-                                          anyInt(),
-                                          any());
-    }    
-    
+    public void testLookupDataSetRegularModeDoesNotRegisterQuery() throws Exception {
+        stubUnalignedPages();
+
+        kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                               newLookup(15,
+                                                         10,
+                                                         SortOrder.ASCENDING));
+
+        verify(kieServerIntegration,
+               never()).broadcastToKieServers(anyString(),
+                                              any());
+        verify(queryServicesClient,
+               times(2)).query(eq("uuid"),
+                               eq(QueryServicesClient.QUERY_MAP_RAW),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               eq(10),
+                               any());
+    }
+
     @Test
     public void testDataSetMetaData() throws Exception {
         Map<String, String> columns = new HashMap<>();
@@ -343,6 +353,533 @@ public class KieServerDataSetProviderTest {
         assertEquals(1, adopted.getOperationList().size());
     }
 
+    @Test
+    public void testBuildDataSet() throws Exception {
+        final DataSetDef def = new DataSetDef();
+        def.setUUID("uuid");
+        def.addColumn("id",
+                      ColumnType.NUMBER);
+        def.addColumn("name",
+                      ColumnType.LABEL);
+        final List<List> rows = new ArrayList<>();
+        rows.add(Arrays.asList(1L,
+                               "first"));
+        rows.add(new LinkedList<>(Arrays.asList(2L,
+                                                "second")));
+
+        final DataSet result = kieServerDataSetProvider.buildDataSet(def,
+                                                                     rows,
+                                                                     new ArrayList<>());
+
+        assertEquals("uuid",
+                     result.getUUID());
+        assertEquals(2,
+                     result.getRowCount());
+        assertEquals(2,
+                     result.getRowCountNonTrimmed());
+        assertEquals(Arrays.asList(1L,
+                                   2L),
+                     result.getColumnById("id").getValues());
+        assertEquals(Arrays.asList("first",
+                                   "second"),
+                     result.getColumnById("name").getValues());
+    }
+
+    @Test
+    public void testLookupDataSetUnalignedOffset() throws Exception {
+        final ConsoleDataSetLookup lookup = newLookup(15,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        stubUnalignedPages();
+
+        final DataSet result = kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                                                      lookup);
+
+        // rows 15 to 24 are the last half of the second page and the first half of the third page
+        verify(queryServicesClient,
+               times(2)).query(eq("uuid"),
+                               eq(QueryServicesClient.QUERY_MAP_RAW),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               eq(10),
+                               any());
+        assertEquals(10,
+                     result.getRowCount());
+        assertEquals(15L,
+                     result.getValueAt(0,
+                                       "id"));
+        assertEquals(24L,
+                     result.getValueAt(9,
+                                       "id"));
+    }
+
+    @Test
+    public void testLookupDataSetDeepUnalignedOffset() throws Exception {
+        final ConsoleDataSetLookup lookup = newLookup(1000007,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(100000),
+                                       eq(10),
+                                       any())).thenReturn(newRows(1000000,
+                                                                  10));
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(100001),
+                                       eq(10),
+                                       any())).thenReturn(newRows(1000010,
+                                                                  10));
+
+        final DataSet result = kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                                                      lookup);
+
+        // no more than two pages of the requested size are ever fetched
+        verify(queryServicesClient,
+               times(2)).query(anyString(),
+                               anyString(),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               anyInt(),
+                               any());
+        assertEquals(10,
+                     result.getRowCount());
+        assertEquals(1000007L,
+                     result.getValueAt(0,
+                                       "id"));
+        assertEquals(1000016L,
+                     result.getValueAt(9,
+                                       "id"));
+    }
+
+    @Test
+    public void testLookupDataSetUnalignedOffsetOnLastPage() throws Exception {
+        final ConsoleDataSetLookup lookup = newLookup(15,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(1),
+                                       eq(10),
+                                       any())).thenReturn(newRows(10,
+                                                                  8));
+
+        final DataSet result = kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                                                      lookup);
+
+        // the page after a partial one is not requested
+        verify(queryServicesClient,
+               times(1)).query(anyString(),
+                               anyString(),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               anyInt(),
+                               any());
+        assertEquals(3,
+                     result.getRowCount());
+    }
+
+    @Test
+    public void testLookupDataSetKeyset() throws Exception {
+        final Long lastId = 19L;
+        final ConsoleDataSetLookup lookup = newLookup(20,
+                                                      10,
+                                                      SortOrder.DESCENDING);
+        lookup.setKeyset("id",
+                         lastId,
+                         2);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(newRows(18,
+                                                                  12));
+
+        final DataSet result = kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                                                      lookup);
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(12),
+                                          any());
+        final QueryParam[] parameters = captor.getValue().getParameters();
+        assertEquals(1,
+                     parameters.length);
+        assertEquals("id",
+                     parameters[0].getColumn());
+        assertEquals("LOWER_OR_EQUALS_TO",
+                     parameters[0].getOperator());
+        assertEquals(Collections.singletonList(lastId),
+                     parameters[0].getValue());
+        // rows sharing the key with the previous page are skipped
+        assertEquals(10,
+                     result.getRowCount());
+        assertEquals(20L,
+                     result.getValueAt(0,
+                                       "id"));
+    }
+
+    @Test
+    public void testLookupDataSetKeysetIgnoredWhenNotSortedByKey() throws Exception {
+        final ConsoleDataSetLookup lookup = newLookup(20,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        lookup.setKeyset("name",
+                         "last",
+                         0);
+
+        kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                               lookup);
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(anyString(),
+                                          anyString(),
+                                          captor.capture(),
+                                          eq(2),
+                                          eq(10),
+                                          any());
+        assertNull(captor.getValue().getParameters());
+    }
+
+    @Test
+    public void testKeysetIsCopied() {
+        final ConsoleDataSetLookup lookup = newLookup(0,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        lookup.setKeyset("id",
+                         1L,
+                         1);
+
+        final ConsoleDataSetLookup clone = (ConsoleDataSetLookup) lookup.cloneInstance();
+
+        assertEquals("id",
+                     clone.getKeysetColumnId());
+        assertEquals(1L,
+                     clone.getKeysetValue());
+        assertEquals(1,
+                     clone.getKeysetSkip());
+        assertTrue(clone.isKeysetEnabled());
+    }
+
+    @Test
+    public void testGetRowCount() throws Exception {
+        final RemoteDataSetDef def = newDataSetDef();
+        final ConsoleDataSetLookup lookup = newLookup(20,
+                                                      10,
+                                                      SortOrder.ASCENDING);
+        final DataSetFilter filter = new DataSetFilter();
+        filter.addFilterColumn(likeTo("name",
+                                      "%value%"));
+        lookup.addOperation(filter);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(Collections.singletonList(Collections.singletonList(42.0)));
+
+        assertNull(kieServerDataSetProvider.getRowCountEstimate(def,
+                                                                lookup));
+        final DataSetRowCount rowCount = kieServerDataSetProvider.getRowCount(def,
+                                                                             lookup);
+
+        assertEquals(new DataSetRowCount(42,
+                                         true),
+                     rowCount);
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(1),
+                                          any());
+        assertNull(captor.getValue().getOrderBy());
+        final QueryParam[] parameters = captor.getValue().getParameters();
+        assertEquals(2,
+                     parameters.length);
+        assertEquals("name",
+                     parameters[0].getColumn());
+        assertEquals("id",
+                     parameters[1].getColumn());
+        assertEquals("COUNT",
+                     parameters[1].getOperator());
+
+        // later lookups of the same filters are estimated without querying KIE Server
+        assertEquals(new DataSetRowCount(42,
+                                         false),
+                     kieServerDataSetProvider.getRowCountEstimate(def,
+                                                                  newLookupWithFilter(filter)));
+        verify(queryServicesClient,
+               times(1)).query(anyString(),
+                               anyString(),
+                               any(QueryFilterSpec.class),
+                               anyInt(),
+                               anyInt(),
+                               any());
+    }
+
+    @Test
+    public void testPivot() throws Exception {
+        final RemoteDataSetDef def = newDataSetDef();
+        def.addColumn("name",
+                      ColumnType.LABEL);
+        def.addColumn("value",
+                      ColumnType.TEXT);
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       anyInt(),
+                                       anyInt(),
+                                       any())).thenReturn(Arrays.asList(Arrays.asList(1.0,
+                                                                                      "var1",
+                                                                                      "value1"),
+                                                                        Arrays.asList(1.0,
+                                                                                      "var2",
+                                                                                      null),
+                                                                        Arrays.asList(3.0,
+                                                                                      "var1",
+                                                                                      "value3")));
+
+        final Map<Long, Map<String, String>> variables = kieServerDataSetProvider.pivot(def,
+                                                                                        "servereTemplateId",
+                                                                                        "id",
+                                                                                        "name",
+                                                                                        "value",
+                                                                                        Arrays.asList(1L,
+                                                                                                      2L,
+                                                                                                      3L));
+
+        assertEquals(2,
+                     variables.size());
+        assertEquals(2,
+                     variables.get(1L).size());
+        assertEquals("value1",
+                     variables.get(1L).get("var1"));
+        assertTrue(variables.get(1L).containsKey("var2"));
+        assertNull(variables.get(2L));
+        assertEquals(Collections.singletonMap("var1",
+                                              "value3"),
+                     variables.get(3L));
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(eq("uuid"),
+                                          eq(QueryServicesClient.QUERY_MAP_RAW),
+                                          captor.capture(),
+                                          eq(0),
+                                          eq(KieServerDataSetProvider.PIVOT_PAGE_SIZE),
+                                          any());
+        assertEquals("id,name",
+                     captor.getValue().getOrderBy());
+        final QueryParam[] parameters = captor.getValue().getParameters();
+        assertEquals(1,
+                     parameters.length);
+        assertEquals("id",
+                     parameters[0].getColumn());
+        assertEquals("IN",
+                     parameters[0].getOperator());
+        assertEquals(Arrays.asList(1L,
+                                   2L,
+                                   3L),
+                     parameters[0].getValue());
+    }
+
+    @Test
+    public void testPivotWithoutIds() throws Exception {
+        assertTrue(kieServerDataSetProvider.pivot(newDataSetDef(),
+                                                  "servereTemplateId",
+                                                  "id",
+                                                  "name",
+                                                  "value",
+                                                  Collections.emptyList()).isEmpty());
+
+        verifyZeroInteractions(queryServicesClient);
+    }
+
+    @Test
+    public void testLookupDataSetMixedSortDirections() throws Exception {
+        final RemoteDataSetDef def = newDataSetDef();
+        def.addColumn("name",
+                      ColumnType.LABEL);
+        final ConsoleDataSetLookup lookup = newLookup(0,
+                                                      10,
+                                                      SortOrder.DESCENDING);
+        lookup.getFirstSortOp().addSortColumn(new ColumnSort("name",
+                                                             SortOrder.ASCENDING));
+
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               lookup);
+
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient).query(anyString(),
+                                          anyString(),
+                                          captor.capture(),
+                                          anyInt(),
+                                          anyInt(),
+                                          any());
+        assertEquals("id DESC,name ASC",
+                     captor.getValue().getOrderBy());
+        assertFalse(captor.getValue().isAscending());
+    }
+
+    @Test
+    public void testQueryPlanCachedPerShape() throws Exception {
+        final RemoteDataSetDef def = newDataSetDef();
+        final DataSetFilter first = new DataSetFilter();
+        first.addFilterColumn(FilterFactory.equalsTo("id",
+                                                     1));
+        final DataSetFilter second = new DataSetFilter();
+        second.addFilterColumn(FilterFactory.equalsTo("id",
+                                                      2));
+
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               newLookupWithFilter(first));
+        kieServerDataSetProvider.lookupDataSet(def,
+                                               newLookupWithFilter(second));
+
+        assertEquals(1,
+                     kieServerDataSetProvider.getQueryPlans().get("uuid").size());
+        final ArgumentCaptor<QueryFilterSpec> captor = ArgumentCaptor.forClass(QueryFilterSpec.class);
+        verify(queryServicesClient,
+               times(2)).query(anyString(),
+                               anyString(),
+                               captor.capture(),
+                               anyInt(),
+                               anyInt(),
+                               any());
+        // values are bound on each lookup
+        assertEquals(Collections.singletonList(1),
+                     captor.getAllValues().get(0).getParameters()[0].getValue());
+        assertEquals(Collections.singletonList(2),
+                     captor.getAllValues().get(1).getParameters()[0].getValue());
+
+        kieServerDataSetProvider.onDataSetDefModified(new DataSetDefModifiedEvent(def,
+                                                                                  def));
+        assertNull(kieServerDataSetProvider.getQueryPlans().get("uuid"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedQueryPlanDropped() throws Exception {
+        final RemoteDataSetDef def = newDataSetDef();
+        final int cacheSize = Integer.getInteger(KieServerDataSetProvider.QUERY_PLAN_CACHE_SIZE,
+                                                 256);
+        final List<ConsoleDataSetLookup> lookups = new ArrayList<>();
+        final DataSetFilter filter = new DataSetFilter();
+        for (int i = 0; i <= cacheSize; i++) {
+            // every additional filter column makes a new shape
+            filter.addFilterColumn(FilterFactory.equalsTo("id",
+                                                          i));
+            lookups.add(newLookupWithFilter(filter));
+        }
+
+        final KieServerQueryPlan first = kieServerDataSetProvider.getQueryPlan(def,
+                                                                              lookups.get(0));
+        final KieServerQueryPlan second = kieServerDataSetProvider.getQueryPlan(def,
+                                                                               lookups.get(1));
+        for (int i = 2; i < cacheSize; i++) {
+            kieServerDataSetProvider.getQueryPlan(def,
+                                                  lookups.get(i));
+        }
+        assertSame(first,
+                   kieServerDataSetProvider.getQueryPlan(def,
+                                                         lookups.get(0)));
+        kieServerDataSetProvider.getQueryPlan(def,
+                                              lookups.get(cacheSize));
+
+        assertEquals(cacheSize,
+                     kieServerDataSetProvider.getQueryPlans().get("uuid").size());
+        assertSame(first,
+                   kieServerDataSetProvider.getQueryPlan(def,
+                                                         lookups.get(0)));
+        assertNotSame(second,
+                      kieServerDataSetProvider.getQueryPlan(def,
+                                                            lookups.get(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLookupDataSetUnknownColumn() throws Exception {
+        final DataSetFilter filter = new DataSetFilter();
+        filter.addFilterColumn(FilterFactory.equalsTo("unknown",
+                                                      1));
+
+        kieServerDataSetProvider.lookupDataSet(newDataSetDef(),
+                                               newLookupWithFilter(filter));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPivotUnknownColumn() throws Exception {
+        kieServerDataSetProvider.pivot(newDataSetDef(),
+                                       "servereTemplateId",
+                                       "id",
+                                       "name",
+                                       "value",
+                                       Collections.singletonList(1L));
+    }
+
+    private ConsoleDataSetLookup newLookupWithFilter(final DataSetFilter filter) {
+        final ConsoleDataSetLookup lookup = newLookup(0,
+                                                      10,
+                                                      SortOrder.DESCENDING);
+        lookup.addOperation(filter.cloneInstance());
+        return lookup;
+    }
+
+    private ConsoleDataSetLookup newLookup(final int rowOffset,
+                                           final int numberOfRows,
+                                           final SortOrder sortOrder) {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("uuid");
+        lookup.setRowOffset(rowOffset);
+        lookup.setNumberOfRows(numberOfRows);
+        final DataSetSort sort = new DataSetSort();
+        sort.addSortColumn(new ColumnSort("id",
+                                          sortOrder));
+        lookup.addOperation(sort);
+        return (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(lookup,
+                                                                        "servereTemplateId");
+    }
+
+    private void stubUnalignedPages() {
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(1),
+                                       eq(10),
+                                       any())).thenReturn(newRows(10,
+                                                                  10));
+        when(queryServicesClient.query(anyString(),
+                                       anyString(),
+                                       any(QueryFilterSpec.class),
+                                       eq(2),
+                                       eq(10),
+                                       any())).thenReturn(newRows(20,
+                                                                  10));
+    }
+
+    private RemoteDataSetDef newDataSetDef() {
+        final RemoteDataSetDef def = new RemoteDataSetDef();
+        def.setUUID("uuid");
+        def.setServerTemplateId("servereTemplateId");
+        def.addColumn("id",
+                      ColumnType.NUMBER);
+        return def;
+    }
+
+    private List<List> newRows(final long firstId,
+                               final int count) {
+        final List<List> rows = new ArrayList<>();
+        for (long id = firstId; id < firstId + count; id++) {
+            rows.add(Collections.singletonList(id));
+        }
+        return rows;
+    }
+
     @Test
     public void testGroupFunctionColumnType() {
         for (ColumnType type :
@@ -368,4 +905,72 @@ public class KieServerDataSetProviderTest {
                                                                          columnGroup,
                                                                          groupFunction));
     }
+
+    @Test
+    public void testLookupAnsweredByRollup() throws Exception {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("");
+        when(dataSetDef.getUUID()).thenReturn("");
+        final ConsoleDataSetLookup dataSetLookup = (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(lookup,
+                                                                                                            "servereTemplateId");
+        final KieServerDataSetRollup rollup = mock(KieServerDataSetRollup.class);
+        final Instance<KieServerDataSetRollup> rollups = mock(Instance.class);
+        when(rollups.iterator()).thenAnswer(invocation -> Collections.singletonList(rollup).iterator());
+        kieServerDataSetProvider.rollups = rollups;
+
+        when(rollup.lookup(dataSetDef,
+                           dataSetLookup)).thenReturn(dataSet);
+
+        assertSame(dataSet,
+                   kieServerDataSetProvider.lookupDataSet(dataSetDef,
+                                                          dataSetLookup));
+        verify(queryServicesClient,
+               never()).query(anyString(),
+                              anyString(),
+                              any(QueryFilterSpec.class),
+                              anyInt(),
+                              anyInt(),
+                              any());
+
+        when(rollup.lookup(dataSetDef,
+                           dataSetLookup)).thenReturn(null);
+
+        kieServerDataSetProvider.lookupDataSet(dataSetDef,
+                                               dataSetLookup);
+        verify(queryServicesClient).query(anyString(),
+                                          anyString(),
+                                          any(QueryFilterSpec.class),
+                                          anyInt(),
+                                          anyInt(),
+                                          any());
+    }
+
+    @Test
+    public void testQueryRowsAsAdminUsesAdminClient() {
+        final KieServicesClient adminClient = mock(KieServicesClient.class);
+        final QueryServicesClient adminQueryClient = mock(QueryServicesClient.class);
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        final List<List> rows = Collections.singletonList(Arrays.asList(1));
+        when(kieServerIntegration.getAdminServerClientCheckEndpoints("servereTemplateId")).thenReturn(adminClient);
+        when(adminClient.getServicesClient(QueryServicesClient.class)).thenReturn(adminQueryClient);
+        when(dataSetDef.getUUID()).thenReturn("dataSetUUID");
+        when(adminQueryClient.query("dataSetUUID",
+                                    QueryServicesClient.QUERY_MAP_RAW,
+                                    filterSpec,
+                                    0,
+                                    10,
+                                    List.class)).thenReturn(rows);
+
+        assertEquals(rows,
+                     kieServerDataSetProvider.queryRowsAsAdmin(dataSetDef,
+                                                               "servereTemplateId",
+                                                               filterSpec,
+                                                               0,
+                                                               10));
+        verify(kieServerIntegration,
+               never()).getServerClient(anyString());
+        verify(kieServerIntegration,
+               never()).getServerClient(anyString(),
+                                        anyString());
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.kie.server.client.KieServicesClient;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class KieServerInstanceConnectionsTest {
+
+    @Test
+    public void testExecute() throws Exception {
+        final KieServicesClient client = mock(KieServicesClient.class);
+        final KieServerInstanceConnections connections = new KieServerInstanceConnections("http://1",
+                                                                                          client,
+                                                                                          2);
+
+        assertSame(client,
+                   connections.execute(c -> c,
+                                       100));
+        assertEquals(1,
+                     connections.getRequests());
+        assertEquals(0,
+                     connections.getActiveConnections());
+    }
+
+    @Test
+    public void testConnectionsAreBounded() throws Exception {
+        final KieServerInstanceConnections connections = new KieServerInstanceConnections("http://1",
+                                                                                          mock(KieServicesClient.class),
+                                                                                          1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> connections.execute(c -> {
+                                                          started.countDown();
+                                                          try {
+                                                              release.await();
+                                                          } catch (InterruptedException e) {
+                                                              Thread.currentThread().interrupt();
+                                                          }
+                                                          return null;
+                                                      },
+                                                      1000));
+            started.await();
+            assertEquals(1,
+                         connections.getActiveConnections());
+
+            try {
+                connections.execute(c -> c,
+                                    50);
+                fail("Connection should not be available");
+            } catch (TimeoutException e) {
+                assertEquals(1,
+                             connections.getRejected());
+            }
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
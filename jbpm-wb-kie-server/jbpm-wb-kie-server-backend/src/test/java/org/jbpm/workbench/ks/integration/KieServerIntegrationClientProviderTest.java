@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.client.CaseServicesClient;
+import org.kie.server.client.KieServicesClient;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.jbpm.workbench.ks.integration.KieServerIntegrationClientProvider.DEFAULT_SERVER_TEMPLATE;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieServerIntegrationClientProviderTest {
+
+    @Mock
+    KieServerIntegration kieServerIntegration;
+
+    @Mock
+    KieServerDataSetCache dataSetCache;
+
+    @Mock
+    KieServicesClient templateClient;
+
+    @Mock
+    KieServicesClient containerClient;
+
+    @Mock
+    CaseServicesClient templateCaseClient;
+
+    @Mock
+    CaseServicesClient containerCaseClient;
+
+    @InjectMocks
+    KieServerIntegrationClientProvider clientProvider;
+
+    @Before
+    public void setup() {
+        when(kieServerIntegration.getServerClient("template")).thenReturn(templateClient);
+        when(kieServerIntegration.getServerClient("template",
+                                                  "container")).thenReturn(containerClient);
+        when(templateClient.getServicesClient(CaseServicesClient.class)).thenReturn(templateCaseClient);
+        when(containerClient.getServicesClient(CaseServicesClient.class)).thenReturn(containerCaseClient);
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(DEFAULT_SERVER_TEMPLATE);
+    }
+
+    @Test
+    public void testContainerClient() {
+        assertSame(containerCaseClient,
+                   clientProvider.getClient("template",
+                                            "container",
+                                            CaseServicesClient.class));
+    }
+
+    @Test
+    public void testServerTemplateClient() {
+        assertSame(templateCaseClient,
+                   clientProvider.getClient("template",
+                                            null,
+                                            CaseServicesClient.class));
+        verify(kieServerIntegration,
+               never()).getServerClient(anyString(),
+                                        anyString());
+    }
+
+    @Test
+    public void testDefaultServerTemplate() {
+        System.setProperty(DEFAULT_SERVER_TEMPLATE,
+                           "template");
+
+        assertSame(containerCaseClient,
+                   clientProvider.getClient("",
+                                            "container",
+                                            CaseServicesClient.class));
+    }
+
+    @Test
+    public void testSingleServerTemplate() {
+        when(kieServerIntegration.getServerTemplateIds()).thenReturn(Collections.singleton("template"));
+
+        assertSame(containerCaseClient,
+                   clientProvider.getClient(null,
+                                            "container",
+                                            CaseServicesClient.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNoServerTemplate() {
+        when(kieServerIntegration.getServerTemplateIds()).thenReturn(Collections.emptySet());
+
+        clientProvider.getClient(null,
+                                 "container",
+                                 CaseServicesClient.class);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testSeveralServerTemplatesWithoutDefault() {
+        when(kieServerIntegration.getServerTemplateIds()).thenReturn(new HashSet<>(Arrays.asList("template",
+                                                                                                 "otherTemplate")));
+
+        clientProvider.getClient(null,
+                                 "container",
+                                 CaseServicesClient.class);
+    }
+}
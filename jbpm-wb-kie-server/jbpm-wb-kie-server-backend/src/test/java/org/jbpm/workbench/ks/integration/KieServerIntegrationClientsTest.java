@@ -19,6 +19,7 @@ package org.jbpm.workbench.ks.integration;
 import javax.enterprise.event.Event;
 
 import org.jbpm.workbench.ks.integration.event.ServerInstanceRegistered;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -28,6 +29,7 @@ import org.kie.server.client.KieServicesClient;
 import org.kie.server.controller.api.model.events.ServerInstanceConnected;
 import org.kie.server.controller.api.model.events.ServerInstanceDisconnected;
 import org.kie.server.controller.api.model.events.ServerTemplateDeleted;
+import org.kie.server.controller.api.model.events.ServerTemplateUpdated;
 import org.kie.server.controller.api.model.runtime.ServerInstance;
 import org.kie.server.controller.api.model.spec.ContainerSpec;
 import org.kie.server.controller.api.model.spec.ServerTemplate;
@@ -44,7 +46,14 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -62,9 +71,17 @@ public class KieServerIntegrationClientsTest {
     @InjectMocks
     KieServerIntegration kieServerIntegration;
 
+    ExecutorService executorService = Executors.newCachedThreadPool();
+
     @Before
     public void setup() {
         when(kieServices.newKieContainer(any())).thenReturn(mock(KieContainer.class));
+        kieServerIntegration.setExecutorService(executorService);
+    }
+
+    @After
+    public void cleanup() {
+        executorService.shutdownNow();
     }
 
     @Test
@@ -96,10 +113,19 @@ public class KieServerIntegrationClientsTest {
         assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId));
-        assertEquals(2,
+        verify(kieServices,
+               never()).newKieContainer(any());
+        assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).get(SERVER_TEMPLATE_KEY));
+        assertNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).get(containerSpec.getId()));
+        assertNotNull(kieServerIntegration.getServerClient(serverTemplateId,
+                                                           containerSpec.getId()));
+        assertEquals(2,
+                     kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).get(containerSpec.getId()));
+        verify(kieServices,
+               times(1)).newKieContainer(containerSpec.getReleasedId());
         assertNotNull(kieServerIntegration.getServerClient(serverTemplateId, "not-existing"));
         assertEquals(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId).get(SERVER_TEMPLATE_KEY),
                      kieServerIntegration.getServerClient(serverTemplateId, "not-existing"));
@@ -190,8 +216,243 @@ public class KieServerIntegrationClientsTest {
         
         when(specManagementService.getServerTemplate(serverTemplateId)).thenReturn(serverTemplate);
         Function<KieServicesClient, Object> operation = Mockito.mock(Function.class);
-        kieServerIntegration.broadcastToKieServers(serverTemplateId, operation);
+        List<KieServerBroadcastResult> results = kieServerIntegration.broadcastToKieServers(serverTemplateId, operation);
                 
         verify(operation, times(2)).apply(any());
+        assertEquals(2,
+                     results.size());
+        assertEquals(serverInstanceId1,
+                     results.get(0).getServerInstanceId());
+        assertEquals(serverInstanceId2,
+                     results.get(1).getServerInstanceId());
+        assertTrue(results.stream().allMatch(KieServerBroadcastResult::isSuccess));
+    }
+
+    @Test
+    public void testBroadcastToKieServersFailureAndTimeout() {
+        final String serverTemplateId = "kie-server-test";
+        final ServerTemplate serverTemplate = new ServerTemplate(serverTemplateId,
+                                                                 serverTemplateId);
+        for (String url : Arrays.asList("http://ok",
+                                        "http://failing",
+                                        "http://slow")) {
+            final ServerInstance serverInstance = new ServerInstance();
+            serverInstance.setServerTemplateId(serverTemplateId);
+            serverInstance.setUrl(url);
+            serverInstance.setServerInstanceId(url);
+            serverTemplate.addServerInstance(serverInstance);
+        }
+
+        final KieServicesClient okClient = mock(KieServicesClient.class);
+        final KieServicesClient failingClient = mock(KieServicesClient.class);
+        final KieServicesClient slowClient = mock(KieServicesClient.class);
+        KieServicesClientProvider provider = Mockito.mock(KieServicesClientProvider.class);
+        when(provider.supports(anyString())).thenReturn(true);
+        when(provider.get("http://ok")).thenReturn(okClient);
+        when(provider.get("http://failing")).thenReturn(failingClient);
+        when(provider.get("http://slow")).thenReturn(slowClient);
+        kieServerIntegration.setKieServicesClientProviders(Collections.singletonList(provider));
+        when(specManagementService.getServerTemplate(serverTemplateId)).thenReturn(serverTemplate);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        List<KieServerBroadcastResult> results = kieServerIntegration.broadcastToKieServers(serverTemplateId,
+                                                                                            client -> {
+                                                                                                if (client == failingClient) {
+                                                                                                    throw new RuntimeException("failed");
+                                                                                                }
+                                                                                                if (client == slowClient) {
+                                                                                                    try {
+                                                                                                        release.await();
+                                                                                                    } catch (InterruptedException e) {
+                                                                                                        Thread.currentThread().interrupt();
+                                                                                                    }
+                                                                                                }
+                                                                                                return "done";
+                                                                                            },
+                                                                                            200,
+                                                                                            1000);
+        release.countDown();
+
+        assertEquals(3,
+                     results.size());
+        assertEquals(KieServerBroadcastResult.Status.SUCCESS,
+                     results.get(0).getStatus());
+        assertEquals("done",
+                     results.get(0).getResult());
+        assertEquals(KieServerBroadcastResult.Status.FAILURE,
+                     results.get(1).getStatus());
+        assertEquals("failed",
+                     results.get(1).getError().getMessage());
+        assertEquals(KieServerBroadcastResult.Status.TIMEOUT,
+                     results.get(2).getStatus());
+        assertTrue(results.get(2).getLatency() >= 200);
+    }
+
+    @Test
+    public void testInstanceClientsAreReused() {
+        final String serverTemplateId = "kie-server-test";
+        final ServerInstance serverInstance = new ServerInstance();
+        serverInstance.setServerTemplateId(serverTemplateId);
+        serverInstance.setUrl("http://1");
+        serverInstance.setServerInstanceId(serverTemplateId + "@1");
+        final ServerTemplate serverTemplate = new ServerTemplate(serverTemplateId,
+                                                                 serverTemplateId);
+        serverTemplate.addServerInstance(serverInstance);
+
+        KieServicesClientProvider provider = Mockito.mock(KieServicesClientProvider.class);
+        when(provider.supports(anyString())).thenReturn(true);
+        when(provider.get(anyString())).thenReturn(mock(KieServicesClient.class));
+        kieServerIntegration.setKieServicesClientProviders(Collections.singletonList(provider));
+        when(specManagementService.getServerTemplate(serverTemplateId)).thenReturn(serverTemplate);
+
+        kieServerIntegration.broadcastToKieServers(serverTemplateId,
+                                                   client -> "done");
+        kieServerIntegration.broadcastToKieServers(serverTemplateId,
+                                                   client -> "done");
+
+        verify(provider,
+               times(1)).get("http://1");
+        final KieServerInstanceConnections connections = kieServerIntegration.getInstanceConnections().get("http://1");
+        assertNotNull(connections);
+        assertEquals(2,
+                     connections.getRequests());
+        assertEquals(0,
+                     connections.getActiveConnections());
+
+        kieServerIntegration.getServerInstancesById().put(serverInstance.getServerInstanceId(),
+                                                          serverInstance);
+        kieServerIntegration.onServerInstanceDisconnected(new ServerInstanceDisconnected(serverInstance.getServerInstanceId()));
+
+        assertTrue(kieServerIntegration.getInstanceConnections().isEmpty());
+    }
+
+    @Test
+    public void testContainerClientCreatedOnce() throws Exception {
+        final ServerTemplate serverTemplate = newServerTemplateWithContainer("kie-server-test");
+        final String containerId = serverTemplate.getContainersSpec().iterator().next().getId();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<KieServicesClient>> clients = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                clients.add(executor.submit(() -> kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                                                                       containerId)));
+            }
+            final KieServicesClient client = clients.get(0).get();
+            for (Future<KieServicesClient> future : clients) {
+                assertSame(client,
+                           future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(kieServices,
+               times(1)).newKieContainer(any());
+    }
+
+    @Test
+    public void testIdleContainerClientEvicted() {
+        final KieContainer kieContainer = mock(KieContainer.class);
+        when(kieServices.newKieContainer(any())).thenReturn(kieContainer);
+        final ServerTemplate serverTemplate = newServerTemplateWithContainer("kie-server-test");
+        final String containerId = serverTemplate.getContainersSpec().iterator().next().getId();
+
+        kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                             containerId);
+        kieServerIntegration.evictIdleContainerClients(System.currentTimeMillis());
+
+        assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplate.getId()).get(containerId));
+        verify(kieContainer,
+               never()).dispose();
+
+        kieServerIntegration.evictIdleContainerClients(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+        assertNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplate.getId()).get(containerId));
+        assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplate.getId()).get(SERVER_TEMPLATE_KEY));
+        verify(kieContainer,
+               never()).dispose();
+
+        kieServerIntegration.evictIdleContainerClients(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2));
+
+        verify(kieContainer).dispose();
+
+        kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                             containerId);
+
+        verify(kieServices,
+               times(2)).newKieContainer(any());
+    }
+
+    @Test
+    public void testRemovedContainerClientDisposedWhenNoLongerInUse() {
+        final KieContainer kieContainer = mock(KieContainer.class);
+        when(kieServices.newKieContainer(any())).thenReturn(kieContainer);
+        final ServerTemplate serverTemplate = newServerTemplateWithContainer("kie-server-test");
+        final String containerId = serverTemplate.getContainersSpec().iterator().next().getId();
+
+        kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                             containerId);
+        serverTemplate.setContainersSpec(new ArrayList<>());
+        kieServerIntegration.onServerTemplateUpdated(new ServerTemplateUpdated(serverTemplate));
+
+        assertNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplate.getId()).get(containerId));
+        verify(kieContainer,
+               never()).dispose();
+        assertEquals(kieServerIntegration.getServerClient(serverTemplate.getId()),
+                     kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                                          containerId));
+
+        kieServerIntegration.evictIdleContainerClients(System.currentTimeMillis());
+
+        verify(kieContainer,
+               never()).dispose();
+
+        kieServerIntegration.evictIdleContainerClients(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+        verify(kieContainer).dispose();
+    }
+
+    @Test
+    public void testMissingContainerRememberedUntilServerTemplateUpdated() {
+        final ServerTemplate serverTemplate = newServerTemplateWithContainer("kie-server-test");
+        final ContainerSpec containerSpec = newContainerSpec();
+        containerSpec.setId("missing-container");
+
+        assertEquals(kieServerIntegration.getServerClient(serverTemplate.getId()),
+                     kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                                          containerSpec.getId()));
+
+        when(specManagementService.getServerTemplate(serverTemplate.getId())).thenThrow(new RuntimeException("Server template looked up again"));
+
+        assertEquals(kieServerIntegration.getServerClient(serverTemplate.getId()),
+                     kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                                          containerSpec.getId()));
+        verify(kieServices,
+               never()).newKieContainer(any());
+
+        serverTemplate.addContainerSpec(containerSpec);
+        doReturn(serverTemplate).when(specManagementService).getServerTemplate(serverTemplate.getId());
+        kieServerIntegration.onServerTemplateUpdated(new ServerTemplateUpdated(serverTemplate));
+
+        assertNotSame(kieServerIntegration.getServerClient(serverTemplate.getId()),
+                      kieServerIntegration.getServerClient(serverTemplate.getId(),
+                                                           containerSpec.getId()));
+        verify(kieServices).newKieContainer(containerSpec.getReleasedId());
+    }
+
+    protected ServerTemplate newServerTemplateWithContainer(final String serverTemplateId) {
+        final ServerInstance serverInstance = new ServerInstance();
+        serverInstance.setServerTemplateId(serverTemplateId);
+        serverInstance.setUrl("http://1");
+        serverInstance.setServerInstanceId(serverTemplateId + "@1");
+        final ServerTemplate serverTemplate = new ServerTemplate(serverTemplateId,
+                                                                 serverTemplateId);
+        serverTemplate.addServerInstance(serverInstance);
+        serverTemplate.addContainerSpec(newContainerSpec());
+        when(specManagementService.getServerTemplate(serverTemplateId)).thenReturn(serverTemplate);
+
+        kieServerIntegration.onServerInstanceConnected(new ServerInstanceConnected(serverInstance));
+        return serverTemplate;
     }
 }
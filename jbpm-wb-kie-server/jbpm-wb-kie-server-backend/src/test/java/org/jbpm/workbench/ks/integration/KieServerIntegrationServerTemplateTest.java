@@ -147,9 +147,14 @@ public class KieServerIntegrationServerTemplateTest {
         assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2));
-        assertEquals(2,
+        assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2).get(SERVER_TEMPLATE_KEY));
+        assertNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2).get(containerSpec.getId()));
+        assertNotNull(kieServerIntegration.getServerClient(serverTemplateId2,
+                                                           containerSpec.getId()));
+        assertEquals(2,
+                     kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId2).get(containerSpec.getId()));
         assertEquals(1,
                      kieServerIntegration.getServerInstancesById().size());
@@ -160,9 +165,14 @@ public class KieServerIntegrationServerTemplateTest {
         assertEquals(2,
                      kieServerIntegration.getServerTemplatesClients().size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1));
-        assertEquals(2,
+        assertEquals(1,
                      kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1).get(SERVER_TEMPLATE_KEY));
+        assertNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1).get(containerSpec.getId()));
+        assertNotNull(kieServerIntegration.getServerClient(serverTemplateId1,
+                                                           containerSpec.getId()));
+        assertEquals(2,
+                     kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1).size());
         assertNotNull(kieServerIntegration.getServerTemplatesClients().get(serverTemplateId1).get(containerSpec.getId()));
         assertEquals(2,
                      kieServerIntegration.getServerInstancesById().size());
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.server.api.marshalling.Marshaller;
+import org.kie.server.api.marshalling.MarshallerFactory;
+import org.kie.server.api.marshalling.MarshallingFormat;
+import org.kie.server.api.model.cases.CaseInstance;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+import org.kie.server.api.model.instance.DocumentInstance;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.RequestInfoInstance;
+import org.kie.server.api.model.instance.TaskInstance;
+
+import static org.jbpm.workbench.ks.utils.KieServerUtils.MARSHALLING_FORMAT;
+import static org.jbpm.workbench.ks.utils.KieServerUtils.getMarshallingFormat;
+import static org.junit.Assert.*;
+
+/**
+ * Verifies the payloads exchanged by the service clients used by the workbench survive a round trip in every
+ * supported marshalling format.
+ */
+@RunWith(Parameterized.class)
+public class KieServerMarshallingTest {
+
+    @Parameterized.Parameter
+    public MarshallingFormat format;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {MarshallingFormat.XSTREAM},
+                {MarshallingFormat.JAXB},
+                {MarshallingFormat.JSON}
+        });
+    }
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(MARSHALLING_FORMAT);
+        System.clearProperty(MARSHALLING_FORMAT + ".template");
+    }
+
+    @Test
+    public void testQueryFilterSpecRoundTrip() {
+        final QueryFilterSpec filterSpec = new QueryFilterSpec();
+        filterSpec.setOrderBy("processInstanceId");
+        filterSpec.setAscending(true);
+        filterSpec.setParameters(new QueryParam[]{new QueryParam("processId",
+                                                                 "EQUALS_TO",
+                                                                 Arrays.asList("evaluation"))});
+
+        final QueryFilterSpec result = roundTrip(filterSpec);
+
+        assertEquals("processInstanceId",
+                     result.getOrderBy());
+        assertTrue(result.isAscending());
+        assertEquals(1,
+                     result.getParameters().length);
+        assertEquals("processId",
+                     result.getParameters()[0].getColumn());
+        assertEquals("EQUALS_TO",
+                     result.getParameters()[0].getOperator());
+    }
+
+    @Test
+    public void testTaskInstanceRoundTrip() {
+        final TaskInstance result = roundTrip(TaskInstance.builder().id(1L).name("task").build());
+
+        assertEquals(Long.valueOf(1),
+                     result.getId());
+        assertEquals("task",
+                     result.getName());
+    }
+
+    @Test
+    public void testProcessInstanceRoundTrip() {
+        final ProcessInstance result = roundTrip(ProcessInstance.builder().id(1L).processId("evaluation").build());
+
+        assertEquals(Long.valueOf(1),
+                     result.getId());
+        assertEquals("evaluation",
+                     result.getProcessId());
+    }
+
+    @Test
+    public void testCaseInstanceRoundTrip() {
+        final CaseInstance result = roundTrip(CaseInstance.builder().caseId("CASE-1").caseDefinitionId("case").build());
+
+        assertEquals("CASE-1",
+                     result.getCaseId());
+        assertEquals("case",
+                     result.getCaseDefinitionId());
+    }
+
+    @Test
+    public void testRequestInfoInstanceRoundTrip() {
+        final RequestInfoInstance result = roundTrip(RequestInfoInstance.builder().id(1L).command("command").build());
+
+        assertEquals(Long.valueOf(1),
+                     result.getId());
+        assertEquals("command",
+                     result.getCommandName());
+    }
+
+    @Test
+    public void testDocumentInstanceRoundTrip() {
+        final DocumentInstance result = roundTrip(DocumentInstance.builder().id("doc").name("doc.txt").build());
+
+        assertEquals("doc",
+                     result.getIdentifier());
+        assertEquals("doc.txt",
+                     result.getName());
+    }
+
+    @Test
+    public void testMarshallingFormatConfiguration() {
+        assertEquals(MarshallingFormat.XSTREAM,
+                     getMarshallingFormat("template"));
+
+        System.setProperty(MARSHALLING_FORMAT,
+                           format.getType());
+        assertEquals(format,
+                     getMarshallingFormat("template"));
+        assertEquals(format,
+                     getMarshallingFormat(null));
+
+        System.setProperty(MARSHALLING_FORMAT + ".template",
+                           format == MarshallingFormat.JSON ? MarshallingFormat.XSTREAM.name() : MarshallingFormat.JSON.name());
+        assertNotEquals(format,
+                        getMarshallingFormat("template"));
+        assertEquals(format,
+                     getMarshallingFormat("other"));
+
+        System.setProperty(MARSHALLING_FORMAT + ".template",
+                           "unknown");
+        assertEquals(MarshallingFormat.XSTREAM,
+                     getMarshallingFormat("template"));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T roundTrip(final T value) {
+        final Marshaller marshaller = MarshallerFactory.getMarshaller(new HashSet<>(),
+                                                                      format,
+                                                                      getClass().getClassLoader());
+        final String payload = marshaller.marshall(value);
+        return (T) marshaller.unmarshall(payload,
+                                         value.getClass());
+    }
+}
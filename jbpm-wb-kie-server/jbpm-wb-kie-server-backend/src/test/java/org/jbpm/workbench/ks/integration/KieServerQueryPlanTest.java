@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workbench.ks.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.def.DataSetDef;
+import org.dashbuilder.dataset.filter.ColumnFilter;
+import org.dashbuilder.dataset.filter.DataSetFilter;
+import org.dashbuilder.dataset.sort.ColumnSort;
+import org.dashbuilder.dataset.sort.DataSetSort;
+import org.dashbuilder.dataset.sort.SortOrder;
+import org.junit.Test;
+import org.kie.server.api.model.definition.QueryFilterSpec;
+import org.kie.server.api.model.definition.QueryParam;
+
+import static org.dashbuilder.dataset.filter.FilterFactory.equalsTo;
+import static org.junit.Assert.*;
+
+public class KieServerQueryPlanTest {
+
+    @Test
+    public void testOrderBySameDirection() {
+        assertEquals("id,name",
+                     KieServerQueryPlan.getOrderBy(Arrays.asList(new ColumnSort("id",
+                                                                                SortOrder.DESCENDING),
+                                                                 new ColumnSort("name",
+                                                                                SortOrder.DESCENDING))));
+        assertNull(KieServerQueryPlan.getOrderBy(Collections.emptyList()));
+    }
+
+    @Test
+    public void testOrderByMixedDirections() {
+        final KieServerQueryPlan plan = new KieServerQueryPlan(new ArrayList<>(),
+                                                               new ArrayList<>(),
+                                                               newSort(new ColumnSort("id",
+                                                                                      SortOrder.DESCENDING),
+                                                                       new ColumnSort("name",
+                                                                                      SortOrder.ASCENDING)));
+
+        final QueryFilterSpec filterSpec = plan.newFilterSpec(Collections.emptyList());
+
+        assertEquals("id DESC,name ASC",
+                     filterSpec.getOrderBy());
+        assertFalse(filterSpec.isAscending());
+        assertNull(filterSpec.getParameters());
+        assertEquals("id",
+                     plan.getFirstSortColumnId());
+    }
+
+    @Test
+    public void testFilterSpecsNotShared() {
+        final KieServerQueryPlan plan = new KieServerQueryPlan(Collections.singletonList(new QueryParam("status",
+                                                                                                       "group",
+                                                                                                       Collections.singletonList("status"))),
+                                                               new ArrayList<>(),
+                                                               null);
+        final QueryParam filter = new QueryParam("name",
+                                                 "EQUALS_TO",
+                                                 Collections.singletonList("value"));
+
+        final QueryFilterSpec first = plan.newFilterSpec(Collections.singletonList(filter));
+        final QueryFilterSpec second = plan.newFilterSpec(Collections.emptyList());
+
+        assertNull(first.getOrderBy());
+        assertEquals(2,
+                     first.getParameters().length);
+        assertSame(filter,
+                   first.getParameters()[0]);
+        assertEquals("group",
+                     first.getParameters()[1].getOperator());
+        assertEquals(1,
+                     second.getParameters().length);
+        assertTrue(plan.isGrouped());
+    }
+
+    @Test
+    public void testShapeIgnoresFilterValues() {
+        final String shape = KieServerQueryPlan.getShape(newLookup(equalsTo("status",
+                                                                            1)));
+
+        assertEquals(shape,
+                     KieServerQueryPlan.getShape(newLookup(equalsTo("status",
+                                                                    2))));
+        assertNotEquals(shape,
+                        KieServerQueryPlan.getShape(newLookup(equalsTo("name",
+                                                                       1))));
+    }
+
+    @Test
+    public void testValidateColumns() {
+        final DataSetDef def = new DataSetDef();
+        def.setUUID("uuid");
+        def.addColumn("status",
+                      ColumnType.NUMBER);
+
+        KieServerQueryPlan.validateColumns(def,
+                                           newLookup(equalsTo("status",
+                                                              1)));
+        try {
+            KieServerQueryPlan.validateColumns(def,
+                                               newLookup(equalsTo("name",
+                                                                  1)));
+            fail("Unknown column accepted");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Column name not found in data set uuid",
+                         e.getMessage());
+        }
+        // columns of data sets not registered yet are unknown
+        KieServerQueryPlan.validateColumns(new DataSetDef(),
+                                           newLookup(equalsTo("name",
+                                                              1)));
+    }
+
+    private DataSetSort newSort(final ColumnSort... columnSorts) {
+        final DataSetSort sort = new DataSetSort();
+        for (ColumnSort columnSort : columnSorts) {
+            sort.addSortColumn(columnSort);
+        }
+        return sort;
+    }
+
+    private ConsoleDataSetLookup newLookup(final ColumnFilter columnFilter) {
+        final DataSetLookup lookup = new DataSetLookup();
+        lookup.setDataSetUUID("uuid");
+        final DataSetFilter filter = new DataSetFilter();
+        filter.addFilterColumn(columnFilter);
+        lookup.addOperation(filter);
+        lookup.addOperation(newSort(new ColumnSort("status",
+                                                   SortOrder.ASCENDING)));
+        return (ConsoleDataSetLookup) ConsoleDataSetLookup.fromInstance(lookup,
+                                                                        "serverTemplateId");
+    }
+}
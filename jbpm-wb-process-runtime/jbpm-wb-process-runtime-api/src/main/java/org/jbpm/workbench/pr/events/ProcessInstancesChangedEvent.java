@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jbpm.workbench.pr.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * Published by the server after the state of process instances was changed, so that process instance lists can
+ * update the affected rows without reloading.
+ */
+@Portable
+public class ProcessInstancesChangedEvent {
+
+    private String serverTemplateId;
+    private List<Long> processInstanceIds = new ArrayList<>();
+    private Integer state;
+
+    public ProcessInstancesChangedEvent() {
+    }
+
+    public ProcessInstancesChangedEvent(final String serverTemplateId,
+                                        final List<Long> processInstanceIds,
+                                        final Integer state) {
+        this.serverTemplateId = serverTemplateId;
+        this.processInstanceIds = processInstanceIds;
+        this.state = state;
+    }
+
+    public String getServerTemplateId() {
+        return serverTemplateId;
+    }
+
+    public void setServerTemplateId(String serverTemplateId) {
+        this.serverTemplateId = serverTemplateId;
+    }
+
+    public List<Long> getProcessInstanceIds() {
+        return processInstanceIds;
+    }
+
+    public void setProcessInstanceIds(List<Long> processInstanceIds) {
+        this.processInstanceIds = processInstanceIds;
+    }
+
+    public Integer getState() {
+        return state;
+    }
+
+    public void setState(Integer state) {
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstancesChangedEvent{" +
+                "serverTemplateId='" + serverTemplateId + '\'' +
+                ", processInstanceIds=" + processInstanceIds +
+                ", state=" + state +
+                '}';
+    }
+}
@@ -16,22 +16,32 @@
 
 package org.jbpm.workbench.pr.backend.server;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.jbpm.workbench.ks.integration.AbstractKieServerService;
 import org.jbpm.workbench.pr.backend.server.model.RemoteCorrelationKey;
+import org.jbpm.workbench.pr.events.ProcessInstancesChangedEvent;
 import org.jbpm.workbench.pr.service.ProcessService;
+import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.internal.process.CorrelationKey;
 import org.kie.server.client.ProcessServicesClient;
 
+import static java.util.Collections.singletonList;
+
 @Service
 @ApplicationScoped
 public class RemoteProcessServiceImpl extends AbstractKieServerService implements ProcessService {
 
+    @Inject
+    private Event<ProcessInstancesChangedEvent> processInstancesChangedEvent;
+
     @Override
     public void abortProcessInstance(String serverTemplateId,
                                      String containerId,
@@ -42,6 +52,10 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
 
         client.abortProcessInstance(containerId,
                                     processInstanceId);
+        invalidateDataSets(serverTemplateId);
+        processInstancesChangedEvent.fire(new ProcessInstancesChangedEvent(serverTemplateId,
+                                                                           singletonList(processInstanceId),
+                                                                           ProcessInstance.STATE_ABORTED));
     }
 
     @Override
@@ -53,6 +67,12 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                            client.abortProcessInstances(container,
                                                                         instances)
         );
+        invalidateDataSets(serverTemplateId);
+        final List<Long> processInstanceIds = new ArrayList<>();
+        containerInstances.values().forEach(processInstanceIds::addAll);
+        processInstancesChangedEvent.fire(new ProcessInstancesChangedEvent(serverTemplateId,
+                                                                           processInstanceIds,
+                                                                           ProcessInstance.STATE_ABORTED));
     }
 
     @Override
@@ -65,19 +85,22 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                                  containerId,
                                                  ProcessServicesClient.class);
 
+        final Long processInstanceId;
         if (correlationKey != null && !correlationKey.isEmpty()) {
 
             CorrelationKey actualCorrelationKey = new RemoteCorrelationKey(correlationKey);
 
-            return client.startProcess(containerId,
-                                       processId,
-                                       actualCorrelationKey,
-                                       params);
+            processInstanceId = client.startProcess(containerId,
+                                                    processId,
+                                                    actualCorrelationKey,
+                                                    params);
+        } else {
+            processInstanceId = client.startProcess(containerId,
+                                                    processId,
+                                                    params);
         }
-
-        return client.startProcess(containerId,
-                                   processId,
-                                   params);
+        invalidateDataSets(serverTemplateId);
+        return processInstanceId;
     }
 
     @Override
@@ -106,6 +129,7 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                      processInstanceId,
                                      signal,
                                      event);
+        invalidateDataSets(serverTemplateId);
     }
 
     @Override
@@ -133,6 +157,7 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                              event);
             }
         }
+        invalidateDataSets(serverTemplateId);
     }
 
     @Override
@@ -149,5 +174,6 @@ public class RemoteProcessServiceImpl extends AbstractKieServerService implement
                                   processInstanceId,
                                   variableName,
                                   value);
+        invalidateDataSets(serverTemplateId);
     }
 }
\ No newline at end of file
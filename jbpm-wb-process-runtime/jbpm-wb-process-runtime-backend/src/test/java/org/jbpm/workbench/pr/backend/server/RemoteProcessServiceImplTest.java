@@ -21,19 +21,25 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import javax.enterprise.event.Event;
 
+import org.jbpm.workbench.ks.integration.KieServerDataSetCache;
 import org.jbpm.workbench.ks.integration.KieServerIntegration;
+import org.jbpm.workbench.pr.events.ProcessInstancesChangedEvent;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.ProcessServicesClient;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -48,6 +54,12 @@ public class RemoteProcessServiceImplTest {
     @Mock
     private KieServerIntegration kieServerIntegration;
 
+    @Mock
+    private KieServerDataSetCache dataSetCache;
+
+    @Mock
+    private Event<ProcessInstancesChangedEvent> processInstancesChangedEvent;
+
     @InjectMocks
     private RemoteProcessServiceImpl remoteProcessService;
 
@@ -72,6 +84,7 @@ public class RemoteProcessServiceImplTest {
                                                    containerInstance);
         verify(processServicesClientMock).abortProcessInstances(containerId,
                                                                 Arrays.asList(processInstanceId));
+        verify(dataSetCache).invalidateServerTemplate(SERVER_TEMPLATE_ID);
     }
 
     @Test
@@ -107,6 +120,31 @@ public class RemoteProcessServiceImplTest {
         verifyNoMoreInteractions(processServicesClientMock);
     }
 
+    @Test
+    public void bulkAbortProcessInstancesPublishesSingleChange() {
+        final Map<String, List<Long>> containerInstance = new HashMap<>();
+        containerInstance.put("containerId_1",
+                              Arrays.asList(1L));
+        containerInstance.put("containerId_2",
+                              Arrays.asList(2L,
+                                            3L));
+
+        remoteProcessService.abortProcessInstances(SERVER_TEMPLATE_ID,
+                                                   containerInstance);
+
+        final ArgumentCaptor<ProcessInstancesChangedEvent> captor = ArgumentCaptor.forClass(ProcessInstancesChangedEvent.class);
+        verify(processInstancesChangedEvent).fire(captor.capture());
+        assertEquals(SERVER_TEMPLATE_ID,
+                     captor.getValue().getServerTemplateId());
+        assertEquals(Integer.valueOf(ProcessInstance.STATE_ABORTED),
+                     captor.getValue().getState());
+        assertEquals(3,
+                     captor.getValue().getProcessInstanceIds().size());
+        assertTrue(captor.getValue().getProcessInstanceIds().containsAll(Arrays.asList(1L,
+                                                                                        2L,
+                                                                                        3L)));
+    }
+
     private final String signal = "signal";
 
     private final Object event = new Object();
@@ -23,6 +23,7 @@ import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
+import com.google.gwt.core.client.GWT;
 import org.dashbuilder.dataset.DataSet;
 import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.DataSetOpType;
@@ -31,7 +32,7 @@ import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionFilter;
 import org.dashbuilder.dataset.filter.CoreFunctionType;
 import org.dashbuilder.dataset.filter.DataSetFilter;
-import org.dashbuilder.dataset.sort.SortOrder;
+import org.jboss.errai.bus.client.api.messaging.Message;
 import org.jboss.errai.common.client.api.Caller;
 import org.jbpm.workbench.common.client.list.AbstractMultiGridPresenter;
 import org.jbpm.workbench.common.client.list.ExtendedPagedTable;
@@ -39,12 +40,13 @@ import org.jbpm.workbench.common.client.list.MultiGridView;
 import org.jbpm.workbench.common.client.menu.PrimaryActionMenuBuilder;
 import org.jbpm.workbench.common.client.menu.RefreshMenuBuilder;
 import org.jbpm.workbench.df.client.filter.FilterSettings;
-import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
 import org.jbpm.workbench.forms.client.display.process.QuickNewProcessInstancePopup;
+import org.jbpm.workbench.ks.service.DataSetPivotService;
 import org.jbpm.workbench.pr.client.editors.instance.signal.ProcessInstanceSignalPresenter;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.events.NewProcessInstanceEvent;
 import org.jbpm.workbench.pr.events.ProcessInstanceSelectionEvent;
+import org.jbpm.workbench.pr.events.ProcessInstancesChangedEvent;
 import org.jbpm.workbench.pr.events.ProcessInstancesUpdateEvent;
 import org.jbpm.workbench.pr.model.ProcessInstanceSummary;
 import org.jbpm.workbench.pr.service.ProcessService;
@@ -72,14 +74,13 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
 
     private final org.jbpm.workbench.common.client.resources.i18n.Constants commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
 
-    @Inject
-    private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
-
     @Inject
     private QuickNewProcessInstancePopup newProcessInstancePopup;
 
     private Caller<ProcessService> processService;
 
+    private Caller<DataSetPivotService> pivotService;
+
     protected Event<ProcessInstanceSelectionEvent> processInstanceSelectionEvent;
 
     @Inject
@@ -100,43 +101,29 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
                               PROCESS_INSTANCE_DETAILS_SCREEN);
     }
 
-    protected DataSetReadyCallback createDataSetDomainSpecificCallback(final int startRange,
-                                                                       final FilterSettings tableSettings,
-                                                                       boolean lastPage) {
-        return errorHandlerBuilder.get().withUUID(tableSettings.getUUID()).withDataSetCallback(
-                dataSet -> {
-                    Set<String> columns = new HashSet<String>();
-                    for (int i = 0; i < dataSet.getRowCount(); i++) {
-                        Long processInstanceId = getColumnLongValue(dataSet,
-                                                                    PROCESS_INSTANCE_ID,
-                                                                    i);
-                        String variableName = getColumnStringValue(dataSet,
-                                                                   VARIABLE_NAME,
-                                                                   i);
-                        String variableValue = getColumnStringValue(dataSet,
-                                                                    VARIABLE_VALUE,
-                                                                    i);
-
-                        for (ProcessInstanceSummary pis : myProcessInstancesFromDataSet) {
-                            String initiator = pis.getInitiator();
-                            if (pis.getProcessInstanceId().equals(processInstanceId) && !filterInitiator(variableName,
-                                                                                                         variableValue,
-                                                                                                         initiator)) {
-                                pis.addDomainData(variableName,
-                                                  variableValue);
-                                columns.add(variableName);
-                            }
-                        }
-                    }
-                    view.addDomainSpecifColumns(view.getListGrid(),
-                                                columns);
-
-                    updateDataOnCallback(myProcessInstancesFromDataSet,
-                                         startRange,
-                                         startRange + myProcessInstancesFromDataSet.size(),
-                                         lastPage);
-                })
-                .withEmptyResultsCallback(() -> setEmptyResults());
+    /**
+     * Joins the variables, already grouped per process instance id, with the instances of the current page.
+     */
+    protected void addDomainSpecifData(final List<ProcessInstanceSummary> instances,
+                                       final Map<Long, Map<String, String>> variables) {
+        final Set<String> columns = new HashSet<String>();
+        for (ProcessInstanceSummary pis : instances) {
+            final Map<String, String> instanceVariables = variables.get(pis.getProcessInstanceId());
+            if (instanceVariables == null) {
+                continue;
+            }
+            for (Map.Entry<String, String> variable : instanceVariables.entrySet()) {
+                if (!filterInitiator(variable.getKey(),
+                                     variable.getValue(),
+                                     pis.getInitiator())) {
+                    pis.addDomainData(variable.getKey(),
+                                      variable.getValue());
+                    columns.add(variable.getKey());
+                }
+            }
+        }
+        view.addDomainSpecifColumns(view.getListGrid(),
+                                    columns);
     }
 
     protected boolean filterInitiator(String variableName,
@@ -209,18 +196,28 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
                                                        final List<ProcessInstanceSummary> instancesFromDataSet,
                                                        final Boolean lastPage) {
         List<Long> processIds = instancesFromDataSet.stream().map(t -> t.getId()).collect(Collectors.toList());
-        FilterSettings variablesTableSettings = filterSettingsManager.getVariablesFilterSettings(processIds);
-        variablesTableSettings.setServerTemplateId(getSelectedServerTemplate());
-        variablesTableSettings.setTablePageSize(-1);
-
-        dataSetQueryHelperDomainSpecific.setDataSetHandler(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setCurrentTableSettings(variablesTableSettings);
-        dataSetQueryHelperDomainSpecific.setLastOrderedColumn(PROCESS_INSTANCE_ID);
-        dataSetQueryHelperDomainSpecific.setLastSortOrder(SortOrder.ASCENDING);
-        dataSetQueryHelperDomainSpecific.lookupDataSet(0,
-                                                       createDataSetDomainSpecificCallback(startRange,
-                                                                                           variablesTableSettings,
-                                                                                           lastPage));
+        pivotService.call((Map<Long, Map<String, String>> variables) -> {
+                              addDomainSpecifData(instancesFromDataSet,
+                                                  variables);
+                              updateDataOnCallback(instancesFromDataSet,
+                                                   startRange,
+                                                   startRange + instancesFromDataSet.size(),
+                                                   lastPage);
+                          },
+                          (Message message, Throwable throwable) -> {
+                              // the page is still displayed, only without the variable columns
+                              GWT.log("Unable to load the variables of the page: " + throwable);
+                              updateDataOnCallback(instancesFromDataSet,
+                                                   startRange,
+                                                   startRange + instancesFromDataSet.size(),
+                                                   lastPage);
+                              return false;
+                          }).pivot(getSelectedServerTemplate(),
+                                   PROCESS_INSTANCE_WITH_VARIABLES_DATASET,
+                                   PROCESS_INSTANCE_ID,
+                                   VARIABLE_NAME,
+                                   VARIABLE_VALUE,
+                                   processIds);
     }
 
     protected ProcessInstanceSummary createProcessInstanceSummaryFromDataSet(DataSet dataSet,
@@ -285,17 +282,34 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
         refreshGrid();
     }
 
+    public void onProcessInstancesChangedEvent(@Observes final ProcessInstancesChangedEvent event) {
+        if (!event.getServerTemplateId().equals(getSelectedServerTemplate())) {
+            return;
+        }
+        updateRows(row -> {
+                       final Map<String, Object> columns = new HashMap<>();
+                       if (event.getProcessInstanceIds().contains(row.getProcessInstanceId())) {
+                           putIfChanged(columns,
+                                        COLUMN_STATUS,
+                                        row.getState(),
+                                        event.getState());
+                       }
+                       return columns;
+                   },
+                   (row, columns) -> row.setState((Integer) columns.get(COLUMN_STATUS)));
+    }
+
     public void abortProcessInstance(String containerId,
                                      long processInstanceId) {
         view.displayNotification(constants.Aborting_Process_Instance(processInstanceId));
-        processService.call((Void v) -> refreshGrid()).abortProcessInstance(getSelectedServerTemplate(),
-                                                                            containerId,
-                                                                            processInstanceId);
+        processService.call().abortProcessInstance(getSelectedServerTemplate(),
+                                                   containerId,
+                                                   processInstanceId);
     }
 
     public void abortProcessInstances(Map<String, List<Long>> containerInstances) {
-        processService.call((Void v) -> refreshGrid()).abortProcessInstances(getSelectedServerTemplate(),
-                                                                             containerInstances);
+        processService.call().abortProcessInstances(getSelectedServerTemplate(),
+                                                    containerInstances);
     }
 
     public void bulkSignal(List<ProcessInstanceSummary> processInstances) {
@@ -409,6 +423,11 @@ public class ProcessInstanceListPresenter extends AbstractMultiGridPresenter<Pro
         this.processService = processService;
     }
 
+    @Inject
+    public void setPivotService(final Caller<DataSetPivotService> pivotService) {
+        this.pivotService = pivotService;
+    }
+
     @Override
     public void setupActiveSearchFilters() {
         boolean hasSearchParam = false;
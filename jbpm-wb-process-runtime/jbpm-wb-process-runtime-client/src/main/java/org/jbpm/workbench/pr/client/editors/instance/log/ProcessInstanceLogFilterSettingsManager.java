@@ -16,7 +16,7 @@
 
 package org.jbpm.workbench.pr.client.editors.instance.log;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import javax.enterprise.context.Dependent;
 
@@ -59,8 +59,9 @@ public class ProcessInstanceLogFilterSettingsManager extends FilterSettingsManag
         return filterSettings;
     }
 
-    private HashMap<String, SortOrder> getSortByMap() {
-        HashMap<String, SortOrder> multipleSortBy = new HashMap<>();
+    private LinkedHashMap<String, SortOrder> getSortByMap() {
+        // log date goes first so the load more flow can page using the last log date seen
+        LinkedHashMap<String, SortOrder> multipleSortBy = new LinkedHashMap<>();
         multipleSortBy.put(COLUMN_LOG_DATE,
                            SortOrder.DESCENDING);
         multipleSortBy.put(COLUMN_LOG_ID,
@@ -45,6 +45,7 @@ import org.jbpm.workbench.pr.model.WorkItemSummary;
 import org.jbpm.workbench.pr.service.ProcessRuntimeDataService;
 
 import static org.dashbuilder.dataset.filter.FilterFactory.in;
+import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.COLUMN_LOG_DATE;
 import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.COLUMN_LOG_NODE_TYPE;
 import static org.jbpm.workbench.pr.model.ProcessInstanceLogDataSetConstants.COLUMN_LOG_TYPE;
 
@@ -104,6 +105,7 @@ public class ProcessInstanceLogPresenter extends AbstractMultiGridPresenter<Proc
     @PostConstruct
     public void init() {
         view.init(this);
+        logsDataSetQueryHelper.setKeysetColumnId(COLUMN_LOG_DATE);
     }
 
     public IsWidget getWidget() {
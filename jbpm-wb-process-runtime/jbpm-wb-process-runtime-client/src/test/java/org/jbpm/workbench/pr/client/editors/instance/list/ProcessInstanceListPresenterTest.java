@@ -29,7 +29,6 @@ import org.dashbuilder.dataset.DataSetOp;
 import org.dashbuilder.dataset.client.DataSetReadyCallback;
 import org.dashbuilder.dataset.filter.ColumnFilter;
 import org.dashbuilder.dataset.filter.DataSetFilter;
-import org.dashbuilder.dataset.sort.SortOrder;
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.jbpm.workbench.common.client.PerspectiveIds;
@@ -44,9 +43,12 @@ import org.jbpm.workbench.df.client.filter.FilterSettings;
 import org.jbpm.workbench.df.client.filter.FilterSettingsJSONMarshaller;
 import org.jbpm.workbench.df.client.filter.FilterSettingsManager;
 import org.jbpm.workbench.df.client.list.DataSetQueryHelper;
+import org.jbpm.workbench.ks.service.DataSetPivotService;
+import org.jbpm.workbench.ks.service.DataSetRowCountService;
 import org.jbpm.workbench.pr.client.editors.instance.signal.ProcessInstanceSignalPresenter;
 import org.jbpm.workbench.pr.client.resources.i18n.Constants;
 import org.jbpm.workbench.pr.events.ProcessInstanceSelectionEvent;
+import org.jbpm.workbench.pr.events.ProcessInstancesChangedEvent;
 import org.jbpm.workbench.pr.model.ProcessInstanceSummary;
 import org.jbpm.workbench.pr.service.ProcessService;
 import org.junit.Before;
@@ -93,6 +95,9 @@ public class ProcessInstanceListPresenterTest {
 
     private org.jbpm.workbench.common.client.resources.i18n.Constants commonConstants;
 
+    @Mock
+    private DataSetRowCountService rowCountService;
+
     @Mock
     protected PlaceManager placeManager;
 
@@ -114,7 +119,7 @@ public class ProcessInstanceListPresenterTest {
     private DataSet dataSetProcessVar;
 
     @Mock
-    private DataSetQueryHelper dataSetQueryHelperDomainSpecific;
+    private DataSetPivotService pivotService;
 
     @Mock
     private ListTable extendedPagedTable;
@@ -234,19 +239,11 @@ public class ProcessInstanceListPresenterTest {
             }
         }).when(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                   any(DataSetReadyCallback.class));
-
-        doAnswer(new Answer() {
-
-            @Override
-            public Object answer(InvocationOnMock invocation) throws Throwable {
-                ((DataSetReadyCallback) invocation.getArguments()[1]).callback(dataSetProcessVar);
-                return null;
-            }
-        }).when(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                                any(DataSetReadyCallback.class));
         commonConstants = org.jbpm.workbench.common.client.resources.i18n.Constants.INSTANCE;
 
         presenter.setProcessService(remoteProcessServiceCaller);
+        presenter.setRowCountService(new CallerMock<>(rowCountService));
+        presenter.setPivotService(new CallerMock<>(pivotService));
 
         when(errorHandlerBuilder.get()).thenReturn(errorHandler);
     }
@@ -258,9 +255,13 @@ public class ProcessInstanceListPresenterTest {
 
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               never()).lookupDataSet(anyInt(),
-                                      any(DataSetReadyCallback.class));
+        verify(pivotService,
+               never()).pivot(anyString(),
+                              anyString(),
+                              anyString(),
+                              anyString(),
+                              anyString(),
+                              anyList());
         verify(viewMock,
                times(2)).hideBusyIndicator();
     }
@@ -317,6 +318,39 @@ public class ProcessInstanceListPresenterTest {
                                                      eq(containerInstance));
     }
 
+    @Test
+    public void onProcessInstancesChangedEventTest() {
+        final ProcessInstanceSummary aborted = processInstanceSummaries.get(0);
+        final ProcessInstanceSummary active = processInstanceSummaries.get(1);
+        when(extendedPagedTable.getVisibleItems()).thenReturn(processInstanceSummaries);
+        when(extendedPagedTable.getVisibleRange()).thenReturn(new Range(0,
+                                                                        10));
+
+        presenter.onProcessInstancesChangedEvent(new ProcessInstancesChangedEvent("",
+                                                                                  Arrays.asList(aborted.getProcessInstanceId()),
+                                                                                  ProcessInstance.STATE_ABORTED));
+
+        assertEquals(Integer.valueOf(ProcessInstance.STATE_ABORTED),
+                     aborted.getState());
+        assertEquals(Integer.valueOf(ProcessInstance.STATE_ACTIVE),
+                     active.getState());
+        verify(extendedPagedTable,
+               never()).setVisibleRangeAndClearData(any(),
+                                                    anyBoolean());
+
+        final DataSetFilter filter = new DataSetFilter();
+        filter.addFilterColumn(equalsTo(COLUMN_STATUS,
+                                        String.valueOf(ProcessInstance.STATE_ACTIVE)));
+        filterSettings.getDataSetLookup().addOperation(filter);
+
+        presenter.onProcessInstancesChangedEvent(new ProcessInstancesChangedEvent("",
+                                                                                  Arrays.asList(active.getProcessInstanceId()),
+                                                                                  ProcessInstance.STATE_ABORTED));
+
+        verify(extendedPagedTable).setVisibleRangeAndClearData(any(),
+                                                               eq(true));
+    }
+
     @Test
     public void bulkAbortProcessInstancesTest() {
         final Map<String, List<Long>> containerInstance = new HashMap<>();
@@ -396,22 +430,21 @@ public class ProcessInstanceListPresenterTest {
         when(dataSet.getValueAt(0,
                                 COLUMN_PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
 
-        when(dataSetProcessVar.getRowCount()).thenReturn(2); //two domain variables associated
-        when(dataSetProcessVar.getValueAt(0,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         String processVariable1 = "var1";
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_NAME)).thenReturn(processVariable1);
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_VALUE)).thenReturn("value1");
-
-        when(dataSetProcessVar.getValueAt(1,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         String processVariable2 = "var2";
-        when(dataSetProcessVar.getValueAt(1,
-                                          VARIABLE_NAME)).thenReturn(processVariable2);
-        when(dataSetProcessVar.getValueAt(1,
-                                          VARIABLE_VALUE)).thenReturn("value2");
+        final Map<String, String> processVariables = new HashMap<>();
+        processVariables.put(processVariable1,
+                             "value1");
+        processVariables.put(processVariable2,
+                             "value2");
+        //two domain variables associated
+        when(pivotService.pivot(anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyList())).thenReturn(singletonMap(1L,
+                                                                    processVariables));
 
         Set<String> expectedColumns = new HashSet<String>();
         expectedColumns.add(processVariable1);
@@ -429,19 +462,22 @@ public class ProcessInstanceListPresenterTest {
 
         verify(dataSetQueryHelper).lookupDataSet(anyInt(),
                                                  any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific).lookupDataSet(anyInt(),
-                                                               any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific).setLastOrderedColumn(PROCESS_INSTANCE_ID);
-        verify(dataSetQueryHelperDomainSpecific).setLastSortOrder(SortOrder.ASCENDING);
+        verify(pivotService).pivot(anyString(),
+                                   eq(PROCESS_INSTANCE_WITH_VARIABLES_DATASET),
+                                   eq(PROCESS_INSTANCE_ID),
+                                   eq(VARIABLE_NAME),
+                                   eq(VARIABLE_VALUE),
+                                   eq(Collections.singletonList(1L)));
 
-        when(dataSetProcessVar.getRowCount()).thenReturn(1); //one domain variables associated
-        when(dataSetProcessVar.getValueAt(0,
-                                          PROCESS_INSTANCE_ID)).thenReturn(Long.valueOf(1));
         processVariable1 = "varTest1";
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_NAME)).thenReturn(processVariable1);
-        when(dataSetProcessVar.getValueAt(0,
-                                          VARIABLE_VALUE)).thenReturn("value1");
+        when(pivotService.pivot(anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyString(),
+                                anyList())).thenReturn(singletonMap(1L,
+                                                                    singletonMap(processVariable1,
+                                                                                 "value1")));
 
         expectedColumns = Collections.singleton(processVariable1);
 
@@ -458,9 +494,36 @@ public class ProcessInstanceListPresenterTest {
         verify(dataSetQueryHelper,
                times(2)).lookupDataSet(anyInt(),
                                        any(DataSetReadyCallback.class));
-        verify(dataSetQueryHelperDomainSpecific,
-               times(2)).lookupDataSet(anyInt(),
-                                       any(DataSetReadyCallback.class));
+        verify(pivotService,
+               times(2)).pivot(anyString(),
+                               anyString(),
+                               anyString(),
+                               anyString(),
+                               anyString(),
+                               anyList());
+    }
+
+    @Test
+    public void addDomainSpecifDataTest() {
+        final ProcessInstanceSummary instance1 = createProcessInstanceSummary(1L);
+        final ProcessInstanceSummary instance2 = createProcessInstanceSummary(2L);
+        final Map<String, String> processVariables = new HashMap<>();
+        processVariables.put("var1",
+                             "value1");
+        processVariables.put("initiator",
+                             instance1.getInitiator());
+
+        presenter.addDomainSpecifData(asList(instance1,
+                                             instance2),
+                                      singletonMap(1L,
+                                                   processVariables));
+
+        assertEquals(singletonMap("var1",
+                                  "value1"),
+                     instance1.getDomainData());
+        assertTrue(instance2.getDomainData().isEmpty());
+        verify(viewMock).addDomainSpecifColumns(any(ExtendedPagedTable.class),
+                                                eq(Collections.singleton("var1")));
     }
 
     public ArrayList<ProcessInstanceSummary> createProcessInstanceSummaryList(int listSize) {